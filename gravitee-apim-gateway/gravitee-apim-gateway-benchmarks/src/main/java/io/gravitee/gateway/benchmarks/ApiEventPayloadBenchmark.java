@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.gateway.benchmarks.fixtures.Fixtures;
+import io.gravitee.gateway.handlers.api.definition.Api;
+import io.gravitee.gateway.services.sync.synchronizer.ApiEventPayloadReader;
+import io.gravitee.repository.management.model.LifecycleState;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Extract the API definitions from the payload of the events read during a synchronization.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApiEventPayloadBenchmark {
+
+    @Param({ "1000" })
+    int apis;
+
+    ObjectMapper objectMapper;
+    ApiEventPayloadReader reader;
+    String[] payloads;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new GraviteeMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = new ApiEventPayloadReader(objectMapper);
+
+        final Random random = Fixtures.random();
+        final List<String> contextPaths = Fixtures.contextPaths(apis);
+        payloads = new String[apis];
+
+        for (int i = 0; i < apis; i++) {
+            final io.gravitee.repository.management.model.Api api = new io.gravitee.repository.management.model.Api();
+            api.setId("api-" + i);
+            api.setEnvironmentId("DEFAULT");
+            api.setName("api-" + i);
+            api.setVersion("1.0");
+            api.setDescription("Description of the api exposed on " + contextPaths.get(i));
+            api.setLifecycleState(LifecycleState.STARTED);
+            api.setDeployedAt(new Date());
+            api.setCreatedAt(new Date());
+            api.setUpdatedAt(new Date());
+            api.setPicture(picture(random));
+            api.setDefinition(definition(i, contextPaths.get(i)));
+
+            payloads[i] = objectMapper.writeValueAsString(api);
+        }
+    }
+
+    /**
+     * Deserialize the payload as a management API, then its definition as a second step.
+     */
+    @Benchmark
+    public void twoPass(Blackhole blackhole) throws Exception {
+        for (String payload : payloads) {
+            final io.gravitee.repository.management.model.Api eventPayload = objectMapper.readValue(
+                payload,
+                io.gravitee.repository.management.model.Api.class
+            );
+            final Api api = new Api(objectMapper.readValue(eventPayload.getDefinition(), io.gravitee.definition.model.Api.class));
+            api.setEnabled(eventPayload.getLifecycleState() == LifecycleState.STARTED);
+            api.setDeployedAt(eventPayload.getDeployedAt());
+            blackhole.consume(api);
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) throws Exception {
+        for (String payload : payloads) {
+            blackhole.consume(reader.read(payload).getApi());
+        }
+    }
+
+    private static String picture(Random random) {
+        final byte[] image = new byte[6 * 1024];
+        random.nextBytes(image);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(image);
+    }
+
+    private static String definition(int index, String contextPath) {
+        final StringBuilder flows = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) {
+                flows.append(',');
+            }
+            flows
+                .append("{\"name\":\"flow-")
+                .append(i)
+                .append("\",\"path-operator\":{\"path\":\"/resource-")
+                .append(i)
+                .append("\",\"operator\":\"STARTS_WITH\"},\"condition\":\"\",\"methods\":[\"GET\",\"POST\"],")
+                .append("\"pre\":[{\"name\":\"Transform headers\",\"policy\":\"transform-headers\",\"enabled\":true,")
+                .append("\"configuration\":{\"addHeaders\":[{\"name\":\"X-Flow\",\"value\":\"flow-")
+                .append(i)
+                .append("\"}],\"scope\":\"REQUEST\"}}],\"post\":[],\"enabled\":true}");
+        }
+
+        return (
+            "{\"id\":\"api-" +
+            index +
+            "\",\"name\":\"api-" +
+            index +
+            "\",\"version\":\"1.0\",\"gravitee\":\"2.0.0\",\"flow_mode\":\"DEFAULT\",\"tags\":[\"internal\"]," +
+            "\"proxy\":{\"virtual_hosts\":[{\"path\":\"" +
+            contextPath +
+            "\"}],\"strip_context_path\":false,\"preserve_host\":false,\"groups\":[{\"name\":\"default-group\"," +
+            "\"endpoints\":[{\"name\":\"default\",\"target\":\"https://backend.gravitee.io" +
+            contextPath +
+            "\",\"weight\":1,\"backup\":false,\"type\":\"http\"}],\"load_balancing\":{\"type\":\"ROUND_ROBIN\"}," +
+            "\"http\":{\"connectTimeout\":5000,\"idleTimeout\":60000,\"keepAlive\":true,\"readTimeout\":10000," +
+            "\"pipelining\":false,\"maxConcurrentConnections\":100,\"useCompression\":true,\"followRedirects\":false}}]}," +
+            "\"flows\":[" +
+            flows +
+            "],\"plans\":[{\"id\":\"plan-" +
+            index +
+            "\",\"name\":\"Keyless\",\"security\":\"key_less\",\"securityDefinition\":\"{}\",\"paths\":{}," +
+            "\"flows\":[],\"status\":\"PUBLISHED\"}],\"properties\":[{\"key\":\"backend\",\"value\":\"" +
+            contextPath +
+            "\"}],\"resources\":[],\"path_mappings\":{},\"response_templates\":{}}"
+        );
+    }
+}
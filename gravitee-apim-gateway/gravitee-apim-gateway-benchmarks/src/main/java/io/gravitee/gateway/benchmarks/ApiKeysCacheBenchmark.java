@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.cache.standalone.StandaloneCache;
+import io.gravitee.repository.management.model.ApiKey;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Look up the API key of an incoming request.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApiKeysCacheBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({ "100", "10000" })
+    int keys;
+
+    ApiKeysCache cache;
+    String[] apis;
+    String[] requestKeys;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        cache = new ApiKeysCache(new StandaloneCache<>("benchmark", new CacheConfiguration()));
+
+        final Random random = new Random(42);
+        final String[] cachedKeys = new String[keys];
+        final String[] cachedApis = new String[keys];
+
+        for (int i = 0; i < keys; i++) {
+            final ApiKey apiKey = new ApiKey();
+            apiKey.setId(Integer.toString(i));
+            apiKey.setKey(new UUID(random.nextLong(), random.nextLong()).toString());
+            apiKey.setApi("api-" + (i % 100));
+            apiKey.setPlan("plan-" + (i % 100));
+            apiKey.setApplication("application-" + i);
+
+            cache.put(apiKey);
+            cachedKeys[i] = apiKey.getKey();
+            cachedApis[i] = apiKey.getApi();
+        }
+
+        // About 10% of the requests use an unknown key
+        apis = new String[REQUESTS];
+        requestKeys = new String[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            final int index = random.nextInt(keys);
+            apis[i] = cachedApis[index];
+            requestKeys[i] = (random.nextInt(10) == 0) ? new UUID(random.nextLong(), random.nextLong()).toString() : cachedKeys[index];
+        }
+    }
+
+    @Benchmark
+    public ApiKey get() {
+        final int index = cursor++ & (REQUESTS - 1);
+        return cache.get(apis[index], requestKeys[index]);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the gateway benchmarks and write the results as JSON (<code>jmh-result.json</code> unless <code>-rff</code> is
+ * given), so that they can be compared from one run to another.
+ *
+ * <pre>
+ * mvn -pl gravitee-apim-gateway-benchmarks -am package -DskipTests -Pbenchmarks
+ * java -jar gravitee-apim-gateway-benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ *
+ * All the JMH command line options are supported (eg. <code>-p apis=10000</code>, <code>-f 1 -wi 2 -i 3</code>).
+ *
+ * @author GraviteeSource Team
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.definition.model.flow.PathOperator;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.context.SimpleExecutionContext;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkRequest;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkResponse;
+import io.gravitee.gateway.benchmarks.fixtures.Fixtures;
+import io.gravitee.gateway.core.path.PathPatterns;
+import io.gravitee.gateway.flow.BestMatchPolicyResolver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Select the flows whose path best matches an incoming request.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BestMatchPolicyResolverBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({ "10", "100", "1000" })
+    int flows;
+
+    BestMatchPolicyResolver resolver;
+    ExecutionContext[] contexts;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        final List<String> paths = Fixtures.resourcePaths(flows);
+        final List<Flow> definitionFlows = new ArrayList<>(flows);
+
+        for (String path : paths) {
+            final PathOperator pathOperator = new PathOperator();
+            pathOperator.setPath(path);
+
+            final Flow flow = new Flow();
+            flow.setPathOperator(pathOperator);
+            definitionFlows.add(flow);
+        }
+
+        resolver = new BestMatchPolicyResolver(context -> definitionFlows, new PathPatterns().compile(paths));
+
+        final String[] requestPaths = Fixtures.requestPaths(paths, REQUESTS, Fixtures.random());
+        contexts = new ExecutionContext[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            contexts[i] = new SimpleExecutionContext(new BenchmarkRequest(null, requestPaths[i]), new BenchmarkResponse());
+        }
+    }
+
+    @Benchmark
+    public List<Flow> resolve() {
+        return resolver.resolve(contexts[cursor++ & (REQUESTS - 1)]);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Receive chunks and aggregate them, as done when a policy needs the whole body.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BufferBenchmark {
+
+    private static final int CHUNKS = 16;
+
+    @Param({ "64", "8192" })
+    int chunkSize;
+
+    ByteBuf[] chunks;
+
+    @Setup
+    public void setup() {
+        final byte[] bytes = new byte[chunkSize];
+        Arrays.fill(bytes, (byte) 'a');
+
+        chunks = new ByteBuf[CHUNKS];
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] = Unpooled.buffer(chunkSize).writeBytes(bytes);
+        }
+    }
+
+    @Benchmark
+    public Buffer wrap() {
+        return BufferFactoryImpl.wrap(chunks[0]);
+    }
+
+    @Benchmark
+    public Buffer copy() {
+        final ByteBuf chunk = chunks[0];
+        final byte[] bytes = new byte[chunk.readableBytes()];
+        chunk.getBytes(chunk.readerIndex(), bytes);
+        return Buffer.buffer(bytes);
+    }
+
+    @Benchmark
+    public Buffer aggregate() {
+        final Buffer body = Buffer.buffer();
+        for (ByteBuf chunk : chunks) {
+            body.appendBuffer(BufferFactoryImpl.wrap(chunk));
+        }
+        return body;
+    }
+
+    @Benchmark
+    public byte[] aggregateAndGetBytes() {
+        return aggregate().getBytes();
+    }
+}
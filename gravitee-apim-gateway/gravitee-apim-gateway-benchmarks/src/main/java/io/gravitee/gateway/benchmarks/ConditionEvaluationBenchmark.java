@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.core.condition.ExpressionCache;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Evaluate a flow condition, parsing it on each evaluation or once per API.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConditionEvaluationBenchmark {
+
+    private static final String CONDITION = "{#context.attributes['application'] == 'my-app' && #request.headers['x-tenant'] != null}";
+
+    TemplateEngine templateEngine;
+    ExpressionCache expressionCache;
+
+    @Setup
+    public void setup() {
+        templateEngine = TemplateEngine.templateEngine();
+        templateEngine.getTemplateContext().setVariable("context", new Context());
+        templateEngine.getTemplateContext().setVariable("request", new Context());
+
+        expressionCache = new ExpressionCache().compile(Collections.singletonList(CONDITION));
+    }
+
+    @Benchmark
+    public Boolean templateEngine() {
+        return templateEngine.getValue(CONDITION, Boolean.class);
+    }
+
+    @Benchmark
+    public Boolean expressionCache() {
+        return expressionCache.getValue(templateEngine, CONDITION, Boolean.class);
+    }
+
+    public static class Context {
+
+        private final java.util.Map<String, Object> attributes = Collections.singletonMap("application", "my-app");
+        private final java.util.Map<String, String> headers = Collections.singletonMap("x-tenant", "acme");
+
+        public java.util.Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        public java.util.Map<String, String> getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.context.SimpleExecutionContext;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkEntrypoint;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkRequest;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkResponse;
+import io.gravitee.gateway.benchmarks.fixtures.Fixtures;
+import io.gravitee.gateway.reactor.Reactable;
+import io.gravitee.gateway.reactor.handler.EntrypointIndex;
+import io.gravitee.gateway.reactor.handler.HandlerEntrypoint;
+import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
+import io.gravitee.gateway.reactor.handler.impl.DefaultEntrypointResolver;
+import io.gravitee.gateway.reactor.handler.impl.HandlerEntryPointComparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Resolve the API handling an incoming request among all the deployed APIs.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntrypointResolverBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({ "10", "1000", "10000" })
+    int apis;
+
+    DefaultEntrypointResolver resolver;
+    ExecutionContext[] contexts;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        final List<String> contextPaths = Fixtures.contextPaths(apis);
+        final List<HandlerEntrypoint> entrypoints = new ArrayList<>(apis);
+
+        for (int i = 0; i < apis; i++) {
+            entrypoints.add(new BenchmarkEntrypoint(Fixtures.host(i), contextPaths.get(i)));
+        }
+        entrypoints.sort(new HandlerEntryPointComparator());
+
+        resolver = new DefaultEntrypointResolver(new StaticReactorHandlerRegistry(entrypoints));
+
+        final Random random = Fixtures.random();
+        final String[] paths = Fixtures.requestPaths(contextPaths, REQUESTS, random);
+        contexts = new ExecutionContext[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            contexts[i] =
+                new SimpleExecutionContext(new BenchmarkRequest(Fixtures.host(random.nextInt(apis)), paths[i]), new BenchmarkResponse());
+        }
+    }
+
+    @Benchmark
+    public HandlerEntrypoint resolve() {
+        return resolver.resolve(contexts[cursor++ & (REQUESTS - 1)]);
+    }
+
+    private static class StaticReactorHandlerRegistry implements ReactorHandlerRegistry {
+
+        private final List<HandlerEntrypoint> entrypoints;
+        private final EntrypointIndex index;
+
+        private StaticReactorHandlerRegistry(List<HandlerEntrypoint> entrypoints) {
+            this.entrypoints = entrypoints;
+            this.index = new EntrypointIndex(entrypoints);
+        }
+
+        @Override
+        public void create(Reactable reactable) {}
+
+        @Override
+        public void update(Reactable reactable) {}
+
+        @Override
+        public void remove(Reactable reactable) {}
+
+        @Override
+        public void clear() {}
+
+        @Override
+        public boolean contains(Reactable reactable) {
+            return false;
+        }
+
+        @Override
+        public Collection<HandlerEntrypoint> getEntrypoints() {
+            return entrypoints;
+        }
+
+        @Override
+        public EntrypointIndex getEntrypointIndex() {
+            return index;
+        }
+    }
+}
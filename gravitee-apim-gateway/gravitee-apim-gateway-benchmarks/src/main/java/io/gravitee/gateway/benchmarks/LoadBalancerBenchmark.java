@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkEndpoint;
+import io.gravitee.gateway.core.loadbalancer.LoadBalancerStrategy;
+import io.gravitee.gateway.core.loadbalancer.RandomLoadBalancer;
+import io.gravitee.gateway.core.loadbalancer.RoundRobinLoadBalancer;
+import io.gravitee.gateway.core.loadbalancer.WeightedRandomLoadBalancer;
+import io.gravitee.gateway.core.loadbalancer.WeightedRoundRobinLoadBalancer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Select the next endpoint of an endpoint group, from a single thread and from concurrent threads.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoadBalancerBenchmark {
+
+    @Param({ "ROUND_ROBIN", "RANDOM", "WEIGHTED_ROUND_ROBIN", "WEIGHTED_RANDOM" })
+    String strategy;
+
+    @Param({ "3", "30" })
+    int endpoints;
+
+    LoadBalancerStrategy loadBalancer;
+
+    @Setup
+    public void setup() {
+        final List<Endpoint> group = new ArrayList<>(endpoints);
+        for (int i = 0; i < endpoints; i++) {
+            group.add(new BenchmarkEndpoint("endpoint-" + i, 1 + (i % 5)));
+        }
+
+        switch (strategy) {
+            case "RANDOM":
+                loadBalancer = new RandomLoadBalancer(group);
+                break;
+            case "WEIGHTED_ROUND_ROBIN":
+                loadBalancer = new WeightedRoundRobinLoadBalancer(group);
+                break;
+            case "WEIGHTED_RANDOM":
+                loadBalancer = new WeightedRandomLoadBalancer(group);
+                break;
+            default:
+                loadBalancer = new RoundRobinLoadBalancer(group);
+        }
+    }
+
+    @Benchmark
+    public Endpoint next() {
+        return loadBalancer.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Endpoint nextConcurrent() {
+        return loadBalancer.next();
+    }
+}
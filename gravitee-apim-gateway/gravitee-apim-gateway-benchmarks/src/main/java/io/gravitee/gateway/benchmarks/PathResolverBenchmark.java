@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.definition.model.Api;
+import io.gravitee.definition.model.Rule;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkRequest;
+import io.gravitee.gateway.benchmarks.fixtures.Fixtures;
+import io.gravitee.gateway.handlers.api.path.Path;
+import io.gravitee.gateway.handlers.api.path.PathResolver;
+import io.gravitee.gateway.handlers.api.path.impl.ApiPathResolverImpl;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Resolve the path (v1 definition) of an API matching an incoming request.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PathResolverBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({ "10", "100", "1000" })
+    int paths;
+
+    PathResolver resolver;
+    Request[] requests;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        final List<String> resourcePaths = Fixtures.resourcePaths(paths);
+        final Map<String, List<Rule>> definitionPaths = new LinkedHashMap<>();
+        resourcePaths.forEach(path -> definitionPaths.put(path, Collections.emptyList()));
+
+        final Api api = new Api();
+        api.setPaths(definitionPaths);
+        resolver = new ApiPathResolverImpl(api);
+
+        final String[] requestPaths = Fixtures.requestPaths(resourcePaths, REQUESTS, Fixtures.random());
+        requests = new Request[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = new BenchmarkRequest(null, requestPaths[i]);
+        }
+    }
+
+    @Benchmark
+    public Path resolve() {
+        return resolver.resolve(requests[cursor++ & (REQUESTS - 1)]);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.api.context.SimpleExecutionContext;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkRequest;
+import io.gravitee.gateway.benchmarks.fixtures.BenchmarkResponse;
+import io.gravitee.gateway.policy.Policy;
+import io.gravitee.gateway.policy.PolicyException;
+import io.gravitee.gateway.policy.PolicyFactory;
+import io.gravitee.gateway.policy.PolicyMetadata;
+import io.gravitee.gateway.policy.StreamType;
+import io.gravitee.gateway.policy.impl.OrderedPolicyChain;
+import io.gravitee.gateway.policy.impl.PolicyFactoryImpl;
+import io.gravitee.gateway.policy.impl.PolicyMetadataBuilder;
+import io.gravitee.gateway.policy.impl.PolicyPluginFactoryImpl;
+import io.gravitee.policy.api.PolicyChain;
+import io.gravitee.policy.api.annotations.OnRequest;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Invoke a policy method directly, by reflection, or through the policies built by the {@link PolicyFactory}, with
+ * and without a condition. The condition evaluator always passes, so that only the cost of the wrapping is measured.
+ *
+ * @author GraviteeSource Team
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PolicyInvocationBenchmark {
+
+    NoopPolicy policy;
+    Method method;
+    Policy executablePolicy;
+    Policy conditionalPolicy;
+    ExecutionContext context;
+    PolicyChain chain;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        policy = new NoopPolicy();
+        method = NoopPolicy.class.getMethod("onRequest", PolicyChain.class, Request.class, Response.class);
+
+        final PolicyMetadata metadata = new PolicyMetadataBuilder()
+            .setId("noop")
+            .setPolicy(NoopPolicy.class)
+            .setMethods(Collections.singletonMap(OnRequest.class, method))
+            .build();
+        final PolicyFactory policyFactory = new PolicyFactoryImpl(new PolicyPluginFactoryImpl(), (context, condition) -> true);
+
+        executablePolicy = policyFactory.create(StreamType.ON_REQUEST, metadata, null, null);
+        conditionalPolicy = policyFactory.create(StreamType.ON_REQUEST, metadata, null, "{#request.path == '/'}");
+
+        context = new SimpleExecutionContext(new BenchmarkRequest(null, "/"), new BenchmarkResponse());
+        chain = OrderedPolicyChain.create(Collections.emptyList(), context);
+    }
+
+    @Benchmark
+    public void direct() {
+        policy.onRequest(chain, context.request(), context.response());
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return method.invoke(policy, chain, context.request(), context.response());
+    }
+
+    @Benchmark
+    public void executablePolicy() throws PolicyException {
+        executablePolicy.execute(chain, context);
+    }
+
+    @Benchmark
+    public void conditionalPolicy() throws PolicyException {
+        conditionalPolicy.execute(chain, context);
+    }
+
+    public static class NoopPolicy {
+
+        @OnRequest
+        public void onRequest(PolicyChain chain, Request request, Response response) {
+            // Do nothing
+        }
+    }
+}
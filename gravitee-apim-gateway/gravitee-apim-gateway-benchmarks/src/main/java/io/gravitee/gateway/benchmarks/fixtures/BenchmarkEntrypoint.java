@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks.fixtures;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.reactor.handler.HandlerEntrypoint;
+import io.gravitee.gateway.reactor.handler.ReactorHandler;
+import io.gravitee.gateway.reactor.handler.VirtualHost;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class BenchmarkEntrypoint implements HandlerEntrypoint {
+
+    private final VirtualHost virtualHost;
+
+    public BenchmarkEntrypoint(String host, String path) {
+        this.virtualHost = new VirtualHost(host, path);
+    }
+
+    @Override
+    public ReactorHandler target() {
+        return null;
+    }
+
+    @Override
+    public String path() {
+        return virtualHost.path();
+    }
+
+    @Override
+    public String host() {
+        return virtualHost.host();
+    }
+
+    @Override
+    public int priority() {
+        return virtualHost.priority();
+    }
+
+    @Override
+    public boolean accept(Request request) {
+        return virtualHost.accept(request);
+    }
+}
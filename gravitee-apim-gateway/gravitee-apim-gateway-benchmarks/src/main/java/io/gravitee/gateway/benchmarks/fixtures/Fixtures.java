@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generate realistic and reproducible definitions (context paths, hosts, resource paths) for the benchmarks.
+ *
+ * @author GraviteeSource Team
+ */
+public final class Fixtures {
+
+    private static final String[] TEAMS = { "store", "billing", "customers", "search", "catalog", "shipping", "identity", "payments" };
+    private static final String[] RESOURCES = { "orders", "products", "users", "invoices", "carts", "reviews", "stocks", "accounts" };
+
+    /**
+     * Ratio of the generated requests which match nothing.
+     */
+    private static final double MISS_RATIO = 0.1;
+
+    private Fixtures() {}
+
+    public static Random random() {
+        return new Random(42);
+    }
+
+    /**
+     * @return <code>count</code> distinct context paths (eg. <code>/store/orders-v2</code>).
+     */
+    public static List<String> contextPaths(int count) {
+        final List<String> paths = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            paths.add("/" + TEAMS[i % TEAMS.length] + "/" + RESOURCES[(i / TEAMS.length) % RESOURCES.length] + "-v" + i);
+        }
+
+        return paths;
+    }
+
+    /**
+     * @return a virtual host for about one API out of ten, <code>null</code> otherwise.
+     */
+    public static String host(int index) {
+        return (index % 10 == 0) ? "api" + (index % 3) + ".gravitee.io" : null;
+    }
+
+    /**
+     * @return <code>count</code> resource paths with path parameters (eg. <code>/orders/:ordersId/reviews</code>).
+     */
+    public static List<String> resourcePaths(int count) {
+        final List<String> paths = new ArrayList<>(count);
+        paths.add("/");
+
+        for (int i = 1; i < count; i++) {
+            final String resource = RESOURCES[i % RESOURCES.length];
+            final String sub = RESOURCES[(i / RESOURCES.length) % RESOURCES.length];
+
+            switch (i % 4) {
+                case 0:
+                    paths.add("/" + resource + i);
+                    break;
+                case 1:
+                    paths.add("/" + resource + i + "/:" + resource + "Id");
+                    break;
+                case 2:
+                    paths.add("/" + resource + i + "/:" + resource + "Id/" + sub);
+                    break;
+                default:
+                    paths.add("/" + resource + i + "/:" + resource + "Id/" + sub + "/:" + sub + "Id");
+            }
+        }
+
+        return paths;
+    }
+
+    /**
+     * @return <code>count</code> request paths under the given paths, where path parameters are replaced by values
+     * and some sub-resources are appended. About 10% of the requests do not match any path.
+     */
+    public static String[] requestPaths(List<String> paths, int count, Random random) {
+        final String[] requests = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            if (random.nextDouble() < MISS_RATIO) {
+                requests[i] = "/unknown-" + random.nextInt(1000) + "/resource";
+            } else {
+                final String path = paths.get(random.nextInt(paths.size()));
+                final String request = path.replaceAll(":[^/]+", Integer.toString(random.nextInt(100000)));
+                requests[i] = random.nextBoolean() ? request : (request.endsWith("/") ? request : request + "/") + "details";
+            }
+        }
+
+        return requests;
+    }
+}
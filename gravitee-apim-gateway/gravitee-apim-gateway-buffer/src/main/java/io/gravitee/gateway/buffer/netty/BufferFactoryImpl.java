@@ -17,6 +17,7 @@ package io.gravitee.gateway.buffer.netty;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.buffer.BufferFactory;
+import io.netty.buffer.ByteBuf;
 
 /**
  * @author David BRASSELY (david at gravitee.io)
@@ -24,6 +25,31 @@ import io.gravitee.gateway.api.buffer.BufferFactory;
  */
 public class BufferFactoryImpl implements BufferFactory {
 
+    /**
+     * Get a {@link Buffer} from a native buffer (ie. a chunk received by the server) without copying its content,
+     * when possible.
+     *
+     * The content of the native buffer is shared with the returned {@link Buffer}, it must then not be modified
+     * by the caller afterwards. The native buffer is copied if this implementation is not the one in use or if it
+     * can not be used as is (ie. content not starting at index 0 or bounded capacity).
+     *
+     * @param nativeBuffer the native buffer.
+     * @return the buffer.
+     */
+    public static Buffer wrap(ByteBuf nativeBuffer) {
+        if (
+            Buffer.factory instanceof BufferFactoryImpl &&
+            nativeBuffer.readerIndex() == 0 &&
+            nativeBuffer.maxCapacity() == Integer.MAX_VALUE
+        ) {
+            return new BufferImpl(nativeBuffer);
+        }
+
+        final byte[] bytes = new byte[nativeBuffer.readableBytes()];
+        nativeBuffer.getBytes(nativeBuffer.readerIndex(), bytes);
+        return Buffer.buffer(bytes);
+    }
+
     @Override
     public Buffer buffer(int initialSizeHint) {
         return new BufferImpl(initialSizeHint);
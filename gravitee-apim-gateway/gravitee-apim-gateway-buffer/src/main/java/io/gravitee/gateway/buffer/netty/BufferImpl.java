@@ -39,6 +39,13 @@ public class BufferImpl implements Buffer {
         buffer = Unpooled.unreleasableBuffer(Unpooled.buffer(initialSizeHint, Integer.MAX_VALUE));
     }
 
+    /**
+     * Wrap the given native buffer, its content is shared and not copied.
+     */
+    BufferImpl(ByteBuf nativeBuffer) {
+        buffer = Unpooled.unreleasableBuffer(nativeBuffer);
+    }
+
     BufferImpl(byte[] bytes) {
         buffer = Unpooled.unreleasableBuffer(Unpooled.buffer(bytes.length, Integer.MAX_VALUE)).writeBytes(bytes);
     }
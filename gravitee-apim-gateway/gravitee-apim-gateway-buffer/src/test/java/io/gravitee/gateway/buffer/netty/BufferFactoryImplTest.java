@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.buffer.netty;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class BufferFactoryImplTest {
+
+    @Test
+    public void shouldWrapWithoutCopy() {
+        final ByteBuf chunk = Unpooled.buffer(16).writeBytes("chunk".getBytes(StandardCharsets.UTF_8));
+
+        final Buffer buffer = BufferFactoryImpl.wrap(chunk);
+        chunk.setByte(0, 'C');
+
+        assertEquals("Chunk", buffer.toString());
+        assertEquals(5, buffer.length());
+    }
+
+    @Test
+    public void shouldAppendToWrappedBuffer() {
+        final ByteBuf chunk = Unpooled.buffer(5).writeBytes("chunk".getBytes(StandardCharsets.UTF_8));
+
+        final Buffer buffer = BufferFactoryImpl.wrap(chunk).appendString("-1").appendBuffer(Buffer.buffer("-2"));
+
+        assertEquals("chunk-1-2", buffer.toString());
+        assertArrayEquals("chunk-1-2".getBytes(StandardCharsets.UTF_8), buffer.getBytes());
+        assertEquals("chunk-1-2", Buffer.buffer().appendBuffer(buffer).toString());
+    }
+
+    @Test
+    public void shouldNotReleaseWrappedBuffer() {
+        final ByteBuf chunk = Unpooled.buffer(5).writeBytes("chunk".getBytes(StandardCharsets.UTF_8));
+
+        final Buffer buffer = BufferFactoryImpl.wrap(chunk);
+
+        assertFalse(((ByteBuf) buffer.getNativeBuffer()).release());
+        assertEquals(1, chunk.refCnt());
+    }
+
+    @Test
+    public void shouldCopy_partiallyReadBuffer() {
+        final ByteBuf chunk = Unpooled.buffer(16).writeBytes("chunk".getBytes(StandardCharsets.UTF_8));
+        chunk.readByte();
+
+        final Buffer buffer = BufferFactoryImpl.wrap(chunk);
+        chunk.setByte(1, 'H');
+
+        assertEquals("hunk", buffer.toString());
+    }
+
+    @Test
+    public void shouldCopy_boundedBuffer() {
+        final ByteBuf chunk = Unpooled.buffer(5, 5).writeBytes("chunk".getBytes(StandardCharsets.UTF_8));
+
+        final Buffer buffer = BufferFactoryImpl.wrap(chunk).appendString("-1");
+
+        assertEquals("chunk-1", buffer.toString());
+        assertEquals("chunk", chunk.toString(StandardCharsets.UTF_8));
+    }
+}
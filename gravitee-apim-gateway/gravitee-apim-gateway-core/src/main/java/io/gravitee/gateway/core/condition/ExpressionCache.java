@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.condition;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.gravitee.el.TemplateContext;
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.el.exceptions.ExpressionEvaluationException;
+import io.gravitee.el.spel.TemplateParserContext;
+import io.gravitee.el.spel.context.SpelTemplateContext;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * A bounded cache of parsed expressions, so that a condition is parsed once and only executed against the
+ * execution context of each request.
+ *
+ * Expressions are parsed the same way as the {@link TemplateEngine} does. When the template engine of the request
+ * is not backed by SpEL, the evaluation is delegated to the template engine as is. Plain SpEL expressions (ie. not
+ * templates, like the assertions of the endpoint health checks) can be cached as well, they are evaluated against the
+ * given evaluation context.
+ *
+ * @author GraviteeSource Team
+ */
+public class ExpressionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionCache.class);
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static final Pattern EXPRESSION_REGEX_PATTERN = Pattern.compile("\\{( *[^#T\\( ])");
+    private static final String EXPRESSION_REGEX_SUBSTITUTE = "{'{'}$1";
+    private static final ParserContext PARSER_CONTEXT = new TemplateParserContext();
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, null)
+    );
+
+    private final Cache<Object, Expression> expressions;
+
+    public ExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ExpressionCache(long maximumSize) {
+        this.expressions = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Parse the given expressions ahead of their first evaluation. Invalid expressions are ignored here, the error
+     * is raised when they are evaluated.
+     *
+     * @param expressions the expressions to parse.
+     * @return this cache.
+     */
+    public ExpressionCache compile(Collection<String> expressions) {
+        for (String expression : expressions) {
+            if (expression != null && !expression.isEmpty() && this.expressions.asMap().get(expression) == null) {
+                try {
+                    this.expressions.put(expression, parse(expression));
+                } catch (ParseException pe) {
+                    LOGGER.debug("Unable to parse expression {}", expression, pe);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    public <T> T getValue(TemplateEngine templateEngine, String expression, Class<T> clazz) {
+        final TemplateContext templateContext = templateEngine.getTemplateContext();
+
+        if (!(templateContext instanceof SpelTemplateContext)) {
+            return templateEngine.getValue(expression, clazz);
+        }
+
+        Expression parsed = expressions.getIfPresent(expression);
+        if (parsed == null) {
+            parsed = parse(expression);
+            expressions.put(expression, parsed);
+        }
+
+        try {
+            return parsed.getValue(((SpelTemplateContext) templateContext).getContext(), clazz);
+        } catch (SpelEvaluationException see) {
+            throw new ExpressionEvaluationException(parsed.getExpressionString(), see);
+        }
+    }
+
+    /**
+     * Evaluate a plain SpEL expression, parsed once and cached apart from the templates.
+     *
+     * @param expression the expression to evaluate.
+     * @param context the context to evaluate the expression against.
+     * @param clazz the expected type of the result.
+     * @return the result of the evaluation.
+     */
+    public <T> T getValue(String expression, EvaluationContext context, Class<T> clazz) {
+        final PlainExpression key = new PlainExpression(expression);
+
+        Expression parsed = expressions.getIfPresent(key);
+        if (parsed == null) {
+            parsed = EXPRESSION_PARSER.parseExpression(expression);
+            expressions.put(key, parsed);
+        }
+
+        return parsed.getValue(context, clazz);
+    }
+
+    /**
+     * Discard all the parsed expressions.
+     */
+    public void invalidate() {
+        if (LOGGER.isDebugEnabled()) {
+            final CacheStats stats = stats();
+            LOGGER.debug(
+                "Invalidating expression cache [size: {}, hits: {}, misses: {}, evictions: {}]",
+                expressions.size(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount()
+            );
+        }
+
+        expressions.invalidateAll();
+    }
+
+    public long size() {
+        return expressions.size();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of the cache.
+     */
+    public CacheStats stats() {
+        return expressions.stats();
+    }
+
+    /**
+     * Key of a plain expression, so that it is not mistaken for a template with the same text.
+     */
+    private static final class PlainExpression {
+
+        private final String expression;
+
+        private PlainExpression(String expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PlainExpression && Objects.equals(expression, ((PlainExpression) o).expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(expression);
+        }
+    }
+
+    private static Expression parse(String expression) {
+        return EXPRESSION_PARSER.parseExpression(
+            EXPRESSION_REGEX_PATTERN.matcher(expression).replaceAll(EXPRESSION_REGEX_SUBSTITUTE),
+            PARSER_CONTEXT
+        );
+    }
+}
@@ -25,10 +25,20 @@ import io.gravitee.gateway.api.ExecutionContext;
  */
 public class ExpressionLanguageStringConditionEvaluator implements ConditionEvaluator<String> {
 
+    private final ExpressionCache expressionCache;
+
+    public ExpressionLanguageStringConditionEvaluator() {
+        this(new ExpressionCache());
+    }
+
+    public ExpressionLanguageStringConditionEvaluator(final ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
     @Override
     public boolean evaluate(ExecutionContext context, String condition) {
         if (condition != null && !condition.isEmpty()) {
-            return context.getTemplateEngine().getValue(condition, Boolean.class);
+            return expressionCache.getValue(context.getTemplateEngine(), condition, Boolean.class);
         }
 
         return true;
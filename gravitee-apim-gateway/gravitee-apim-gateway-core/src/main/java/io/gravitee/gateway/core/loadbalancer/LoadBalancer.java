@@ -21,6 +21,7 @@ import io.gravitee.gateway.api.endpoint.Endpoint;
 import io.gravitee.gateway.api.endpoint.EndpointAvailabilityListener;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,15 +32,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvailabilityListener, ChangeListener<Endpoint> {
 
     /**
-     * Primary endpoints
+     * Primary endpoints.
+     *
+     * This is an immutable snapshot, replaced each time an endpoint is added, removed or changes its availability,
+     * so that endpoints can be selected concurrently without any lock.
      */
-    protected final List<Endpoint> endpoints = new ArrayList<>();
+    protected volatile List<Endpoint> endpoints = Collections.emptyList();
 
     /**
-     * Secondary (ie. backup) endpoints
-     * @param endpoints
+     * Secondary (ie. backup) endpoints, as an immutable snapshot.
      */
-    private final List<Endpoint> secondaryEndpoints = new ArrayList<>();
+    private volatile List<Endpoint> secondaryEndpoints = Collections.emptyList();
 
     private final AtomicInteger secondaryCounter = new AtomicInteger(0);
 
@@ -52,11 +55,11 @@ public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvai
     }
 
     @Override
-    public void onAvailabilityChange(Endpoint endpoint, boolean available) {
+    public synchronized void onAvailabilityChange(Endpoint endpoint, boolean available) {
         if (available && !endpoints.contains(endpoint)) {
-            endpoints.add(endpoint);
+            endpoints = add(endpoints, endpoint);
         } else if (!available) {
-            endpoints.remove(endpoint);
+            endpoints = remove(endpoints, endpoint);
         }
     }
 
@@ -67,6 +70,7 @@ public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvai
     }
 
     private Endpoint nextSecondary() {
+        final List<Endpoint> secondaryEndpoints = this.secondaryEndpoints;
         int size = secondaryEndpoints.size();
         if (size == 0) {
             return null;
@@ -86,28 +90,45 @@ public abstract class LoadBalancer implements LoadBalancerStrategy, EndpointAvai
     }
 
     @Override
-    public boolean postAdd(Endpoint endpoint) {
+    public synchronized boolean postAdd(Endpoint endpoint) {
         if (endpoint.primary()) {
             endpoint.addEndpointAvailabilityListener(LoadBalancer.this);
-            endpoints.add(endpoint);
+            endpoints = add(endpoints, endpoint);
         } else {
-            secondaryEndpoints.add(endpoint);
+            secondaryEndpoints = add(secondaryEndpoints, endpoint);
         }
 
         return false;
     }
 
     @Override
-    public boolean postRemove(Endpoint endpoint) {
+    public synchronized boolean postRemove(Endpoint endpoint) {
         if (endpoint.primary()) {
             endpoint.removeEndpointAvailabilityListener(LoadBalancer.this);
-            endpoints.remove(endpoint);
+            endpoints = remove(endpoints, endpoint);
         } else {
-            secondaryEndpoints.remove(endpoint);
+            secondaryEndpoints = remove(secondaryEndpoints, endpoint);
         }
 
         return false;
     }
 
+    private static List<Endpoint> add(List<Endpoint> endpoints, Endpoint endpoint) {
+        final List<Endpoint> copy = new ArrayList<>(endpoints.size() + 1);
+        copy.addAll(endpoints);
+        copy.add(endpoint);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<Endpoint> remove(List<Endpoint> endpoints, Endpoint endpoint) {
+        if (!endpoints.contains(endpoint)) {
+            return endpoints;
+        }
+
+        final List<Endpoint> copy = new ArrayList<>(endpoints);
+        copy.remove(endpoint);
+        return Collections.unmodifiableList(copy);
+    }
+
     abstract Endpoint nextEndpoint();
 }
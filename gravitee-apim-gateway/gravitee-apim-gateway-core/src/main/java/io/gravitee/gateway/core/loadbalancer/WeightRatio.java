@@ -1,61 +0,0 @@
-/**
- * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *         http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package io.gravitee.gateway.core.loadbalancer;
-
-/**
- * @author David BRASSELY (david.brassely at graviteesource.com)
- * @author GraviteeSource Team
- */
-public class WeightRatio {
-
-    private int position;
-    private int distribution;
-    private int runtime;
-
-    public WeightRatio(int position, int distribution) {
-        this(position, distribution, distribution);
-    }
-
-    public WeightRatio(int position, int distribution, int runtime) {
-        this.position = position;
-        this.distribution = distribution;
-        this.runtime = runtime;
-    }
-
-    public int getDistribution() {
-        return distribution;
-    }
-
-    public void setDistribution(int distribution) {
-        this.distribution = distribution;
-    }
-
-    public int getPosition() {
-        return position;
-    }
-
-    public void setPosition(int position) {
-        this.position = position;
-    }
-
-    public int getRuntime() {
-        return runtime;
-    }
-
-    public void setRuntime(int runtime) {
-        this.runtime = runtime;
-    }
-}
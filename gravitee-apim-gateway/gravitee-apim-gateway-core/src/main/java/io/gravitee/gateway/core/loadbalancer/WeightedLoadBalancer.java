@@ -16,7 +16,6 @@
 package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -26,64 +25,85 @@ import java.util.List;
  */
 public abstract class WeightedLoadBalancer extends LoadBalancer {
 
-    transient int lastIndex;
-
-    private List<WeightRatio> runtimeRatios;
+    private volatile Weights weights;
 
     WeightedLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
-    protected void refresh() {
-        this.loadRuntimeRatios();
-    }
+    /**
+     * Get the weights of the current endpoints snapshot. They are computed once per snapshot: concurrent callers
+     * may compute them twice when the endpoints change, but they always get weights matching a single snapshot.
+     */
+    Weights weights() {
+        final List<Endpoint> endpoints = this.endpoints;
+        Weights weights = this.weights;
 
-    private void loadRuntimeRatios() {
-        if (runtimeRatios == null) {
-            runtimeRatios = new ArrayList<>(endpoints.size());
-        } else {
-            runtimeRatios.clear();
+        if (weights == null || weights.endpoints != endpoints) {
+            weights = new Weights(endpoints);
+            this.weights = weights;
         }
 
-        int position = 0;
-
-        for (Endpoint endpoint : endpoints) {
-            runtimeRatios.add(new WeightRatio(position++, endpoint.weight()));
-        }
+        return weights;
     }
 
-    boolean isRuntimeRatiosZeroed() {
-        boolean cleared = true;
+    /**
+     * Immutable weights of a snapshot of endpoints.
+     *
+     * When no endpoint has a positive weight, all the endpoints are considered to have the same weight.
+     */
+    static final class Weights {
+
+        final List<Endpoint> endpoints;
+        final int[] weights;
+        final int[] cumulative;
+        final int total;
 
-        for (WeightRatio runtimeRatio : runtimeRatios) {
-            if (runtimeRatio.getRuntime() > 0) {
-                cleared = false;
+        Weights(List<Endpoint> endpoints) {
+            this.endpoints = endpoints;
+            this.weights = new int[endpoints.size()];
+            this.cumulative = new int[endpoints.size()];
+
+            int sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = Math.max(0, endpoints.get(i).weight());
+                sum += weights[i];
             }
-        }
-        return cleared;
-    }
 
-    void resetRuntimeRatios() {
-        for (WeightRatio runtimeRatio : runtimeRatios) {
-            runtimeRatio.setRuntime(runtimeRatio.getDistribution());
+            if (sum == 0) {
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = 1;
+                }
+                sum = weights.length;
+            }
+
+            int position = 0;
+            for (int i = 0; i < weights.length; i++) {
+                position += weights[i];
+                cumulative[i] = position;
+            }
+
+            this.total = sum;
         }
-    }
 
-    List<WeightRatio> getRuntimeRatios() {
-        return runtimeRatios;
-    }
+        /**
+         * @param value a value between 0 (inclusive) and the total weight (exclusive).
+         * @return the index of the endpoint owning the given value in the cumulative weights.
+         */
+        int indexOf(int value) {
+            int low = 0;
+            int high = cumulative.length - 1;
 
-    @Override
-    public boolean postAdd(Endpoint object) {
-        super.postAdd(object);
-        this.refresh();
-        return false;
-    }
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (value < cumulative[middle]) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
 
-    @Override
-    public boolean postRemove(Endpoint object) {
-        super.postRemove(object);
-        this.refresh();
-        return false;
+            return low;
+        }
     }
 }
@@ -17,79 +17,31 @@ package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
 import java.util.Collection;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * Selects endpoints randomly, with a probability proportional to their weight.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class WeightedRandomLoadBalancer extends WeightedLoadBalancer {
 
-    private final Random rnd = new Random();
-    private int distributionRatioSum;
-    private int runtimeRatioSum;
-
     public WeightedRandomLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
     @Override
-    protected void refresh() {
-        super.refresh();
-        this.loadRatios();
-    }
-
-    private void loadRatios() {
-        int sum = 0;
-
-        for (Endpoint endpoint : endpoints) {
-            sum += endpoint.weight();
-        }
-
-        distributionRatioSum = sum;
-        runtimeRatioSum = distributionRatioSum;
-    }
-
-    @Override
-    public synchronized Endpoint nextEndpoint() {
-        if (endpoints.isEmpty()) {
+    public Endpoint nextEndpoint() {
+        final Weights weights = weights();
+        int size = weights.endpoints.size();
+        if (size == 0) {
             return null;
+        } else if (size == 1) {
+            return weights.endpoints.get(0);
         }
 
-        if (endpoints.size() != getRuntimeRatios().size()) {
-            refresh();
-        }
-
-        int index = selectProcessIndex();
-        lastIndex = index;
-        return endpoints.get(index);
-    }
-
-    private int selectProcessIndex() {
-        if (runtimeRatioSum == 0) {
-            for (WeightRatio distributionRatio : getRuntimeRatios()) {
-                int weight = distributionRatio.getDistribution();
-                distributionRatio.setRuntime(weight);
-            }
-            runtimeRatioSum = distributionRatioSum;
-        }
-
-        WeightRatio selected = null;
-        int randomWeight = rnd.nextInt(runtimeRatioSum);
-        int choiceWeight = 0;
-        for (WeightRatio distributionRatio : getRuntimeRatios()) {
-            choiceWeight += distributionRatio.getRuntime();
-            if (randomWeight < choiceWeight) {
-                selected = distributionRatio;
-                break;
-            }
-        }
-
-        selected.setRuntime(selected.getRuntime() - 1);
-        runtimeRatioSum--;
-
-        return selected.getPosition();
+        return weights.endpoints.get(weights.indexOf(ThreadLocalRandom.current().nextInt(weights.total)));
     }
 
     @Override
@@ -17,51 +17,95 @@ package io.gravitee.gateway.core.loadbalancer;
 
 import io.gravitee.gateway.api.endpoint.Endpoint;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Selects endpoints in turn, each endpoint being selected as many times as its weight per cycle.
+ *
+ * Selections are interleaved the smooth way (ie. weights of 5, 1 and 1 give A, A, B, A, C, A, A rather than
+ * A, A, A, A, A, B, C). The order of a cycle is computed once per endpoints snapshot, so that selecting an endpoint
+ * only requires to increment a counter.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class WeightedRoundRobinLoadBalancer extends WeightedLoadBalancer {
 
-    private int counter;
+    /**
+     * Above this total weight, the order of a cycle is not computed and endpoints are selected one after the other.
+     */
+    static final int MAX_SCHEDULE_SIZE = 4096;
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    private volatile Schedule schedule;
 
     public WeightedRoundRobinLoadBalancer(Collection<Endpoint> endpoints) {
         super(endpoints);
     }
 
     @Override
-    public synchronized Endpoint nextEndpoint() {
-        if (endpoints.isEmpty()) {
+    public Endpoint nextEndpoint() {
+        final Schedule schedule = schedule();
+        int size = schedule.weights.endpoints.size();
+        if (size == 0) {
             return null;
+        } else if (size == 1) {
+            return schedule.weights.endpoints.get(0);
         }
 
-        if (endpoints.size() != getRuntimeRatios().size()) {
-            refresh();
-        }
+        return schedule.weights.endpoints.get(schedule.indexOf(Math.floorMod(counter.getAndIncrement(), schedule.weights.total)));
+    }
+
+    private Schedule schedule() {
+        final Weights weights = weights();
+        Schedule schedule = this.schedule;
 
-        if (isRuntimeRatiosZeroed()) {
-            resetRuntimeRatios();
-            counter = 0;
+        if (schedule == null || schedule.weights != weights) {
+            schedule = new Schedule(weights);
+            this.schedule = schedule;
         }
 
-        boolean found = false;
-        while (!found) {
-            if (counter >= getRuntimeRatios().size()) {
-                counter = 0;
-            }
+        return schedule;
+    }
 
-            if (getRuntimeRatios().get(counter).getRuntime() > 0) {
-                getRuntimeRatios().get(counter).setRuntime((getRuntimeRatios().get(counter).getRuntime()) - 1);
-                found = true;
-            } else {
-                counter++;
-            }
+    private static final class Schedule {
+
+        private final Weights weights;
+        private final int[] order;
+
+        private Schedule(Weights weights) {
+            this.weights = weights;
+            this.order = (weights.total <= MAX_SCHEDULE_SIZE) ? smooth(weights) : null;
+        }
+
+        private int indexOf(int position) {
+            return (order != null) ? order[position] : weights.indexOf(position);
         }
 
-        lastIndex = counter;
+        /**
+         * Smooth weighted round-robin: at each step, every endpoint earns its weight and the richest endpoint is
+         * selected and pays the total weight back.
+         */
+        private static int[] smooth(Weights weights) {
+            final int[] order = new int[weights.total];
+            final int[] current = new int[weights.weights.length];
 
-        return endpoints.get(counter++);
+            for (int position = 0; position < order.length; position++) {
+                int selected = 0;
+                for (int i = 0; i < current.length; i++) {
+                    current[i] += weights.weights[i];
+                    if (current[i] > current[selected]) {
+                        selected = i;
+                    }
+                }
+
+                current[selected] -= weights.total;
+                order[position] = selected;
+            }
+
+            return order;
+        }
     }
 
     @Override
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+/**
+ * A single compiled path definition, see {@link PathPatternTrie} for the matching rules.
+ *
+ * A pattern may be bound to a trie shared with other definitions (see {@link PathPatterns}), in which case matching
+ * a request path against all of them only walks the trie once.
+ *
+ * @author GraviteeSource Team
+ */
+public final class PathPattern {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private final String path;
+
+    private final int pieces;
+
+    private final PathPatternTrie<String> trie;
+
+    private final int index;
+
+    PathPattern(String path, PathPatternTrie<String> trie, int index) {
+        this.path = path;
+        this.pieces = path.split(PATH_SEPARATOR).length;
+        this.trie = trie;
+        this.index = index;
+    }
+
+    public static PathPattern compile(String path) {
+        return new PathPattern(path, new PathPatternTrie<String>().add(path, path), 0);
+    }
+
+    /**
+     * @return <code>true</code> if the whole given path is matching the definition.
+     */
+    public boolean matches(String path) {
+        return trie.test(index, path, true);
+    }
+
+    /**
+     * @return <code>true</code> if the beginning of the given path is matching the definition.
+     */
+    public boolean lookingAt(String path) {
+        return trie.test(index, path, false);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the number of pieces of the definition, used to determine the deepest definition.
+     */
+    public int getPieces() {
+        return pieces;
+    }
+}
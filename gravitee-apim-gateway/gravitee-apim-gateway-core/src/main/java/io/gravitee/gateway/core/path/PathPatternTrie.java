@@ -0,0 +1,588 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * A trie of compiled path definitions (as declared for V1 paths and V2 flows), made of static segments and
+ * <code>:param</code> segments, which is able to match a request path against all the definitions in a single pass.
+ *
+ * Matching has the same semantic as the regular expressions historically built from a path definition:
+ * <ul>
+ *     <li>a static segment is matched as is,</li>
+ *     <li>a <code>:param</code> segment is matched by one or more characters of <code>[a-zA-Z0-9-._~%!$&'()* +,;=:@/]</code>
+ *     (a parameter may then span several segments),</li>
+ *     <li>the trailing path separator is optional.</li>
+ * </ul>
+ *
+ * Definitions whose static segments contain regular expression meta-characters are kept as regular expressions
+ * and evaluated separately to preserve their (regex) semantic.
+ *
+ * The walk over a request path computes, at once, the definitions matching the beginning of the path, the ones
+ * matching the whole path, and the position of the path separators used to extract the path parameters. Its state
+ * is kept in a per-thread buffer, and the result of the last walk is reused as long as the same path is matched
+ * against the same trie, so that evaluating all the flows of a request only walks the trie once and does not allocate.
+ *
+ * The trie must be fully built before being used, it is then safe to use it concurrently.
+ *
+ * @author GraviteeSource Team
+ */
+public class PathPatternTrie<T> {
+
+    private static final char PATH_SEPARATOR_CHAR = '/';
+    private static final String PATH_SEPARATOR = "/";
+    private static final String PATH_PARAM_PREFIX = ":";
+    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final ThreadLocal<Walk> WALK = ThreadLocal.withInitial(Walk::new);
+
+    private final Node root = new Node(false);
+
+    private final List<Entry<T>> entries = new ArrayList<>();
+
+    private final List<Entry<T>> regexEntries = new ArrayList<>();
+
+    /**
+     * Add a path definition to the trie.
+     *
+     * @param path the path definition (ie. <code>/books/:bookId/chapters</code>).
+     * @param value the value associated to the path definition.
+     * @return this trie.
+     */
+    public PathPatternTrie<T> add(String path, T value) {
+        final String[] branches = path.split(PATH_SEPARATOR);
+        final Entry<T> entry = new Entry<>(entries.size(), value, branches);
+        entries.add(entry);
+
+        if (requiresRegex(branches)) {
+            regexEntries.add(entry);
+            return this;
+        }
+
+        Node node = root;
+
+        for (String branch : branches) {
+            if (!branch.isEmpty()) {
+                node = node.literal(PATH_SEPARATOR_CHAR);
+
+                if (branch.startsWith(PATH_PARAM_PREFIX)) {
+                    node = node.param();
+                } else {
+                    for (int i = 0; i < branch.length(); i++) {
+                        node = node.literal(branch.charAt(i));
+                    }
+                }
+            }
+        }
+
+        // Last path separator is not required to match
+        node.prefixEntries = append(node.prefixEntries, entry.index);
+        node.exactEntries = append(node.exactEntries, entry.index);
+
+        final Node trailing = node.literal(PATH_SEPARATOR_CHAR);
+        trailing.exactEntries = append(trailing.exactEntries, entry.index);
+
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public T get(int index) {
+        return entries.get(index).value;
+    }
+
+    /**
+     * Find all the values whose path definition matches the beginning of the given path.
+     *
+     * @param path the request path.
+     * @return the matching values, in the order they have been added.
+     */
+    public List<T> startsWith(String path) {
+        return values(walk(path).prefix);
+    }
+
+    /**
+     * Find all the values whose path definition matches the whole given path.
+     *
+     * @param path the request path.
+     * @return the matching values, in the order they have been added.
+     */
+    public List<T> matches(String path) {
+        return values(walk(path).exact);
+    }
+
+    /**
+     * Find the values whose path definition matches the beginning of the given path and is the deepest one
+     * (ie. the definition with the highest number of segments).
+     *
+     * @param path the request path.
+     * @return the deepest matching values, in the order they have been added.
+     */
+    public List<T> bestMatches(String path) {
+        final Walk walk = walk(path);
+        final int best = bestMatchIndex(walk);
+        if (best == -1) {
+            return Collections.emptyList();
+        }
+
+        final int pieces = entries.get(best).pieces;
+        final List<T> values = new ArrayList<>(2);
+        for (int i = best; i < entries.size(); i++) {
+            if (isSet(walk.prefix, i) && entries.get(i).pieces == pieces) {
+                values.add(entries.get(i).value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Find the index of the first deepest path definition matching the beginning of the given path, and extract its
+     * parameters from the given path while walking it.
+     *
+     * @param path the request path.
+     * @param parameters the consumer of the parameters (name, value) of the matching definition, may be <code>null</code>.
+     * @return the index of the matching definition, or <code>-1</code> if no definition is matching.
+     */
+    public int bestMatchIndex(String path, BiConsumer<String, String> parameters) {
+        final Walk walk = walk(path);
+        final int best = bestMatchIndex(walk);
+
+        if (best != -1 && parameters != null) {
+            emitParameters(entries.get(best), path, walk.separators, walk.separatorCount, parameters);
+        }
+
+        return best;
+    }
+
+    /**
+     * Extract the parameters of the given path definition from the given path, without matching it.
+     *
+     * @param path the request path.
+     * @param index the index of the path definition.
+     * @param parameters the consumer of the parameters (name, value).
+     */
+    public void parameters(String path, int index, BiConsumer<String, String> parameters) {
+        final Entry<T> entry = entries.get(index);
+        if (entry.parameterNames.length == 0) {
+            return;
+        }
+
+        final Walk walk = WALK.get();
+        walk.invalidate();
+        walk.separatorCount = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == PATH_SEPARATOR_CHAR) {
+                walk.addSeparator(i);
+            }
+        }
+
+        emitParameters(entry, path, walk.separators, walk.separatorCount, parameters);
+    }
+
+    /**
+     * @return <code>true</code> if the path definition at the given index matches the given path.
+     */
+    boolean test(int index, String path, boolean exact) {
+        final Walk walk = walk(path);
+        return isSet(exact ? walk.exact : walk.prefix, index);
+    }
+
+    private int bestMatchIndex(Walk walk) {
+        int best = -1;
+        int pieces = -1;
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (isSet(walk.prefix, i) && entries.get(i).pieces > pieces) {
+                best = i;
+                pieces = entries.get(i).pieces;
+            }
+        }
+
+        return best;
+    }
+
+    private Walk walk(String path) {
+        final Walk walk = WALK.get();
+
+        if (walk.trie == this && path.equals(walk.path)) {
+            return walk;
+        }
+
+        walk.reset(entries.size());
+
+        for (Entry<T> entry : regexEntries) {
+            final Pattern pattern = entry.pattern();
+            if (pattern.matcher(path).lookingAt()) {
+                setBit(walk.prefix, entry.index);
+                if (pattern.matcher(path).matches()) {
+                    setBit(walk.exact, entry.index);
+                }
+            }
+        }
+
+        walk.current[0] = root;
+        walk.currentSize = 1;
+
+        final int length = path.length();
+
+        for (int i = 0; i < length && walk.currentSize > 0; i++) {
+            collect(walk.current, walk.currentSize, false, walk.prefix);
+
+            final char c = path.charAt(i);
+            final boolean paramChar = isParamChar(c);
+
+            if (c == PATH_SEPARATOR_CHAR) {
+                walk.addSeparator(i);
+            }
+
+            for (int j = 0; j < walk.currentSize; j++) {
+                final Node node = walk.current[j];
+                final Node child = node.child(c);
+
+                if (child != null) {
+                    walk.addNext(child);
+                }
+
+                if (paramChar) {
+                    if (node.param != null) {
+                        walk.addNext(node.param);
+                    }
+                    if (node.isParam) {
+                        walk.addNext(node);
+                    }
+                }
+            }
+
+            walk.swap();
+        }
+
+        collect(walk.current, walk.currentSize, false, walk.prefix);
+        collect(walk.current, walk.currentSize, true, walk.exact);
+
+        // Separators after the last matching position are only needed for the parameters of the definitions
+        for (int i = walk.lastSeparator + 1; i < length; i++) {
+            if (path.charAt(i) == PATH_SEPARATOR_CHAR) {
+                walk.addSeparator(i);
+            }
+        }
+
+        walk.trie = this;
+        walk.path = path;
+
+        return walk;
+    }
+
+    private static void collect(Node[] nodes, int size, boolean exact, long[] matched) {
+        for (int i = 0; i < size; i++) {
+            final int[] indexes = exact ? nodes[i].exactEntries : nodes[i].prefixEntries;
+            for (int index : indexes) {
+                setBit(matched, index);
+            }
+        }
+    }
+
+    /**
+     * Parameters are extracted by position: the value of the parameter declared at the n-th segment of the
+     * definition is the n-th segment of the path.
+     */
+    private static void emitParameters(
+        Entry<?> entry,
+        String path,
+        int[] separators,
+        int separatorCount,
+        BiConsumer<String, String> parameters
+    ) {
+        for (int i = 0; i < entry.parameterNames.length; i++) {
+            final int position = entry.parameterPositions[i];
+
+            // Segment n is preceded by the (n-1)-th separator
+            if (position >= 1 && position <= separatorCount) {
+                final int start = separators[position - 1] + 1;
+                final int end = position < separatorCount ? separators[position] : path.length();
+                parameters.accept(entry.parameterNames[i], path.substring(start, end));
+            }
+        }
+    }
+
+    private List<T> values(long[] matched) {
+        List<T> values = null;
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (isSet(matched, i)) {
+                if (values == null) {
+                    values = new ArrayList<>();
+                }
+                values.add(entries.get(i).value);
+            }
+        }
+
+        return values == null ? Collections.emptyList() : values;
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static boolean isParamChar(char c) {
+        return (
+            (c >= 'a' && c <= 'z') ||
+            (c >= 'A' && c <= 'Z') ||
+            (c >= '0' && c <= '9') ||
+            c == '-' ||
+            c == '.' ||
+            c == '_' ||
+            c == '~' ||
+            c == '%' ||
+            c == '!' ||
+            c == '$' ||
+            c == '&' ||
+            c == '\'' ||
+            c == '(' ||
+            c == ')' ||
+            c == '*' ||
+            c == ' ' ||
+            c == '+' ||
+            c == ',' ||
+            c == ';' ||
+            c == '=' ||
+            c == ':' ||
+            c == '@' ||
+            c == '/'
+        );
+    }
+
+    private static boolean requiresRegex(String[] branches) {
+        for (String branch : branches) {
+            if (!branch.startsWith(PATH_PARAM_PREFIX)) {
+                for (int i = 0; i < branch.length(); i++) {
+                    if (REGEX_META_CHARACTERS.indexOf(branch.charAt(i)) != -1) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Pattern toRegex(String[] branches) {
+        final StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
+
+        for (final String branch : branches) {
+            if (!branch.isEmpty()) {
+                if (branch.startsWith(PATH_PARAM_PREFIX)) {
+                    buffer.append(PATH_PARAM_REGEX);
+                } else {
+                    buffer.append(branch);
+                }
+
+                buffer.append(PATH_SEPARATOR);
+            }
+        }
+
+        // Last path separator is not required to match
+        buffer.append('?');
+
+        return Pattern.compile(buffer.toString());
+    }
+
+    private static int[] append(int[] array, int value) {
+        final int[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = value;
+        return copy;
+    }
+
+    private static final class Entry<T> {
+
+        private final int index;
+        private final T value;
+        private final int pieces;
+        private final String[] branches;
+        private final String[] parameterNames;
+        private final int[] parameterPositions;
+        private volatile Pattern pattern;
+
+        private Entry(int index, T value, String[] branches) {
+            this.index = index;
+            this.value = value;
+            this.pieces = branches.length;
+            this.branches = branches;
+
+            final List<String> names = new ArrayList<>();
+            final List<Integer> positions = new ArrayList<>();
+            for (int i = 0; i < branches.length; i++) {
+                if (branches[i].startsWith(PATH_PARAM_PREFIX)) {
+                    names.add(branches[i].substring(PATH_PARAM_PREFIX.length()));
+                    positions.add(i);
+                }
+            }
+            this.parameterNames = names.toArray(new String[0]);
+            this.parameterPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * The regular expression is compiled lazily, as it was when evaluated for the first request.
+         */
+        private Pattern pattern() {
+            Pattern pattern = this.pattern;
+            if (pattern == null) {
+                pattern = toRegex(branches);
+                this.pattern = pattern;
+            }
+            return pattern;
+        }
+    }
+
+    /**
+     * The state of a walk, reused by all the walks of a thread.
+     */
+    private static final class Walk {
+
+        private Node[] current = new Node[8];
+        private Node[] next = new Node[8];
+        private int currentSize;
+        private int nextSize;
+
+        private long[] prefix = new long[1];
+        private long[] exact = new long[1];
+
+        private int[] separators = new int[16];
+        private int separatorCount;
+        private int lastSeparator;
+
+        // The trie and the path of the walk whose result is currently held
+        private PathPatternTrie<?> trie;
+        private String path;
+
+        private void reset(int entries) {
+            invalidate();
+
+            final int words = (entries + 63) >>> 6;
+            if (prefix.length < words) {
+                prefix = new long[words];
+                exact = new long[words];
+            } else {
+                Arrays.fill(prefix, 0L);
+                Arrays.fill(exact, 0L);
+            }
+
+            currentSize = 0;
+            nextSize = 0;
+            separatorCount = 0;
+            lastSeparator = -1;
+        }
+
+        private void invalidate() {
+            trie = null;
+            path = null;
+        }
+
+        private void addSeparator(int position) {
+            if (separatorCount == separators.length) {
+                separators = Arrays.copyOf(separators, separatorCount * 2);
+            }
+            separators[separatorCount++] = position;
+            lastSeparator = position;
+        }
+
+        private void addNext(Node node) {
+            for (int i = 0; i < nextSize; i++) {
+                if (next[i] == node) {
+                    return;
+                }
+            }
+            if (nextSize == next.length) {
+                next = Arrays.copyOf(next, nextSize * 2);
+            }
+            next[nextSize++] = node;
+        }
+
+        private void swap() {
+            final Node[] swap = current;
+            final int swapSize = currentSize;
+            current = next;
+            currentSize = nextSize;
+            next = swap;
+            Arrays.fill(next, 0, swapSize, null);
+            nextSize = 0;
+        }
+    }
+
+    private static final class Node {
+
+        private static final int[] NO_ENTRIES = new int[0];
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * A param node consumes one or more param characters.
+         */
+        private final boolean isParam;
+
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_CHILDREN;
+        private Node param;
+
+        private int[] prefixEntries = NO_ENTRIES;
+        private int[] exactEntries = NO_ENTRIES;
+
+        private Node(boolean isParam) {
+            this.isParam = isParam;
+        }
+
+        private Node child(char c) {
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node literal(char c) {
+            Node child = child(c);
+            if (child == null) {
+                child = new Node(false);
+                chars = Arrays.copyOf(chars, chars.length + 1);
+                chars[chars.length - 1] = c;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        private Node param() {
+            if (param == null) {
+                param = new Node(true);
+            }
+            return param;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled {@link PathPattern}s, indexed by path definition.
+ *
+ * An instance is meant to be shared by all the components of a deployed API evaluating path definitions
+ * (flow conditions, best match resolution), and to be populated when the API is deployed. All the patterns
+ * are bound to a single {@link PathPatternTrie} so that a request path is walked once for all the definitions.
+ *
+ * Compiling new definitions rebuilds the trie (copy-on-write), the patterns are immutable once published. The trie is
+ * never rebuilt while matching requests: a definition which has not been compiled ahead is compiled on its own, out
+ * of the shared trie.
+ *
+ * @author GraviteeSource Team
+ */
+public class PathPatterns {
+
+    private volatile Map<String, PathPattern> patterns = Collections.emptyMap();
+
+    private final ConcurrentMap<String, PathPattern> standalonePatterns = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the given path definitions ahead of their first use.
+     *
+     * @param paths the path definitions.
+     * @return this instance.
+     */
+    public PathPatterns compile(Collection<String> paths) {
+        final List<String> added = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (path != null && !patterns.containsKey(path)) {
+                added.add(path);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            rebuild(added);
+        }
+        return this;
+    }
+
+    /**
+     * Get the compiled pattern of a path definition, compiling it on its own if it has not been compiled ahead.
+     *
+     * @param path the path definition.
+     * @return the compiled pattern.
+     */
+    public PathPattern get(String path) {
+        final PathPattern pattern = patterns.get(path);
+        return (pattern != null) ? pattern : standalonePatterns.computeIfAbsent(path, PathPattern::compile);
+    }
+
+    private synchronized void rebuild(Collection<String> added) {
+        final Map<String, PathPattern> current = patterns;
+        final Set<String> paths = new LinkedHashSet<>(current.keySet());
+        paths.addAll(added);
+
+        if (paths.size() == current.size()) {
+            return;
+        }
+
+        final PathPatternTrie<String> trie = new PathPatternTrie<>();
+        final Map<String, PathPattern> rebuilt = new HashMap<>(paths.size() * 2);
+        for (String path : paths) {
+            rebuilt.put(path, new PathPattern(path, trie, trie.size()));
+            trie.add(path, path);
+        }
+
+        patterns = rebuilt;
+        standalonePatterns.keySet().removeAll(added);
+    }
+}
@@ -16,8 +16,8 @@
 package io.gravitee.gateway.core.processor.chain;
 
 import io.gravitee.gateway.core.processor.Processor;
-import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -25,20 +25,24 @@ import java.util.List;
  */
 public class DefaultProcessorChain<T> extends AbstractProcessorChain<T, Processor<T>> {
 
-    private final Iterator<Processor<T>> processorIterator;
+    private final List<Processor<T>> processors;
+    private int cursor;
 
     public DefaultProcessorChain(List<Processor<T>> processors) {
-        this.processorIterator = processors.iterator();
+        this.processors = processors;
     }
 
     @Override
     public boolean hasNext() {
-        return processorIterator.hasNext();
+        return cursor < processors.size();
     }
 
     @Override
     public Processor<T> next() {
-        return processorIterator.next();
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return processors.get(cursor++);
     }
 
     @Override
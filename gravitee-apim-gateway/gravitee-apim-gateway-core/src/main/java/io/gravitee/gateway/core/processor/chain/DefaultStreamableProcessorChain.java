@@ -16,8 +16,8 @@
 package io.gravitee.gateway.core.processor.chain;
 
 import io.gravitee.gateway.core.processor.StreamableProcessor;
-import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -25,10 +25,11 @@ import java.util.List;
  */
 public class DefaultStreamableProcessorChain<T, S, P extends StreamableProcessor<T, S>> extends AbstractStreamableProcessorChain<T, S, P> {
 
-    private final Iterator<P> processorIterator;
+    private final List<P> processors;
+    private int cursor;
 
     public DefaultStreamableProcessorChain(List<P> processors) {
-        this.processorIterator = processors.iterator();
+        this.processors = processors;
     }
 
     @Override
@@ -38,11 +39,14 @@ public class DefaultStreamableProcessorChain<T, S, P extends StreamableProcessor
 
     @Override
     public boolean hasNext() {
-        return processorIterator.hasNext();
+        return cursor < processors.size();
     }
 
     @Override
     public P next() {
-        return processorIterator.next();
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return processors.get(cursor++);
     }
 }
@@ -17,8 +17,6 @@ package io.gravitee.gateway.core.processor.provider;
 
 import io.gravitee.gateway.core.processor.Processor;
 import io.gravitee.gateway.core.processor.chain.AbstractProcessorChain;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -27,30 +25,38 @@ import java.util.List;
  */
 public class ProcessorProviderChain<T> extends AbstractProcessorChain<T, Processor<T>> {
 
-    private final Iterator<ProcessorProvider<T, Processor<T>>> ite;
-    private Iterator<Processor<T>> iteProcessor;
-    private final List<Processor<T>> processors;
+    private final List<ProcessorProvider<T, Processor<T>>> providers;
+    private final Processor<T>[] processors;
+    private int cursor;
+    private int processorCursor = -1;
 
+    /**
+     * Create a new chain from a list of providers.
+     * The list is only read by the chain so that the same (pre-assembled) list can be shared by every request.
+     *
+     * @param providers the providers of the processors to execute.
+     */
+    @SuppressWarnings("unchecked")
     public ProcessorProviderChain(List<ProcessorProvider<T, Processor<T>>> providers) {
-        this.ite = providers.iterator();
-        this.processors = new ArrayList<>(providers.size());
+        this.providers = providers;
+        this.processors = new Processor[providers.size()];
     }
 
     @Override
     protected Processor<T> next(T data) {
-        Processor<T> processor = ite.next().provide(data);
-        processors.add(processor);
+        Processor<T> processor = providers.get(cursor).provide(data);
+        processors[cursor++] = processor;
         return processor;
     }
 
     @Override
     public boolean hasNext() {
-        boolean hasNext = ite.hasNext();
-        if (!hasNext && iteProcessor == null) {
-            iteProcessor = processors.iterator();
+        boolean hasNext = cursor < providers.size();
+        if (!hasNext && processorCursor == -1) {
+            processorCursor = 0;
             return false;
         } else if (!hasNext) {
-            return iteProcessor.hasNext();
+            return processorCursor < cursor;
         }
 
         return true;
@@ -58,6 +64,6 @@ public class ProcessorProviderChain<T> extends AbstractProcessorChain<T, Process
 
     @Override
     public Processor<T> next() {
-        return this.iteProcessor.next();
+        return processors[processorCursor++];
     }
 }
@@ -17,7 +17,6 @@ package io.gravitee.gateway.core.processor.provider;
 
 import io.gravitee.gateway.core.processor.StreamableProcessor;
 import io.gravitee.gateway.core.processor.chain.AbstractStreamableProcessorChain;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -26,20 +25,27 @@ import java.util.List;
  */
 public class StreamableProcessorProviderChain<T, S> extends AbstractStreamableProcessorChain<T, S, StreamableProcessor<T, S>> {
 
-    private final Iterator<ProcessorProvider<T, StreamableProcessor<T, S>>> ite;
+    private final List<ProcessorProvider<T, StreamableProcessor<T, S>>> providers;
+    private int cursor;
 
+    /**
+     * Create a new chain from a list of providers.
+     * The list is only read by the chain so that the same (pre-assembled) list can be shared by every request.
+     *
+     * @param providers the providers of the processors to execute.
+     */
     public StreamableProcessorProviderChain(List<ProcessorProvider<T, StreamableProcessor<T, S>>> providers) {
-        this.ite = providers.iterator();
+        this.providers = providers;
     }
 
     @Override
     protected StreamableProcessor<T, S> next(T data) {
-        return ite.next().provide(data);
+        return providers.get(cursor++).provide(data);
     }
 
     @Override
     public boolean hasNext() {
-        return ite.hasNext();
+        return cursor < providers.size();
     }
 
     @Override
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.condition;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.el.exceptions.ExpressionEvaluationException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ExpressionCacheTest {
+
+    @Test
+    public void shouldEvaluateLikeTemplateEngine() {
+        final ExpressionCache cache = new ExpressionCache();
+        final TemplateEngine templateEngine = TemplateEngine.templateEngine();
+        templateEngine.getTemplateContext().setVariable("value", "gravitee");
+
+        final String condition = "{#value == 'gravitee'}";
+
+        assertEquals(templateEngine.getValue(condition, Boolean.class), cache.getValue(templateEngine, condition, Boolean.class));
+        assertEquals("my-gravitee", cache.getValue(templateEngine, "my-{#value}", String.class));
+        assertEquals("{value}", cache.getValue(templateEngine, "{value}", String.class));
+    }
+
+    @Test
+    public void shouldParseOnce() {
+        final ExpressionCache cache = new ExpressionCache().compile(Arrays.asList("{#value == 'a'}", null, ""));
+        final TemplateEngine templateEngine = TemplateEngine.templateEngine();
+
+        templateEngine.getTemplateContext().setVariable("value", "a");
+        assertTrue(cache.getValue(templateEngine, "{#value == 'a'}", Boolean.class));
+
+        templateEngine.getTemplateContext().setVariable("value", "b");
+        assertFalse(cache.getValue(templateEngine, "{#value == 'a'}", Boolean.class));
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(0, cache.stats().missCount());
+    }
+
+    @Test
+    public void shouldCachePlainExpressions_apartFromTemplates() {
+        final ExpressionCache cache = new ExpressionCache();
+        final StandardEvaluationContext context = new StandardEvaluationContext();
+
+        context.setVariable("status", 200);
+        assertTrue(cache.getValue("#status == 200", context, Boolean.class));
+        context.setVariable("status", 500);
+        assertFalse(cache.getValue("#status == 200", context, Boolean.class));
+
+        // The same text parsed as a template is a literal
+        assertEquals("#status == 200", cache.getValue(TemplateEngine.templateEngine(), "#status == 200", String.class));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    public void shouldEvictExpressions() {
+        final ExpressionCache cache = new ExpressionCache(1);
+        final TemplateEngine templateEngine = TemplateEngine.templateEngine();
+
+        cache.getValue(templateEngine, "{#value == 1}", Boolean.class);
+        cache.getValue(templateEngine, "{#value == 2}", Boolean.class);
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(1, cache.stats().evictionCount());
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldIgnoreInvalidExpression_whenCompiling() {
+        final ExpressionCache cache = new ExpressionCache().compile(Collections.singletonList("{#value =="));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = ParseException.class)
+    public void shouldFail_invalidExpression() {
+        new ExpressionCache().getValue(TemplateEngine.templateEngine(), "{#value ==", Boolean.class);
+    }
+
+    @Test(expected = ExpressionEvaluationException.class)
+    public void shouldFail_evaluationError() {
+        new ExpressionCache().getValue(TemplateEngine.templateEngine(), "{#value.unknown()}", Boolean.class);
+    }
+
+    @Test
+    public void shouldDelegate_notSpelTemplateEngine() {
+        final TemplateEngine templateEngine = mock(TemplateEngine.class);
+        when(templateEngine.getValue("my-condition", Boolean.class)).thenReturn(true);
+
+        assertTrue(new ExpressionCache().getValue(templateEngine, "my-condition", Boolean.class));
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.loadbalancer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.api.endpoint.Endpoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LoadBalancerTest {
+
+    @Test
+    public void shouldInterleaveWeightedRoundRobin() {
+        final Endpoint a = endpoint("a", 5, true);
+        final Endpoint b = endpoint("b", 1, true);
+        final Endpoint c = endpoint("c", 1, true);
+
+        final LoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(Arrays.asList(a, b, c));
+
+        assertEquals(Arrays.asList(a, a, b, a, c, a, a, a, a, b, a, c, a, a), next(loadBalancer, 14));
+    }
+
+    @Test
+    public void shouldDistributeWeightedRoundRobin_largeWeights() {
+        final Endpoint a = endpoint("a", 3000, true);
+        final Endpoint b = endpoint("b", 2000, true);
+
+        final Map<Endpoint, Integer> counts = count(new WeightedRoundRobinLoadBalancer(Arrays.asList(a, b)), 5000);
+
+        assertEquals(3000, (int) counts.get(a));
+        assertEquals(2000, (int) counts.get(b));
+    }
+
+    @Test
+    public void shouldIgnoreZeroWeight() {
+        final Endpoint a = endpoint("a", 2, true);
+        final Endpoint b = endpoint("b", 0, true);
+
+        assertFalse(next(new WeightedRoundRobinLoadBalancer(Arrays.asList(a, b)), 10).contains(b));
+        assertFalse(next(new WeightedRandomLoadBalancer(Arrays.asList(a, b)), 100).contains(b));
+    }
+
+    @Test
+    public void shouldDistributeWeightedRandom() {
+        final Endpoint a = endpoint("a", 3, true);
+        final Endpoint b = endpoint("b", 1, true);
+
+        final Map<Endpoint, Integer> counts = count(new WeightedRandomLoadBalancer(Arrays.asList(a, b)), 10000);
+
+        assertTrue(counts.get(a) > 6500 && counts.get(a) < 8500);
+    }
+
+    @Test
+    public void shouldSelectAvailableEndpoints() {
+        final Endpoint a = endpoint("a", 1, true);
+        final Endpoint b = endpoint("b", 1, true);
+        final Endpoint backup = endpoint("backup", 1, false);
+
+        final LoadBalancer loadBalancer = new RoundRobinLoadBalancer(Arrays.asList(a, b, backup));
+        assertEquals(Arrays.asList(a, b, a, b), next(loadBalancer, 4));
+
+        loadBalancer.onAvailabilityChange(a, false);
+        assertEquals(Arrays.asList(b, b), next(loadBalancer, 2));
+
+        loadBalancer.onAvailabilityChange(b, false);
+        assertEquals(Arrays.asList(backup, backup), next(loadBalancer, 2));
+
+        loadBalancer.onAvailabilityChange(a, true);
+        assertSame(a, loadBalancer.next());
+    }
+
+    @Test
+    public void shouldRefreshWeights_onAvailabilityChange() {
+        final Endpoint a = endpoint("a", 1, true);
+        final Endpoint b = endpoint("b", 1, true);
+
+        final LoadBalancer loadBalancer = new WeightedRandomLoadBalancer(Arrays.asList(a, b));
+        loadBalancer.onAvailabilityChange(b, false);
+
+        assertEquals(Arrays.asList(a, a, a), next(loadBalancer, 3));
+    }
+
+    @Test
+    public void shouldReturnNull_noEndpoint() {
+        assertNull(new RandomLoadBalancer(new ArrayList<>()).next());
+        assertNull(new WeightedRandomLoadBalancer(new ArrayList<>()).next());
+        assertNull(new WeightedRoundRobinLoadBalancer(new ArrayList<>()).next());
+    }
+
+    private static Endpoint endpoint(String name, int weight, boolean primary) {
+        final Endpoint endpoint = mock(Endpoint.class, name);
+        lenient().when(endpoint.weight()).thenReturn(weight);
+        when(endpoint.primary()).thenReturn(primary);
+        return endpoint;
+    }
+
+    private static List<Endpoint> next(LoadBalancer loadBalancer, int times) {
+        final List<Endpoint> endpoints = new ArrayList<>(times);
+        for (int i = 0; i < times; i++) {
+            endpoints.add(loadBalancer.next());
+        }
+        return endpoints;
+    }
+
+    private static Map<Endpoint, Integer> count(LoadBalancer loadBalancer, int times) {
+        final Map<Endpoint, Integer> counts = new HashMap<>();
+        for (Endpoint endpoint : next(loadBalancer, times)) {
+            counts.merge(endpoint, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PathPatternTrieTest {
+
+    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+
+    @Test
+    public void shouldMatchStaticPath() {
+        PathPattern pattern = PathPattern.compile("/my/path");
+
+        assertTrue(pattern.matches("/my/path"));
+        assertTrue(pattern.matches("/my/path/"));
+        assertFalse(pattern.matches("/my/path2"));
+        assertTrue(pattern.lookingAt("/my/path2"));
+        assertTrue(pattern.lookingAt("/my/path/subpath"));
+        assertFalse(pattern.lookingAt("/my/pat"));
+    }
+
+    @Test
+    public void shouldMatchRootPath() {
+        PathPattern pattern = PathPattern.compile("/");
+
+        assertTrue(pattern.lookingAt("/my/path"));
+        assertTrue(pattern.lookingAt(""));
+        assertTrue(pattern.matches("/"));
+        assertFalse(pattern.matches("/my"));
+    }
+
+    @Test
+    public void shouldMatchPathParameters() {
+        PathPattern pattern = PathPattern.compile("/books/:bookId/chapters");
+
+        assertTrue(pattern.matches("/books/1/chapters"));
+        assertTrue(pattern.matches("/books/1/2/chapters"));
+        assertFalse(pattern.matches("/books//chapters"));
+        assertFalse(pattern.matches("/books/1/chapter"));
+        assertTrue(pattern.lookingAt("/books/1/chapters/2"));
+        assertEquals(4, pattern.getPieces());
+    }
+
+    @Test
+    public void shouldKeepRegexSemantic_withMetaCharacters() {
+        PathPattern pattern = PathPattern.compile("/v1.0/books");
+
+        assertTrue(pattern.matches("/v1.0/books"));
+        assertTrue(pattern.matches("/v1x0/books"));
+    }
+
+    @Test
+    public void shouldReturnBestMatches() {
+        PathPatternTrie<String> trie = new PathPatternTrie<String>()
+            .add("/book", "a")
+            .add("/book/:bookId/chapter/:chapterId", "b")
+            .add("/book/:bookId", "c")
+            .add("/book/9999/chapter/145", "d")
+            .add("/book/:bookId/chapter", "e");
+
+        assertEquals(Arrays.asList("b", "d"), trie.bestMatches("/book/9999/chapter/145"));
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), trie.startsWith("/book/9999/chapter/145"));
+        assertEquals(Collections.singletonList("c"), trie.matches("/book/9999"));
+        assertTrue(trie.bestMatches("/turtle").isEmpty());
+    }
+
+    @Test
+    public void shouldExtractParametersOfBestMatch() {
+        PathPatternTrie<String> trie = new PathPatternTrie<String>()
+            .add("/book", "a")
+            .add("/book/:bookId/chapter/:chapterId", "b")
+            .add("/:storeId/orders", "c");
+
+        final Map<String, String> parameters = new LinkedHashMap<>();
+
+        assertEquals(1, trie.bestMatchIndex("/book/9999/chapter/145/pages", parameters::put));
+        assertEquals("9999", parameters.get("bookId"));
+        assertEquals("145", parameters.get("chapterId"));
+
+        parameters.clear();
+        assertEquals(2, trie.bestMatchIndex("/12345/orders", parameters::put));
+        assertEquals(Collections.singletonMap("storeId", "12345"), parameters);
+
+        parameters.clear();
+        trie.parameters("/my%20store/orders", 2, parameters::put);
+        assertEquals(Collections.singletonMap("storeId", "my%20store"), parameters);
+
+        assertEquals(-1, trie.bestMatchIndex("/turtle", parameters::put));
+    }
+
+    @Test
+    public void shouldShareTrieBetweenPatterns() {
+        final PathPatterns patterns = new PathPatterns().compile(Arrays.asList("/book", "/book/:bookId"));
+
+        assertTrue(patterns.get("/book").lookingAt("/book/1"));
+        assertTrue(patterns.get("/book/:bookId").matches("/book/1"));
+        assertFalse(patterns.get("/book").matches("/book/1"));
+
+        // Compiled lazily, previously compiled patterns are still matching
+        assertTrue(patterns.get("/store").lookingAt("/store/1"));
+        assertFalse(patterns.get("/store").lookingAt("/book/1"));
+        assertTrue(patterns.get("/book/:bookId").matches("/book/1"));
+    }
+
+    @Test
+    public void shouldMatchLikeRegex() {
+        final Random random = new Random(42);
+        final List<String> segments = Arrays.asList("a", "b", "ab", "v1", ":id", ":name", "v1.0");
+        final List<String> requestSegments = Arrays.asList("a", "b", "ab", "abc", "v1", "v1.0", "v1x0", "42", "", "%20");
+
+        final List<String> definitions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            definitions.add(randomPath(random, segments, 4) + (random.nextBoolean() ? "/" : ""));
+        }
+        definitions.add("/");
+
+        final PathPatternTrie<String> trie = new PathPatternTrie<>();
+        definitions.forEach(definition -> trie.add(definition, definition));
+
+        for (int i = 0; i < 1000; i++) {
+            final String path = randomPath(random, requestSegments, 5) + (random.nextBoolean() ? "/" : "");
+
+            final List<String> expectedStartsWith = new ArrayList<>();
+            final List<String> expectedMatches = new ArrayList<>();
+
+            for (String definition : definitions) {
+                final Pattern pattern = toRegex(definition);
+                if (pattern.matcher(path).lookingAt()) {
+                    expectedStartsWith.add(definition);
+                }
+                if (pattern.matcher(path).matches()) {
+                    expectedMatches.add(definition);
+                }
+                assertEquals(definition + " - " + path, pattern.matcher(path).matches(), PathPattern.compile(definition).matches(path));
+            }
+
+            assertEquals(path, expectedStartsWith, trie.startsWith(path));
+            assertEquals(path, expectedMatches, trie.matches(path));
+        }
+    }
+
+    private String randomPath(Random random, List<String> segments, int maxDepth) {
+        final StringBuilder path = new StringBuilder();
+        final int depth = 1 + random.nextInt(maxDepth);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments.get(random.nextInt(segments.size())));
+        }
+        return path.toString();
+    }
+
+    private Pattern toRegex(String path) {
+        String[] branches = path.split("/");
+        StringBuilder buffer = new StringBuilder("/");
+
+        for (final String branch : branches) {
+            if (!branch.isEmpty()) {
+                if (branch.startsWith(":")) {
+                    buffer.append(PATH_PARAM_REGEX);
+                } else {
+                    buffer.append(branch);
+                }
+
+                buffer.append("/");
+            }
+        }
+
+        buffer.append('?');
+
+        return Pattern.compile(buffer.toString());
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.path;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PathPatternsTest {
+
+    @Test
+    public void shouldReturnCompiledPattern() {
+        final PathPatterns patterns = new PathPatterns().compile(Arrays.asList("/products", "/products/:id"));
+
+        final PathPattern pattern = patterns.get("/products/:id");
+
+        assertSame(pattern, patterns.get("/products/:id"));
+        assertTrue(pattern.matches("/products/1"));
+        assertFalse(patterns.get("/products").matches("/products/1"));
+    }
+
+    @Test
+    public void shouldCompileStandalonePattern_whenNotCompiledAhead() {
+        final PathPatterns patterns = new PathPatterns().compile(Collections.singletonList("/products"));
+
+        final PathPattern standalone = patterns.get("/stores/:id");
+
+        assertSame(standalone, patterns.get("/stores/:id"));
+        assertTrue(standalone.matches("/stores/1"));
+        assertSame(patterns.get("/products"), patterns.get("/products"));
+    }
+
+    @Test
+    public void shouldBindStandalonePattern_whenCompiledLater() {
+        final PathPatterns patterns = new PathPatterns();
+        final PathPattern standalone = patterns.get("/stores/:id");
+
+        patterns.compile(Arrays.asList("/stores/:id", "/stores"));
+
+        final PathPattern compiled = patterns.get("/stores/:id");
+        assertNotSame(standalone, compiled);
+        assertTrue(compiled.matches("/stores/1"));
+        assertTrue(patterns.get("/stores").lookingAt("/stores/1"));
+    }
+}
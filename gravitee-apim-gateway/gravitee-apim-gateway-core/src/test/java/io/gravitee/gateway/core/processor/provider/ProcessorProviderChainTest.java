@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.core.processor.provider;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.core.processor.AbstractProcessor;
+import io.gravitee.gateway.core.processor.Processor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ProcessorProviderChainTest {
+
+    @Test
+    public void shouldExecuteProcessorsInOrder_sharedProviders() {
+        final List<ProcessorProvider<List<String>, Processor<List<String>>>> providers = Collections.unmodifiableList(
+            Arrays.asList(new ProcessorSupplier<>(() -> new AppendProcessor("a")), new ProcessorSupplier<>(() -> new AppendProcessor("b")))
+        );
+
+        for (int i = 0; i < 2; i++) {
+            final List<String> data = new ArrayList<>();
+            final AtomicBoolean completed = new AtomicBoolean();
+
+            new ProcessorProviderChain<>(providers).handler(__ -> completed.set(true)).handle(data);
+
+            assertTrue(completed.get());
+            assertEquals(Arrays.asList("a", "b"), data);
+        }
+    }
+
+    @Test
+    public void shouldIterateOverExecutedProcessors() {
+        final ProcessorProviderChain<List<String>> chain = new ProcessorProviderChain<>(
+            Arrays.asList(new ProcessorSupplier<>(() -> new AppendProcessor("a")), new ProcessorSupplier<>(() -> new AppendProcessor("b")))
+        );
+
+        chain.handler(__ -> {}).handle(new ArrayList<>());
+
+        assertTrue(chain.hasNext());
+        assertEquals("a", ((AppendProcessor) chain.next()).value);
+        assertTrue(chain.hasNext());
+        assertEquals("b", ((AppendProcessor) chain.next()).value);
+        assertFalse(chain.hasNext());
+    }
+
+    @Test
+    public void shouldExit() {
+        final AtomicBoolean exited = new AtomicBoolean();
+        final List<String> data = new ArrayList<>();
+
+        new ProcessorProviderChain<>(
+            Arrays.asList(new ProcessorSupplier<>(ExitProcessor::new), new ProcessorSupplier<>(() -> new AppendProcessor("b")))
+        )
+            .handler(__ -> fail("Chain should have exited"))
+            .exitHandler(__ -> exited.set(true))
+            .handle(data);
+
+        assertTrue(exited.get());
+        assertTrue(data.isEmpty());
+    }
+
+    private static class AppendProcessor extends AbstractProcessor<List<String>> {
+
+        private final String value;
+
+        AppendProcessor(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void handle(List<String> data) {
+            data.add(value);
+            next.handle(data);
+        }
+    }
+
+    private static class ExitProcessor extends AbstractProcessor<List<String>> {
+
+        @Override
+        public void handle(List<String> data) {
+            exitHandler.handle(null);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.dictionary;
+
+import io.gravitee.gateway.dictionary.model.Dictionary;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Store of the deployed dictionaries, based on immutable snapshots.
+ *
+ * Readers get the current snapshot with a single volatile read and never lock, while writers build a new snapshot
+ * and swap it atomically. A reader therefore always sees a consistent version of all the dictionaries, even while they
+ * are being synchronized.
+ *
+ * @author GraviteeSource Team
+ */
+public class DictionaryStore {
+
+    private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, Map<String, String>> values = new ValuesView();
+
+    /**
+     * Deploys the dictionary, unless a more recent version of it has already been deployed.
+     *
+     * @return <code>true</code> if the dictionary has been deployed.
+     */
+    public synchronized boolean deploy(Dictionary dictionary) {
+        final Snapshot current = snapshot;
+        final Dictionary oldDictionary = current.dictionaries.get(dictionary.getId());
+
+        if (oldDictionary != null && !dictionary.getDeployedAt().after(oldDictionary.getDeployedAt())) {
+            return false;
+        }
+
+        if (dictionary.getProperties() == null) {
+            dictionary.setProperties(Collections.emptyMap());
+        }
+
+        final Map<String, Dictionary> dictionaries = new HashMap<>(current.dictionaries);
+        final Map<String, Map<String, String>> values = new HashMap<>(current.values);
+        dictionaries.put(dictionary.getId(), dictionary);
+        // Copy the properties, so that the snapshot cannot be altered afterwards
+        values.put(dictionary.getId(), Collections.unmodifiableMap(new HashMap<>(dictionary.getProperties())));
+
+        snapshot = new Snapshot(current.version + 1, dictionaries, values);
+        return true;
+    }
+
+    /**
+     * @return the undeployed dictionary, or <code>null</code> if it was not deployed.
+     */
+    public synchronized Dictionary undeploy(String dictionaryId) {
+        final Snapshot current = snapshot;
+        final Dictionary dictionary = current.dictionaries.get(dictionaryId);
+
+        if (dictionary != null) {
+            final Map<String, Dictionary> dictionaries = new HashMap<>(current.dictionaries);
+            final Map<String, Map<String, String>> values = new HashMap<>(current.values);
+            dictionaries.remove(dictionaryId);
+            values.remove(dictionaryId);
+
+            snapshot = new Snapshot(current.version + 1, dictionaries, values);
+        }
+
+        return dictionary;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return a read-only view of the properties of the dictionaries, indexed by dictionary id, which always reflects
+     * the current snapshot.
+     */
+    public Map<String, Map<String, String>> values() {
+        return values;
+    }
+
+    public static class Snapshot {
+
+        private final long version;
+        private final Map<String, Dictionary> dictionaries;
+        private final Map<String, Map<String, String>> values;
+
+        private Snapshot(long version, Map<String, Dictionary> dictionaries, Map<String, Map<String, String>> values) {
+            this.version = version;
+            this.dictionaries = Collections.unmodifiableMap(dictionaries);
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Dictionary getDictionary(String dictionaryId) {
+            return dictionaries.get(dictionaryId);
+        }
+
+        public Map<String, Map<String, String>> getValues() {
+            return values;
+        }
+    }
+
+    /**
+     * EL evaluations may keep the map provided as the <code>dictionaries</code> variable, so it delegates to the
+     * current snapshot instead of exposing one.
+     */
+    private class ValuesView extends AbstractMap<String, Map<String, String>> {
+
+        @Override
+        public Map<String, String> get(Object key) {
+            return snapshot.values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return snapshot.values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return snapshot.values.size();
+        }
+
+        @Override
+        public Set<Entry<String, Map<String, String>>> entrySet() {
+            return snapshot.values.entrySet();
+        }
+    }
+}
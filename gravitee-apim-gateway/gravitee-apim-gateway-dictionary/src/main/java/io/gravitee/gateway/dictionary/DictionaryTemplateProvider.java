@@ -20,9 +20,6 @@ import io.gravitee.el.TemplateVariableProvider;
 import io.gravitee.el.TemplateVariableScope;
 import io.gravitee.el.annotations.TemplateVariable;
 import io.gravitee.gateway.dictionary.model.Dictionary;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,33 +32,23 @@ public class DictionaryTemplateProvider implements DictionaryManager, TemplateVa
 
     private final Logger LOGGER = LoggerFactory.getLogger(DictionaryTemplateProvider.class);
 
-    private final Map<String, Dictionary> dictionaries = new HashMap<>();
-    private final Map<String, Map<String, String>> values = new HashMap<>();
+    private final DictionaryStore store = new DictionaryStore();
 
     @Override
     public void provide(TemplateContext context) {
-        context.setVariable("dictionaries", values);
+        context.setVariable("dictionaries", store.values());
     }
 
     @Override
     public void deploy(Dictionary dictionary) {
-        Dictionary oldDictionary = dictionaries.get(dictionary.getId());
-        if (oldDictionary == null || dictionary.getDeployedAt().after(oldDictionary.getDeployedAt())) {
-            if (dictionary.getProperties() == null) {
-                dictionary.setProperties(Collections.emptyMap());
-            }
-
+        if (store.deploy(dictionary)) {
             LOGGER.info("Dictionary {} has been deployed with {} properties", dictionary, dictionary.getProperties().size());
-            dictionaries.put(dictionary.getId(), dictionary);
-            values.put(dictionary.getId(), dictionary.getProperties());
         }
     }
 
     @Override
     public void undeploy(String dictionaryId) {
-        Dictionary dictionary = dictionaries.remove(dictionaryId);
-        if (dictionary != null) {
-            values.remove(dictionaryId);
+        if (store.undeploy(dictionaryId) != null) {
             LOGGER.info("A dictionary has been undeployed: {}", dictionaryId);
         }
     }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.dictionary;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.dictionary.model.Dictionary;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DictionaryStoreTest {
+
+    private final DictionaryStore store = new DictionaryStore();
+
+    @Test
+    public void shouldDeployDictionary() {
+        assertTrue(store.deploy(dictionary("dict", 1000, "key", "value")));
+
+        assertEquals(1, store.snapshot().getVersion());
+        assertEquals("value", store.values().get("dict").get("key"));
+        assertNotNull(store.snapshot().getDictionary("dict"));
+    }
+
+    @Test
+    public void shouldNotDeployOlderDictionary() {
+        store.deploy(dictionary("dict", 2000, "key", "value"));
+
+        assertFalse(store.deploy(dictionary("dict", 1000, "key", "old-value")));
+        assertEquals("value", store.values().get("dict").get("key"));
+        assertEquals(1, store.snapshot().getVersion());
+    }
+
+    @Test
+    public void shouldKeepSnapshotUnchanged_whenDeploying() {
+        store.deploy(dictionary("dict", 1000, "key", "value"));
+        final DictionaryStore.Snapshot snapshot = store.snapshot();
+
+        final Dictionary dictionary = dictionary("dict", 2000, "key", "new-value");
+        store.deploy(dictionary);
+        dictionary.getProperties().put("key", "altered");
+
+        assertEquals("value", snapshot.getValues().get("dict").get("key"));
+        assertEquals("new-value", store.snapshot().getValues().get("dict").get("key"));
+    }
+
+    @Test
+    public void shouldReflectCurrentSnapshot_fromValuesView() {
+        final Map<String, Map<String, String>> values = store.values();
+
+        store.deploy(dictionary("dict", 1000, "key", "value"));
+        assertEquals("value", values.get("dict").get("key"));
+
+        assertNotNull(store.undeploy("dict"));
+        assertNull(values.get("dict"));
+        assertTrue(values.isEmpty());
+        assertNull(store.undeploy("dict"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAlterValues() {
+        store.deploy(dictionary("dict", 1000, "key", "value"));
+
+        store.values().get("dict").put("key", "altered");
+    }
+
+    private Dictionary dictionary(String id, long deployedAt, String key, String value) {
+        final Dictionary dictionary = new Dictionary();
+        dictionary.setId(id);
+        dictionary.setDeployedAt(new Date(deployedAt));
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(key, value);
+        dictionary.setProperties(properties);
+        return dictionary;
+    }
+}
@@ -17,11 +17,10 @@ package io.gravitee.gateway.flow;
 
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.core.path.PathPattern;
+import io.gravitee.gateway.core.path.PathPatterns;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
 
 /**
  * This flow provider is resolving only the {@link Flow} which best match according to the incoming request.
@@ -31,17 +30,17 @@ import java.util.regex.Pattern;
  */
 public class BestMatchPolicyResolver implements FlowResolver {
 
-    private final Map<String, Pattern> cache = new ConcurrentHashMap<>();
-
-    private static final char OPTIONAL_TRAILING_SEPARATOR = '?';
-    private static final String PATH_SEPARATOR = "/";
-    private static final String PATH_PARAM_PREFIX = ":";
-    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+    private final PathPatterns patterns;
 
     private final FlowResolver flowResolver;
 
     public BestMatchPolicyResolver(final FlowResolver flowResolver) {
+        this(flowResolver, new PathPatterns());
+    }
+
+    public BestMatchPolicyResolver(final FlowResolver flowResolver, final PathPatterns patterns) {
         this.flowResolver = flowResolver;
+        this.patterns = patterns;
     }
 
     @Override
@@ -63,9 +62,9 @@ public class BestMatchPolicyResolver implements FlowResolver {
         List<Flow> filteredFlows = new ArrayList<>();
 
         for (Flow flow : flows) {
-            Pattern pattern = cache.computeIfAbsent(flow.getPath(), this::transform);
-            if (pattern.matcher(path).lookingAt()) {
-                int split = flow.getPath().split(PATH_SEPARATOR).length;
+            PathPattern pattern = patterns.get(flow.getPath());
+            if (pattern.lookingAt(path)) {
+                int split = pattern.getPieces();
                 if (split >= pieces) {
                     // If we found more matching, forget the previous one
                     if (split > pieces) {
@@ -80,26 +79,4 @@ public class BestMatchPolicyResolver implements FlowResolver {
 
         return filteredFlows;
     }
-
-    private Pattern transform(String path) {
-        String[] branches = path.split(PATH_SEPARATOR);
-        StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
-
-        for (final String branch : branches) {
-            if (!branch.isEmpty()) {
-                if (branch.startsWith(PATH_PARAM_PREFIX)) {
-                    buffer.append(PATH_PARAM_REGEX);
-                } else {
-                    buffer.append(branch);
-                }
-
-                buffer.append(PATH_SEPARATOR);
-            }
-        }
-
-        // Last path separator is not required to match
-        buffer.append(OPTIONAL_TRAILING_SEPARATOR);
-
-        return Pattern.compile(buffer.toString());
-    }
 }
@@ -18,6 +18,7 @@ package io.gravitee.gateway.flow.condition.evaluation;
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.condition.ConditionEvaluator;
+import io.gravitee.gateway.core.condition.ExpressionCache;
 
 /**
  * This {@link ConditionEvaluator} evaluates to true if the condition of the string is evaluated to <code>true</code>.
@@ -27,10 +28,20 @@ import io.gravitee.gateway.core.condition.ConditionEvaluator;
  */
 public class ExpressionLanguageFlowConditionEvaluator implements ConditionEvaluator<Flow> {
 
+    private final ExpressionCache expressionCache;
+
+    public ExpressionLanguageFlowConditionEvaluator() {
+        this(new ExpressionCache());
+    }
+
+    public ExpressionLanguageFlowConditionEvaluator(final ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
     @Override
     public boolean evaluate(ExecutionContext context, Flow flow) {
         if (flow.getCondition() != null && !flow.getCondition().isEmpty()) {
-            return context.getTemplateEngine().getValue(flow.getCondition(), Boolean.class);
+            return expressionCache.getValue(context.getTemplateEngine(), flow.getCondition(), Boolean.class);
         }
 
         return true;
@@ -19,9 +19,8 @@ import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.definition.model.flow.Operator;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.condition.ConditionEvaluator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import io.gravitee.gateway.core.path.PathPattern;
+import io.gravitee.gateway.core.path.PathPatterns;
 
 /**
  * This {@link ConditionEvaluator} evaluates to true if the path of the request is matching the
@@ -32,41 +31,22 @@ import java.util.regex.Pattern;
  */
 public class PathBasedConditionEvaluator implements ConditionEvaluator<Flow> {
 
-    private static final char OPTIONAL_TRAILING_SEPARATOR = '?';
-    private static final String PATH_SEPARATOR = "/";
-    private static final String PATH_PARAM_PREFIX = ":";
-    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
+    private final PathPatterns patterns;
 
-    private final Map<String, Pattern> cache = new ConcurrentHashMap<>();
+    public PathBasedConditionEvaluator() {
+        this(new PathPatterns());
+    }
+
+    public PathBasedConditionEvaluator(final PathPatterns patterns) {
+        this.patterns = patterns;
+    }
 
     @Override
     public boolean evaluate(ExecutionContext context, Flow flow) {
-        Pattern pattern = cache.computeIfAbsent(flow.getPath(), this::transform);
+        PathPattern pattern = patterns.get(flow.getPath());
 
         return (flow.getOperator() == Operator.EQUALS)
-            ? pattern.matcher(context.request().pathInfo()).matches()
-            : pattern.matcher(context.request().pathInfo()).lookingAt();
-    }
-
-    private Pattern transform(String path) {
-        String[] branches = path.split(PATH_SEPARATOR);
-        StringBuilder buffer = new StringBuilder(PATH_SEPARATOR);
-
-        for (final String branch : branches) {
-            if (!branch.isEmpty()) {
-                if (branch.startsWith(PATH_PARAM_PREFIX)) {
-                    buffer.append(PATH_PARAM_REGEX);
-                } else {
-                    buffer.append(branch);
-                }
-
-                buffer.append(PATH_SEPARATOR);
-            }
-        }
-
-        // Last path separator is not required to match
-        buffer.append(OPTIONAL_TRAILING_SEPARATOR);
-
-        return Pattern.compile(buffer.toString());
+            ? pattern.matches(context.request().pathInfo())
+            : pattern.lookingAt(context.request().pathInfo());
     }
 }
@@ -24,6 +24,7 @@ import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.definition.model.flow.PathOperator;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.core.path.PathPatterns;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
@@ -31,6 +32,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,6 +47,9 @@ public class BestMatchPolicyResolverTest {
     @Mock
     private ExecutionContext context;
 
+    @Spy
+    private PathPatterns patterns = new PathPatterns();
+
     @Test
     public void resolve_should_return_empty_list_cause_no_matching_flow() {
         mockInputRequestPath("/turtle");
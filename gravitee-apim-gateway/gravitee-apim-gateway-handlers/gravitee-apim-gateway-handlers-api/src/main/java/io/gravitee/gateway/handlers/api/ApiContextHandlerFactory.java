@@ -16,12 +16,16 @@
 package io.gravitee.gateway.handlers.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.definition.model.flow.Step;
 import io.gravitee.gateway.api.endpoint.resolver.EndpointResolver;
 import io.gravitee.gateway.connector.ConnectorRegistry;
 import io.gravitee.gateway.core.classloader.DefaultClassLoader;
 import io.gravitee.gateway.core.component.ComponentProvider;
 import io.gravitee.gateway.core.component.CompositeComponentProvider;
 import io.gravitee.gateway.core.component.CustomComponentProvider;
+import io.gravitee.gateway.core.condition.ExpressionCache;
+import io.gravitee.gateway.core.condition.ExpressionLanguageStringConditionEvaluator;
 import io.gravitee.gateway.core.endpoint.GroupManager;
 import io.gravitee.gateway.core.endpoint.factory.EndpointFactory;
 import io.gravitee.gateway.core.endpoint.factory.impl.EndpointFactoryImpl;
@@ -63,6 +67,9 @@ import io.gravitee.plugin.resource.ResourceClassLoaderFactory;
 import io.gravitee.plugin.resource.ResourcePlugin;
 import io.gravitee.resource.api.ResourceManager;
 import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
@@ -78,6 +85,7 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
     public static final String REPORTERS_LOGGING_MAX_SIZE_PROPERTY = "reporters.logging.max_size";
     public static final String HANDLERS_REQUEST_HEADERS_X_FORWARDED_PREFIX_PROPERTY = "handlers.request.headers.x-forwarded-prefix";
     public static final String REPORTERS_LOGGING_EXCLUDED_RESPONSE_TYPES_PROPERTY = "reporters.logging.excluded_response_types";
+    public static final String HANDLERS_EXPRESSIONS_CACHE_MAX_SIZE_PROPERTY = "handlers.expressions.cache.max_size";
     private final Logger logger = LoggerFactory.getLogger(ApiContextHandlerFactory.class);
 
     private ApplicationContext applicationContext;
@@ -115,8 +123,13 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
                     globalComponentProvider
                 );
 
+                // Conditions of the api are parsed once, when the api is deployed, and released when it is undeployed.
+                final ExpressionCache expressionCache = expressionCache(api);
+
                 // Force creation of a dedicated PolicyFactory for each api as it may involve cache we want to be released when api is undeployed.
-                final PolicyFactory policyFactory = applicationContext.getBean(PolicyFactoryCreator.class).getObject();
+                final PolicyFactory policyFactory = applicationContext
+                    .getBean(PolicyFactoryCreator.class)
+                    .create(new ExpressionLanguageStringConditionEvaluator(expressionCache));
 
                 final PolicyManager policyManager = policyManager(
                     api,
@@ -133,6 +146,7 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
                     policyChainFactory,
                     policyManager,
                     applicationContext.getBean(PolicyChainProviderLoader.class),
+                    expressionCache,
                     authenticationHandlerSelector(
                         authenticationHandlerManager(securityProviderLoader(), authenticationHandlerEnhancer(api), apiComponentProvider)
                     )
@@ -142,7 +156,12 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
 
                 handler.setRequestProcessorChain(requestProcessorChainFactory);
                 handler.setResponseProcessorChain(
-                    responseProcessorChainFactory(api, policyChainFactory, applicationContext.getBean(PolicyChainProviderLoader.class))
+                    responseProcessorChainFactory(
+                        api,
+                        policyChainFactory,
+                        applicationContext.getBean(PolicyChainProviderLoader.class),
+                        expressionCache
+                    )
                 );
                 handler.setErrorProcessorChain(errorProcessorChainFactory(api, policyChainFactory));
 
@@ -162,6 +181,7 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
                 );
 
                 handler.setPolicyManager(policyManager);
+                handler.setExpressionCache(expressionCache);
                 handler.setGroupLifecycleManager(groupLifecycleManager);
                 handler.setResourceLifecycleManager(resourceLifecycleManager);
 
@@ -187,6 +207,36 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
         return null;
     }
 
+    public ExpressionCache expressionCache(Api api) {
+        final List<String> conditions = new ArrayList<>();
+
+        addConditions(api.getFlows(), conditions);
+        if (api.getPlans() != null) {
+            api.getPlans().forEach(plan -> addConditions(plan.getFlows(), conditions));
+        }
+
+        return new ExpressionCache(
+            configuration.getProperty(HANDLERS_EXPRESSIONS_CACHE_MAX_SIZE_PROPERTY, Long.class, ExpressionCache.DEFAULT_MAXIMUM_SIZE)
+        )
+        .compile(conditions);
+    }
+
+    private void addConditions(Collection<Flow> flows, List<String> conditions) {
+        if (flows != null) {
+            for (Flow flow : flows) {
+                conditions.add(flow.getCondition());
+                addStepConditions(flow.getPre(), conditions);
+                addStepConditions(flow.getPost(), conditions);
+            }
+        }
+    }
+
+    private void addStepConditions(Collection<Step> steps, List<String> conditions) {
+        if (steps != null) {
+            steps.stream().filter(Step::isEnabled).map(Step::getCondition).forEach(conditions::add);
+        }
+    }
+
     public PolicyChainFactory policyChainFactory(PolicyManager policyManager) {
         return new PolicyChainFactory(policyManager);
     }
@@ -320,6 +370,7 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
         PolicyChainFactory policyChainFactory,
         PolicyManager policyManager,
         PolicyChainProviderLoader policyChainProviderLoader,
+        ExpressionCache expressionCache,
         AuthenticationHandlerSelector authenticationHandlerSelector
     ) {
         RequestProcessorChainFactory.RequestProcessorChainFactoryOptions options = new RequestProcessorChainFactory.RequestProcessorChainFactoryOptions();
@@ -335,6 +386,7 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
             policyManager,
             options,
             policyChainProviderLoader,
+            expressionCache,
             authenticationHandlerSelector
         );
     }
@@ -342,9 +394,10 @@ public class ApiContextHandlerFactory implements ReactorHandlerFactory<Api> {
     public ResponseProcessorChainFactory responseProcessorChainFactory(
         Api api,
         PolicyChainFactory policyChainFactory,
-        PolicyChainProviderLoader policyChainProviderLoader
+        PolicyChainProviderLoader policyChainProviderLoader,
+        ExpressionCache expressionCache
     ) {
-        return new ResponseProcessorChainFactory(api, policyChainFactory, policyChainProviderLoader, node);
+        return new ResponseProcessorChainFactory(api, policyChainFactory, policyChainProviderLoader, expressionCache, node);
     }
 
     public OnErrorProcessorChainFactory errorProcessorChainFactory(Api api, PolicyChainFactory policyChainFactory) {
@@ -23,6 +23,7 @@ import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.http.HttpHeaders;
 import io.gravitee.gateway.api.processor.ProcessorFailure;
 import io.gravitee.gateway.api.proxy.ProxyResponse;
+import io.gravitee.gateway.core.condition.ExpressionCache;
 import io.gravitee.gateway.core.endpoint.lifecycle.GroupLifecycleManager;
 import io.gravitee.gateway.core.invoker.EndpointInvoker;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
@@ -33,6 +34,8 @@ import io.gravitee.gateway.handlers.api.processor.ResponseProcessorChainFactory;
 import io.gravitee.gateway.policy.PolicyManager;
 import io.gravitee.gateway.reactor.handler.AbstractReactorHandler;
 import io.gravitee.gateway.resource.ResourceLifecycleManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
 import java.util.Map;
 import java.util.Objects;
 
@@ -60,6 +63,10 @@ public class ApiReactorHandler extends AbstractReactorHandler<Api> {
 
     private GroupLifecycleManager groupLifecycleManager;
 
+    private ExpressionCache expressionCache;
+
+    private ExpressionCacheMetrics expressionCacheMetrics;
+
     public ApiReactorHandler(final Api api) {
         super(api);
     }
@@ -264,6 +271,12 @@ public class ApiReactorHandler extends AbstractReactorHandler<Api> {
         policyManager.start();
         groupLifecycleManager.start();
 
+        final MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (expressionCache != null && registry != null) {
+            expressionCacheMetrics = new ExpressionCacheMetrics(expressionCache, reactable.getId());
+            expressionCacheMetrics.bindTo(registry);
+        }
+
         dumpVirtualHosts();
 
         long endTime = System.currentTimeMillis(); // Get the end Time
@@ -278,6 +291,15 @@ public class ApiReactorHandler extends AbstractReactorHandler<Api> {
         resourceLifecycleManager.stop();
         groupLifecycleManager.stop();
 
+        if (expressionCacheMetrics != null) {
+            expressionCacheMetrics.unbind();
+            expressionCacheMetrics = null;
+        }
+
+        if (expressionCache != null) {
+            expressionCache.invalidate();
+        }
+
         super.doStop();
         logger.debug("API handler is now stopped: {}", this);
     }
@@ -323,6 +345,10 @@ public class ApiReactorHandler extends AbstractReactorHandler<Api> {
         this.groupLifecycleManager = groupLifecycleManager;
     }
 
+    public void setExpressionCache(ExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(reactable);
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api;
+
+import io.gravitee.gateway.core.condition.ExpressionCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publish the size and the hit, miss and eviction counts of the expression cache of an API.
+ *
+ * The meters are tagged with the id of the API and must be removed with {@link #unbind()} once the API is undeployed.
+ *
+ * @author GraviteeSource Team
+ */
+class ExpressionCacheMetrics implements MeterBinder {
+
+    private final ExpressionCache expressionCache;
+    private final Tags tags;
+    private final List<Meter> meters = new ArrayList<>();
+    private MeterRegistry registry;
+
+    ExpressionCacheMetrics(ExpressionCache expressionCache, String api) {
+        this.expressionCache = expressionCache;
+        this.tags = Tags.of("api", api);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+
+        meters.add(
+            Gauge
+                .builder("expressions.cache.size", expressionCache, ExpressionCache::size)
+                .tags(tags)
+                .description("Number of parsed expressions")
+                .register(registry)
+        );
+        meters.add(
+            FunctionCounter
+                .builder("expressions.cache.requests", expressionCache, cache -> cache.stats().hitCount())
+                .tags(tags)
+                .tag("result", "hit")
+                .description("Number of expressions found already parsed")
+                .register(registry)
+        );
+        meters.add(
+            FunctionCounter
+                .builder("expressions.cache.requests", expressionCache, cache -> cache.stats().missCount())
+                .tags(tags)
+                .tag("result", "miss")
+                .description("Number of expressions parsed on their evaluation")
+                .register(registry)
+        );
+        meters.add(
+            FunctionCounter
+                .builder("expressions.cache.evictions", expressionCache, cache -> cache.stats().evictionCount())
+                .tags(tags)
+                .description("Number of parsed expressions evicted because the cache was full")
+                .register(registry)
+        );
+    }
+
+    /**
+     * Remove the meters from the registry they have been bound to.
+     */
+    void unbind() {
+        if (registry != null) {
+            meters.forEach(registry::remove);
+            meters.clear();
+            registry = null;
+        }
+    }
+}
@@ -17,7 +17,6 @@ package io.gravitee.gateway.handlers.api.path;
 
 import io.gravitee.definition.model.Rule;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -30,11 +29,6 @@ public class Path {
      */
     private String path;
 
-    /**
-     * Regex used to match this path
-     */
-    private Pattern pattern;
-
     /**
      * List of pathParam name
      */
@@ -61,14 +55,6 @@ public class Path {
         this.rules = rules;
     }
 
-    public Pattern getPattern() {
-        return pattern;
-    }
-
-    public void setPattern(Pattern pattern) {
-        this.pattern = pattern;
-    }
-
     public List<PathParam> getParameters() {
         return parameters;
     }
@@ -16,6 +16,7 @@
 package io.gravitee.gateway.handlers.api.path;
 
 import io.gravitee.gateway.api.Request;
+import java.util.function.BiConsumer;
 
 /**
  * This resolver is used to determine the configured {@link Path} from
@@ -34,4 +35,13 @@ public interface PathResolver {
      * @return The "resolved" path for current request.
      */
     Path resolve(Request request);
+
+    /**
+     * The "resolved" path, whose parameters are extracted from the request path while resolving it.
+     *
+     * @param request The incoming request.
+     * @param parameters The consumer of the path parameters (name, value) of the resolved path.
+     * @return The "resolved" path for current request.
+     */
+    Path resolve(Request request, BiConsumer<String, String> parameters);
 }
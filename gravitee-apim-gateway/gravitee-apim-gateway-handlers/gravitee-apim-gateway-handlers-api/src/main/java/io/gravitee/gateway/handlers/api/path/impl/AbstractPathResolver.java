@@ -17,6 +17,7 @@ package io.gravitee.gateway.handlers.api.path.impl;
 
 import io.gravitee.definition.model.Rule;
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.core.path.PathPatternTrie;
 import io.gravitee.gateway.handlers.api.path.Path;
 import io.gravitee.gateway.handlers.api.path.PathParam;
 import io.gravitee.gateway.handlers.api.path.PathResolver;
@@ -25,7 +26,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
 
 /**
  * A simple path resolver based on context paths definition.
@@ -37,10 +38,11 @@ public abstract class AbstractPathResolver implements PathResolver {
 
     private static final String URL_PATH_SEPARATOR = "/";
     private static final String PATH_PARAM_PREFIX = ":";
-    private static final String PATH_PARAM_REGEX = "[a-zA-Z0-9\\-._~%!$&'()* +,;=:@/]+";
 
     private final List<Path> registeredPaths = new ArrayList<>();
 
+    private final PathPatternTrie<Path> pathTrie = new PathPatternTrie<>();
+
     private static final Path UNKNOWN_PATH = new Path() {
         @Override
         public String getPath() {
@@ -55,58 +57,60 @@ public abstract class AbstractPathResolver implements PathResolver {
 
     @Override
     public Path resolve(final Request request) {
+        return resolve(request, null);
+    }
+
+    @Override
+    public Path resolve(final Request request, final BiConsumer<String, String> parameters) {
         if (registeredPaths.size() == 1) {
+            if (parameters != null) {
+                pathTrie.parameters(request.pathInfo(), 0, parameters);
+            }
             return registeredPaths.get(0);
         }
 
-        String path = request.pathInfo();
+        final String pathInfo = request.pathInfo();
+        String path = pathInfo;
 
         try {
-            path = QueryStringDecoder.decodeComponent(path, Charset.defaultCharset());
+            path = QueryStringDecoder.decodeComponent(pathInfo, Charset.defaultCharset());
         } catch (IllegalArgumentException iae) {}
 
-        int pieces = -1;
-        Path bestPath = null;
-
-        // TODO PERF: We must navigate from the longest path to the shortest to avoid counting pieces.
-        for (Path registerPath : registeredPaths) {
-            if (registerPath.getPattern().matcher(path).lookingAt()) {
-                int split = registerPath.getPath().split(URL_PATH_SEPARATOR).length;
-                if (split > pieces) {
-                    pieces = split;
-                    bestPath = registerPath;
-                }
+        // The deepest registered paths are resolved in a single pass, the first registered one wins.
+        // Parameters are extracted from the raw path, they are extracted during the same pass unless it had to be decoded.
+        final int index;
+        if (path == pathInfo) {
+            index = pathTrie.bestMatchIndex(path, parameters);
+        } else {
+            index = pathTrie.bestMatchIndex(path, null);
+            if (index != -1 && parameters != null) {
+                pathTrie.parameters(pathInfo, index, parameters);
             }
         }
 
-        return (bestPath != null) ? bestPath : UNKNOWN_PATH;
+        return (index != -1) ? registeredPaths.get(index) : UNKNOWN_PATH;
     }
 
+    /**
+     * Register a path, compiled to the trie of the resolver. Paths are registered when the API is deployed, before
+     * the resolver is used.
+     *
+     * @param path the path to register.
+     */
     protected void register(Path path) {
         String[] branches = path.getPath().split(URL_PATH_SEPARATOR);
-        StringBuilder buffer = new StringBuilder(URL_PATH_SEPARATOR);
         List<PathParam> parameters = new ArrayList<>();
 
         for (int i = 0; i < branches.length; i++) {
             final String branch = branches[i];
-            if (!branch.isEmpty()) {
-                if (branch.startsWith(PATH_PARAM_PREFIX)) {
-                    buffer.append(PATH_PARAM_REGEX);
-                    parameters.add(new PathParam(branch.substring(PATH_PARAM_PREFIX.length()), i));
-                } else {
-                    buffer.append(branch);
-                }
-
-                buffer.append(URL_PATH_SEPARATOR);
+            if (branch.startsWith(PATH_PARAM_PREFIX)) {
+                parameters.add(new PathParam(branch.substring(PATH_PARAM_PREFIX.length()), i));
             }
         }
 
-        // Last path separator is not required to match
-        buffer.append('?');
-
-        path.setPattern(Pattern.compile(buffer.toString()));
         path.setParameters(parameters);
 
         registeredPaths.add(path);
+        pathTrie.add(path.getPath(), path);
     }
 }
@@ -16,6 +16,7 @@
 package io.gravitee.gateway.handlers.api.policy.security;
 
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
@@ -45,6 +46,16 @@ public class FreePlanAuthenticationHandler implements AuthenticationHandler {
         return handler.canHandle(authenticationContext);
     }
 
+    @Override
+    public void canHandle(AuthenticationContext authenticationContext, Handler<Boolean> resultHandler) {
+        handler.canHandle(authenticationContext, resultHandler);
+    }
+
+    @Override
+    public AuthenticationHandler unwrap() {
+        return handler.unwrap();
+    }
+
     @Override
     public String name() {
         return handler.name();
@@ -17,12 +17,13 @@ package io.gravitee.gateway.handlers.api.policy.security;
 
 import io.gravitee.definition.model.Plan;
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationPolicy;
 import io.gravitee.gateway.security.core.PluginAuthenticationPolicy;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,10 +36,13 @@ public class PlanBasedAuthenticationHandler implements AuthenticationHandler {
         ExecutionContext.ATTR_PREFIX + ExecutionContext.ATTR_PLAN + ".selection.rule.based";
     protected final AuthenticationHandler handler;
     protected final Plan plan;
+    private final boolean selectionRuleBased;
+    private volatile PlanPolicies planPolicies;
 
     public PlanBasedAuthenticationHandler(final AuthenticationHandler handler, final Plan plan) {
         this.handler = handler;
         this.plan = plan;
+        this.selectionRuleBased = plan.getSelectionRule() != null && !plan.getSelectionRule().isEmpty();
     }
 
     @Override
@@ -46,6 +50,11 @@ public class PlanBasedAuthenticationHandler implements AuthenticationHandler {
         return handler.canHandle(authenticationContext);
     }
 
+    @Override
+    public void canHandle(AuthenticationContext authenticationContext, Handler<Boolean> resultHandler) {
+        handler.canHandle(authenticationContext, resultHandler);
+    }
+
     @Override
     public String name() {
         return handler.name();
@@ -56,40 +65,56 @@ public class PlanBasedAuthenticationHandler implements AuthenticationHandler {
         return handler.order();
     }
 
+    @Override
+    public AuthenticationHandler unwrap() {
+        return handler.unwrap();
+    }
+
     @Override
     public List<AuthenticationPolicy> handle(ExecutionContext executionContext) {
         executionContext.setAttribute(ExecutionContext.ATTR_PLAN, plan.getId());
-        executionContext.setAttribute(
-            CONTEXT_ATTRIBUTE_PLAN_SELECTION_RULE_BASED,
-            plan.getSelectionRule() != null && !plan.getSelectionRule().isEmpty()
-        );
-
-        return handler
-            .handle(executionContext)
-            .stream()
-            .map(
-                new Function<AuthenticationPolicy, AuthenticationPolicy>() {
-                    @Override
-                    public AuthenticationPolicy apply(AuthenticationPolicy securityPolicy) {
-                        // Override the configuration of the policy with the one provided by the plan
-                        if (securityPolicy instanceof PluginAuthenticationPolicy) {
-                            return new PluginAuthenticationPolicy() {
-                                @Override
-                                public String name() {
-                                    return ((PluginAuthenticationPolicy) securityPolicy).name();
-                                }
-
-                                @Override
-                                public String configuration() {
-                                    return plan.getSecurityDefinition();
-                                }
-                            };
-                        }
-
-                        return securityPolicy;
-                    }
+        executionContext.setAttribute(CONTEXT_ATTRIBUTE_PLAN_SELECTION_RULE_BASED, selectionRuleBased);
+
+        final List<AuthenticationPolicy> handlerPolicies = handler.handle(executionContext);
+
+        // Handlers return the same policies for each request, so the plan policies are computed only once
+        PlanPolicies planPolicies = this.planPolicies;
+        if (planPolicies == null || planPolicies.handlerPolicies != handlerPolicies) {
+            planPolicies = new PlanPolicies(handlerPolicies, handlerPolicies.stream().map(this::toPlanPolicy).collect(Collectors.toList()));
+            this.planPolicies = planPolicies;
+        }
+
+        return planPolicies.policies;
+    }
+
+    private AuthenticationPolicy toPlanPolicy(AuthenticationPolicy securityPolicy) {
+        // Override the configuration of the policy with the one provided by the plan
+        if (securityPolicy instanceof PluginAuthenticationPolicy) {
+            final String name = ((PluginAuthenticationPolicy) securityPolicy).name();
+            return new PluginAuthenticationPolicy() {
+                @Override
+                public String name() {
+                    return name;
                 }
-            )
-            .collect(Collectors.toList());
+
+                @Override
+                public String configuration() {
+                    return plan.getSecurityDefinition();
+                }
+            };
+        }
+
+        return securityPolicy;
+    }
+
+    private static class PlanPolicies {
+
+        private final List<AuthenticationPolicy> handlerPolicies;
+        private final List<AuthenticationPolicy> policies;
+
+        private PlanPolicies(List<AuthenticationPolicy> handlerPolicies, List<AuthenticationPolicy> policies) {
+            this.handlerPolicies = handlerPolicies;
+            this.policies = Collections.unmodifiableList(policies);
+        }
     }
 }
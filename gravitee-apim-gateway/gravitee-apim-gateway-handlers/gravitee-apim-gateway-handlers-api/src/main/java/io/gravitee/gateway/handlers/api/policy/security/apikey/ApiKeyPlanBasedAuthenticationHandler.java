@@ -17,6 +17,7 @@ package io.gravitee.gateway.handlers.api.policy.security.apikey;
 
 import io.gravitee.definition.model.Plan;
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationPolicy;
@@ -42,12 +43,15 @@ public class ApiKeyPlanBasedAuthenticationHandler implements AuthenticationHandl
 
     @Override
     public boolean canHandle(AuthenticationContext context) {
-        boolean handle = handler.canHandle(context);
+        return handler.canHandle(context) && matchPlan(context);
+    }
 
-        if (!handle) {
-            return false;
-        }
+    @Override
+    public void canHandle(AuthenticationContext context, Handler<Boolean> resultHandler) {
+        handler.canHandle(context, handle -> resultHandler.handle(handle && matchPlan(context)));
+    }
 
+    private boolean matchPlan(AuthenticationContext context) {
         // Check that the plan associated to the api-key matches the current plan
         Optional<ApiKey> optApikey = (Optional<ApiKey>) context.get(APIKEY_CONTEXT_ATTRIBUTE);
         if (optApikey != null && !optApikey.isPresent()) {
@@ -57,6 +61,11 @@ public class ApiKeyPlanBasedAuthenticationHandler implements AuthenticationHandl
         return optApikey != null && optApikey.isPresent() && optApikey.get().getPlan().equals(plan.getId());
     }
 
+    @Override
+    public AuthenticationHandler unwrap() {
+        return handler.unwrap();
+    }
+
     @Override
     public String name() {
         return handler.name();
@@ -17,6 +17,7 @@ package io.gravitee.gateway.handlers.api.policy.security.rule;
 
 import io.gravitee.definition.model.Plan;
 import io.gravitee.gateway.api.el.EvaluableRequest;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.handlers.api.policy.security.PlanBasedAuthenticationHandler;
 import io.gravitee.gateway.security.core.AuthenticationContext;
 import io.gravitee.gateway.security.core.AuthenticationHandler;
@@ -41,12 +42,15 @@ public class SelectionRulePlanBasedAuthenticationHandler extends PlanBasedAuthen
 
     @Override
     public boolean canHandle(AuthenticationContext context) {
-        boolean handle = handler.canHandle(context);
+        return handler.canHandle(context) && matchSelectionRule(context);
+    }
 
-        if (!handle) {
-            return false;
-        }
+    @Override
+    public void canHandle(AuthenticationContext context, Handler<Boolean> resultHandler) {
+        handler.canHandle(context, handle -> resultHandler.handle(handle && matchSelectionRule(context)));
+    }
 
+    private boolean matchSelectionRule(AuthenticationContext context) {
         try {
             Expression expression = new SpelExpressionParser()
             .parseExpression(plan.getSelectionRule().replaceAll(EXPRESSION_REGEX, EXPRESSION_REGEX_SUBSTITUTE));
@@ -15,8 +15,10 @@
  */
 package io.gravitee.gateway.handlers.api.processor;
 
+import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.core.processor.Processor;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
 import io.gravitee.gateway.core.processor.chain.ProcessorChainFactory;
@@ -28,7 +30,9 @@ import io.gravitee.gateway.flow.policy.PolicyChainFactory;
 import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.policy.PolicyManager;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.springframework.beans.factory.InitializingBean;
 
@@ -62,6 +66,28 @@ public abstract class ApiProcessorChainFactory
         add(new StreamableProcessorSupplier<>(supplier));
     }
 
+    /**
+     * Compile the path of all the flows (from the API and its plans) once, when the API is deployed,
+     * to be shared by all the flow resolvers of the chain.
+     */
+    protected PathPatterns pathPatterns() {
+        final Set<String> paths = new HashSet<>();
+
+        if (api.getFlows() != null) {
+            api.getFlows().stream().map(Flow::getPath).forEach(paths::add);
+        }
+
+        if (api.getPlans() != null) {
+            api
+                .getPlans()
+                .stream()
+                .filter(plan -> plan.getFlows() != null)
+                .forEach(plan -> plan.getFlows().stream().map(Flow::getPath).forEach(paths::add));
+        }
+
+        return new PathPatterns().compile(paths);
+    }
+
     @Override
     public StreamableProcessorChain<ExecutionContext, Buffer, StreamableProcessor<ExecutionContext, Buffer>> create() {
         return new StreamableProcessorProviderChain<>(providers);
@@ -23,7 +23,9 @@ import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.core.condition.CompositeConditionEvaluator;
 import io.gravitee.gateway.core.condition.ConditionEvaluator;
+import io.gravitee.gateway.core.condition.ExpressionCache;
 import io.gravitee.gateway.core.condition.ExpressionLanguageStringConditionEvaluator;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.core.processor.provider.StreamableProcessorSupplier;
 import io.gravitee.gateway.flow.BestMatchPolicyResolver;
 import io.gravitee.gateway.flow.SimpleFlowPolicyChainProvider;
@@ -63,6 +65,7 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
 
     private final RequestProcessorChainFactoryOptions requestProcessorChainFactoryOptions;
     private final PolicyChainProviderLoader policyChainProviderLoader;
+    private final ExpressionCache expressionCache;
     private final AuthenticationHandlerSelector authenticationHandlerSelector;
     private final PolicyManager policyManager;
 
@@ -72,12 +75,14 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
         final PolicyManager policyManager,
         final RequestProcessorChainFactoryOptions requestProcessorChainFactoryOptions,
         final PolicyChainProviderLoader policyChainProviderLoader,
+        final ExpressionCache expressionCache,
         final AuthenticationHandlerSelector authenticationHandlerSelector
     ) {
         super(api, policyChainFactory);
         this.policyManager = policyManager;
         this.requestProcessorChainFactoryOptions = requestProcessorChainFactoryOptions;
         this.policyChainProviderLoader = policyChainProviderLoader;
+        this.expressionCache = expressionCache;
         this.authenticationHandlerSelector = authenticationHandlerSelector;
 
         this.initialize();
@@ -109,10 +114,11 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
         // Prepare security policy chain
         add(new SecurityPolicyChainProvider(new SecurityPolicyResolver(policyManager, authenticationHandlerSelector)));
 
+        final PathPatterns pathPatterns = pathPatterns();
         final ConditionEvaluator<Flow> evaluator = new CompositeConditionEvaluator<>(
             new HttpMethodConditionEvaluator(),
-            new PathBasedConditionEvaluator(),
-            new ExpressionLanguageFlowConditionEvaluator()
+            new PathBasedConditionEvaluator(pathPatterns),
+            new ExpressionLanguageFlowConditionEvaluator(expressionCache)
         );
 
         if (loggingDecoratorSupplier != null) {
@@ -144,7 +150,7 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
                     new PlanFlowPolicyChainProvider(
                         new SimpleFlowProvider(
                             StreamType.ON_REQUEST,
-                            new BestMatchPolicyResolver(new PlanFlowResolver(api, evaluator)),
+                            new BestMatchPolicyResolver(new PlanFlowResolver(api, evaluator), pathPatterns),
                             policyChainFactory
                         )
                     )
@@ -153,7 +159,7 @@ public class RequestProcessorChainFactory extends ApiProcessorChainFactory {
                     new SimpleFlowPolicyChainProvider(
                         new SimpleFlowProvider(
                             StreamType.ON_REQUEST,
-                            new BestMatchPolicyResolver(new ApiFlowResolver(api, evaluator)),
+                            new BestMatchPolicyResolver(new ApiFlowResolver(api, evaluator), pathPatterns),
                             policyChainFactory
                         )
                     )
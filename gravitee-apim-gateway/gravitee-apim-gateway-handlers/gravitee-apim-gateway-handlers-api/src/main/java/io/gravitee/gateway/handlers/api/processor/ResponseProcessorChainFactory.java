@@ -20,6 +20,8 @@ import io.gravitee.definition.model.FlowMode;
 import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.core.condition.CompositeConditionEvaluator;
 import io.gravitee.gateway.core.condition.ConditionEvaluator;
+import io.gravitee.gateway.core.condition.ExpressionCache;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.flow.BestMatchPolicyResolver;
 import io.gravitee.gateway.flow.SimpleFlowPolicyChainProvider;
 import io.gravitee.gateway.flow.SimpleFlowProvider;
@@ -50,6 +52,7 @@ import io.gravitee.node.api.Node;
 public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
 
     private final PolicyChainProviderLoader policyChainProviderLoader;
+    private final ExpressionCache expressionCache;
 
     private Node node;
 
@@ -57,10 +60,12 @@ public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
         final Api api,
         final PolicyChainFactory policyChainFactory,
         final PolicyChainProviderLoader policyChainProviderLoader,
+        final ExpressionCache expressionCache,
         final Node node
     ) {
         super(api, policyChainFactory);
         this.policyChainProviderLoader = policyChainProviderLoader;
+        this.expressionCache = expressionCache;
         this.node = node;
 
         this.initialize();
@@ -70,10 +75,11 @@ public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
         add(() -> new ShutdownProcessor(node));
         addAll(policyChainProviderLoader.get(PolicyChainOrder.BEFORE_API, StreamType.ON_RESPONSE));
 
+        final PathPatterns pathPatterns = pathPatterns();
         final ConditionEvaluator<Flow> evaluator = new CompositeConditionEvaluator<>(
             new HttpMethodConditionEvaluator(),
-            new PathBasedConditionEvaluator(),
-            new ExpressionLanguageFlowConditionEvaluator()
+            new PathBasedConditionEvaluator(pathPatterns),
+            new ExpressionLanguageFlowConditionEvaluator(expressionCache)
         );
 
         if (api.getDefinitionVersion() == DefinitionVersion.V1) {
@@ -96,7 +102,7 @@ public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
                     new SimpleFlowPolicyChainProvider(
                         new SimpleFlowProvider(
                             StreamType.ON_RESPONSE,
-                            new BestMatchPolicyResolver(new ApiFlowResolver(api, evaluator)),
+                            new BestMatchPolicyResolver(new ApiFlowResolver(api, evaluator), pathPatterns),
                             policyChainFactory
                         )
                     )
@@ -105,7 +111,7 @@ public class ResponseProcessorChainFactory extends ApiProcessorChainFactory {
                     new PlanFlowPolicyChainProvider(
                         new SimpleFlowProvider(
                             StreamType.ON_RESPONSE,
-                            new BestMatchPolicyResolver(new PlanFlowResolver(api, evaluator)),
+                            new BestMatchPolicyResolver(new PlanFlowResolver(api, evaluator), pathPatterns),
                             policyChainFactory
                         )
                     )
@@ -16,13 +16,11 @@
 package io.gravitee.gateway.handlers.api.processor.pathparameters;
 
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
 import io.gravitee.gateway.core.processor.AbstractProcessor;
 import io.gravitee.gateway.handlers.api.path.Path;
-import io.gravitee.gateway.handlers.api.path.PathParam;
 import io.gravitee.gateway.handlers.api.path.PathResolver;
 import io.gravitee.gateway.handlers.api.policy.api.ApiPolicyResolver;
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -31,8 +29,6 @@ import java.util.List;
  */
 public class PathParametersIndexProcessor extends AbstractProcessor<ExecutionContext> {
 
-    private static final char URL_PATH_SEPARATOR = '/';
-
     private PathResolver pathResolver;
 
     public PathParametersIndexProcessor(PathResolver pathResolver) {
@@ -41,42 +37,16 @@ public class PathParametersIndexProcessor extends AbstractProcessor<ExecutionCon
 
     @Override
     public void handle(ExecutionContext context) {
-        Path path = getResolvedPath(context);
-        final List<PathParam> parameters = path.getParameters();
-
-        if (parameters != null && !parameters.isEmpty()) {
-            int count = 0;
-            int off = 0;
-            int next;
-
-            final String pathInfo = context.request().pathInfo();
-            final Iterator<PathParam> iterator = parameters.iterator();
+        final Request request = context.request();
 
-            PathParam currentParameter = iterator.next();
-            while ((next = pathInfo.indexOf(URL_PATH_SEPARATOR, off)) != -1) {
-                if (count == currentParameter.getPosition()) {
-                    context.request().pathParameters().add(currentParameter.getName(), pathInfo.substring(off, next));
-                    if (iterator.hasNext()) {
-                        currentParameter = iterator.next();
-                    }
-                }
-                off = next + 1;
-                count++;
-            }
-            context.request().pathParameters().add(currentParameter.getName(), pathInfo.substring(off));
-        }
-
-        next.handle(context);
-    }
-
-    private Path getResolvedPath(ExecutionContext context) {
-        // Resolve the "configured" path according to the inbound request
-        Path path = pathResolver.resolve(context.request());
+        // Resolve the "configured" path according to the inbound request, its parameters are extracted at the same time
+        final Path path = pathResolver.resolve(request, (name, value) -> request.pathParameters().add(name, value));
 
         context.setAttribute(ApiPolicyResolver.API_RESOLVED_PATH, path);
 
         // Used, at least, by rate-limit / quota policies
         context.setAttribute(ExecutionContext.ATTR_RESOLVED_PATH, path.getPath());
-        return path;
+
+        next.handle(context);
     }
 }
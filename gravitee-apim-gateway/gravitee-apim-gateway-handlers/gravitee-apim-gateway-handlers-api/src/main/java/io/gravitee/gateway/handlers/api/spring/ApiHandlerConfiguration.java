@@ -32,6 +32,7 @@ import io.gravitee.gateway.policy.impl.PolicyFactoryCreator;
 import io.gravitee.gateway.policy.impl.PolicyPluginFactoryImpl;
 import io.gravitee.gateway.reactor.handler.ReactorHandlerFactory;
 import io.gravitee.gateway.reactor.handler.context.ApiTemplateVariableProviderFactory;
+import io.gravitee.gateway.security.core.JwtTokenCache;
 import io.gravitee.node.api.Node;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -112,4 +113,12 @@ public class ApiHandlerConfiguration {
     public ReactorHandlerFactory<Api> reactorHandlerFactory() {
         return new ApiContextHandlerFactory(applicationContext, configuration, node);
     }
+
+    @Bean
+    public JwtTokenCache jwtTokenCache() {
+        return new JwtTokenCache(
+            environment.getProperty("policy.jwt.cache.max_size", Long.class, JwtTokenCache.DEFAULT_MAXIMUM_SIZE),
+            environment.getProperty("policy.jwt.cache.ttl", Long.class, JwtTokenCache.DEFAULT_TIME_TO_LIVE)
+        );
+    }
 }
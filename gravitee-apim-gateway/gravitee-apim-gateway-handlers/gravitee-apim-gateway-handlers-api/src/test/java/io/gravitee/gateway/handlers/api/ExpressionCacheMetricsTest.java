@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.core.condition.ExpressionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ExpressionCacheMetricsTest {
+
+    @Test
+    public void shouldPublishCacheStats() {
+        final ExpressionCache cache = new ExpressionCache(1).compile(Collections.singletonList("{#value == 'a'}"));
+        final TemplateEngine templateEngine = TemplateEngine.templateEngine();
+        templateEngine.getTemplateContext().setVariable("value", "a");
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final ExpressionCacheMetrics metrics = new ExpressionCacheMetrics(cache, "my-api");
+        metrics.bindTo(registry);
+
+        cache.getValue(templateEngine, "{#value == 'a'}", Boolean.class);
+        cache.getValue(templateEngine, "{#value == 'b'}", Boolean.class);
+
+        assertEquals(1, registry.get("expressions.cache.size").tag("api", "my-api").gauge().value(), 0);
+        assertEquals(1, registry.get("expressions.cache.requests").tag("result", "hit").functionCounter().count(), 0);
+        assertEquals(1, registry.get("expressions.cache.requests").tag("result", "miss").functionCounter().count(), 0);
+        assertEquals(1, registry.get("expressions.cache.evictions").functionCounter().count(), 0);
+
+        metrics.unbind();
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.policy.security;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.definition.model.Plan;
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.security.core.AuthenticationHandler;
+import io.gravitee.gateway.security.core.AuthenticationPolicy;
+import io.gravitee.gateway.security.core.PluginAuthenticationPolicy;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PlanBasedAuthenticationHandlerTest {
+
+    private static final List<AuthenticationPolicy> POLICIES = Collections.singletonList((PluginAuthenticationPolicy) () -> "jwt");
+
+    private AuthenticationHandler handler;
+    private ExecutionContext executionContext;
+    private PlanBasedAuthenticationHandler planBasedAuthenticationHandler;
+
+    @Before
+    public void setUp() {
+        handler = mock(AuthenticationHandler.class);
+        when(handler.unwrap()).thenReturn(handler);
+        executionContext = mock(ExecutionContext.class);
+        when(handler.handle(executionContext)).thenReturn(POLICIES);
+
+        Plan plan = new Plan();
+        plan.setId("plan-id");
+        plan.setSecurityDefinition("{\"resolverParameter\":\"secret\"}");
+        planBasedAuthenticationHandler = new PlanBasedAuthenticationHandler(handler, plan);
+    }
+
+    @Test
+    public void shouldOverridePolicyConfiguration() {
+        List<AuthenticationPolicy> policies = planBasedAuthenticationHandler.handle(executionContext);
+
+        assertEquals(1, policies.size());
+        PluginAuthenticationPolicy policy = (PluginAuthenticationPolicy) policies.get(0);
+        assertEquals("jwt", policy.name());
+        assertEquals("{\"resolverParameter\":\"secret\"}", policy.configuration());
+        verify(executionContext).setAttribute(ExecutionContext.ATTR_PLAN, "plan-id");
+    }
+
+    @Test
+    public void shouldShareComputedPolicies() {
+        List<AuthenticationPolicy> policies1 = planBasedAuthenticationHandler.handle(executionContext);
+        List<AuthenticationPolicy> policies2 = planBasedAuthenticationHandler.handle(executionContext);
+
+        assertSame(policies1, policies2);
+        verify(executionContext, times(2)).setAttribute(ExecutionContext.ATTR_PLAN, "plan-id");
+    }
+
+    @Test
+    public void shouldUnwrapCredentialReader() {
+        assertSame(handler, planBasedAuthenticationHandler.unwrap());
+    }
+}
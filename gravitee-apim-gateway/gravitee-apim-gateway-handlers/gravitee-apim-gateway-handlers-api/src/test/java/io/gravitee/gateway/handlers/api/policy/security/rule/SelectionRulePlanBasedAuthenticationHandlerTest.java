@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.handlers.api.policy.security.rule;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.definition.model.Plan;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.security.core.AuthenticationHandler;
+import io.gravitee.gateway.security.core.SimpleAuthenticationContext;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SelectionRulePlanBasedAuthenticationHandlerTest {
+
+    private AuthenticationHandler handler;
+    private SimpleAuthenticationContext context;
+    private SelectionRulePlanBasedAuthenticationHandler selectionRuleHandler;
+
+    @Before
+    public void setUp() {
+        handler = mock(AuthenticationHandler.class);
+        doAnswer(
+                invocation -> {
+                    invocation.<Handler<Boolean>>getArgument(1).handle(true);
+                    return null;
+                }
+            )
+            .when(handler)
+            .canHandle(any(), any());
+
+        Plan plan = new Plan();
+        plan.setSelectionRule("#context.attributes['plan'] == 'gold'");
+        selectionRuleHandler = new SelectionRulePlanBasedAuthenticationHandler(handler, plan);
+
+        context = new SimpleAuthenticationContext(mock(Request.class));
+    }
+
+    @Test
+    public void shouldHandleAsynchronously_selectionRuleMatches() {
+        context.set("plan", "gold");
+
+        AtomicReference<Boolean> handle = new AtomicReference<>();
+        selectionRuleHandler.canHandle(context, handle::set);
+
+        assertTrue(handle.get());
+    }
+
+    @Test
+    public void shouldNotHandleAsynchronously_selectionRuleDoesNotMatch() {
+        context.set("plan", "silver");
+
+        AtomicReference<Boolean> handle = new AtomicReference<>();
+        selectionRuleHandler.canHandle(context, handle::set);
+
+        assertFalse(handle.get());
+    }
+}
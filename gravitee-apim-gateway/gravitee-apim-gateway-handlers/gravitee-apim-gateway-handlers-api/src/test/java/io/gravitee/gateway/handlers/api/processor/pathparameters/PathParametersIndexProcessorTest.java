@@ -68,11 +68,12 @@ public class PathParametersIndexProcessorTest {
         // Run
         processor.handle(context);
 
-        verify(context, times(4)).request(); // one time in getResolvedPath()
+        verify(context, times(1)).request();
         verify(request, times(1)).pathInfo();
 
         assertEquals(2, pathParams.size());
         assertEquals("myStore", pathParams.getFirst("storeId"));
+        assertEquals(1, pathParams.get("orderId").size());
         assertEquals("190783", pathParams.getFirst("orderId"));
     }
 
@@ -92,10 +93,11 @@ public class PathParametersIndexProcessorTest {
         // Run
         processor.handle(context);
 
-        verify(context, times(4)).request(); // one time in getResolvedPath()
+        verify(context, times(1)).request();
         verify(request, times(1)).pathInfo();
 
         assertEquals(1, pathParams.size());
+        assertEquals(1, pathParams.get("storeId").size());
         assertEquals("12345", pathParams.getFirst("storeId"));
     }
 
@@ -22,6 +22,7 @@ import io.gravitee.gateway.api.Response;
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.http2.HttpFrame;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
 import io.vertx.core.http.HttpServerRequest;
 
 /**
@@ -43,7 +44,8 @@ public class VertxHttp2ServerRequest extends VertxHttpServerRequest {
     public Request customFrameHandler(Handler<HttpFrame> frameHandler) {
         getNativeServerRequest()
             .customFrameHandler(
-                frame -> frameHandler.handle(HttpFrame.create(frame.type(), frame.flags(), Buffer.buffer(frame.payload().getBytes())))
+                frame ->
+                    frameHandler.handle(HttpFrame.create(frame.type(), frame.flags(), BufferFactoryImpl.wrap(frame.payload().getByteBuf())))
             );
 
         return this;
@@ -18,6 +18,7 @@ package io.gravitee.gateway.http.vertx;
 import io.gravitee.common.http.HttpHeadersValues;
 import io.gravitee.gateway.api.Response;
 import io.gravitee.gateway.api.http2.HttpFrame;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.http.HttpHeaders;
 
 /**
@@ -32,7 +33,13 @@ public class VertxHttp2ServerResponse extends VertxHttpServerResponse {
 
     @Override
     public Response writeCustomFrame(HttpFrame frame) {
-        serverResponse.writeCustomFrame(frame.type(), frame.flags(), io.vertx.core.buffer.Buffer.buffer(frame.payload().getBytes()));
+        final Object nativeBuffer = frame.payload().getNativeBuffer();
+        // Only a netty buffer can be shared, any other buffer implementation is copied
+        final io.vertx.core.buffer.Buffer payload = (nativeBuffer instanceof ByteBuf)
+            ? io.vertx.core.buffer.Buffer.buffer((ByteBuf) nativeBuffer)
+            : io.vertx.core.buffer.Buffer.buffer(frame.payload().getBytes());
+
+        serverResponse.writeCustomFrame(frame.type(), frame.flags(), payload);
 
         return this;
     }
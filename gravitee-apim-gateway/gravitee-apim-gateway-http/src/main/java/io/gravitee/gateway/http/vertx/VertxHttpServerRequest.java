@@ -28,6 +28,7 @@ import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.http.HttpHeaders;
 import io.gravitee.gateway.api.http2.HttpFrame;
 import io.gravitee.gateway.api.ws.WebSocket;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
 import io.gravitee.reporter.api.http.Metrics;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpServerRequest;
@@ -187,7 +188,7 @@ public class VertxHttpServerRequest implements Request {
         if (!serverRequest.isEnded()) {
             serverRequest.handler(
                 event -> {
-                    bodyHandler.handle(Buffer.buffer(event.getBytes()));
+                    bodyHandler.handle(BufferFactoryImpl.wrap(event.getByteBuf()));
                     metrics.setRequestContentLength(metrics.getRequestContentLength() + event.length());
                 }
             );
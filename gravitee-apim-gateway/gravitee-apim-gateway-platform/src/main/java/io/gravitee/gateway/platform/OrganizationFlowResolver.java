@@ -19,6 +19,7 @@ import io.gravitee.definition.model.flow.Flow;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.condition.CompositeConditionEvaluator;
 import io.gravitee.gateway.core.condition.ExpressionLanguageStringConditionEvaluator;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.flow.condition.ConditionalFlowResolver;
 import io.gravitee.gateway.flow.condition.evaluation.ExpressionLanguageFlowConditionEvaluator;
 import io.gravitee.gateway.flow.condition.evaluation.HttpMethodConditionEvaluator;
@@ -36,10 +37,18 @@ public class OrganizationFlowResolver extends ConditionalFlowResolver {
     private OrganizationManager organizationManager;
 
     public OrganizationFlowResolver(OrganizationManager organizationManager) {
+        this(organizationManager, new PathPatterns());
+    }
+
+    /**
+     * @param organizationManager the manager of the current organization.
+     * @param pathPatterns the paths of the organization flows, compiled when the organization is registered.
+     */
+    public OrganizationFlowResolver(OrganizationManager organizationManager, PathPatterns pathPatterns) {
         super(
             new CompositeConditionEvaluator(
                 new HttpMethodConditionEvaluator(),
-                new PathBasedConditionEvaluator(),
+                new PathBasedConditionEvaluator(pathPatterns),
                 new ExpressionLanguageFlowConditionEvaluator()
             )
         );
@@ -16,10 +16,13 @@
 package io.gravitee.gateway.platform.manager.impl;
 
 import io.gravitee.definition.model.Policy;
+import io.gravitee.definition.model.flow.Flow;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.env.GatewayConfiguration;
 import io.gravitee.gateway.platform.Organization;
 import io.gravitee.gateway.platform.PlatformPolicyManager;
 import io.gravitee.gateway.platform.manager.OrganizationManager;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,13 +37,24 @@ public class OrganizationManagerImpl implements OrganizationManager {
 
     private final PlatformPolicyManager policyManager;
 
+    private final PathPatterns pathPatterns;
+
     private Organization currentOrganization;
 
     @Autowired
     GatewayConfiguration gatewayConfiguration;
 
     public OrganizationManagerImpl(PlatformPolicyManager policyManager) {
+        this(policyManager, new PathPatterns());
+    }
+
+    /**
+     * @param policyManager the manager of the policies of the organization flows.
+     * @param pathPatterns the patterns the paths of the organization flows are compiled to, when it is registered.
+     */
+    public OrganizationManagerImpl(PlatformPolicyManager policyManager, PathPatterns pathPatterns) {
         this.policyManager = policyManager;
+        this.pathPatterns = pathPatterns;
     }
 
     @Override
@@ -52,6 +66,9 @@ public class OrganizationManagerImpl implements OrganizationManager {
             currentOrganization.getUpdatedAt().before(organization.getUpdatedAt())
         ) {
             logger.info("Register organization {}", organization);
+            if (organization.getFlows() != null) {
+                pathPatterns.compile(organization.getFlows().stream().map(Flow::getPath).collect(Collectors.toList()));
+            }
             currentOrganization = organization;
             policyManager.setDependencies(currentOrganization.dependencies(Policy.class));
             return true;
@@ -17,6 +17,7 @@ package io.gravitee.gateway.platform.spring;
 
 import io.gravitee.gateway.core.classloader.DefaultClassLoader;
 import io.gravitee.gateway.core.component.ComponentProvider;
+import io.gravitee.gateway.core.path.PathPatterns;
 import io.gravitee.gateway.flow.FlowResolver;
 import io.gravitee.gateway.flow.policy.PolicyChainFactory;
 import io.gravitee.gateway.platform.OrganizationFlowResolver;
@@ -55,14 +56,19 @@ public class PlatformConfiguration {
     @Value("${classloader.legacy.enabled:false}")
     private boolean classLoaderLegacyMode;
 
+    /**
+     * Paths of the organization flows, shared by the organization manager which compiles them and the flow resolver.
+     */
+    private final PathPatterns organizationPathPatterns = new PathPatterns();
+
     @Bean
     public OrganizationManager organizationManager(PlatformPolicyManager policyManager) {
-        return new OrganizationManagerImpl(policyManager);
+        return new OrganizationManagerImpl(policyManager, organizationPathPatterns);
     }
 
     @Bean
     public FlowResolver flowResolver(OrganizationManager organizationManager) {
-        return new OrganizationFlowResolver(organizationManager);
+        return new OrganizationFlowResolver(organizationManager, organizationPathPatterns);
     }
 
     @Bean
@@ -22,6 +22,7 @@ import io.gravitee.gateway.core.condition.ConditionEvaluator;
 import io.gravitee.gateway.core.condition.ExpressionLanguageStringConditionEvaluator;
 import io.gravitee.gateway.policy.PolicyException;
 import io.gravitee.policy.api.PolicyChain;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.function.Function;
 import org.slf4j.Logger;
@@ -48,6 +49,18 @@ public class ConditionalExecutablePolicy extends ExecutablePolicy {
         this.evaluationFunction = context -> conditionEvaluator.evaluate(context, condition);
     }
 
+    ConditionalExecutablePolicy(
+        String id,
+        Object policy,
+        MethodHandle headInvoker,
+        MethodHandle streamInvoker,
+        String condition,
+        ConditionEvaluator<String> conditionEvaluator
+    ) {
+        super(id, policy, headInvoker, streamInvoker);
+        this.evaluationFunction = context -> conditionEvaluator.evaluate(context, condition);
+    }
+
     @Override
     public void execute(PolicyChain chain, ExecutionContext context) throws PolicyException {
         boolean isConditionTruthy = evaluateCondition(context);
@@ -35,21 +35,42 @@ import jdk.dynalink.linker.support.Lookup;
  */
 public class ExecutablePolicy implements Policy {
 
+    /**
+     * Type of the policy method invokers: <code>(policy, chain, context, request, response) -> result</code>.
+     */
+    static final MethodType INVOKER_TYPE = MethodType.methodType(
+        Object.class,
+        Object.class,
+        PolicyChain.class,
+        ExecutionContext.class,
+        Request.class,
+        Response.class
+    );
+
     private final String id;
-    private final Object policy;
     private final MethodHandle headMethodHandle;
     private final MethodHandle streamMethodHandle;
 
     ExecutablePolicy(String id, Object policy, Method headMethod, Method streamMethod) {
+        this(id, policy, toInvoker(headMethod), toInvoker(streamMethod));
+    }
+
+    ExecutablePolicy(String id, Object policy, MethodHandle headInvoker, MethodHandle streamInvoker) {
         this.id = id;
-        this.policy = policy;
 
-        // Optimize the reflection call by relying on MethodHandle and reordering of arguments.
-        headMethodHandle = toMethodHandle(headMethod);
-        streamMethodHandle = toMethodHandle(streamMethod);
+        // Invokers are bound to the policy instance so that each execution is an exact invocation.
+        headMethodHandle = bind(headInvoker, policy);
+        streamMethodHandle = bind(streamInvoker, policy);
     }
 
-    private MethodHandle toMethodHandle(Method method) {
+    /**
+     * Build the invoker of a policy method, with its arguments reordered and adapted to {@link #INVOKER_TYPE}.
+     * The invoker only depends on the method, it can then be shared by all the instances of the policy.
+     *
+     * @param method the policy method.
+     * @return the invoker of the method or <code>null</code> if there is no method.
+     */
+    static MethodHandle toInvoker(Method method) {
         final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
 
         if (method != null) {
@@ -66,13 +87,17 @@ public class ExecutablePolicy implements Policy {
             final MethodType originalMethodType = originalHeadMethodHandle.type();
             final int[] reorder = getReorder(originalMethodType, invokedMethodType);
 
-            return MethodHandles.permuteArguments(originalHeadMethodHandle, invokedMethodType, reorder);
+            return MethodHandles.permuteArguments(originalHeadMethodHandle, invokedMethodType, reorder).asType(INVOKER_TYPE);
         }
 
         return null;
     }
 
-    private int[] getReorder(MethodType originalMethodType, MethodType methodType) {
+    private static MethodHandle bind(MethodHandle invoker, Object policy) {
+        return (invoker != null) ? invoker.bindTo(policy) : null;
+    }
+
+    private static int[] getReorder(MethodType originalMethodType, MethodType methodType) {
         final int[] reorder = new int[originalMethodType.parameterCount()];
 
         for (int i = 0; i < originalMethodType.parameterCount(); i++) {
@@ -103,7 +128,7 @@ public class ExecutablePolicy implements Policy {
     @Override
     public void execute(PolicyChain chain, ExecutionContext context) throws PolicyException {
         try {
-            headMethodHandle.invoke(policy, chain, context, context.request(), context.response());
+            final Object ignored = (Object) headMethodHandle.invokeExact(chain, context, context.request(), context.response());
         } catch (Throwable ex) {
             throw new PolicyException(ex);
         }
@@ -112,7 +137,7 @@ public class ExecutablePolicy implements Policy {
     @Override
     public ReadWriteStream<Buffer> stream(PolicyChain chain, ExecutionContext context) throws PolicyException {
         try {
-            Object stream = streamMethodHandle.invoke(policy, chain, context, context.request(), context.response());
+            final Object stream = (Object) streamMethodHandle.invokeExact(chain, context, context.request(), context.response());
             return (stream != null) ? (ReadWriteStream<Buffer>) stream : null;
         } catch (Throwable ex) {
             throw new PolicyException(ex);
@@ -48,6 +48,16 @@ public class PolicyFactoryCreator implements FactoryBean<PolicyFactory> {
 
     @Override
     public PolicyFactory getObject() {
+        return create(conditionEvaluator);
+    }
+
+    /**
+     * Create a {@link PolicyFactory} evaluating the policy conditions with the given evaluator.
+     *
+     * @param conditionEvaluator the evaluator of the policy conditions.
+     * @return a new policy factory.
+     */
+    public PolicyFactory create(ConditionEvaluator<String> conditionEvaluator) {
         boolean tracing = environment.getProperty("services.tracing.enabled", Boolean.class, false);
 
         if (tracing) {
@@ -22,7 +22,12 @@ import io.gravitee.policy.api.annotations.OnRequest;
 import io.gravitee.policy.api.annotations.OnRequestContent;
 import io.gravitee.policy.api.annotations.OnResponse;
 import io.gravitee.policy.api.annotations.OnResponseContent;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -33,6 +38,11 @@ public class PolicyFactoryImpl implements PolicyFactory {
     private final PolicyPluginFactory policyPluginFactory;
     private final ConditionEvaluator<String> conditionEvaluator;
 
+    /**
+     * Invokers of the policy methods, built once per method and shared by all the instances of a policy.
+     */
+    private final Map<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
+
     public PolicyFactoryImpl(final PolicyPluginFactory policyPluginFactory, final ConditionEvaluator<String> conditionEvaluator) {
         this.policyPluginFactory = policyPluginFactory;
         this.conditionEvaluator = conditionEvaluator;
@@ -40,6 +50,11 @@ public class PolicyFactoryImpl implements PolicyFactory {
 
     @Override
     public void cleanup(PolicyMetadata policyMetadata) {
+        Stream
+            .of(OnRequest.class, OnRequestContent.class, OnResponse.class, OnResponseContent.class)
+            .map(policyMetadata::method)
+            .filter(Objects::nonNull)
+            .forEach(invokers::remove);
         policyPluginFactory.cleanup(policyMetadata);
     }
 
@@ -56,9 +71,16 @@ public class PolicyFactoryImpl implements PolicyFactory {
             streamMethod = policyMetadata.method(OnResponseContent.class);
         }
 
+        final MethodHandle headInvoker = invoker(headMethod);
+        final MethodHandle streamInvoker = invoker(streamMethod);
+
         if (condition != null && !condition.isBlank()) {
-            return new ConditionalExecutablePolicy(policyMetadata.id(), policy, headMethod, streamMethod, condition, conditionEvaluator);
+            return new ConditionalExecutablePolicy(policyMetadata.id(), policy, headInvoker, streamInvoker, condition, conditionEvaluator);
         }
-        return new ExecutablePolicy(policyMetadata.id(), policy, headMethod, streamMethod);
+        return new ExecutablePolicy(policyMetadata.id(), policy, headInvoker, streamInvoker);
+    }
+
+    private MethodHandle invoker(Method method) {
+        return (method != null) ? invokers.computeIfAbsent(method, ExecutablePolicy::toInvoker) : null;
     }
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.policy.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.Response;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.stream.ReadWriteStream;
+import io.gravitee.gateway.policy.PolicyException;
+import io.gravitee.gateway.policy.PolicyMetadata;
+import io.gravitee.plugin.policy.internal.PolicyMethodResolver;
+import io.gravitee.policy.api.PolicyChain;
+import io.gravitee.policy.api.annotations.OnRequest;
+import io.gravitee.policy.api.annotations.OnRequestContent;
+import io.gravitee.policy.api.annotations.OnResponse;
+import java.lang.invoke.MethodHandle;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ExecutablePolicyTest {
+
+    @Mock
+    private PolicyChain policyChain;
+
+    @Mock
+    private ExecutionContext context;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private Response response;
+
+    @Mock
+    private ReadWriteStream<Buffer> stream;
+
+    private PolicyMetadata policyMetadata;
+
+    @Before
+    public void setUp() {
+        when(context.request()).thenReturn(request);
+        when(context.response()).thenReturn(response);
+
+        policyMetadata =
+            new PolicyMetadataBuilder()
+                .setPolicy(MyPolicy.class)
+                .setId("my-policy")
+                .setMethods(new PolicyMethodResolver().resolve(MyPolicy.class))
+                .build();
+    }
+
+    @Test
+    public void shouldInvokeWithReorderedArguments() throws PolicyException {
+        final MyPolicy policy = new MyPolicy(stream);
+        final ExecutablePolicy executablePolicy = new ExecutablePolicy(
+            "my-policy",
+            policy,
+            policyMetadata.method(OnRequest.class),
+            policyMetadata.method(OnRequestContent.class)
+        );
+
+        executablePolicy.execute(policyChain, context);
+
+        assertSame(response, policy.response);
+        assertSame(request, policy.request);
+        assertSame(policyChain, policy.chain);
+        assertSame(stream, executablePolicy.stream(policyChain, context));
+    }
+
+    @Test
+    public void shouldShareInvokerBetweenPolicyInstances() throws PolicyException {
+        final MethodHandle headInvoker = ExecutablePolicy.toInvoker(policyMetadata.method(OnRequest.class));
+        final MyPolicy policy1 = new MyPolicy(stream);
+        final MyPolicy policy2 = new MyPolicy(stream);
+
+        new ExecutablePolicy("my-policy", policy1, headInvoker, null).execute(policyChain, context);
+        assertSame(request, policy1.request);
+        assertNull(policy2.request);
+
+        new ExecutablePolicy("my-policy", policy2, headInvoker, null).execute(policyChain, context);
+        assertSame(request, policy2.request);
+    }
+
+    @Test
+    public void shouldWrapPolicyError() {
+        final ExecutablePolicy executablePolicy = new ExecutablePolicy(
+            "my-policy",
+            new MyPolicy(stream),
+            policyMetadata.method(OnResponse.class),
+            null
+        );
+
+        final PolicyException exception = assertThrows(PolicyException.class, () -> executablePolicy.execute(policyChain, context));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertFalse(executablePolicy.isStreamable());
+    }
+
+    public static class MyPolicy {
+
+        private final ReadWriteStream<Buffer> stream;
+        private Response response;
+        private Request request;
+        private PolicyChain chain;
+
+        public MyPolicy(ReadWriteStream<Buffer> stream) {
+            this.stream = stream;
+        }
+
+        @OnRequest
+        public void onRequest(Response response, PolicyChain chain, Request request) {
+            this.response = response;
+            this.chain = chain;
+            this.request = request;
+        }
+
+        @OnRequestContent
+        public ReadWriteStream<Buffer> onRequestContent(Request request) {
+            return stream;
+        }
+
+        @OnResponse
+        public void onResponse(PolicyChain chain) {
+            throw new IllegalStateException("Policy error");
+        }
+    }
+}
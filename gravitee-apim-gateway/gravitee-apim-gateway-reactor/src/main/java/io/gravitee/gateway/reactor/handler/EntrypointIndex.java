@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler;
+
+import io.gravitee.gateway.api.Request;
+import java.util.*;
+
+/**
+ * Immutable routing index of {@link HandlerEntrypoint}s.
+ *
+ * Entrypoints are grouped by (lower-cased) host in a hash map, and each group stores its context paths in a radix tree.
+ * Resolving a request only walks the characters of its path once instead of scanning every registered entrypoint.
+ *
+ * The resolution order is the same as the one of an ordered list of entrypoints: entrypoints declaring a host are
+ * preferred over entrypoints without host, then shortest path first, then priority. Each candidate is still checked
+ * with {@link Entrypoint#accept(Request)} before being returned.
+ *
+ * @author GraviteeSource Team
+ */
+public class EntrypointIndex {
+
+    private static final char URI_PATH_SEPARATOR_CHAR = '/';
+
+    private final Map<String, PathTree> hostTrees = new HashMap<>();
+
+    private final PathTree defaultTree = new PathTree();
+
+    /**
+     * Build the index.
+     *
+     * @param entrypoints entrypoints, ordered by priority (see {@link io.gravitee.gateway.reactor.handler.impl.HandlerEntryPointComparator}).
+     */
+    public EntrypointIndex(Collection<HandlerEntrypoint> entrypoints) {
+        for (HandlerEntrypoint entrypoint : entrypoints) {
+            final String host = entrypoint.host();
+
+            if (host == null) {
+                defaultTree.insert(entrypoint);
+            } else {
+                hostTrees.computeIfAbsent(host.toLowerCase(Locale.ROOT), s -> new PathTree()).insert(entrypoint);
+            }
+        }
+    }
+
+    public static EntrypointIndex empty() {
+        return new EntrypointIndex(Collections.emptyList());
+    }
+
+    /**
+     * Find the entrypoint accepting the incoming request.
+     *
+     * @param request the incoming request.
+     * @return the matching entrypoint or <code>null</code> if no entrypoint accepts the request.
+     */
+    public HandlerEntrypoint find(Request request) {
+        final String path = request.path();
+
+        if (!hostTrees.isEmpty()) {
+            final String host = request.host();
+
+            if (host != null) {
+                final PathTree tree = hostTrees.get(host.toLowerCase(Locale.ROOT));
+
+                if (tree != null) {
+                    final HandlerEntrypoint entrypoint = tree.find(path, request);
+                    if (entrypoint != null) {
+                        return entrypoint;
+                    }
+                }
+            }
+        }
+
+        return defaultTree.find(path, request);
+    }
+
+    /**
+     * Radix tree whose keys are the entrypoint paths.
+     */
+    private static final class PathTree {
+
+        private final Node root = new Node("");
+
+        void insert(HandlerEntrypoint entrypoint) {
+            final String path = entrypoint.path();
+            Node node = root;
+            int idx = 0;
+
+            while (idx < path.length()) {
+                Node child = node.child(path.charAt(idx));
+
+                if (child == null) {
+                    child = new Node(path.substring(idx));
+                    node.addChild(child);
+                    node = child;
+                    break;
+                }
+
+                final int common = commonPrefixLength(child.label, path, idx);
+                if (common < child.label.length()) {
+                    child = node.split(child, common);
+                }
+
+                node = child;
+                idx += common;
+            }
+
+            node.entrypoints.add(entrypoint);
+        }
+
+        HandlerEntrypoint find(String path, Request request) {
+            final int length = path.length();
+            Node node = root;
+            int idx = 0;
+
+            while (true) {
+                // Every node reached here holds a path which is a prefix of the request path.
+                final HandlerEntrypoint entrypoint = node.accept(request);
+                if (entrypoint != null) {
+                    return entrypoint;
+                }
+
+                if (idx == length) {
+                    // Request path may be the context path without its trailing slash.
+                    final Node child = node.child(URI_PATH_SEPARATOR_CHAR);
+                    return (child != null && child.label.length() == 1) ? child.accept(request) : null;
+                }
+
+                final Node child = node.child(path.charAt(idx));
+                if (child == null) {
+                    return null;
+                }
+
+                final String label = child.label;
+                final int remaining = length - idx;
+
+                if (remaining >= label.length() && path.regionMatches(idx, label, 0, label.length())) {
+                    node = child;
+                    idx += label.length();
+                } else if (
+                    remaining == label.length() - 1 &&
+                    label.charAt(remaining) == URI_PATH_SEPARATOR_CHAR &&
+                    path.regionMatches(idx, label, 0, remaining)
+                ) {
+                    return child.accept(request);
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        private static int commonPrefixLength(String label, String path, int offset) {
+            final int max = Math.min(label.length(), path.length() - offset);
+            int i = 0;
+            while (i < max && label.charAt(i) == path.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+
+        private Node[] children = NO_CHILDREN;
+
+        private final List<HandlerEntrypoint> entrypoints = new ArrayList<>(1);
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            for (Node child : children) {
+                if (child.label.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            final Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            newChildren[children.length] = child;
+            children = newChildren;
+        }
+
+        /**
+         * Split the given child so that its label is cut at the given position, and return the new intermediate node.
+         */
+        Node split(Node child, int position) {
+            final Node intermediate = new Node(child.label.substring(0, position));
+            child.label = child.label.substring(position);
+            intermediate.addChild(child);
+
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = intermediate;
+                    break;
+                }
+            }
+
+            return intermediate;
+        }
+
+        HandlerEntrypoint accept(Request request) {
+            for (int i = 0; i < entrypoints.size(); i++) {
+                final HandlerEntrypoint entrypoint = entrypoints.get(i);
+                if (entrypoint.accept(request)) {
+                    return entrypoint;
+                }
+            }
+            return null;
+        }
+    }
+}
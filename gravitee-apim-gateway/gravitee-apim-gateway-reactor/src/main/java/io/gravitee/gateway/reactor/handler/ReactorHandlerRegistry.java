@@ -40,4 +40,11 @@ public interface ReactorHandlerRegistry {
      * @return
      */
     Collection<HandlerEntrypoint> getEntrypoints();
+
+    /**
+     * A routing index of registered entrypoints, rebuilt each time entrypoints are registered or unregistered.
+     *
+     * @return
+     */
+    EntrypointIndex getEntrypointIndex();
 }
@@ -19,7 +19,6 @@ import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.reactor.handler.EntrypointResolver;
 import io.gravitee.gateway.reactor.handler.HandlerEntrypoint;
 import io.gravitee.gateway.reactor.handler.ReactorHandlerRegistry;
-import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -37,14 +36,12 @@ public class DefaultEntrypointResolver implements EntrypointResolver {
 
     @Override
     public HandlerEntrypoint resolve(ExecutionContext context) {
-        for (HandlerEntrypoint entrypoint : handlerRegistry.getEntrypoints()) {
-            if (entrypoint.accept(context.request())) {
-                context.setAttribute(ATTR_ENTRYPOINT, entrypoint);
+        final HandlerEntrypoint entrypoint = handlerRegistry.getEntrypointIndex().find(context.request());
 
-                return entrypoint;
-            }
+        if (entrypoint != null) {
+            context.setAttribute(ATTR_ENTRYPOINT, entrypoint);
         }
 
-        return null;
+        return entrypoint;
     }
 }
@@ -38,6 +38,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
     private final Map<Reactable, ReactableEntrypoints> handlers = new ConcurrentHashMap<>();
 
     private List<HandlerEntrypoint> registeredEntrypoints = new ArrayList<>();
+    private volatile EntrypointIndex entrypointIndex = EntrypointIndex.empty();
     private final HandlerEntryPointComparator entryPointComparator = new HandlerEntryPointComparator();
 
     public DefaultReactorHandlerRegistry(ReactorHandlerFactoryManager handlerFactoryManager) {
@@ -159,6 +160,11 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
         return registeredEntrypoints;
     }
 
+    @Override
+    public EntrypointIndex getEntrypointIndex() {
+        return entrypointIndex;
+    }
+
     private static class ReactableEntrypoints {
 
         private final ReactorHandler handler;
@@ -219,6 +225,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             handlerEntrypoints.sort(entryPointComparator);
 
             registeredEntrypoints = handlerEntrypoints;
+            entrypointIndex = new EntrypointIndex(handlerEntrypoints);
         }
     }
 
@@ -229,6 +236,7 @@ public class DefaultReactorHandlerRegistry implements ReactorHandlerRegistry {
             handlerEntrypoints.sort(entryPointComparator);
 
             registeredEntrypoints = handlerEntrypoints;
+            entrypointIndex = new EntrypointIndex(handlerEntrypoints);
         }
     }
 }
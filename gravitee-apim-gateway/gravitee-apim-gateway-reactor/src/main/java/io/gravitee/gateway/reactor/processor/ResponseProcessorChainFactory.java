@@ -17,7 +17,9 @@ package io.gravitee.gateway.reactor.processor;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.core.processor.Processor;
-import io.gravitee.gateway.core.processor.chain.DefaultProcessorChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorProvider;
+import io.gravitee.gateway.core.processor.provider.ProcessorProviderChain;
+import io.gravitee.gateway.core.processor.provider.ProcessorSupplier;
 import io.gravitee.gateway.reactor.processor.alert.AlertProcessor;
 import io.gravitee.gateway.reactor.processor.reporter.ReporterProcessor;
 import io.gravitee.gateway.reactor.processor.responsetime.ResponseTimeProcessor;
@@ -25,8 +27,8 @@ import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -34,7 +36,7 @@ import org.springframework.beans.factory.annotation.Value;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ResponseProcessorChainFactory {
+public class ResponseProcessorChainFactory implements InitializingBean {
 
     @Autowired
     private ReporterService reporterService;
@@ -48,15 +50,21 @@ public class ResponseProcessorChainFactory {
     @Value("${http.port:8082}")
     private String port;
 
-    public Processor<ExecutionContext> create() {
-        List<Processor<ExecutionContext>> processors = new ArrayList<>(
-            Arrays.asList(new ResponseTimeProcessor(), new ReporterProcessor(reporterService))
-        );
+    private final List<ProcessorProvider<ExecutionContext, Processor<ExecutionContext>>> providers = new ArrayList<>();
+
+    private final List<ProcessorProvider<ExecutionContext, Processor<ExecutionContext>>> providersWithAlert = new ArrayList<>();
 
-        if (!eventProducer.isEmpty()) {
-            processors.add(new AlertProcessor(eventProducer, node, port));
-        }
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        providers.add(new ProcessorSupplier<>(ResponseTimeProcessor::new));
+        providers.add(new ProcessorSupplier<>(() -> new ReporterProcessor(reporterService)));
 
-        return new DefaultProcessorChain<>(processors);
+        // Alert producers may be registered after the factory is initialized: the decision is taken for each request
+        providersWithAlert.addAll(providers);
+        providersWithAlert.add(new ProcessorSupplier<>(() -> new AlertProcessor(eventProducer, node, port)));
+    }
+
+    public Processor<ExecutionContext> create() {
+        return new ProcessorProviderChain<>(eventProducer.isEmpty() ? providers : providersWithAlert);
     }
 }
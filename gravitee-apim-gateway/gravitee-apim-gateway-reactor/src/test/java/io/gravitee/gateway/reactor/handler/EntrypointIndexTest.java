@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.reactor.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.reactor.handler.impl.HandlerEntryPointComparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EntrypointIndexTest {
+
+    @Test
+    public void shouldNotFind_emptyIndex() {
+        assertNull(EntrypointIndex.empty().find(request(null, "/teams")));
+    }
+
+    @Test
+    public void shouldFind_contextPathWithoutTrailingSlash() {
+        HandlerEntrypoint teams = entrypoint(null, "/teams");
+        EntrypointIndex index = index(teams, entrypoint(null, "/teams2"));
+
+        assertEquals(teams, index.find(request(null, "/teams")));
+        assertEquals(teams, index.find(request(null, "/teams/")));
+        assertEquals(teams, index.find(request(null, "/teams/sub")));
+        assertNull(index.find(request(null, "/team")));
+        assertNull(index.find(request(null, "/teamss")));
+    }
+
+    @Test
+    public void shouldFind_hostIgnoringCase() {
+        HandlerEntrypoint withHost = entrypoint("api.gravitee.io", "/teams");
+        EntrypointIndex index = index(withHost);
+
+        assertEquals(withHost, index.find(request("API.Gravitee.io", "/teams")));
+        assertNull(index.find(request("api1.gravitee.io", "/teams")));
+        assertNull(index.find(request(null, "/teams")));
+    }
+
+    @Test
+    public void shouldPreferHost_overNoHost() {
+        HandlerEntrypoint withHost = entrypoint("api.gravitee.io", "/teams");
+        HandlerEntrypoint noHost = entrypoint(null, "/teams");
+        EntrypointIndex index = index(noHost, withHost);
+
+        assertEquals(withHost, index.find(request("api.gravitee.io", "/teams")));
+        assertEquals(noHost, index.find(request("api1.gravitee.io", "/teams")));
+        assertNull(index.find(request("api.gravitee.io", "/teams-v2/")));
+    }
+
+    @Test
+    public void shouldResolveLikeOrderedScan() {
+        final Random random = new Random(42);
+        final List<String> hosts = Arrays.asList(null, "api.gravitee.io", "Api1.gravitee.io", "api2.gravitee.io");
+        final List<String> segments = Arrays.asList("a", "b", "ab", "c1", "sub", "v1");
+
+        final List<HandlerEntrypoint> entrypoints = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            entrypoints.add(entrypoint(hosts.get(random.nextInt(hosts.size())), randomPath(random, segments)));
+        }
+        entrypoints.sort(new HandlerEntryPointComparator());
+
+        final EntrypointIndex index = new EntrypointIndex(entrypoints);
+
+        for (int i = 0; i < 1000; i++) {
+            final String host = hosts.get(random.nextInt(hosts.size()));
+            final String path = randomPath(random, segments) + (random.nextBoolean() ? "/" : "");
+            final Request request = request(host == null ? null : host.toLowerCase(), path);
+
+            HandlerEntrypoint expected = null;
+            for (HandlerEntrypoint entrypoint : entrypoints) {
+                if (entrypoint.accept(request)) {
+                    expected = entrypoint;
+                    break;
+                }
+            }
+
+            assertEquals("host[" + host + "] - path[" + path + "]", expected, index.find(request));
+        }
+    }
+
+    private String randomPath(Random random, List<String> segments) {
+        final StringBuilder path = new StringBuilder();
+        final int depth = 1 + random.nextInt(3);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments.get(random.nextInt(segments.size())));
+        }
+        return path.toString();
+    }
+
+    private EntrypointIndex index(HandlerEntrypoint... entrypoints) {
+        final List<HandlerEntrypoint> handlerEntrypoints = new ArrayList<>(Arrays.asList(entrypoints));
+        handlerEntrypoints.sort(new HandlerEntryPointComparator());
+        return new EntrypointIndex(handlerEntrypoints);
+    }
+
+    private Request request(String host, String path) {
+        final Request request = mock(Request.class);
+        when(request.host()).thenReturn(host);
+        when(request.path()).thenReturn(path);
+        return request;
+    }
+
+    private HandlerEntrypoint entrypoint(String host, String path) {
+        return new DummyHandlerEntrypoint(new VirtualHost(host, path));
+    }
+
+    private static class DummyHandlerEntrypoint implements HandlerEntrypoint {
+
+        private final Entrypoint entrypoint;
+
+        DummyHandlerEntrypoint(Entrypoint entrypoint) {
+            this.entrypoint = entrypoint;
+        }
+
+        @Override
+        public ReactorHandler target() {
+            return null;
+        }
+
+        @Override
+        public String path() {
+            return entrypoint.path();
+        }
+
+        @Override
+        public String host() {
+            return entrypoint.host();
+        }
+
+        @Override
+        public int priority() {
+            return entrypoint.priority();
+        }
+
+        @Override
+        public boolean accept(Request request) {
+            return entrypoint.accept(request);
+        }
+
+        @Override
+        public String toString() {
+            return entrypoint.toString();
+        }
+    }
+}
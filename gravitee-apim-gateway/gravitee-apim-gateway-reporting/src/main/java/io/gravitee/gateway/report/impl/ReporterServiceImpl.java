@@ -15,21 +15,279 @@
  */
 package io.gravitee.gateway.report.impl;
 
+import io.gravitee.common.service.AbstractService;
 import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.reporter.api.Reportable;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vertx.micrometer.backends.BackendRegistries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Queue the reportables in a bounded ring buffer, drained in batches by dedicated threads, so that a slow reporter
+ * never adds latency to the thread reporting (ie. the event-loop once the response has been sent).
+ *
+ * Idle workers (and producers waiting for room with {@link OverflowPolicy#BLOCK}) are parked on a condition and
+ * signaled, the lock is only taken by a producer when a worker is actually waiting.
+ *
+ * The queue size and the number of reported and dropped reportables are published to the node metrics registry.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ReporterServiceImpl implements ReporterService {
+public class ReporterServiceImpl extends AbstractService<ReporterServiceImpl> implements ReporterService, MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReporterServiceImpl.class);
+
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * What to do with a reportable when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the oldest queued reportable to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Discard the new reportable.
+         */
+        DROP_NEWEST,
+        /**
+         * Wait for room in the queue. This stalls the reporting thread and must be used carefully.
+         */
+        BLOCK,
+    }
 
-    @Autowired
-    private io.gravitee.node.reporter.ReporterService reporterService;
+    private final io.gravitee.node.reporter.ReporterService reporterService;
+    private final RingBuffer<Reportable> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int workers;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong reported = new AtomicLong();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public ReporterServiceImpl(
+        io.gravitee.node.reporter.ReporterService reporterService,
+        int capacity,
+        int batchSize,
+        OverflowPolicy overflowPolicy,
+        int workers
+    ) {
+        this.reporterService = reporterService;
+        this.queue = new RingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.workers = Math.max(1, workers);
+    }
 
     @Override
     public void report(Reportable reportable) {
-        reporterService.report(reportable);
+        if (queue.offer(reportable)) {
+            signalNotEmpty();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                do {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                } while (!queue.offer(reportable));
+                signalNotEmpty();
+                break;
+            case BLOCK:
+                if (awaitOffer(reportable)) {
+                    signalNotEmpty();
+                } else {
+                    dropped.incrementAndGet();
+                }
+                break;
+            default:
+                dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        final MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (registry != null) {
+            bindTo(registry);
+        }
+
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            final Thread thread = new Thread(this::drain, "gio.reporter-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        running = false;
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Thread thread : threads) {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        }
+        threads.clear();
+
+        LOGGER.debug("Reporter queue stopped [reported: {}, dropped: {}, pending: {}]", reported(), dropped(), queueSize());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder("reporter.queue.size", this, ReporterServiceImpl::queueSize)
+            .description("Number of reportables waiting to be reported")
+            .register(registry);
+        FunctionCounter
+            .builder("reporter.queue.reported", this, ReporterServiceImpl::reported)
+            .description("Number of reportables passed to the reporters")
+            .register(registry);
+        FunctionCounter
+            .builder("reporter.queue.dropped", this, ReporterServiceImpl::dropped)
+            .description("Number of reportables discarded because the queue was full")
+            .register(registry);
+    }
+
+    private void drain() {
+        // Keep draining once stopped until the queue is empty, so that pending reportables are not lost.
+        while (true) {
+            final int count = queue.drain(this::doReport, batchSize);
+
+            if (count > 0) {
+                reported.addAndGet(count);
+                signalNotFull();
+            } else if (!running || Thread.currentThread().isInterrupted()) {
+                return;
+            } else {
+                awaitNotEmpty();
+            }
+        }
+    }
+
+    private void awaitNotEmpty() {
+        // Declare the worker idle before checking the queue, so that a producer offering concurrently signals it.
+        idleWorkers.incrementAndGet();
+        lock.lock();
+        try {
+            while (running && queue.size() == 0) {
+                notEmpty.await();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+            idleWorkers.decrementAndGet();
+        }
+    }
+
+    private boolean awaitOffer(Reportable reportable) {
+        blockedProducers.incrementAndGet();
+        lock.lock();
+        try {
+            while (running) {
+                if (queue.offer(reportable)) {
+                    return true;
+                }
+                notFull.await();
+            }
+            return false;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+            blockedProducers.decrementAndGet();
+        }
+    }
+
+    private void signalNotEmpty() {
+        if (idleWorkers.get() > 0) {
+            lock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void signalNotFull() {
+        if (blockedProducers.get() > 0) {
+            lock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void doReport(Reportable reportable) {
+        try {
+            reporterService.report(reportable);
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while reporting {}", reportable.getClass().getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * @return the number of reportables waiting to be reported.
+     */
+    public int queueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of reportables discarded because the queue was full.
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of reportables passed to the reporters.
+     */
+    public long reported() {
+        return reported.get();
+    }
+
+    @Override
+    protected String name() {
+        return "Reporter service";
     }
 }
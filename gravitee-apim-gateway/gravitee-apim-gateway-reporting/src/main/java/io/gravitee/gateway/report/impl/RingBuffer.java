@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free ring buffer.
+ *
+ * Each slot carries a sequence telling whether it is ready to be written or read for a given position, so that
+ * producers and consumers only compete with a CAS on their own cursor (see D. Vyukov's bounded MPMC queue).
+ *
+ * @author GraviteeSource Team
+ */
+class RingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity the capacity of the buffer, rounded up to the next power of 2. A single slot cannot tell a
+     *                 filled slot from a free one of the next lap, the buffer holds at least 2 elements.
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+
+        final int size = (capacity <= 2) ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @param element the element to add.
+     * @return <code>false</code> if the buffer is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+
+        for (;;) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return the oldest element, or <code>null</code> if the buffer is empty.
+     */
+    E poll() {
+        long position = head.get();
+
+        for (;;) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    sequences.lazySet(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Remove up to <code>limit</code> elements and pass them to the given consumer.
+     *
+     * @return the number of removed elements.
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        int count = 0;
+        E element;
+
+        while (count < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+
+        return count;
+    }
+
+    int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -15,9 +15,9 @@
  */
 package io.gravitee.gateway.report.spring;
 
-import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.gateway.report.impl.NodeMonitoringReporterService;
 import io.gravitee.gateway.report.impl.ReporterServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,8 +29,14 @@ import org.springframework.context.annotation.Configuration;
 public class ReporterConfiguration {
 
     @Bean
-    public ReporterService reporterService() {
-        return new ReporterServiceImpl();
+    public ReporterServiceImpl reporterService(
+        io.gravitee.node.reporter.ReporterService reporterService,
+        @Value("${reporters.queue.capacity:8192}") int capacity,
+        @Value("${reporters.queue.batch_size:256}") int batchSize,
+        @Value("${reporters.queue.overflow:DROP_OLDEST}") ReporterServiceImpl.OverflowPolicy overflowPolicy,
+        @Value("${reporters.queue.workers:1}") int workers
+    ) {
+        return new ReporterServiceImpl(reporterService, capacity, batchSize, overflowPolicy, workers);
     }
 
     @Bean
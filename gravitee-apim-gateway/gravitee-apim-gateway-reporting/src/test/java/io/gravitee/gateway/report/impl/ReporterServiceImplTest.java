@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.impl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.reporter.api.Reportable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReporterServiceImplTest {
+
+    @Mock
+    private io.gravitee.node.reporter.ReporterService nodeReporterService;
+
+    @Test
+    public void shouldReportAsynchronously() throws Exception {
+        final ReporterServiceImpl reporterService = new ReporterServiceImpl(
+            nodeReporterService,
+            16,
+            4,
+            ReporterServiceImpl.OverflowPolicy.DROP_NEWEST,
+            1
+        );
+        reporterService.start();
+
+        final Reportable reportable = mock(Reportable.class);
+        for (int i = 0; i < 10; i++) {
+            reporterService.report(reportable);
+        }
+
+        verify(nodeReporterService, timeout(5000).times(10)).report(reportable);
+        reporterService.stop();
+
+        assertEquals(10, reporterService.reported());
+        assertEquals(0, reporterService.dropped());
+        assertEquals(0, reporterService.queueSize());
+    }
+
+    @Test
+    public void shouldPublishMetrics_toNodeRegistry() throws Exception {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        BackendRegistries.setupBackend(new MicrometerMetricsOptions().setEnabled(true).setMicrometerRegistry(registry));
+
+        try {
+            final ReporterServiceImpl reporterService = new ReporterServiceImpl(
+                nodeReporterService,
+                2,
+                4,
+                ReporterServiceImpl.OverflowPolicy.DROP_NEWEST,
+                1
+            );
+            for (int i = 0; i < 3; i++) {
+                reporterService.report(mock(Reportable.class));
+            }
+
+            reporterService.start();
+
+            verify(nodeReporterService, timeout(5000).times(2)).report(any());
+            reporterService.stop();
+
+            assertEquals(0, registry.get("reporter.queue.size").gauge().value(), 0);
+            assertEquals(2, registry.get("reporter.queue.reported").functionCounter().count(), 0);
+            assertEquals(1, registry.get("reporter.queue.dropped").functionCounter().count(), 0);
+        } finally {
+            BackendRegistries.stop(MicrometerMetricsOptions.DEFAULT_REGISTRY_NAME);
+        }
+    }
+
+    @Test
+    public void shouldDropNewest_whenFull() {
+        final ReporterServiceImpl reporterService = new ReporterServiceImpl(
+            nodeReporterService,
+            2,
+            4,
+            ReporterServiceImpl.OverflowPolicy.DROP_NEWEST,
+            1
+        );
+
+        final Reportable first = mock(Reportable.class);
+        reporterService.report(first);
+        reporterService.report(mock(Reportable.class));
+        reporterService.report(mock(Reportable.class));
+
+        assertEquals(2, reporterService.queueSize());
+        assertEquals(1, reporterService.dropped());
+    }
+
+    @Test
+    public void shouldDropOldest_whenFull() throws Exception {
+        final ReporterServiceImpl reporterService = new ReporterServiceImpl(
+            nodeReporterService,
+            2,
+            4,
+            ReporterServiceImpl.OverflowPolicy.DROP_OLDEST,
+            1
+        );
+
+        final Reportable first = mock(Reportable.class);
+        final Reportable second = mock(Reportable.class);
+        final Reportable third = mock(Reportable.class);
+        reporterService.report(first);
+        reporterService.report(second);
+        reporterService.report(third);
+
+        assertEquals(2, reporterService.queueSize());
+        assertEquals(1, reporterService.dropped());
+
+        reporterService.start();
+        reporterService.stop();
+
+        verify(nodeReporterService, never()).report(first);
+        verify(nodeReporterService).report(second);
+        verify(nodeReporterService).report(third);
+    }
+
+    @Test
+    public void shouldKeepReporting_afterReporterError() throws Exception {
+        final ReporterServiceImpl reporterService = new ReporterServiceImpl(
+            nodeReporterService,
+            16,
+            4,
+            ReporterServiceImpl.OverflowPolicy.BLOCK,
+            1
+        );
+        final Reportable failing = mock(Reportable.class);
+        final Reportable reportable = mock(Reportable.class);
+        doThrow(new IllegalStateException()).when(nodeReporterService).report(failing);
+
+        reporterService.report(failing);
+        reporterService.report(reportable);
+        reporterService.start();
+        reporterService.stop();
+
+        verify(nodeReporterService).report(reportable);
+        assertEquals(2, reporterService.reported());
+    }
+}
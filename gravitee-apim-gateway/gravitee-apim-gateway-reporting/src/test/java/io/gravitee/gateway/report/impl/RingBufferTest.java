@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.report.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RingBufferTest {
+
+    @Test
+    public void shouldRoundCapacity() {
+        assertEquals(2, new RingBuffer<>(1).capacity());
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+    }
+
+    @Test
+    public void shouldNotOverwrite_whenSingleSlotRequested() {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(1);
+
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+
+        assertEquals(Integer.valueOf(1), buffer.poll());
+        assertEquals(Integer.valueOf(2), buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidCapacity() {
+        new RingBuffer<>(0);
+    }
+
+    @Test
+    public void shouldPollInOrder_withWrapAround() {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+            assertTrue(buffer.offer(i + 100));
+            assertEquals(Integer.valueOf(i), buffer.poll());
+            assertEquals(Integer.valueOf(i + 100), buffer.poll());
+        }
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void shouldRejectWhenFull() {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(2);
+
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertFalse(buffer.offer(3));
+        assertEquals(2, buffer.size());
+
+        assertEquals(Integer.valueOf(1), buffer.poll());
+        assertTrue(buffer.offer(3));
+    }
+
+    @Test
+    public void shouldDrainUpToLimit() {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drain(drained::add, 3));
+        assertEquals(2, buffer.drain(drained::add, 3));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+    }
+
+    @Test
+    public void shouldNotLoseElements_concurrentProducers() throws InterruptedException {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        final int producers = 4;
+        final int perProducer = 10000;
+        final CountDownLatch done = new CountDownLatch(producers);
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+
+        for (int p = 0; p < producers; p++) {
+            final int offset = p * perProducer;
+            new Thread(
+                () -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(offset + i)) {
+                            Thread.yield();
+                        }
+                    }
+                    done.countDown();
+                }
+            )
+                .start();
+        }
+
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drain(received::add, 16);
+        }
+
+        assertEquals(producers * perProducer, received.size());
+    }
+}
@@ -15,16 +15,23 @@
  */
 package io.gravitee.gateway.repository.plugins;
 
+import io.gravitee.gateway.repository.ratelimit.LocalRateLimitRepository;
 import io.gravitee.plugin.core.api.*;
 import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
 import io.gravitee.repository.Repository;
 import io.gravitee.repository.Scope;
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
@@ -37,7 +44,7 @@ import org.springframework.util.Assert;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class RepositoryPluginHandler implements PluginHandler, InitializingBean {
+public class RepositoryPluginHandler implements PluginHandler, InitializingBean, DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryPluginHandler.class);
 
@@ -57,6 +64,7 @@ public class RepositoryPluginHandler implements PluginHandler, InitializingBean
 
     private final Map<Scope, Repository> repositories = new HashMap<>();
     private final Map<Scope, String> repositoryTypeByScope = new HashMap<>();
+    private final List<LocalRateLimitRepository> localRateLimitRepositories = new ArrayList<>();
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -69,6 +77,13 @@ public class RepositoryPluginHandler implements PluginHandler, InitializingBean
         lookForRepositoryType(Scope.CACHE);
     }
 
+    @Override
+    public void destroy() {
+        // Flush the rate-limits counted locally before the underlying repositories are closed
+        localRateLimitRepositories.forEach(LocalRateLimitRepository::stop);
+        localRateLimitRepositories.clear();
+    }
+
     @Override
     public boolean canHandle(Plugin plugin) {
         return PLUGIN_TYPE.equalsIgnoreCase(plugin.type());
@@ -159,12 +174,32 @@ public class RepositoryPluginHandler implements PluginHandler, InitializingBean
                 if (repositoryObjectClass.getInterfaces().length > 0) {
                     Class<?> repositoryItfClass = repositoryObjectClass.getInterfaces()[0];
                     LOGGER.debug("Register {} [{}] in gateway context", beanName, repositoryItfClass);
-                    beanFactory.registerSingleton(repositoryItfClass.getName(), repositoryClassInstance);
+                    beanFactory.registerSingleton(repositoryItfClass.getName(), decorate(repositoryItfClass, repositoryClassInstance));
                 }
             }
         }
     }
 
+    private Object decorate(Class<?> repositoryItfClass, Object repositoryClassInstance) {
+        if (
+            RateLimitRepository.class.equals(repositoryItfClass) && environment.getProperty("ratelimit.local.enabled", Boolean.class, false)
+        ) {
+            final double tolerance = environment.getProperty("ratelimit.local.tolerance", Double.class, 0.1);
+            final long syncInterval = environment.getProperty("ratelimit.local.sync_interval", Long.class, 100L);
+
+            LOGGER.info("Rate-limits are counted locally and synced every {}ms (tolerance: {})", syncInterval, tolerance);
+            final LocalRateLimitRepository localRateLimitRepository = new LocalRateLimitRepository(
+                (RateLimitRepository<RateLimit>) repositoryClassInstance,
+                tolerance
+            )
+            .start(syncInterval, TimeUnit.MILLISECONDS);
+            localRateLimitRepositories.add(localRateLimitRepository);
+            return localRateLimitRepository;
+        }
+
+        return repositoryClassInstance;
+    }
+
     private String lookForRepositoryType(Scope scope) throws Exception {
         String repositoryType = environment.getProperty(scope.getName() + ".type");
         LOGGER.info("Loading repository for scope {}: {}", scope, repositoryType);
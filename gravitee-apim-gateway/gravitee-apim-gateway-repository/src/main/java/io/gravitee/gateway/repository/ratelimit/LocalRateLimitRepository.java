@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.repository.ratelimit;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local counting tier in front of a distributed {@link RateLimitRepository}.
+ *
+ * Once a key has been read from the underlying repository, increments are counted locally and flushed
+ * periodically as a single increment per key. A request goes to the underlying repository only when:
+ * <ul>
+ *     <li>the key is unknown locally or its window is over,</li>
+ *     <li>the local increments reach the tolerance (a ratio of the limit),</li>
+ *     <li>the estimated counter reaches the limit, so that a request is only rejected on an up-to-date counter.</li>
+ * </ul>
+ *
+ * Once the counter read from the underlying repository has reached the limit, requests are rejected locally until
+ * the end of the window, their increments being flushed periodically.
+ *
+ * The counter seen by the cluster may so lag behind by up to <code>tolerance * limit</code> per gateway.
+ *
+ * @author GraviteeSource Team
+ */
+public class LocalRateLimitRepository implements RateLimitRepository<RateLimit> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalRateLimitRepository.class);
+
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final RateLimitRepository<RateLimit> delegate;
+    private final double tolerance;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public LocalRateLimitRepository(RateLimitRepository<RateLimit> delegate, double tolerance) {
+        this.delegate = delegate;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Start flushing the local increments to the underlying repository at the given interval.
+     */
+    public LocalRateLimitRepository start(long syncInterval, TimeUnit unit) {
+        executor =
+            Executors.newSingleThreadScheduledExecutor(
+                r -> {
+                    final Thread thread = new Thread(r, "gio.ratelimit-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        executor.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval, unit);
+        return this;
+    }
+
+    /**
+     * Stop the periodic flush and flush the pending increments, waiting for them to be written.
+     */
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+
+        final List<Completable> flushes = new ArrayList<>();
+        buckets.forEach(
+            (key, bucket) -> {
+                if (bucket.pending.get() > 0) {
+                    flushes.add(
+                        flush(key, bucket)
+                            .ignoreElement()
+                            .doOnError(throwable -> LOGGER.warn("Unable to sync rate-limit {}", key, throwable))
+                            .onErrorComplete()
+                    );
+                }
+            }
+        );
+
+        if (!Completable.merge(flushes).blockingAwait(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Unable to sync all the rate-limits in {}ms, pending increments are lost", STOP_TIMEOUT_MILLIS);
+        }
+        buckets.clear();
+    }
+
+    @Override
+    public Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+        final Bucket bucket = buckets.get(key);
+
+        if (bucket == null || bucket.isExpired(System.currentTimeMillis())) {
+            return delegate.incrementAndGet(key, weight, supplier).doOnSuccess(rateLimit -> register(key, rateLimit));
+        }
+
+        final long pending = bucket.pending.addAndGet(weight);
+
+        // The bucket has been replaced concurrently, do not leave the increment behind
+        if (bucket.retired) {
+            return flush(key, bucket);
+        }
+
+        final RateLimit synced = bucket.synced;
+        final long counter = synced.getCounter() + bucket.inflight.get() + pending;
+
+        // The limit is known to be reached for the current window, there is no need to ask again
+        if (synced.getCounter() < synced.getLimit() && (pending >= bucket.maxPending || counter >= synced.getLimit())) {
+            return flush(key, bucket);
+        }
+
+        final RateLimit rateLimit = new RateLimit(key, synced);
+        rateLimit.setCounter(counter);
+        rateLimit.setSubscription(synced.getSubscription());
+        return Single.just(rateLimit);
+    }
+
+    /**
+     * Keep the counter read from the underlying repository for a key which was unknown or expired. Concurrent first
+     * requests of a key share the same bucket, an expired bucket being replaced has its pending increments flushed.
+     */
+    private void register(String key, RateLimit rateLimit) {
+        final Bucket[] replaced = new Bucket[1];
+
+        buckets.compute(
+            key,
+            (k, existing) -> {
+                if (existing != null && !existing.isExpired(System.currentTimeMillis())) {
+                    existing.advance(rateLimit);
+                    return existing;
+                }
+
+                replaced[0] = existing;
+                return new Bucket(rateLimit);
+            }
+        );
+
+        if (replaced[0] != null) {
+            retire(key, replaced[0]);
+        }
+    }
+
+    private void retire(String key, Bucket bucket) {
+        bucket.retired = true;
+        if (bucket.pending.get() > 0) {
+            flush(key, bucket).subscribe(rateLimit -> {}, throwable -> LOGGER.warn("Unable to sync rate-limit {}", key, throwable));
+        }
+    }
+
+    /**
+     * Flush the local increments of all the keys and forget about the keys whose window is over.
+     */
+    void sync() {
+        final long now = System.currentTimeMillis();
+
+        buckets.forEach(
+            (key, bucket) -> {
+                if (bucket.isExpired(now)) {
+                    if (buckets.remove(key, bucket)) {
+                        retire(key, bucket);
+                    }
+                } else if (bucket.pending.get() > 0) {
+                    flush(key, bucket).subscribe(rateLimit -> {}, throwable -> LOGGER.warn("Unable to sync rate-limit {}", key, throwable));
+                }
+            }
+        );
+    }
+
+    private Single<RateLimit> flush(String key, Bucket bucket) {
+        return Single.defer(
+            () -> {
+                final long weight = bucket.pending.getAndSet(0);
+                bucket.inflight.addAndGet(weight);
+
+                return Single
+                    .defer(() -> delegate.incrementAndGet(key, weight, bucket::template))
+                    .doOnSuccess(
+                        rateLimit -> {
+                            bucket.inflight.addAndGet(-weight);
+                            bucket.advance(rateLimit);
+                        }
+                    )
+                    .doOnError(
+                        throwable -> {
+                            bucket.inflight.addAndGet(-weight);
+                            bucket.pending.addAndGet(weight);
+                        }
+                    );
+            }
+        );
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private class Bucket {
+
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicLong inflight = new AtomicLong();
+        private final long maxPending;
+        private volatile RateLimit synced;
+        private volatile boolean retired;
+
+        private Bucket(RateLimit synced) {
+            this.synced = synced;
+            this.maxPending = Math.max(1, (long) (synced.getLimit() * tolerance));
+        }
+
+        /**
+         * Concurrent flushes may complete out of order, only keep the most recent counter.
+         */
+        private synchronized void advance(RateLimit rateLimit) {
+            final RateLimit current = synced;
+            if (
+                rateLimit.getResetTime() > current.getResetTime() ||
+                (rateLimit.getResetTime() == current.getResetTime() && rateLimit.getCounter() > current.getCounter())
+            ) {
+                synced = rateLimit;
+            }
+        }
+
+        private boolean isExpired(long now) {
+            return synced.getResetTime() <= now;
+        }
+
+        private RateLimit template() {
+            final RateLimit rateLimit = new RateLimit(synced.getKey(), synced);
+            rateLimit.setCounter(0);
+            rateLimit.setSubscription(synced.getSubscription());
+            return rateLimit;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.repository.ratelimit;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.repository.ratelimit.api.RateLimitRepository;
+import io.gravitee.repository.ratelimit.model.RateLimit;
+import io.reactivex.Single;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class LocalRateLimitRepositoryTest {
+
+    private static final String KEY = "my-key";
+
+    private InMemoryRateLimitRepository remote;
+    private LocalRateLimitRepository repository;
+
+    @Before
+    public void setUp() {
+        remote = new InMemoryRateLimitRepository();
+        repository = new LocalRateLimitRepository(remote, 0.1);
+    }
+
+    @Test
+    public void shouldCountLocally_untilTolerance() {
+        assertEquals(1, increment(100, System.currentTimeMillis() + 60000).getCounter());
+        assertEquals(1, remote.calls);
+
+        for (int i = 2; i < 11; i++) {
+            assertEquals(i, increment(100, System.currentTimeMillis() + 60000).getCounter());
+        }
+        assertEquals(1, remote.calls);
+
+        // 10 pending increments reach the tolerance (10% of 100)
+        assertEquals(11, increment(100, System.currentTimeMillis() + 60000).getCounter());
+        assertEquals(2, remote.calls);
+        assertEquals(11, remote.counters.get(KEY).getCounter());
+    }
+
+    @Test
+    public void shouldSyncPendingIncrements() {
+        increment(100, System.currentTimeMillis() + 60000);
+        increment(100, System.currentTimeMillis() + 60000);
+        increment(100, System.currentTimeMillis() + 60000);
+
+        repository.sync();
+
+        assertEquals(2, remote.calls);
+        assertEquals(3, remote.counters.get(KEY).getCounter());
+
+        repository.sync();
+        assertEquals(2, remote.calls);
+    }
+
+    @Test
+    public void shouldAskRemote_whenLimitIsReached() {
+        // Another gateway already consumed most of the limit
+        final RateLimit other = new RateLimit(KEY);
+        other.setCounter(99);
+        other.setLimit(100);
+        other.setResetTime(System.currentTimeMillis() + 60000);
+        remote.counters.put(KEY, other);
+
+        assertEquals(100, increment(100, other.getResetTime()).getCounter());
+        assertEquals(1, remote.calls);
+    }
+
+    @Test
+    public void shouldRejectLocally_untilWindowIsOver() {
+        final long resetTime = System.currentTimeMillis() + 60000;
+        for (int i = 0; i < 100; i++) {
+            increment(100, resetTime);
+        }
+        final int calls = remote.calls;
+
+        // The limit is reached on the underlying repository, following requests are rejected without asking it
+        assertEquals(101, increment(100, resetTime).getCounter());
+        assertEquals(102, increment(100, resetTime).getCounter());
+        assertEquals(calls, remote.calls);
+
+        repository.sync();
+        assertEquals(calls + 1, remote.calls);
+        assertEquals(102, remote.counters.get(KEY).getCounter());
+    }
+
+    @Test
+    public void shouldFlushPendingIncrements_whenStopped() {
+        repository.start(1, TimeUnit.HOURS);
+        increment(100, System.currentTimeMillis() + 60000);
+        increment(100, System.currentTimeMillis() + 60000);
+
+        repository.stop();
+
+        assertEquals(2, remote.counters.get(KEY).getCounter());
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    public void shouldAskRemote_whenWindowIsOver() {
+        increment(100, System.currentTimeMillis() - 1);
+        increment(100, System.currentTimeMillis() - 1);
+
+        assertEquals(2, remote.calls);
+
+        repository.sync();
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    public void shouldKeepIncrements_whenSyncFails() {
+        increment(100, System.currentTimeMillis() + 60000);
+        increment(100, System.currentTimeMillis() + 60000);
+
+        remote.failing = true;
+        repository.sync();
+        remote.failing = false;
+        repository.sync();
+
+        assertEquals(2, remote.counters.get(KEY).getCounter());
+    }
+
+    @Test
+    public void shouldNotLoseIncrements_whenConcurrent() throws Exception {
+        final int threads = 8;
+        final int increments = 500;
+        final long resetTime = System.currentTimeMillis() + 60000;
+        remote.latency = 1;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                    executor.submit(
+                        () -> {
+                            start.await();
+                            for (int i = 0; i < increments; i++) {
+                                increment(1_000_000, resetTime);
+                            }
+                            return null;
+                        }
+                    )
+                );
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        repository.stop();
+
+        assertEquals(threads * increments, remote.counters.get(KEY).getCounter());
+    }
+
+    private RateLimit increment(long limit, long resetTime) {
+        return repository
+            .incrementAndGet(
+                KEY,
+                1,
+                () -> {
+                    final RateLimit rateLimit = new RateLimit(KEY);
+                    rateLimit.setLimit(limit);
+                    rateLimit.setResetTime(resetTime);
+                    return rateLimit;
+                }
+            )
+            .blockingGet();
+    }
+
+    private static class InMemoryRateLimitRepository implements RateLimitRepository<RateLimit> {
+
+        private final Map<String, RateLimit> counters = new HashMap<>();
+        private int calls;
+        private boolean failing;
+        private long latency;
+
+        @Override
+        public synchronized Single<RateLimit> incrementAndGet(String key, long weight, Supplier<RateLimit> supplier) {
+            calls++;
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("Repository unavailable");
+            }
+
+            RateLimit rateLimit = counters.get(key);
+            if (rateLimit == null || rateLimit.getResetTime() <= System.currentTimeMillis()) {
+                rateLimit = supplier.get();
+            }
+            rateLimit.setCounter(rateLimit.getCounter() + weight);
+            counters.put(key, rateLimit);
+
+            return Single.just(new RateLimit(rateLimit));
+        }
+    }
+}
@@ -21,6 +21,7 @@ import io.gravitee.common.http.GraviteeHttpHeader;
 import io.gravitee.definition.model.Api;
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.core.component.ComponentProvider;
 import io.gravitee.gateway.core.component.ComponentResolver;
 import io.gravitee.gateway.security.core.AuthenticationContext;
@@ -30,6 +31,7 @@ import io.gravitee.gateway.security.core.PluginAuthenticationPolicy;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiKeyRepository;
 import io.gravitee.repository.management.model.ApiKey;
+import io.vertx.core.Vertx;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +63,8 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Compo
 
     private ApiKeyRepository apiKeyRepository;
 
+    private ApiKeyLookup apiKeyLookup;
+
     @Override
     public boolean canHandle(AuthenticationContext context) {
         final String apiKey = readApiKey(context.request());
@@ -73,12 +77,7 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Compo
             // Get the api-key from the repository if not present in the context
             if (context.get(APIKEY_CONTEXT_ATTRIBUTE) == null) {
                 try {
-                    final Optional<ApiKey> optApiKey = apiKeyRepository.findByKeyAndApi(apiKey, api.getId());
-                    if (optApiKey.isPresent()) {
-                        context.request().metrics().setSecurityType(API_KEY);
-                        context.request().metrics().setSecurityToken(apiKey);
-                    }
-                    context.set(APIKEY_CONTEXT_ATTRIBUTE, optApiKey);
+                    setApiKey(context, apiKey, apiKeyRepository.findByKeyAndApi(apiKey, api.getId()));
                 } catch (TechnicalException e) {
                     // Any API key plan can be selected, the request will be rejected by the API Key policy whatsoever
                 }
@@ -88,6 +87,37 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Compo
         return true;
     }
 
+    @Override
+    public void canHandle(AuthenticationContext context, Handler<Boolean> resultHandler) {
+        final String apiKey = readApiKey(context.request());
+
+        if (apiKey == null) {
+            resultHandler.handle(false);
+        } else if (apiKeyLookup == null || context.get(APIKEY_CONTEXT_ATTRIBUTE) != null) {
+            resultHandler.handle(true);
+        } else {
+            apiKeyLookup.find(
+                apiKey,
+                optApiKey -> {
+                    // If the repository could not be reached, any API Key plan can be selected, the request will be
+                    // rejected by the API Key policy whatsoever
+                    if (optApiKey != null) {
+                        setApiKey(context, apiKey, optApiKey);
+                    }
+                    resultHandler.handle(true);
+                }
+            );
+        }
+    }
+
+    private void setApiKey(AuthenticationContext context, String apiKey, Optional<ApiKey> optApiKey) {
+        if (optApiKey.isPresent()) {
+            context.request().metrics().setSecurityType(API_KEY);
+            context.request().metrics().setSecurityToken(apiKey);
+        }
+        context.set(APIKEY_CONTEXT_ATTRIBUTE, optApiKey);
+    }
+
     @Override
     public String name() {
         return "api_key";
@@ -125,5 +155,15 @@ public class ApiKeyAuthenticationHandler implements AuthenticationHandler, Compo
         Environment environment = componentProvider.getComponent(Environment.class);
         apiKeyHeader = environment.getProperty("policy.api-key.header", GraviteeHttpHeader.X_GRAVITEE_API_KEY);
         apiKeyQueryParameter = environment.getProperty("policy.api-key.param", "api-key");
+
+        if (apiKeyRepository != null) {
+            apiKeyLookup =
+                new ApiKeyLookup(
+                    apiKeyRepository,
+                    api.getId(),
+                    componentProvider.getComponent(Vertx.class),
+                    environment.getProperty("policy.api-key.unknown_keys_ttl", Long.class, 0L)
+                );
+        }
     }
 }
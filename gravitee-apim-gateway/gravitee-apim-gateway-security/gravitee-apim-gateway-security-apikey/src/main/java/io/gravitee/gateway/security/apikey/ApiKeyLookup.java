@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.apikey;
+
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiKeyRepository;
+import io.gravitee.repository.management.model.ApiKey;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks for the api-keys of an API without blocking the calling thread:
+ * <ul>
+ *     <li>api-keys served by a local cache ({@link CachedApiKeyRepository#isLocal()}) are read on the calling thread,</li>
+ *     <li>repository calls are executed on a worker thread when running on a Vert.x context,</li>
+ *     <li>concurrent lookups for the same key share a single repository call,</li>
+ *     <li>unknown keys are remembered for a while so that invalid keys do not hammer the repository.</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+class ApiKeyLookup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeyLookup.class);
+
+    static final int MAX_UNKNOWN_KEYS = 10_000;
+
+    private final ConcurrentMap<String, CompletableFuture<Optional<ApiKey>>> inflight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> unknownKeys = new ConcurrentHashMap<>();
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final String api;
+    private final Vertx vertx;
+    private final long unknownKeyTtl;
+    private final boolean local;
+
+    ApiKeyLookup(ApiKeyRepository apiKeyRepository, String api, Vertx vertx, long unknownKeyTtl) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.api = api;
+        this.vertx = vertx;
+        this.unknownKeyTtl = unknownKeyTtl;
+        this.local = apiKeyRepository instanceof CachedApiKeyRepository && ((CachedApiKeyRepository) apiKeyRepository).isLocal();
+    }
+
+    /**
+     * Find the api-key. The handler is called on the caller context with the api-key, an empty optional if the key
+     * is unknown, or <code>null</code> if the repository could not be queried.
+     */
+    void find(String key, Handler<Optional<ApiKey>> handler) {
+        if (local) {
+            handler.handle(findByKey(key));
+            return;
+        }
+
+        if (isUnknown(key)) {
+            handler.handle(Optional.empty());
+            return;
+        }
+
+        final CompletableFuture<Optional<ApiKey>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<ApiKey>> lookup = inflight.putIfAbsent(key, created);
+
+        if (lookup == null) {
+            lookup = created;
+            execute(key, created);
+        }
+
+        // Worker threads share the context of their caller, so compare threads to know if we have to switch back
+        final Context context = vertx != null ? Vertx.currentContext() : null;
+        final Thread thread = Thread.currentThread();
+        lookup.whenComplete(
+            (apiKey, throwable) -> {
+                if (context == null || thread == Thread.currentThread()) {
+                    handler.handle(apiKey);
+                } else {
+                    context.runOnContext(v -> handler.handle(apiKey));
+                }
+            }
+        );
+    }
+
+    private void execute(String key, CompletableFuture<Optional<ApiKey>> lookup) {
+        if (vertx != null && Vertx.currentContext() != null) {
+            vertx.executeBlocking(
+                promise -> {
+                    complete(key, lookup);
+                    promise.complete();
+                },
+                false,
+                null
+            );
+        } else {
+            complete(key, lookup);
+        }
+    }
+
+    private void complete(String key, CompletableFuture<Optional<ApiKey>> lookup) {
+        Optional<ApiKey> apiKey = null;
+
+        try {
+            apiKey = findByKey(key);
+
+            if (apiKey != null && !apiKey.isPresent()) {
+                remember(key);
+            }
+        } finally {
+            inflight.remove(key, lookup);
+            lookup.complete(apiKey);
+        }
+    }
+
+    private Optional<ApiKey> findByKey(String key) {
+        try {
+            return apiKeyRepository.findByKeyAndApi(key, api);
+        } catch (TechnicalException te) {
+            LOGGER.debug("Unable to retrieve api-key for API {}", api, te);
+        } catch (RuntimeException re) {
+            LOGGER.error("Unexpected error while retrieving api-key for API {}", api, re);
+        }
+        return null;
+    }
+
+    private boolean isUnknown(String key) {
+        final Long expireAt = unknownKeys.get(key);
+
+        if (expireAt == null) {
+            return false;
+        }
+
+        if (expireAt > System.currentTimeMillis()) {
+            return true;
+        }
+
+        unknownKeys.remove(key, expireAt);
+        return false;
+    }
+
+    private void remember(String key) {
+        if (unknownKeyTtl <= 0) {
+            return;
+        }
+
+        if (unknownKeys.size() >= MAX_UNKNOWN_KEYS) {
+            final long now = System.currentTimeMillis();
+            unknownKeys.values().removeIf(expireAt -> expireAt <= now);
+
+            if (unknownKeys.size() >= MAX_UNKNOWN_KEYS) {
+                // Too many distinct unknown keys, probably someone guessing keys: do not let the cache grow forever
+                unknownKeys.clear();
+            }
+        }
+
+        unknownKeys.put(key, System.currentTimeMillis() + unknownKeyTtl);
+    }
+}
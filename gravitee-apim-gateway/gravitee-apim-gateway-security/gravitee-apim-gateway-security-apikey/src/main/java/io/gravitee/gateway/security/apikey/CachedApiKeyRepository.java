@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.apikey;
+
+import io.gravitee.repository.management.api.ApiKeyRepository;
+
+/**
+ * An {@link ApiKeyRepository} serving the api-keys from a cache kept up to date by the gateway.
+ *
+ * @author GraviteeSource Team
+ */
+public interface CachedApiKeyRepository extends ApiKeyRepository {
+    /**
+     * @return <code>true</code> if the cache is held by the node itself, so that it can be read without blocking the
+     * calling thread.
+     */
+    boolean isLocal();
+}
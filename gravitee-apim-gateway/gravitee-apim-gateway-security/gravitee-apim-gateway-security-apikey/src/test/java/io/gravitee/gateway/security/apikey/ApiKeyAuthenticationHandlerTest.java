@@ -37,6 +37,8 @@ import io.gravitee.repository.management.api.ApiKeyRepository;
 import io.gravitee.repository.management.model.ApiKey;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -85,8 +87,10 @@ public class ApiKeyAuthenticationHandlerTest {
         Environment environment = mock(Environment.class);
         when(environment.getProperty(eq("policy.api-key.header"), anyString())).thenReturn(GraviteeHttpHeader.X_GRAVITEE_API_KEY);
         when(environment.getProperty(eq("policy.api-key.param"), anyString())).thenReturn("api-key");
+        when(environment.getProperty("policy.api-key.unknown_keys_ttl", Long.class, 0L)).thenReturn(5000L);
 
         when(provider.getComponent(Environment.class)).thenReturn(environment);
+        when(api.getId()).thenReturn("api-id");
 
         authenticationHandler.resolve(provider);
     }
@@ -153,6 +157,53 @@ public class ApiKeyAuthenticationHandlerTest {
         Assert.assertTrue(handle);
     }
 
+    @Test
+    public void shouldHandleRequestAsynchronously() throws TechnicalException {
+        when(authenticationContext.request()).thenReturn(request);
+        when(request.metrics()).thenReturn(metrics);
+        HttpHeaders headers = HttpHeaders.create();
+        headers.set("X-Gravitee-Api-Key", "xxxxx-xxxx-xxxxx");
+        when(request.headers()).thenReturn(headers);
+        Optional<ApiKey> apiKey = of(new ApiKey());
+        when(apiKeyRepository.findByKeyAndApi("xxxxx-xxxx-xxxxx", "api-id")).thenReturn(apiKey);
+
+        AtomicReference<Boolean> handle = new AtomicReference<>();
+        authenticationHandler.canHandle(authenticationContext, handle::set);
+
+        Assert.assertTrue(handle.get());
+        verify(authenticationContext).set("apikey", apiKey);
+        verify(metrics).setSecurityType(SecurityType.API_KEY);
+        verify(metrics).setSecurityToken("xxxxx-xxxx-xxxxx");
+    }
+
+    @Test
+    public void shouldNotHandleRequestAsynchronously() {
+        when(authenticationContext.request()).thenReturn(request);
+        when(request.headers()).thenReturn(HttpHeaders.create());
+        when(request.parameters()).thenReturn(new LinkedMultiValueMap<>());
+
+        AtomicReference<Boolean> handle = new AtomicReference<>();
+        authenticationHandler.canHandle(authenticationContext, handle::set);
+
+        Assert.assertFalse(handle.get());
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    @Test
+    public void shouldHandleRequestAsynchronously_repositoryError() throws TechnicalException {
+        when(authenticationContext.request()).thenReturn(request);
+        HttpHeaders headers = HttpHeaders.create();
+        headers.set("X-Gravitee-Api-Key", "xxxxx-xxxx-xxxxx");
+        when(request.headers()).thenReturn(headers);
+        when(apiKeyRepository.findByKeyAndApi("xxxxx-xxxx-xxxxx", "api-id")).thenThrow(new TechnicalException());
+
+        AtomicReference<Boolean> handle = new AtomicReference<>();
+        authenticationHandler.canHandle(authenticationContext, handle::set);
+
+        Assert.assertTrue(handle.get());
+        verify(authenticationContext, never()).set(eq("apikey"), any());
+    }
+
     @Test
     public void shouldReturnPolicies() {
         ExecutionContext executionContext = mock(ExecutionContext.class);
@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.apikey;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiKeyRepository;
+import io.gravitee.repository.management.model.ApiKey;
+import io.vertx.core.Vertx;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiKeyLookupTest {
+
+    private static final String API = "api-id";
+    private static final String KEY = "my-key";
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    private ApiKeyLookup lookup;
+
+    @Before
+    public void setUp() {
+        lookup = new ApiKeyLookup(apiKeyRepository, API, null, 60_000);
+    }
+
+    @Test
+    public void shouldFindApiKey() throws TechnicalException {
+        ApiKey apiKey = new ApiKey();
+        when(apiKeyRepository.findByKeyAndApi(KEY, API)).thenReturn(Optional.of(apiKey));
+
+        AtomicReference<Optional<ApiKey>> result = new AtomicReference<>();
+        lookup.find(KEY, result::set);
+
+        assertSame(apiKey, result.get().get());
+    }
+
+    @Test
+    public void shouldRememberUnknownKey() throws TechnicalException {
+        when(apiKeyRepository.findByKeyAndApi(KEY, API)).thenReturn(Optional.empty());
+
+        AtomicReference<Optional<ApiKey>> result = new AtomicReference<>();
+        lookup.find(KEY, result::set);
+        lookup.find(KEY, result::set);
+
+        assertFalse(result.get().isPresent());
+        verify(apiKeyRepository, times(1)).findByKeyAndApi(KEY, API);
+    }
+
+    @Test
+    public void shouldNotRememberUnknownKey_disabled() throws TechnicalException {
+        lookup = new ApiKeyLookup(apiKeyRepository, API, null, 0);
+        when(apiKeyRepository.findByKeyAndApi(KEY, API)).thenReturn(Optional.empty());
+
+        lookup.find(KEY, apiKey -> {});
+        lookup.find(KEY, apiKey -> {});
+
+        verify(apiKeyRepository, times(2)).findByKeyAndApi(KEY, API);
+    }
+
+    @Test
+    public void shouldNotRememberRepositoryFailure() throws TechnicalException {
+        when(apiKeyRepository.findByKeyAndApi(KEY, API)).thenThrow(new TechnicalException());
+
+        AtomicReference<Optional<ApiKey>> result = new AtomicReference<>(Optional.empty());
+        lookup.find(KEY, result::set);
+        lookup.find(KEY, result::set);
+
+        assertNull(result.get());
+        verify(apiKeyRepository, times(2)).findByKeyAndApi(KEY, API);
+    }
+
+    @Test
+    public void shouldShareConcurrentLookups() throws Exception {
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ApiKey apiKey = new ApiKey();
+
+        when(apiKeyRepository.findByKeyAndApi(KEY, API))
+            .thenAnswer(
+                invocation -> {
+                    queried.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(apiKey);
+                }
+            );
+
+        AtomicReference<Optional<ApiKey>> first = new AtomicReference<>();
+        Thread leader = new Thread(() -> lookup.find(KEY, first::set));
+        leader.start();
+        assertTrue(queried.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<Optional<ApiKey>> second = new AtomicReference<>();
+        lookup.find(KEY, second::set);
+        assertNull(second.get());
+
+        release.countDown();
+        leader.join(5000);
+
+        assertSame(apiKey, first.get().get());
+        assertSame(apiKey, second.get().get());
+        verify(apiKeyRepository, times(1)).findByKeyAndApi(KEY, API);
+    }
+
+    @Test
+    public void shouldReadLocalCacheOnCallerThread() throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            CachedApiKeyRepository cachedRepository = mock(CachedApiKeyRepository.class);
+            when(cachedRepository.isLocal()).thenReturn(true);
+            lookup = new ApiKeyLookup(cachedRepository, API, vertx, 60_000);
+
+            AtomicReference<Thread> repositoryThread = new AtomicReference<>();
+            when(cachedRepository.findByKeyAndApi(KEY, API))
+                .thenAnswer(
+                    invocation -> {
+                        repositoryThread.set(Thread.currentThread());
+                        return Optional.empty();
+                    }
+                );
+
+            AtomicReference<Thread> callerThread = new AtomicReference<>();
+            AtomicReference<Optional<ApiKey>> result = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+
+            vertx.runOnContext(
+                v -> {
+                    callerThread.set(Thread.currentThread());
+                    lookup.find(KEY, result::set);
+                    // A key synchronized in the meantime must be found, unknown keys are not remembered
+                    lookup.find(KEY, result::set);
+                    done.countDown();
+                }
+            );
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertSame(callerThread.get(), repositoryThread.get());
+            assertFalse(result.get().isPresent());
+            verify(cachedRepository, times(2)).findByKeyAndApi(KEY, API);
+        } finally {
+            vertx.close();
+        }
+    }
+
+    @Test
+    public void shouldLookupOnWorkerAndCompleteOnCallerContext() throws Exception {
+        Vertx vertx = Vertx.vertx();
+        try {
+            lookup = new ApiKeyLookup(apiKeyRepository, API, vertx, 60_000);
+            AtomicReference<Thread> repositoryThread = new AtomicReference<>();
+            when(apiKeyRepository.findByKeyAndApi(KEY, API))
+                .thenAnswer(
+                    invocation -> {
+                        repositoryThread.set(Thread.currentThread());
+                        return Optional.of(new ApiKey());
+                    }
+                );
+
+            AtomicReference<Thread> callerThread = new AtomicReference<>();
+            AtomicReference<Thread> resultThread = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+
+            vertx.runOnContext(
+                v -> {
+                    callerThread.set(Thread.currentThread());
+                    lookup.find(
+                        KEY,
+                        apiKey -> {
+                            resultThread.set(Thread.currentThread());
+                            done.countDown();
+                        }
+                    );
+                }
+            );
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertNotSame(callerThread.get(), repositoryThread.get());
+            assertSame(callerThread.get(), resultThread.get());
+        } finally {
+            vertx.close();
+        }
+    }
+}
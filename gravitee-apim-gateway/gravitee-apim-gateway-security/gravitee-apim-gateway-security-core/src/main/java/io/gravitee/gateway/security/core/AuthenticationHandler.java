@@ -16,6 +16,7 @@
 package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
 import java.util.List;
 
 /**
@@ -45,6 +46,29 @@ public interface AuthenticationHandler {
      */
     boolean canHandle(AuthenticationContext context);
 
+    /**
+     * Asynchronous variant of {@link #canHandle(AuthenticationContext)}.
+     * Handlers which have to look for data in a repository must override this method so that they do not block the
+     * calling thread. The result handler is always invoked on the caller context.
+     *
+     * @param context context data upon which incoming HTTP request can be handled.
+     * @param resultHandler handler notified with the flag indicating that the current context can be handled.
+     */
+    default void canHandle(AuthenticationContext context, Handler<Boolean> resultHandler) {
+        resultHandler.handle(canHandle(context));
+    }
+
+    /**
+     * The authentication handler reading the credentials this handler relies on. Handlers decorating another one (to
+     * bind it to a plan for instance) must return the handler they decorate, so that all the handlers expecting the
+     * same credentials can be skipped at once when the incoming request does not carry them.
+     *
+     * @return The authentication handler reading the credentials.
+     */
+    default AuthenticationHandler unwrap() {
+        return this;
+    }
+
     /**
      * Policies which will be run for each request after authentication method selection
      * The "Security policy chain" may be composed of
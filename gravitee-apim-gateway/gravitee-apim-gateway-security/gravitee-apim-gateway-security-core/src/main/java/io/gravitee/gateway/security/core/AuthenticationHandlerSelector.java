@@ -16,6 +16,7 @@
 package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.handler.Handler;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -29,4 +30,13 @@ public interface AuthenticationHandlerSelector {
      * @return The authentication handler to apply to the incoming request.
      */
     AuthenticationHandler select(Request request);
+
+    /**
+     * Asynchronous variant of {@link #select(Request)}.
+     * @param request Incoming HTTP request.
+     * @param resultHandler handler notified with the authentication handler to apply, or <code>null</code> if none.
+     */
+    default void select(Request request, Handler<AuthenticationHandler> resultHandler) {
+        resultHandler.handle(select(request));
+    }
 }
@@ -16,30 +16,183 @@
 package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.handler.Handler;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * Selects the first authentication handler able to handle the incoming request.
+ *
+ * A dispatch table is built from the handlers of the API: handlers decorating the same credential reader (for
+ * instance all the JWT plans of an API) are grouped so that the credential reader is asked only once per request, and
+ * the whole group is skipped when the request does not carry the expected credentials.
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class DefaultAuthenticationHandlerSelector implements AuthenticationHandlerSelector {
 
+    private static final byte UNKNOWN = 0;
+    private static final byte ACCEPTED = 1;
+    private static final byte REJECTED = 2;
+
     private final AuthenticationHandlerManager authenticationHandlerManager;
 
+    private volatile DispatchTable dispatchTable;
+
     public DefaultAuthenticationHandlerSelector(AuthenticationHandlerManager authenticationHandlerManager) {
         this.authenticationHandlerManager = authenticationHandlerManager;
     }
 
     @Override
     public AuthenticationHandler select(Request request) {
+        final DispatchTable table = dispatchTable();
+
         // Prepare the authentication context
         final SimpleAuthenticationContext context = new SimpleAuthenticationContext(request);
+        final byte[] readers = new byte[table.readers.length];
+
+        for (int i = 0; i < table.candidates.length; i++) {
+            final int reader = table.readerOf[i];
 
-        for (AuthenticationHandler securityProvider : authenticationHandlerManager.getAuthenticationHandlers()) {
-            if (securityProvider.canHandle(context)) {
-                return securityProvider;
+            if (reader != -1) {
+                if (readers[reader] == UNKNOWN) {
+                    readers[reader] = table.readers[reader].canHandle(context) ? ACCEPTED : REJECTED;
+                }
+                if (readers[reader] == REJECTED) {
+                    continue;
+                }
+            }
+
+            if (table.candidates[i].canHandle(context)) {
+                return table.candidates[i];
             }
         }
 
         return null;
     }
+
+    @Override
+    public void select(Request request, Handler<AuthenticationHandler> resultHandler) {
+        final DispatchTable table = dispatchTable();
+
+        // Prepare the authentication context
+        final SimpleAuthenticationContext context = new SimpleAuthenticationContext(request);
+
+        select(table, 0, new byte[table.readers.length], context, resultHandler);
+    }
+
+    private void select(
+        DispatchTable table,
+        int index,
+        byte[] readers,
+        AuthenticationContext context,
+        Handler<AuthenticationHandler> resultHandler
+    ) {
+        if (index == table.candidates.length) {
+            resultHandler.handle(null);
+            return;
+        }
+
+        final int reader = table.readerOf[index];
+
+        if (reader != -1 && readers[reader] == UNKNOWN) {
+            table.readers[reader].canHandle(
+                    context,
+                    canHandle -> {
+                        readers[reader] = canHandle ? ACCEPTED : REJECTED;
+                        select(table, index, readers, context, resultHandler);
+                    }
+                );
+        } else if (reader != -1 && readers[reader] == REJECTED) {
+            select(table, index + 1, readers, context, resultHandler);
+        } else {
+            final AuthenticationHandler candidate = table.candidates[index];
+            candidate.canHandle(
+                context,
+                canHandle -> {
+                    if (canHandle) {
+                        resultHandler.handle(candidate);
+                    } else {
+                        select(table, index + 1, readers, context, resultHandler);
+                    }
+                }
+            );
+        }
+    }
+
+    private DispatchTable dispatchTable() {
+        final List<AuthenticationHandler> handlers = authenticationHandlerManager.getAuthenticationHandlers();
+        DispatchTable table = dispatchTable;
+
+        // Handlers are only reloaded when the API is (re)deployed
+        if (table == null || table.handlers != handlers) {
+            table = new DispatchTable(handlers);
+            dispatchTable = table;
+        }
+
+        return table;
+    }
+
+    private static class DispatchTable {
+
+        private final List<AuthenticationHandler> handlers;
+
+        /**
+         * The candidate handlers, in their order of precedence.
+         */
+        private final AuthenticationHandler[] candidates;
+
+        /**
+         * The credential readers shared by several candidates.
+         */
+        private final AuthenticationHandler[] readers;
+
+        /**
+         * For each candidate, the index of its credential reader or -1 if the candidate has to be asked directly.
+         */
+        private final int[] readerOf;
+
+        private DispatchTable(List<AuthenticationHandler> handlers) {
+            this.handlers = handlers;
+            this.candidates = handlers == null ? new AuthenticationHandler[0] : handlers.toArray(new AuthenticationHandler[0]);
+            this.readerOf = new int[candidates.length];
+
+            final Map<AuthenticationHandler, Integer> sharedBy = new IdentityHashMap<>();
+            for (AuthenticationHandler candidate : candidates) {
+                final AuthenticationHandler reader = reader(candidate);
+                if (reader != candidate) {
+                    sharedBy.merge(reader, 1, Integer::sum);
+                }
+            }
+
+            final List<AuthenticationHandler> readers = new ArrayList<>();
+            final Map<AuthenticationHandler, Integer> indexes = new IdentityHashMap<>();
+            for (int i = 0; i < candidates.length; i++) {
+                final AuthenticationHandler reader = reader(candidates[i]);
+
+                // Asking the reader first is only worth it when it is shared by several candidates
+                if (reader != candidates[i] && sharedBy.get(reader) > 1) {
+                    readerOf[i] =
+                        indexes.computeIfAbsent(
+                            reader,
+                            r -> {
+                                readers.add(r);
+                                return readers.size() - 1;
+                            }
+                        );
+                } else {
+                    readerOf[i] = -1;
+                }
+            }
+
+            this.readers = readers.toArray(new AuthenticationHandler[0]);
+        }
+
+        private static AuthenticationHandler reader(AuthenticationHandler handler) {
+            final AuthenticationHandler reader = handler.unwrap();
+            return reader != null ? reader : handler;
+        }
+    }
 }
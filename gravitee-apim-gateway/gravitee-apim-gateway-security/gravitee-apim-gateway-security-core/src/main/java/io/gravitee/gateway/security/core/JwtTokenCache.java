@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of parsed JWT tokens, shared by all the APIs, so that clients reusing the same bearer token do not
+ * pay for its parsing on each request.
+ *
+ * Tokens are indexed by their SHA-256 hash. A token is only cached while it is valid according to its <code>nbf</code>
+ * and <code>exp</code> claims, and never longer than the configured time to live.
+ *
+ * As cached entries are shared by concurrent requests, headers and claims are deeply unmodifiable.
+ *
+ * @author GraviteeSource Team
+ */
+public class JwtTokenCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final long DEFAULT_TIME_TO_LIVE = 300_000;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(
+        () -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    );
+
+    private final Cache<String, Entry> tokens;
+    private final long timeToLive;
+
+    public JwtTokenCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of tokens to keep.
+     * @param timeToLive the maximum time (in ms) a token is kept, even if it expires later.
+     */
+    public JwtTokenCache(long maximumSize, long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.tokens = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Get a previously parsed token.
+     *
+     * @param token the raw token.
+     * @return the parsed token, or <code>null</code> if the token is unknown or has expired.
+     */
+    public Entry get(String token) {
+        final String key = hash(token);
+        final Entry entry = tokens.getIfPresent(key);
+
+        if (entry != null && entry.expireAt <= System.currentTimeMillis()) {
+            tokens.invalidate(key);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Cache a parsed token if it is currently valid.
+     *
+     * @param token the raw token.
+     * @param jwt the parsed token.
+     * @return the cached entry, or a detached one if the token can not be cached.
+     */
+    public Entry put(String token, JWT jwt) throws ParseException {
+        final JWTClaimsSet claimsSet = jwt.getJWTClaimsSet();
+        final Entry entry = new Entry(
+            jwt.getHeader() != null ? unmodifiableMap(jwt.getHeader().toJSONObject()) : null,
+            claimsSet != null ? unmodifiableMap(claimsSet.getClaims()) : null,
+            expireAt(claimsSet)
+        );
+
+        if (entry.expireAt > System.currentTimeMillis()) {
+            tokens.put(hash(token), entry);
+        }
+
+        return entry;
+    }
+
+    public long size() {
+        return tokens.size();
+    }
+
+    public void invalidate() {
+        tokens.invalidateAll();
+    }
+
+    private long expireAt(JWTClaimsSet claimsSet) {
+        final long now = System.currentTimeMillis();
+
+        if (claimsSet != null) {
+            final Date notBefore = claimsSet.getNotBeforeTime();
+            if (notBefore != null && notBefore.getTime() > now) {
+                // Not yet valid, do not cache it
+                return now;
+            }
+
+            final Date expiration = claimsSet.getExpirationTime();
+            if (expiration != null) {
+                return Math.min(expiration.getTime(), now + timeToLive);
+            }
+        }
+
+        return now + timeToLive;
+    }
+
+    private static Map<String, Object> unmodifiableMap(Map<String, Object> map) {
+        final Map<String, Object> copy = new LinkedHashMap<>(map.size() * 2);
+        map.forEach((name, value) -> copy.put(name, unmodifiable(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object unmodifiable(Object value) {
+        if (value instanceof Map) {
+            return unmodifiableMap((Map<String, Object>) value);
+        } else if (value instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) value;
+            final List<Object> copy = new ArrayList<>(collection.size());
+            collection.forEach(item -> copy.add(unmodifiable(item)));
+            return Collections.unmodifiableList(copy);
+        } else if (value instanceof Date) {
+            return new Date(((Date) value).getTime());
+        }
+
+        return value;
+    }
+
+    private static String hash(String token) {
+        final MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * The parsed headers and claims of a token.
+     */
+    public static class Entry {
+
+        private final Map<String, Object> headers;
+        private final Map<String, Object> claims;
+        private final long expireAt;
+
+        Entry(Map<String, Object> headers, Map<String, Object> claims, long expireAt) {
+            this.headers = headers;
+            this.claims = claims;
+            this.expireAt = expireAt;
+        }
+
+        public Map<String, Object> getHeaders() {
+            return headers;
+        }
+
+        public Map<String, Object> getClaims() {
+            return claims;
+        }
+
+        public long getExpireAt() {
+            return expireAt;
+        }
+    }
+}
@@ -32,6 +32,8 @@ public class LazyJwtToken {
 
     private final String token;
 
+    private final JwtTokenCache cache;
+
     private Map<String, Object> headers;
 
     private Map<String, Object> claims;
@@ -39,7 +41,12 @@ public class LazyJwtToken {
     private boolean parsed = false;
 
     public LazyJwtToken(final String token) {
+        this(token, null);
+    }
+
+    public LazyJwtToken(final String token, final JwtTokenCache cache) {
         this.token = token;
+        this.cache = cache;
     }
 
     public Map<String, Object> getHeaders() {
@@ -57,12 +64,21 @@ public class LazyJwtToken {
             parsed = true;
 
             try {
-                JWT jwt = JWTParser.parse(token);
-                if (jwt.getHeader() != null) {
-                    headers = jwt.getHeader().toJSONObject();
-                }
-                if (jwt.getJWTClaimsSet() != null) {
-                    claims = jwt.getJWTClaimsSet().getClaims();
+                if (cache != null) {
+                    JwtTokenCache.Entry entry = cache.get(token);
+                    if (entry == null) {
+                        entry = cache.put(token, JWTParser.parse(token));
+                    }
+                    headers = entry.getHeaders();
+                    claims = entry.getClaims();
+                } else {
+                    JWT jwt = JWTParser.parse(token);
+                    if (jwt.getHeader() != null) {
+                        headers = jwt.getHeader().toJSONObject();
+                    }
+                    if (jwt.getJWTClaimsSet() != null) {
+                        claims = jwt.getJWTClaimsSet().getClaims();
+                    }
                 }
             } catch (ParseException ex) {
                 // Nothing to do in case of a bad JWT token
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.processor.ProcessorFailure;
+import io.gravitee.gateway.api.stream.ReadStream;
+import io.gravitee.gateway.api.stream.WriteStream;
+import io.gravitee.gateway.core.processor.AbstractStreamableProcessor;
+import io.gravitee.gateway.core.processor.RuntimeProcessorFailure;
+import io.gravitee.gateway.core.processor.StreamableProcessor;
+import io.gravitee.gateway.policy.Policy;
+import io.gravitee.gateway.policy.StreamType;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A security policy chain which asynchronously selects the authentication handler before creating the underlying
+ * policy chain. Body chunks are only written once the chain has been handled, so every stream operation is simply
+ * delegated to the resolved chain.
+ *
+ * @author GraviteeSource Team
+ */
+class SecurityPolicyChain extends AbstractStreamableProcessor<ExecutionContext, Buffer> {
+
+    private final SecurityPolicyResolver policyResolver;
+    private final Function<List<Policy>, StreamableProcessor<ExecutionContext, Buffer>> chainFactory;
+
+    private StreamableProcessor<ExecutionContext, Buffer> chain;
+    private Handler<ProcessorFailure> streamErrorHandler;
+    private Handler<Buffer> bodyHandler;
+    private Handler<Void> endHandler;
+
+    SecurityPolicyChain(
+        final SecurityPolicyResolver policyResolver,
+        final Function<List<Policy>, StreamableProcessor<ExecutionContext, Buffer>> chainFactory
+    ) {
+        this.policyResolver = policyResolver;
+        this.chainFactory = chainFactory;
+    }
+
+    @Override
+    public void handle(ExecutionContext context) {
+        policyResolver.resolve(
+            StreamType.ON_REQUEST,
+            context,
+            policies -> {
+                try {
+                    chain = chainFactory.apply(policies);
+                    chain.handler(next).errorHandler(errorHandler).exitHandler(exitHandler).streamErrorHandler(streamErrorHandler);
+
+                    if (bodyHandler != null) {
+                        chain.bodyHandler(bodyHandler);
+                    }
+                    if (endHandler != null) {
+                        chain.endHandler(endHandler);
+                    }
+
+                    chain.handle(context);
+                } catch (Exception ex) {
+                    errorHandler.handle(new RuntimeProcessorFailure(ex.getMessage()));
+                }
+            }
+        );
+    }
+
+    @Override
+    public StreamableProcessor<ExecutionContext, Buffer> streamErrorHandler(Handler<ProcessorFailure> streamErrorHandler) {
+        this.streamErrorHandler = streamErrorHandler;
+        if (chain != null) {
+            chain.streamErrorHandler(streamErrorHandler);
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> bodyHandler(Handler<Buffer> bodyHandler) {
+        this.bodyHandler = bodyHandler;
+        if (chain != null) {
+            chain.bodyHandler(bodyHandler);
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        if (chain != null) {
+            chain.endHandler(endHandler);
+        }
+        return this;
+    }
+
+    @Override
+    public WriteStream<Buffer> write(Buffer chunk) {
+        chain.write(chunk);
+        return this;
+    }
+
+    @Override
+    public void end() {
+        chain.end();
+    }
+}
@@ -41,19 +41,23 @@ public class SecurityPolicyChainProvider extends AbstractPolicyChainProvider {
     @Override
     public StreamableProcessor<ExecutionContext, Buffer> provide(ExecutionContext context) {
         if (context.getAttribute("skip-security-chain") == null) {
-            // Calculate the list of policies to apply under this policy chain
-            List<Policy> policies = policyResolver.resolve(StreamType.ON_REQUEST, context);
-
-            if (policies == null) {
-                return new DirectPolicyChain(
-                    PolicyResult.failure(PLAN_UNRESOLVABLE, HttpStatusCode.UNAUTHORIZED_401, "Unauthorized"),
-                    context
-                );
+            if (policyResolver instanceof SecurityPolicyResolver) {
+                // Authentication handlers may have to look for credentials, do not block while selecting them
+                return new SecurityPolicyChain((SecurityPolicyResolver) policyResolver, policies -> create(policies, context));
             }
 
-            return OrderedPolicyChain.create(policies, context);
+            // Calculate the list of policies to apply under this policy chain
+            return create(policyResolver.resolve(StreamType.ON_REQUEST, context), context);
         }
 
         return new NoOpPolicyChain(context);
     }
+
+    private StreamableProcessor<ExecutionContext, Buffer> create(List<Policy> policies, ExecutionContext context) {
+        if (policies == null) {
+            return new DirectPolicyChain(PolicyResult.failure(PLAN_UNRESOLVABLE, HttpStatusCode.UNAUTHORIZED_401, "Unauthorized"), context);
+        }
+
+        return OrderedPolicyChain.create(policies, context);
+    }
 }
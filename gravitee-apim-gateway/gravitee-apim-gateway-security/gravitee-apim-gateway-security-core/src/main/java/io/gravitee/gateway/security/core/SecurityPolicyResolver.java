@@ -16,12 +16,16 @@
 package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.ExecutionContext;
+import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.policy.AbstractPolicyResolver;
 import io.gravitee.gateway.policy.Policy;
 import io.gravitee.gateway.policy.PolicyManager;
 import io.gravitee.gateway.policy.StreamType;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -33,6 +37,12 @@ public class SecurityPolicyResolver extends AbstractPolicyResolver {
 
     private final AuthenticationHandlerSelector authenticationHandlerSelector;
 
+    /**
+     * Security chains are built once per authentication handler and shared by all the requests, as long as the handler
+     * keeps returning the same authentication policies.
+     */
+    private final Map<AuthenticationHandler, AuthenticationChain> chains = new ConcurrentHashMap<>();
+
     public SecurityPolicyResolver(final PolicyManager policyManager, final AuthenticationHandlerSelector authenticationHandlerSelector) {
         super(policyManager);
         this.authenticationHandlerSelector = authenticationHandlerSelector;
@@ -40,8 +50,26 @@ public class SecurityPolicyResolver extends AbstractPolicyResolver {
 
     @Override
     public List<Policy> resolve(StreamType streamType, ExecutionContext context) {
-        final AuthenticationHandler authenticationHandler = authenticationHandlerSelector.select(context.request());
+        return resolve(context, authenticationHandlerSelector.select(context.request()));
+    }
 
+    /**
+     * Asynchronous variant of {@link #resolve(StreamType, ExecutionContext)} which lets the authentication handlers
+     * look for their credentials without blocking the calling thread.
+     *
+     * @param streamType the stream type.
+     * @param context the execution context.
+     * @param resultHandler handler notified with the policies to apply, or <code>null</code> if no authentication
+     *                      handler has been selected.
+     */
+    public void resolve(StreamType streamType, ExecutionContext context, Handler<List<Policy>> resultHandler) {
+        authenticationHandlerSelector.select(
+            context.request(),
+            authenticationHandler -> resultHandler.handle(resolve(context, authenticationHandler))
+        );
+    }
+
+    private List<Policy> resolve(ExecutionContext context, AuthenticationHandler authenticationHandler) {
         if (authenticationHandler == null) {
             // No authentication method selected, must send a 401
             logger.debug(
@@ -59,8 +87,15 @@ public class SecurityPolicyResolver extends AbstractPolicyResolver {
             context.request().id()
         );
 
-        List<AuthenticationPolicy> policies = authenticationHandler.handle(context);
-        return createAuthenticationChain(policies);
+        final List<AuthenticationPolicy> policies = authenticationHandler.handle(context);
+
+        AuthenticationChain chain = chains.get(authenticationHandler);
+        if (chain == null || chain.securityPolicies != policies) {
+            chain = new AuthenticationChain(policies, createAuthenticationChain(policies));
+            chains.put(authenticationHandler, chain);
+        }
+
+        return chain.policies;
     }
 
     private List<Policy> createAuthenticationChain(List<AuthenticationPolicy> securityPolicies) {
@@ -89,6 +124,17 @@ public class SecurityPolicyResolver extends AbstractPolicyResolver {
                 }
             )
             .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    private static class AuthenticationChain {
+
+        private final List<AuthenticationPolicy> securityPolicies;
+        private final List<Policy> policies;
+
+        private AuthenticationChain(List<AuthenticationPolicy> securityPolicies, List<Policy> policies) {
+            this.securityPolicies = securityPolicies;
+            this.policies = policies;
+        }
     }
 }
@@ -18,12 +18,18 @@ package io.gravitee.gateway.security.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.api.handler.Handler;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -95,4 +101,95 @@ public class AuthenticationHandlerSelectorTest {
         AuthenticationHandler securityProvider = authenticationHandlerSelector.select(request);
         assertEquals(securityProvider2, securityProvider);
     }
+
+    @Test
+    public void shouldResolveSecurityPolicyAsynchronously() {
+        AuthenticationHandler securityProvider1 = mockAsyncHandler(false);
+        AuthenticationHandler securityProvider2 = mockAsyncHandler(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(securityProvider1, securityProvider2));
+
+        AtomicReference<AuthenticationHandler> securityProvider = new AtomicReference<>();
+        authenticationHandlerSelector.select(request, securityProvider::set);
+        assertEquals(securityProvider2, securityProvider.get());
+    }
+
+    @Test
+    public void shouldNotResolveSecurityPolicyAsynchronously() {
+        AuthenticationHandler securityProvider1 = mockAsyncHandler(false);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Collections.singletonList(securityProvider1));
+
+        AtomicReference<AuthenticationHandler> securityProvider = new AtomicReference<>(securityProvider1);
+        authenticationHandlerSelector.select(request, securityProvider::set);
+        assertNull(securityProvider.get());
+    }
+
+    @Test
+    public void shouldAskSharedCredentialReaderOnce() {
+        AuthenticationHandler jwtReader = mock(AuthenticationHandler.class);
+        AuthenticationHandler jwtPlan1 = mockWrapper(jwtReader);
+        AuthenticationHandler jwtPlan2 = mockWrapper(jwtReader);
+        AuthenticationHandler keyless = mock(AuthenticationHandler.class);
+        when(keyless.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtPlan1, jwtPlan2, keyless));
+
+        assertEquals(keyless, authenticationHandlerSelector.select(request));
+        assertEquals(keyless, authenticationHandlerSelector.select(request));
+
+        verify(jwtReader, times(2)).canHandle(any(AuthenticationContext.class));
+        verify(jwtPlan1, never()).canHandle(any(AuthenticationContext.class));
+        verify(jwtPlan2, never()).canHandle(any(AuthenticationContext.class));
+    }
+
+    @Test
+    public void shouldSelectPlanOnceSharedCredentialReaderAccepts() {
+        AuthenticationHandler jwtReader = mock(AuthenticationHandler.class);
+        when(jwtReader.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+        AuthenticationHandler jwtPlan1 = mockWrapper(jwtReader);
+        AuthenticationHandler jwtPlan2 = mockWrapper(jwtReader);
+        when(jwtPlan2.canHandle(any(AuthenticationContext.class))).thenReturn(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtPlan1, jwtPlan2));
+
+        assertEquals(jwtPlan2, authenticationHandlerSelector.select(request));
+        verify(jwtReader, times(1)).canHandle(any(AuthenticationContext.class));
+    }
+
+    @Test
+    public void shouldSkipSharedCredentialReaderAsynchronously() {
+        AuthenticationHandler jwtReader = mockAsyncHandler(false);
+        AuthenticationHandler jwtPlan1 = mockWrapper(jwtReader);
+        AuthenticationHandler jwtPlan2 = mockWrapper(jwtReader);
+        AuthenticationHandler keyless = mockAsyncHandler(true);
+
+        when(authenticationHandlerManager.getAuthenticationHandlers()).thenReturn(Arrays.asList(jwtPlan1, jwtPlan2, keyless));
+
+        AtomicReference<AuthenticationHandler> securityProvider = new AtomicReference<>();
+        authenticationHandlerSelector.select(request, securityProvider::set);
+
+        assertEquals(keyless, securityProvider.get());
+        verify(jwtReader, times(1)).canHandle(any(AuthenticationContext.class), any());
+        verify(jwtPlan1, never()).canHandle(any(AuthenticationContext.class), any());
+    }
+
+    private AuthenticationHandler mockWrapper(AuthenticationHandler reader) {
+        AuthenticationHandler wrapper = mock(AuthenticationHandler.class);
+        when(wrapper.unwrap()).thenReturn(reader);
+        return wrapper;
+    }
+
+    private AuthenticationHandler mockAsyncHandler(boolean canHandle) {
+        AuthenticationHandler securityProvider = mock(AuthenticationHandler.class);
+        doAnswer(
+                invocation -> {
+                    invocation.<Handler<Boolean>>getArgument(1).handle(canHandle);
+                    return null;
+                }
+            )
+            .when(securityProvider)
+            .canHandle(any(AuthenticationContext.class), any());
+        return securityProvider;
+    }
 }
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.security.core;
+
+import static org.junit.Assert.*;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class JwtTokenCacheTest {
+
+    private JwtTokenCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new JwtTokenCache(100, 60_000);
+    }
+
+    @Test
+    public void shouldCacheValidToken() throws ParseException {
+        String token = token(new JWTClaimsSet.Builder().subject("john").expirationTime(in(30_000)).build());
+
+        JwtTokenCache.Entry entry = cache.put(token, JWTParser.parse(token));
+
+        assertSame(entry, cache.get(token));
+        assertEquals("john", entry.getClaims().get("sub"));
+        assertEquals("none", entry.getHeaders().get("alg"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCacheUnmodifiableClaims() throws ParseException {
+        String token = token(
+            new JWTClaimsSet.Builder()
+                .subject("john")
+                .audience(Arrays.asList("api1", "api2"))
+                .claim("realm_access", Collections.singletonMap("roles", Arrays.asList("admin")))
+                .expirationTime(in(30_000))
+                .build()
+        );
+
+        JwtTokenCache.Entry entry = cache.put(token, JWTParser.parse(token));
+
+        assertThrows(UnsupportedOperationException.class, () -> entry.getClaims().put("sub", "jane"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<String>) entry.getClaims().get("aud")).add("api3"));
+
+        final Map<String, Object> realmAccess = (Map<String, Object>) entry.getClaims().get("realm_access");
+        assertThrows(UnsupportedOperationException.class, () -> realmAccess.put("scope", "all"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<String>) realmAccess.get("roles")).clear());
+        assertEquals(Collections.singletonList("admin"), realmAccess.get("roles"));
+    }
+
+    @Test
+    public void shouldCacheTokenWithoutExpiration_untilTimeToLive() throws ParseException {
+        String token = token(new JWTClaimsSet.Builder().subject("john").build());
+
+        JwtTokenCache.Entry entry = cache.put(token, JWTParser.parse(token));
+
+        assertSame(entry, cache.get(token));
+        assertTrue(entry.getExpireAt() <= System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    public void shouldNotCacheExpiredToken() throws ParseException {
+        String token = token(new JWTClaimsSet.Builder().subject("john").expirationTime(in(-1_000)).build());
+
+        JwtTokenCache.Entry entry = cache.put(token, JWTParser.parse(token));
+
+        assertEquals("john", entry.getClaims().get("sub"));
+        assertNull(cache.get(token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldNotCacheNotYetValidToken() throws ParseException {
+        String token = token(new JWTClaimsSet.Builder().subject("john").notBeforeTime(in(30_000)).build());
+
+        cache.put(token, JWTParser.parse(token));
+
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    public void shouldNotReturnTokenOnceTimeToLiveIsReached() throws Exception {
+        cache = new JwtTokenCache(100, 50);
+        String token = token(new JWTClaimsSet.Builder().subject("john").expirationTime(in(30_000)).build());
+
+        cache.put(token, JWTParser.parse(token));
+        assertNotNull(cache.get(token));
+
+        Thread.sleep(100);
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    public void shouldShareParsedTokenBetweenLazyTokens() {
+        String token = token(new JWTClaimsSet.Builder().subject("john").expirationTime(in(30_000)).build());
+
+        LazyJwtToken first = new LazyJwtToken(token, cache);
+        LazyJwtToken second = new LazyJwtToken(token, cache);
+
+        assertEquals("john", first.getClaims().get("sub"));
+        assertSame(first.getClaims(), second.getClaims());
+        assertSame(first.getHeaders(), second.getHeaders());
+    }
+
+    @Test
+    public void shouldIgnoreInvalidToken() {
+        LazyJwtToken token = new LazyJwtToken("not-a-jwt", cache);
+
+        assertNull(token.getClaims());
+        assertEquals(0, cache.size());
+    }
+
+    private static String token(JWTClaimsSet claimsSet) {
+        return new PlainJWT(claimsSet).serialize();
+    }
+
+    private static Date in(long millis) {
+        return new Date(System.currentTimeMillis() + millis);
+    }
+}
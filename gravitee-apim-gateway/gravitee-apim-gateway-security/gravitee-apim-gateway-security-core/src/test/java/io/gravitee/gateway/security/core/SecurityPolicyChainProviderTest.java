@@ -17,6 +17,8 @@ package io.gravitee.gateway.security.core;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.buffer.Buffer;
+import io.gravitee.gateway.api.handler.Handler;
+import io.gravitee.gateway.api.processor.ProcessorFailure;
 import io.gravitee.gateway.core.processor.StreamableProcessor;
 import io.gravitee.gateway.policy.DirectPolicyChain;
 import io.gravitee.gateway.policy.Policy;
@@ -24,9 +26,12 @@ import io.gravitee.gateway.policy.PolicyResolver;
 import io.gravitee.gateway.policy.StreamType;
 import io.gravitee.gateway.policy.impl.OrderedPolicyChain;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -71,4 +76,28 @@ public class SecurityPolicyChainProviderTest {
         Assert.assertNotNull(((DirectPolicyChain) processor).policyResult());
         Assert.assertEquals(SecurityPolicyChainProvider.PLAN_UNRESOLVABLE, ((DirectPolicyChain) processor).policyResult().key());
     }
+
+    @Test
+    public void shouldResolveSecurityPolicyChainAsynchronously() {
+        SecurityPolicyResolver securityPolicyResolver = Mockito.mock(SecurityPolicyResolver.class);
+        securityPolicyChainResolver = new SecurityPolicyChainProvider(securityPolicyResolver);
+
+        StreamableProcessor<ExecutionContext, Buffer> processor = securityPolicyChainResolver.provide(executionContext);
+        Assert.assertEquals(SecurityPolicyChain.class, processor.getClass());
+
+        AtomicReference<ProcessorFailure> failure = new AtomicReference<>();
+        processor.errorHandler(failure::set).handle(executionContext);
+
+        ArgumentCaptor<Handler<List<Policy>>> resultHandler = ArgumentCaptor.forClass(Handler.class);
+        Mockito
+            .verify(securityPolicyResolver)
+            .resolve(Mockito.eq(StreamType.ON_REQUEST), Mockito.eq(executionContext), resultHandler.capture());
+        Assert.assertNull(failure.get());
+
+        // No authentication handler has been selected
+        resultHandler.getValue().handle(null);
+
+        Assert.assertNotNull(failure.get());
+        Assert.assertEquals(401, failure.get().statusCode());
+    }
 }
@@ -15,8 +15,12 @@
  */
 package io.gravitee.gateway.security.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.gravitee.gateway.api.ExecutionContext;
@@ -69,4 +73,23 @@ public class SecurityPolicyResolverTest {
 
         assertNotNull(policies);
     }
+
+    @Test
+    public void shouldShareRequestPolicyChain() {
+        AuthenticationHandler securityProvider = mock(AuthenticationHandler.class);
+        List<AuthenticationPolicy> securityPolicies = Collections.singletonList((PluginAuthenticationPolicy) () -> "my-policy");
+        when(securityProvider.handle(executionContext)).thenReturn(securityPolicies);
+
+        Policy policy = mock(Policy.class);
+        when(policyManager.create(StreamType.ON_REQUEST, "my-policy", null)).thenReturn(policy);
+        when(handlerSelector.select(request)).thenReturn(securityProvider);
+
+        List<Policy> policies1 = securityPolicyResolver.resolve(StreamType.ON_REQUEST, executionContext);
+        List<Policy> policies2 = securityPolicyResolver.resolve(StreamType.ON_REQUEST, executionContext);
+
+        assertEquals(Collections.singletonList(policy), policies1);
+        assertSame(policies1, policies2);
+        verify(securityProvider, times(2)).handle(executionContext);
+        verify(policyManager, times(1)).create(StreamType.ON_REQUEST, "my-policy", null);
+    }
 }
@@ -17,6 +17,8 @@ package io.gravitee.gateway.security.jwt;
 
 import io.gravitee.gateway.api.ExecutionContext;
 import io.gravitee.gateway.api.Request;
+import io.gravitee.gateway.core.component.ComponentProvider;
+import io.gravitee.gateway.core.component.ComponentResolver;
 import io.gravitee.gateway.security.core.*;
 import io.gravitee.gateway.security.jwt.policy.CheckSubscriptionPolicy;
 import java.util.Arrays;
@@ -26,7 +28,7 @@ import java.util.List;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class JWTAuthenticationHandler implements AuthenticationHandler {
+public class JWTAuthenticationHandler implements AuthenticationHandler, ComponentResolver {
 
     /**
      * The name of the authentication handler, which is also the name of the policy to invoke for coherency.
@@ -44,6 +46,8 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
         (HookAuthenticationPolicy) () -> CheckSubscriptionPolicy.class
     );
 
+    private JwtTokenCache jwtTokenCache;
+
     @Override
     public boolean canHandle(AuthenticationContext context) {
         String token = readToken(context.request());
@@ -54,7 +58,7 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
 
         // Update the context with token
         if (context.get(JWT_CONTEXT_ATTRIBUTE) == null) {
-            context.set(JWT_CONTEXT_ATTRIBUTE, new LazyJwtToken(token));
+            context.set(JWT_CONTEXT_ATTRIBUTE, new LazyJwtToken(token, jwtTokenCache));
         }
 
         return true;
@@ -78,4 +82,9 @@ public class JWTAuthenticationHandler implements AuthenticationHandler {
     public List<AuthenticationPolicy> handle(ExecutionContext executionContext) {
         return POLICIES;
     }
+
+    @Override
+    public void resolve(ComponentProvider componentProvider) {
+        jwtTokenCache = componentProvider.getComponent(JwtTokenCache.class);
+    }
 }
@@ -18,8 +18,8 @@ package io.gravitee.gateway.services.healthcheck;
 import io.gravitee.definition.model.Endpoint;
 import io.gravitee.definition.model.services.healthcheck.Step;
 import io.gravitee.el.TemplateEngine;
+import io.gravitee.gateway.services.healthcheck.http.HealthCheckClientRegistry;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleHandler;
-import io.vertx.core.Vertx;
 import io.vertx.core.net.ProxyOptions;
 import java.util.List;
 import org.springframework.core.env.Environment;
@@ -39,6 +39,10 @@ public interface EndpointRule<T extends Endpoint> {
 
     ProxyOptions getSystemProxyOptions();
 
-    EndpointRuleHandler<T> createRunner(Vertx vertx, EndpointRule<T> rule, TemplateEngine templateEngine, Environment environment)
-        throws Exception;
+    EndpointRuleHandler<T> createRunner(
+        HealthCheckClientRegistry clientRegistry,
+        EndpointRule<T> rule,
+        TemplateEngine templateEngine,
+        Environment environment
+    ) throws Exception;
 }
@@ -16,18 +16,19 @@
 package io.gravitee.gateway.services.healthcheck.eval.assertion;
 
 import io.gravitee.el.spel.function.json.JsonPathFunction;
+import io.gravitee.gateway.core.condition.ExpressionCache;
 import io.gravitee.gateway.services.healthcheck.eval.Evaluation;
 import io.gravitee.gateway.services.healthcheck.eval.EvaluationException;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.beans.BeanUtils;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.SpelEvaluationException;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
+ * Evaluate an assertion of a health check step. The assertion is parsed once by the given {@link ExpressionCache}
+ * and only executed against the variables of each check.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -35,23 +36,27 @@ public class AssertionEvaluation implements Evaluation {
 
     private final String assertion;
 
+    private final ExpressionCache expressionCache;
+
     private final Map<String, Object> variables = new HashMap<>();
 
     public AssertionEvaluation(final String assertion) {
+        this(assertion, new ExpressionCache());
+    }
+
+    public AssertionEvaluation(final String assertion, final ExpressionCache expressionCache) {
         this.assertion = assertion;
+        this.expressionCache = expressionCache;
     }
 
     @Override
     public boolean validate() throws EvaluationException {
         try {
-            final ExpressionParser parser = new SpelExpressionParser();
-            final Expression expr = parser.parseExpression(assertion);
-
             final StandardEvaluationContext context = new StandardEvaluationContext();
             context.registerFunction("jsonPath", BeanUtils.resolveSignature("evaluate", JsonPathFunction.class));
             context.setVariables(variables);
 
-            return expr.getValue(context, boolean.class);
+            return expressionCache.getValue(assertion, context, boolean.class);
         } catch (SpelEvaluationException spelex) {
             throw new EvaluationException("Assertion can not be verified : " + assertion, spelex);
         }
@@ -19,9 +19,9 @@ import io.gravitee.definition.model.endpoint.HttpEndpoint;
 import io.gravitee.definition.model.services.healthcheck.HealthCheckService;
 import io.gravitee.el.TemplateEngine;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
+import io.gravitee.gateway.services.healthcheck.http.HealthCheckClientRegistry;
 import io.gravitee.gateway.services.healthcheck.rule.AbstractEndpointRule;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleHandler;
-import io.vertx.core.Vertx;
 import io.vertx.core.net.ProxyOptions;
 import org.springframework.core.env.Environment;
 
@@ -37,11 +37,11 @@ public class GrpcEndpointRule extends AbstractEndpointRule<HttpEndpoint> {
 
     @Override
     public EndpointRuleHandler<HttpEndpoint> createRunner(
-        Vertx vertx,
+        HealthCheckClientRegistry clientRegistry,
         EndpointRule<HttpEndpoint> rule,
         TemplateEngine templateEngine,
         Environment environment
     ) throws Exception {
-        return new GrpcEndpointRuleHandler(vertx, rule, templateEngine, environment);
+        return new GrpcEndpointRuleHandler(clientRegistry, rule, templateEngine, environment);
     }
 }
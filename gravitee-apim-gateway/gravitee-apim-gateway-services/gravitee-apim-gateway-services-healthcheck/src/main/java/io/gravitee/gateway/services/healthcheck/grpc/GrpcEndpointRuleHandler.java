@@ -20,9 +20,9 @@ import io.gravitee.common.http.MediaType;
 import io.gravitee.definition.model.endpoint.HttpEndpoint;
 import io.gravitee.el.TemplateEngine;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
+import io.gravitee.gateway.services.healthcheck.http.HealthCheckClientRegistry;
 import io.gravitee.gateway.services.healthcheck.http.HttpEndpointRuleHandler;
 import io.vertx.core.Future;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.*;
 import java.net.URI;
 import org.springframework.core.env.Environment;
@@ -35,9 +35,13 @@ public class GrpcEndpointRuleHandler extends HttpEndpointRuleHandler<HttpEndpoin
 
     private static final String GRPC_TRAILERS_TE = "trailers";
 
-    GrpcEndpointRuleHandler(Vertx vertx, EndpointRule<HttpEndpoint> rule, TemplateEngine templateEngine, Environment environment)
-        throws Exception {
-        super(vertx, rule, templateEngine, environment);
+    GrpcEndpointRuleHandler(
+        HealthCheckClientRegistry clientRegistry,
+        EndpointRule<HttpEndpoint> rule,
+        TemplateEngine templateEngine,
+        Environment environment
+    ) throws Exception {
+        super(clientRegistry, rule, templateEngine, environment);
     }
 
     @Override
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.http;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.json.JsonObject;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of the HTTP clients used to run health-checks, shared by all the endpoint rules.
+ *
+ * Rules with the same client options (SSL, proxy, HTTP version, timeouts...) share the same client, hence the same
+ * connection pools (one per target host) and TLS context. A client is closed once no rule uses it anymore.
+ *
+ * @author GraviteeSource Team
+ */
+public class HealthCheckClientRegistry {
+
+    public static final int DEFAULT_MAX_POOL_SIZE = 5;
+
+    private final Vertx vertx;
+    private final int maxPoolSize;
+    private final Map<JsonObject, SharedClient> clients = new HashMap<>();
+
+    public HealthCheckClientRegistry(Vertx vertx) {
+        this(vertx, DEFAULT_MAX_POOL_SIZE);
+    }
+
+    public HealthCheckClientRegistry(Vertx vertx, int maxPoolSize) {
+        this.vertx = vertx;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Returns the client matching the given options, creating it if needed. Each call must be balanced by a call to
+     * {@link #release(HttpClientOptions)} with the same options.
+     */
+    public synchronized HttpClient acquire(HttpClientOptions options) {
+        final JsonObject key = key(options);
+        SharedClient shared = clients.get(key);
+
+        if (shared == null) {
+            shared = new SharedClient(vertx.createHttpClient(new HttpClientOptions(options).setMaxPoolSize(maxPoolSize)));
+            clients.put(key, shared);
+        }
+
+        shared.references++;
+        return shared.client;
+    }
+
+    public synchronized void release(HttpClientOptions options) {
+        final JsonObject key = key(options);
+        final SharedClient shared = clients.get(key);
+
+        if (shared != null && --shared.references == 0) {
+            clients.remove(key);
+            shared.client.close();
+        }
+    }
+
+    public synchronized int size() {
+        return clients.size();
+    }
+
+    public synchronized void close() {
+        clients.values().forEach(shared -> shared.client.close());
+        clients.clear();
+    }
+
+    private JsonObject key(HttpClientOptions options) {
+        // The pool size is owned by the registry, it must not split clients
+        return new HttpClientOptions(options).setMaxPoolSize(maxPoolSize).toJson();
+    }
+
+    private static class SharedClient {
+
+        private final HttpClient client;
+        private int references;
+
+        private SharedClient(HttpClient client) {
+            this.client = client;
+        }
+    }
+}
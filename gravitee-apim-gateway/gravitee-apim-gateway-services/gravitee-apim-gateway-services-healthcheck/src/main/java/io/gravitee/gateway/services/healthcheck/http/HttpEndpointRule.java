@@ -21,7 +21,6 @@ import io.gravitee.el.TemplateEngine;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
 import io.gravitee.gateway.services.healthcheck.rule.AbstractEndpointRule;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleHandler;
-import io.vertx.core.Vertx;
 import io.vertx.core.net.ProxyOptions;
 import org.springframework.core.env.Environment;
 
@@ -37,11 +36,11 @@ public class HttpEndpointRule extends AbstractEndpointRule<HttpEndpoint> {
 
     @Override
     public EndpointRuleHandler<HttpEndpoint> createRunner(
-        Vertx vertx,
+        HealthCheckClientRegistry clientRegistry,
         EndpointRule<HttpEndpoint> rule,
         TemplateEngine templateEngine,
         Environment environment
     ) throws Exception {
-        return new HttpEndpointRuleHandler<>(vertx, rule, templateEngine, environment);
+        return new HttpEndpointRuleHandler<>(clientRegistry, rule, templateEngine, environment);
     }
 }
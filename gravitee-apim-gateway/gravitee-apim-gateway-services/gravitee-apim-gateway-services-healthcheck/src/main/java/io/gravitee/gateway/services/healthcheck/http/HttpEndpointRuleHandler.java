@@ -29,7 +29,6 @@ import io.gravitee.el.TemplateEngine;
 import io.gravitee.gateway.core.endpoint.EndpointException;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleHandler;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpVersion;
@@ -48,9 +47,13 @@ public class HttpEndpointRuleHandler<T extends HttpEndpoint> extends EndpointRul
     private static final String WSS_SCHEME = "wss";
     private static final String GRPCS_SCHEME = "grpcs";
 
-    public HttpEndpointRuleHandler(Vertx vertx, EndpointRule<T> rule, TemplateEngine templateEngine, Environment environment)
-        throws Exception {
-        super(vertx, rule, templateEngine, environment);
+    public HttpEndpointRuleHandler(
+        HealthCheckClientRegistry clientRegistry,
+        EndpointRule<T> rule,
+        TemplateEngine templateEngine,
+        Environment environment
+    ) throws Exception {
+        super(clientRegistry, rule, templateEngine, environment);
     }
 
     @Override
@@ -67,8 +70,8 @@ public class HttpEndpointRuleHandler<T extends HttpEndpoint> extends EndpointRul
 
     @Override
     protected HttpClientOptions createHttpClientOptions(final HttpEndpoint endpoint, final URI requestUri) throws Exception {
-        // Prepare HTTP client
-        HttpClientOptions httpClientOptions = new HttpClientOptions().setMaxPoolSize(1);
+        // Prepare HTTP client, the pool size is defined by the client registry
+        HttpClientOptions httpClientOptions = new HttpClientOptions();
 
         if (endpoint.getHttpClientOptions() != null) {
             if (environment.getProperty("http.ssl.openssl", Boolean.class, false)) {
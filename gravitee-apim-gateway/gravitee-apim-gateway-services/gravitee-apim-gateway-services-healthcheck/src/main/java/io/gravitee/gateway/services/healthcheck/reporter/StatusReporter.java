@@ -18,11 +18,23 @@ package io.gravitee.gateway.services.healthcheck.reporter;
 import io.gravitee.gateway.report.ReporterService;
 import io.gravitee.reporter.api.health.EndpointStatus;
 import io.vertx.core.Handler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Health results are buffered and sent to the {@link ReporterService} in batches, either every
+ * <code>flushInterval</code> milliseconds or as soon as <code>batchSize</code> results are pending.
+ *
+ * While buffered, a result which is not a transition replaces the previous result of the same endpoint if that one
+ * is not a transition either, so that an endpoint checked several times between two flushes only reports its last
+ * result. Status transitions are always reported.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -33,10 +45,86 @@ public class StatusReporter implements Handler<EndpointStatus> {
     @Autowired
     private ReporterService reporterService;
 
+    @Value("${services.healthcheck.report.flush_interval:1000}")
+    private long flushInterval = 1000;
+
+    @Value("${services.healthcheck.report.batch_size:100}")
+    private int batchSize = 100;
+
+    private List<EndpointStatus> buffer = new ArrayList<>();
+
+    // Position in the buffer of the last result of each endpoint which can still be replaced
+    private final Map<String, Integer> replaceable = new HashMap<>();
+
     @Override
     public void handle(EndpointStatus edptStatus) {
         logger.debug("Report health results for {}", edptStatus.getApi());
 
-        reporterService.report(edptStatus);
+        if (flushInterval <= 0) {
+            reporterService.report(edptStatus);
+            return;
+        }
+
+        final List<EndpointStatus> batch;
+
+        synchronized (this) {
+            final String key = edptStatus.getApi() + ':' + edptStatus.getEndpoint();
+            final Integer position = replaceable.get(key);
+
+            if (edptStatus.isTransition()) {
+                replaceable.remove(key);
+                buffer.add(edptStatus);
+            } else if (position != null) {
+                buffer.set(position, edptStatus);
+            } else {
+                replaceable.put(key, buffer.size());
+                buffer.add(edptStatus);
+            }
+
+            batch = buffer.size() >= batchSize ? drain() : null;
+        }
+
+        if (batch != null) {
+            report(batch);
+        }
+    }
+
+    /**
+     * Sends all the buffered results to the reporters.
+     */
+    public void flush() {
+        final List<EndpointStatus> batch;
+
+        synchronized (this) {
+            batch = drain();
+        }
+
+        report(batch);
+    }
+
+    private List<EndpointStatus> drain() {
+        final List<EndpointStatus> batch = buffer;
+        buffer = new ArrayList<>();
+        replaceable.clear();
+        return batch;
+    }
+
+    private void report(List<EndpointStatus> batch) {
+        if (!batch.isEmpty()) {
+            logger.debug("Report {} health results", batch.size());
+            batch.forEach(reporterService::report);
+        }
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
     }
 }
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.rule;
+
+import io.gravitee.definition.model.Endpoint;
+
+/**
+ * Adapts the schedule of the health-check of a single endpoint:
+ * <ul>
+ *     <li>checks are shifted by a deterministic jitter, derived from the API and the endpoint, so that endpoints
+ *     sharing the same cron expression are not all checked at the same time;</li>
+ *     <li>the interval is doubled, up to <code>maxBackoff</code> cron periods, each time the endpoint has been
+ *     seen UP for {@link #STABLE_CHECKS} consecutive checks;</li>
+ *     <li>the interval is halved for the {@link #TIGHTEN_CHECKS} checks following a change of status.</li>
+ * </ul>
+ *
+ * Not thread-safe, it is only used by the {@link EndpointRuleCronHandler} of the endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+public class AdaptiveSchedule {
+
+    static final int STABLE_CHECKS = 3;
+    static final int TIGHTEN_CHECKS = 3;
+
+    private final long seed;
+    private final double jitterRatio;
+    private final int maxBackoff;
+
+    private Endpoint.Status previousStatus;
+    private int stable;
+    private int tighten;
+    private int backoff = 1;
+
+    public AdaptiveSchedule(String key, double jitterRatio, int maxBackoff) {
+        this.seed = mix(key == null ? 0 : key.hashCode());
+        this.jitterRatio = Math.max(0, Math.min(1, jitterRatio));
+        this.maxBackoff = Math.max(1, maxBackoff);
+    }
+
+    /**
+     * @return a schedule which always follows the cron expression.
+     */
+    public static AdaptiveSchedule fixed() {
+        return new AdaptiveSchedule(null, 0, 1);
+    }
+
+    /**
+     * Records the status of the endpoint as of the last check.
+     */
+    public void observe(Endpoint.Status status) {
+        if (maxBackoff == 1) {
+            return;
+        }
+
+        if (previousStatus != null && status != previousStatus) {
+            // The endpoint is flapping, check it more often until it settles
+            backoff = 1;
+            stable = 0;
+            tighten = TIGHTEN_CHECKS;
+        } else if (tighten > 0) {
+            tighten--;
+        } else if (status == Endpoint.Status.UP) {
+            if (++stable >= STABLE_CHECKS && backoff < maxBackoff) {
+                backoff = Math.min(backoff * 2, maxBackoff);
+                stable = 0;
+            }
+        } else {
+            backoff = 1;
+            stable = 0;
+        }
+
+        previousStatus = status;
+    }
+
+    /**
+     * @return the jitter to apply to the checks, in <code>[0, period * jitterRatio)</code>.
+     */
+    public long jitter(long period) {
+        final long bound = (long) (period * jitterRatio);
+        return bound > 0 ? Math.floorMod(seed, bound) : 0;
+    }
+
+    /**
+     * @return the number of cron periods to wait before the next check.
+     */
+    public int backoff() {
+        return backoff;
+    }
+
+    public boolean isTightened() {
+        return tighten > 0;
+    }
+
+    private static long mix(long h) {
+        // Spread the hash code of close keys (eg. endpoints named 'backend-1', 'backend-2') over the whole range
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -18,7 +18,6 @@ package io.gravitee.gateway.services.healthcheck.rule;
 import io.gravitee.definition.model.Endpoint;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
 import io.vertx.core.Handler;
-import io.vertx.core.Vertx;
 import java.io.Serializable;
 import java.util.Date;
 import org.springframework.scheduling.support.CronTrigger;
@@ -30,49 +29,105 @@ import org.springframework.scheduling.support.SimpleTriggerContext;
  */
 public class EndpointRuleCronHandler implements Handler<Long>, Serializable {
 
-    private final transient Vertx vertx;
+    private final transient TimingWheel timingWheel;
     private final CronTrigger expression;
     private final Endpoint endpoint;
-    private transient EndpointRuleHandler handler;
-    private long timerId;
+    private final transient AdaptiveSchedule adaptiveSchedule;
+    private transient EndpointRuleHandler<?> handler;
+    private transient volatile TimingWheel.Timeout timeout;
+    private volatile boolean cancelled;
 
-    public EndpointRuleCronHandler(Vertx vertx, EndpointRule rule) {
-        this.vertx = vertx;
+    public EndpointRuleCronHandler(TimingWheel timingWheel, EndpointRule rule) {
+        this(timingWheel, rule, AdaptiveSchedule.fixed());
+    }
+
+    public EndpointRuleCronHandler(TimingWheel timingWheel, EndpointRule rule, AdaptiveSchedule adaptiveSchedule) {
+        this.timingWheel = timingWheel;
         this.expression = new CronTrigger(rule.schedule());
         this.endpoint = rule.endpoint();
+        this.adaptiveSchedule = adaptiveSchedule;
     }
 
-    public EndpointRuleCronHandler schedule(EndpointRuleHandler handler) {
+    public EndpointRuleCronHandler schedule(EndpointRuleHandler<?> handler) {
         if (handler == null) {
             throw new IllegalArgumentException("Handler is null.");
         }
         this.handler = handler;
-        final long delay = getDelay(expression);
-        timerId = vertx.setTimer(delay, this);
+        handler.setCheckHandler(this::checked);
+        scheduleNext();
         return this;
     }
 
-    private long getDelay(CronTrigger expression) {
-        final Date next = expression.nextExecutionTime(new SimpleTriggerContext());
-        return next.getTime() - new Date().getTime();
+    private synchronized void scheduleNext() {
+        final long delay = getDelay(System.currentTimeMillis());
+        timeout = timingWheel.schedule(delay, () -> handle(System.currentTimeMillis()));
+
+        // The handler may have been cancelled concurrently
+        if (cancelled) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Adapts the schedule to the status of the endpoint once a check has completed. The pending check is rescheduled
+     * if the endpoint should now be checked sooner.
+     */
+    synchronized void checked(Endpoint.Status status) {
+        if (cancelled) {
+            return;
+        }
+
+        final boolean tightened = adaptiveSchedule.isTightened();
+        final int backoff = adaptiveSchedule.backoff();
+        adaptiveSchedule.observe(status);
+
+        if ((adaptiveSchedule.isTightened() && !tightened) || adaptiveSchedule.backoff() < backoff) {
+            timeout.cancel();
+            scheduleNext();
+        }
+    }
+
+    long getDelay(long now) {
+        final long next = nextExecutionTime(now);
+        final long period = nextExecutionTime(next) - next;
+        final long jitter = adaptiveSchedule.jitter(period);
+
+        // The jittered execution of the previous period may not have been reached yet (ie. on the first schedule)
+        long target = next - period + jitter > now ? next - period + jitter : next + jitter;
+
+        if (adaptiveSchedule.isTightened()) {
+            return (target - now) / 2;
+        }
+
+        for (int i = 1; i < adaptiveSchedule.backoff(); i++) {
+            target = nextExecutionTime(target - jitter) + jitter;
+        }
+
+        return target - now;
+    }
+
+    private long nextExecutionTime(long after) {
+        return expression.nextExecutionTime(new SimpleTriggerContext(null, null, new Date(after))).getTime();
     }
 
     @Override
-    public void handle(final Long timerId) {
-        final long delay = getDelay(expression);
-        this.timerId = vertx.setTimer(delay, this);
-        handler.handle(timerId);
+    public void handle(final Long time) {
+        if (cancelled) {
+            return;
+        }
+
+        scheduleNext();
+        handler.handle(time);
     }
 
     public void cancel() {
-        vertx.cancelTimer(timerId);
+        cancelled = true;
+        if (timeout != null) {
+            timeout.cancel();
+        }
         handler.close();
     }
 
-    public long getTimerId() {
-        return timerId;
-    }
-
     public Endpoint getEndpoint() {
         return endpoint;
     }
@@ -24,12 +24,14 @@ import io.gravitee.definition.model.Endpoint;
 import io.gravitee.el.TemplateEngine;
 import io.gravitee.el.exceptions.ExpressionEvaluationException;
 import io.gravitee.gateway.api.http.HttpHeaders;
+import io.gravitee.gateway.core.condition.ExpressionCache;
 import io.gravitee.gateway.core.endpoint.EndpointException;
 import io.gravitee.gateway.http.vertx.VertxHttpHeaders;
 import io.gravitee.gateway.services.healthcheck.EndpointRule;
 import io.gravitee.gateway.services.healthcheck.EndpointStatusDecorator;
 import io.gravitee.gateway.services.healthcheck.eval.EvaluationException;
 import io.gravitee.gateway.services.healthcheck.eval.assertion.AssertionEvaluation;
+import io.gravitee.gateway.services.healthcheck.http.HealthCheckClientRegistry;
 import io.gravitee.gateway.services.healthcheck.http.el.EvaluableHttpResponse;
 import io.gravitee.node.api.Node;
 import io.gravitee.node.api.utils.NodeUtils;
@@ -41,7 +43,6 @@ import io.gravitee.reporter.api.health.Step;
 import io.netty.channel.ConnectTimeoutException;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.*;
 import io.vertx.core.net.ProxyOptions;
 import java.net.URI;
@@ -84,15 +85,26 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
     protected final Environment environment;
     private final EndpointStatusDecorator endpointStatus;
     private TemplateEngine templateEngine;
+    // Assertions and header templates of the rule are parsed once, for all its checks.
+    private final ExpressionCache expressionCache = new ExpressionCache();
     private Handler<EndpointStatus> statusHandler;
+    private Handler<Endpoint.Status> checkHandler;
 
     private AlertEventProducer alertEventProducer;
     private Node node;
 
-    private final HttpClient httpClient;
+    private final HttpClientOptions clientOptions;
+    private final HealthCheckClientRegistry clientRegistry;
+    private HttpClient httpClient;
     protected final ProxyOptions systemProxyOptions;
 
-    public EndpointRuleHandler(Vertx vertx, EndpointRule<T> rule, TemplateEngine templateEngine, Environment environment) throws Exception {
+    public EndpointRuleHandler(
+        HealthCheckClientRegistry clientRegistry,
+        EndpointRule<T> rule,
+        TemplateEngine templateEngine,
+        Environment environment
+    ) throws Exception {
+        this.clientRegistry = clientRegistry;
         this.rule = rule;
         this.environment = environment;
         this.systemProxyOptions = rule.getSystemProxyOptions();
@@ -104,10 +116,9 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
             // For now, we only allow one step per rule.
             URI uri = createRequest(rule.endpoint(), rule.steps().get(0));
 
-            HttpClientOptions clientOptions = createHttpClientOptions(rule.endpoint(), uri);
-            httpClient = vertx.createHttpClient(clientOptions);
+            clientOptions = createHttpClientOptions(rule.endpoint(), uri);
         } else {
-            httpClient = null;
+            clientOptions = null;
         }
     }
 
@@ -156,7 +167,7 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
                     httpHeader -> {
                         String resolvedHeader = null;
                         try {
-                            resolvedHeader = templateEngine.getValue(httpHeader.getValue(), String.class);
+                            resolvedHeader = expressionCache.getValue(templateEngine, httpHeader.getValue(), String.class);
                         } catch (ExpressionEvaluationException e) {
                             logger.warn("Expression {} cannot be evaluated", httpHeader.getValue());
                         }
@@ -199,6 +210,7 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
     protected void runStep(T endpoint, io.gravitee.definition.model.services.healthcheck.Step step) {
         try {
             URI hcRequestUri = createRequest(endpoint, step);
+            final HttpClient httpClient = getHttpClient();
             Future<HttpClientRequest> healthRequestPromise = createHttpClientRequest(httpClient, hcRequestUri, step);
 
             healthRequestPromise.onComplete(
@@ -371,8 +383,7 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
             boolean success = true;
             while (success && assertionIterator.hasNext()) {
                 try {
-                    // TODO: assertion must be compiled only one time to preserve CPU
-                    AssertionEvaluation evaluation = new AssertionEvaluation(assertionIterator.next());
+                    AssertionEvaluation evaluation = new AssertionEvaluation(assertionIterator.next(), expressionCache);
                     evaluation.setVariable("response", response);
 
                     // Run validation
@@ -425,12 +436,23 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
         }
 
         statusHandler.handle(endpointStatus);
+
+        if (checkHandler != null) {
+            checkHandler.handle(rule.endpoint().getStatus());
+        }
     }
 
     public void setStatusHandler(Handler<EndpointStatus> statusHandler) {
         this.statusHandler = statusHandler;
     }
 
+    /**
+     * Sets the handler notified with the status of the endpoint each time a check has completed.
+     */
+    public void setCheckHandler(Handler<Endpoint.Status> checkHandler) {
+        this.checkHandler = checkHandler;
+    }
+
     public void setAlertEventProducer(AlertEventProducer alertEventProducer) {
         this.alertEventProducer = alertEventProducer;
     }
@@ -439,9 +461,18 @@ public abstract class EndpointRuleHandler<T extends Endpoint> implements Handler
         this.node = node;
     }
 
-    public void close() {
+    private synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = clientRegistry.acquire(clientOptions);
+        }
+
+        return httpClient;
+    }
+
+    public synchronized void close() {
         if (httpClient != null) {
-            httpClient.close();
+            clientRegistry.release(clientOptions);
+            httpClient = null;
         }
     }
 }
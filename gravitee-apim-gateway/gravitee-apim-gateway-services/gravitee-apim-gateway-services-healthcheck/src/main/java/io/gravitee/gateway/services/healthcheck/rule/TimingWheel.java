@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.rule;
+
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel driven by a single periodic Vert.x timer, used to schedule all the health-checks instead of
+ * arming one Vert.x timer per endpoint.
+ *
+ * Tasks can be scheduled and cancelled from any thread, they are run on the context which has started the wheel.
+ *
+ * @author GraviteeSource Team
+ */
+public class TimingWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+
+    public static final long DEFAULT_TICK_DURATION = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Vertx vertx;
+    private final long tickDuration;
+
+    @SuppressWarnings("unchecked")
+    private final List<Timeout>[] wheel = new List[WHEEL_SIZE];
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final long startTime;
+
+    // Only accessed from the wheel context
+    private long tick;
+
+    private long timerId = -1;
+
+    public TimingWheel(Vertx vertx) {
+        this(vertx, DEFAULT_TICK_DURATION);
+    }
+
+    public TimingWheel(Vertx vertx, long tickDuration) {
+        this.vertx = vertx;
+        this.tickDuration = tickDuration;
+        this.startTime = System.currentTimeMillis();
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    public TimingWheel start() {
+        timerId = vertx.setPeriodic(tickDuration, id -> advance(System.currentTimeMillis()));
+        return this;
+    }
+
+    public void stop() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    /**
+     * Schedules the task to run once after the given delay (in milliseconds), rounded up to the tick duration.
+     */
+    public Timeout schedule(long delay, Runnable task) {
+        final Timeout timeout = new Timeout(System.currentTimeMillis() + Math.max(0, delay), task);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    void advance(long now) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.cancelled) {
+                place(timeout);
+            }
+        }
+
+        final long targetTick = (now - startTime) / tickDuration;
+        while (tick <= targetTick) {
+            expire(wheel[(int) (tick % WHEEL_SIZE)]);
+            tick++;
+        }
+    }
+
+    private void place(Timeout timeout) {
+        // Round up so that a task never runs before its deadline, and never schedule it in the past
+        final long deadlineTick = Math.max(tick, (timeout.deadline - startTime + tickDuration - 1) / tickDuration);
+        timeout.remainingRounds = (deadlineTick - tick) / WHEEL_SIZE;
+        wheel[(int) (deadlineTick % WHEEL_SIZE)].add(timeout);
+    }
+
+    private void expire(List<Timeout> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        final List<Timeout> expired = new ArrayList<>();
+        int kept = 0;
+
+        for (Timeout timeout : bucket) {
+            if (timeout.cancelled) {
+                continue;
+            }
+
+            if (timeout.remainingRounds <= 0) {
+                expired.add(timeout);
+            } else {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+
+        bucket.subList(kept, bucket.size()).clear();
+
+        for (Timeout timeout : expired) {
+            try {
+                timeout.task.run();
+            } catch (Exception ex) {
+                LOGGER.error("An error occurs while running a scheduled health-check", ex);
+            }
+        }
+    }
+
+    public static class Timeout {
+
+        private final long deadline;
+        private final Runnable task;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -29,9 +29,12 @@ import io.gravitee.gateway.services.healthcheck.EndpointRule;
 import io.gravitee.gateway.services.healthcheck.context.ApiTemplateVariableProvider;
 import io.gravitee.gateway.services.healthcheck.context.HealthCheckContext;
 import io.gravitee.gateway.services.healthcheck.context.HealthCheckContextFactory;
+import io.gravitee.gateway.services.healthcheck.http.HealthCheckClientRegistry;
 import io.gravitee.gateway.services.healthcheck.reporter.StatusReporter;
+import io.gravitee.gateway.services.healthcheck.rule.AdaptiveSchedule;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleCronHandler;
 import io.gravitee.gateway.services.healthcheck.rule.EndpointRuleHandler;
+import io.gravitee.gateway.services.healthcheck.rule.TimingWheel;
 import io.gravitee.node.api.Node;
 import io.gravitee.plugin.alert.AlertEventProducer;
 import io.vertx.core.AbstractVerticle;
@@ -75,12 +78,53 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
 
     private final Map<Api, List<EndpointRuleCronHandler>> apiHandlers = new ConcurrentHashMap<>();
 
+    private HealthCheckClientRegistry clientRegistry;
+
+    private TimingWheel timingWheel;
+
+    private double jitter;
+
+    private int maxBackoff;
+
+    private long flushTimerId = -1;
+
     @Override
     public void start(final Promise<Void> startPromise) {
+        clientRegistry =
+            new HealthCheckClientRegistry(
+                vertx,
+                environment.getProperty(
+                    "services.healthcheck.http.pool_size",
+                    Integer.class,
+                    HealthCheckClientRegistry.DEFAULT_MAX_POOL_SIZE
+                )
+            );
+        timingWheel = new TimingWheel(vertx).start();
+        jitter = environment.getProperty("services.healthcheck.scheduler.jitter", Double.class, 0.5);
+        maxBackoff = environment.getProperty("services.healthcheck.scheduler.max_backoff", Integer.class, 1);
+
+        if (statusReporter.getFlushInterval() > 0) {
+            flushTimerId = vertx.setPeriodic(statusReporter.getFlushInterval(), id -> statusReporter.flush());
+        }
+
         eventManager.subscribeForEvents(this, ReactorEvent.class);
         startPromise.complete();
     }
 
+    @Override
+    public void stop(final Promise<Void> stopPromise) {
+        timingWheel.stop();
+        apiHandlers.values().forEach(handlers -> handlers.forEach(EndpointRuleCronHandler::cancel));
+        apiHandlers.clear();
+        clientRegistry.close();
+
+        if (flushTimerId != -1) {
+            vertx.cancelTimer(flushTimerId);
+        }
+        statusReporter.flush();
+        stopPromise.complete();
+    }
+
     @Override
     public void onEvent(Event<ReactorEvent, Reactable> event) {
         switch (event.type()) {
@@ -130,11 +174,15 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
         try {
             final HealthCheckContext healthCheckContext = healthCheckContextFactory.create(new ApiTemplateVariableProvider(api));
 
-            EndpointRuleHandler runner = rule.createRunner(vertx, rule, healthCheckContext.getTemplateEngine(), environment);
+            EndpointRuleHandler runner = rule.createRunner(clientRegistry, rule, healthCheckContext.getTemplateEngine(), environment);
             runner.setStatusHandler(statusReporter);
             runner.setAlertEventProducer(alertEventProducer);
             runner.setNode(node);
-            EndpointRuleCronHandler cronHandler = new EndpointRuleCronHandler(vertx, rule);
+            EndpointRuleCronHandler cronHandler = new EndpointRuleCronHandler(
+                timingWheel,
+                rule,
+                new AdaptiveSchedule(rule.api() + ':' + rule.endpoint().getName(), jitter, maxBackoff)
+            );
             cronHandler.schedule(runner);
 
             apiHandlers.get(api).add(cronHandler);
@@ -169,8 +217,7 @@ public class EndpointHealthcheckVerticle extends AbstractVerticle implements Eve
             endpointCronHandler.ifPresent(
                 handler -> {
                     LOGGER.debug(
-                        "Remove health-check handler id[{}] for endpoint name[{}] type[{}] target[{}]",
-                        handler.getTimerId(),
+                        "Remove health-check handler for endpoint name[{}] type[{}] target[{}]",
                         endpoint.getName(),
                         endpoint.getType(),
                         endpoint.getTarget()
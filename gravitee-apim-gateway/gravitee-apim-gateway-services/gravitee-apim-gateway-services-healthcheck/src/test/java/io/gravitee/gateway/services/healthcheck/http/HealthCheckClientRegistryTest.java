@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.http;
+
+import static org.junit.Assert.*;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.ProxyOptions;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class HealthCheckClientRegistryTest {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final HealthCheckClientRegistry registry = new HealthCheckClientRegistry(vertx);
+
+    @After
+    public void tearDown() {
+        registry.close();
+        vertx.close();
+    }
+
+    @Test
+    public void shouldShareClient_sameOptions() {
+        final HttpClient client = registry.acquire(new HttpClientOptions().setConnectTimeout(1000));
+        final HttpClient other = registry.acquire(new HttpClientOptions().setConnectTimeout(1000).setMaxPoolSize(1));
+
+        assertSame(client, other);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void shouldNotShareClient_differentOptions() {
+        final HttpClient client = registry.acquire(new HttpClientOptions());
+
+        assertNotSame(client, registry.acquire(new HttpClientOptions().setSsl(true).setTrustAll(true)));
+        assertNotSame(client, registry.acquire(new HttpClientOptions().setProtocolVersion(HttpVersion.HTTP_2)));
+        assertNotSame(client, registry.acquire(new HttpClientOptions().setProxyOptions(new ProxyOptions().setHost("proxy"))));
+        assertEquals(4, registry.size());
+    }
+
+    @Test
+    public void shouldCloseClient_onceReleasedByAllRules() {
+        final HttpClientOptions options = new HttpClientOptions();
+        final HttpClient client = registry.acquire(options);
+        registry.acquire(options);
+
+        registry.release(options);
+        assertEquals(1, registry.size());
+
+        registry.release(options);
+        assertEquals(0, registry.size());
+        assertNotSame(client, registry.acquire(options));
+    }
+}
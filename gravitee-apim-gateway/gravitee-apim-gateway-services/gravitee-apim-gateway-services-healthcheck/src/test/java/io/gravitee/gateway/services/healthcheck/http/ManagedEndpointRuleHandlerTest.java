@@ -62,6 +62,7 @@ public class ManagedEndpointRuleHandlerTest {
 
     private Environment environment;
     private Vertx vertx;
+    private HealthCheckClientRegistry clientRegistry;
 
     @Mock
     private TemplateEngine templateEngine;
@@ -69,6 +70,7 @@ public class ManagedEndpointRuleHandlerTest {
     @Before
     public void before() {
         vertx = Vertx.vertx();
+        clientRegistry = new HealthCheckClientRegistry(vertx);
         environment = mock(Environment.class);
         when(environment.getProperty("http.ssl.openssl", Boolean.class, false)).thenReturn(false);
     }
@@ -91,7 +93,7 @@ public class ManagedEndpointRuleHandlerTest {
 
         when(rule.steps()).thenReturn(Collections.singletonList(step));
 
-        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(vertx, rule, templateEngine, environment);
+        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(clientRegistry, rule, templateEngine, environment);
         Async async = context.async();
 
         // Verify
@@ -131,7 +133,7 @@ public class ManagedEndpointRuleHandlerTest {
         step.setResponse(response);
         when(rule.steps()).thenReturn(Collections.singletonList(step));
 
-        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(vertx, rule, templateEngine, environment);
+        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(clientRegistry, rule, templateEngine, environment);
 
         Async async = context.async();
 
@@ -172,7 +174,7 @@ public class ManagedEndpointRuleHandlerTest {
         step.setResponse(response);
         when(rule.steps()).thenReturn(Collections.singletonList(step));
 
-        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(vertx, rule, templateEngine, environment);
+        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(clientRegistry, rule, templateEngine, environment);
 
         Async async = context.async();
 
@@ -222,7 +224,7 @@ public class ManagedEndpointRuleHandlerTest {
         step.setResponse(response);
         when(rule.steps()).thenReturn(Collections.singletonList(step));
 
-        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(vertx, rule, templateEngine, environment);
+        HttpEndpointRuleHandler runner = new HttpEndpointRuleHandler(clientRegistry, rule, templateEngine, environment);
 
         Async async = context.async();
 
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.reporter;
+
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.report.ReporterService;
+import io.gravitee.reporter.api.health.EndpointStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StatusReporterTest {
+
+    @Mock
+    private ReporterService reporterService;
+
+    @InjectMocks
+    private StatusReporter statusReporter;
+
+    @Before
+    public void setUp() {
+        statusReporter.setFlushInterval(1000);
+        statusReporter.setBatchSize(10);
+    }
+
+    @Test
+    public void shouldReportDirectly_whenBatchingIsDisabled() {
+        statusReporter.setFlushInterval(0);
+        final EndpointStatus status = status("api", "endpoint", false);
+
+        statusReporter.handle(status);
+
+        verify(reporterService).report(status);
+    }
+
+    @Test
+    public void shouldReportOnFlush() {
+        final EndpointStatus first = status("api", "endpoint-1", false);
+        final EndpointStatus second = status("api", "endpoint-2", false);
+
+        statusReporter.handle(first);
+        statusReporter.handle(second);
+        verifyNoInteractions(reporterService);
+
+        statusReporter.flush();
+        final InOrder inOrder = inOrder(reporterService);
+        inOrder.verify(reporterService).report(first);
+        inOrder.verify(reporterService).report(second);
+
+        statusReporter.flush();
+        verifyNoMoreInteractions(reporterService);
+    }
+
+    @Test
+    public void shouldCoalesceResults_ofSameEndpoint() {
+        final EndpointStatus first = status("api", "endpoint", false);
+        final EndpointStatus transition = status("api", "endpoint", true);
+        final EndpointStatus third = status("api", "endpoint", false);
+        final EndpointStatus last = status("api", "endpoint", false);
+
+        statusReporter.handle(first);
+        statusReporter.handle(transition);
+        statusReporter.handle(third);
+        statusReporter.handle(last);
+        statusReporter.flush();
+
+        final InOrder inOrder = inOrder(reporterService);
+        inOrder.verify(reporterService).report(first);
+        inOrder.verify(reporterService).report(transition);
+        inOrder.verify(reporterService).report(last);
+        verifyNoMoreInteractions(reporterService);
+    }
+
+    @Test
+    public void shouldReport_whenBatchIsFull() {
+        for (int i = 0; i < 10; i++) {
+            statusReporter.handle(status("api", "endpoint-" + i, false));
+        }
+
+        verify(reporterService, times(10)).report(any());
+    }
+
+    private EndpointStatus status(String api, String endpoint, boolean transition) {
+        final EndpointStatus status = EndpointStatus.forEndpoint(api, endpoint).on(System.currentTimeMillis()).build();
+        status.setTransition(transition);
+        return status;
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.rule;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.definition.model.Endpoint;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.gateway.services.healthcheck.EndpointRule;
+import io.vertx.core.Handler;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EndpointRuleCronHandlerTest {
+
+    // Every 10 seconds
+    private static final String SCHEDULE = "*/10 * * * * *";
+    private static final long PERIOD = 10_000;
+
+    // A date aligned on the schedule
+    private static final long NOW = 1_600_000_000_000L;
+
+    private EndpointRule rule;
+
+    @Before
+    public void setUp() {
+        rule = mock(EndpointRule.class);
+        when(rule.schedule()).thenReturn(SCHEDULE);
+        when(rule.endpoint()).thenReturn(new HttpEndpoint("endpoint", "http://localhost:8080"));
+    }
+
+    @Test
+    public void shouldFollowSchedule_withoutJitter() {
+        final EndpointRuleCronHandler handler = new EndpointRuleCronHandler(null, rule);
+
+        assertEquals(PERIOD, handler.getDelay(NOW));
+        assertEquals(PERIOD - 3_000, handler.getDelay(NOW + 3_000));
+    }
+
+    @Test
+    public void shouldApplyDeterministicJitter() {
+        final AdaptiveSchedule schedule = new AdaptiveSchedule("api:endpoint", 0.5, 1);
+        final long jitter = schedule.jitter(PERIOD);
+        assertTrue(jitter >= 0 && jitter < PERIOD / 2);
+        assertEquals(jitter, new AdaptiveSchedule("api:endpoint", 0.5, 1).jitter(PERIOD));
+
+        final EndpointRuleCronHandler handler = new EndpointRuleCronHandler(null, rule, schedule);
+
+        // Before the jittered execution of the current period
+        assertEquals(jitter, handler.getDelay(NOW));
+        // Right after it
+        assertEquals(PERIOD, handler.getDelay(NOW + jitter));
+    }
+
+    @Test
+    public void shouldSpreadEndpoints() {
+        final Set<Long> jitters = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            jitters.add(new AdaptiveSchedule("api:endpoint-" + i, 1, 1).jitter(PERIOD));
+        }
+
+        assertTrue(jitters.size() > 90);
+    }
+
+    @Test
+    public void shouldBackOff_whenEndpointIsStable() {
+        final AdaptiveSchedule schedule = new AdaptiveSchedule(null, 0, 4);
+        final EndpointRuleCronHandler handler = new EndpointRuleCronHandler(null, rule, schedule);
+
+        observe(schedule, Endpoint.Status.UP, AdaptiveSchedule.STABLE_CHECKS);
+        assertEquals(2, schedule.backoff());
+        assertEquals(2 * PERIOD, handler.getDelay(NOW));
+
+        observe(schedule, Endpoint.Status.UP, AdaptiveSchedule.STABLE_CHECKS);
+        assertEquals(4, schedule.backoff());
+        assertEquals(4 * PERIOD, handler.getDelay(NOW));
+
+        observe(schedule, Endpoint.Status.UP, AdaptiveSchedule.STABLE_CHECKS);
+        assertEquals(4, schedule.backoff());
+    }
+
+    @Test
+    public void shouldTighten_whenEndpointIsFlapping() {
+        final AdaptiveSchedule schedule = new AdaptiveSchedule(null, 0, 4);
+        final EndpointRuleCronHandler handler = new EndpointRuleCronHandler(null, rule, schedule);
+
+        observe(schedule, Endpoint.Status.UP, 2 * AdaptiveSchedule.STABLE_CHECKS);
+        assertEquals(4, schedule.backoff());
+
+        schedule.observe(Endpoint.Status.TRANSITIONALLY_DOWN);
+        assertTrue(schedule.isTightened());
+        assertEquals(1, schedule.backoff());
+        assertEquals(PERIOD / 2, handler.getDelay(NOW));
+
+        observe(schedule, Endpoint.Status.TRANSITIONALLY_DOWN, AdaptiveSchedule.TIGHTEN_CHECKS);
+        assertFalse(schedule.isTightened());
+        assertEquals(PERIOD, handler.getDelay(NOW));
+    }
+
+    @Test
+    public void shouldNotBackOff_whenEndpointIsDown() {
+        final AdaptiveSchedule schedule = new AdaptiveSchedule(null, 0, 4);
+
+        observe(schedule, Endpoint.Status.DOWN, 3 * AdaptiveSchedule.STABLE_CHECKS);
+
+        assertEquals(1, schedule.backoff());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldObserveStatus_onceCheckHasCompleted() {
+        final TimingWheel timingWheel = mock(TimingWheel.class);
+        when(timingWheel.schedule(anyLong(), any())).thenReturn(mock(TimingWheel.Timeout.class));
+        final EndpointRuleHandler ruleHandler = mock(EndpointRuleHandler.class);
+        final AdaptiveSchedule schedule = new AdaptiveSchedule(null, 0, 4);
+
+        final EndpointRuleCronHandler handler = new EndpointRuleCronHandler(timingWheel, rule, schedule).schedule(ruleHandler);
+
+        final ArgumentCaptor<Handler<Endpoint.Status>> checkHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(ruleHandler).setCheckHandler(checkHandler.capture());
+
+        // The status of the endpoint is not observed when a check is started
+        for (int i = 0; i < AdaptiveSchedule.STABLE_CHECKS; i++) {
+            handler.handle(NOW);
+        }
+        assertEquals(1, schedule.backoff());
+
+        observe(checkHandler.getValue(), Endpoint.Status.UP, AdaptiveSchedule.STABLE_CHECKS);
+        assertEquals(2, schedule.backoff());
+        verify(timingWheel, times(1 + AdaptiveSchedule.STABLE_CHECKS)).schedule(anyLong(), any());
+
+        // The pending check is rescheduled sooner when the endpoint goes down
+        checkHandler.getValue().handle(Endpoint.Status.TRANSITIONALLY_DOWN);
+        assertTrue(schedule.isTightened());
+        verify(timingWheel, times(2 + AdaptiveSchedule.STABLE_CHECKS)).schedule(anyLong(), any());
+    }
+
+    private void observe(Handler<Endpoint.Status> checkHandler, Endpoint.Status status, int times) {
+        for (int i = 0; i < times; i++) {
+            checkHandler.handle(status);
+        }
+    }
+
+    private void observe(AdaptiveSchedule schedule, Endpoint.Status status, int times) {
+        for (int i = 0; i < times; i++) {
+            schedule.observe(status);
+        }
+    }
+}
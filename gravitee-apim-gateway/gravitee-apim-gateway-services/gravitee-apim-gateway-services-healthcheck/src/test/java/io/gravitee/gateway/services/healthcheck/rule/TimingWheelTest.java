@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.healthcheck.rule;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class TimingWheelTest {
+
+    private final TimingWheel timingWheel = new TimingWheel(null, 100);
+    private final List<String> runs = new ArrayList<>();
+
+    @Test
+    public void shouldRunTask_onceDeadlineIsReached() {
+        final long now = System.currentTimeMillis();
+        timingWheel.schedule(1000, () -> runs.add("task"));
+
+        timingWheel.advance(now + 500);
+        assertTrue(runs.isEmpty());
+
+        timingWheel.advance(now + 1200);
+        assertEquals(List.of("task"), runs);
+
+        timingWheel.advance(now + 5000);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void shouldRunTask_afterSeveralRounds() {
+        final long now = System.currentTimeMillis();
+        // 512 ticks of 100ms per round
+        timingWheel.schedule(120_000, () -> runs.add("task"));
+
+        timingWheel.advance(now + 60_000);
+        assertTrue(runs.isEmpty());
+
+        timingWheel.advance(now + 119_000);
+        assertTrue(runs.isEmpty());
+
+        timingWheel.advance(now + 120_200);
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    public void shouldRunTasks_inDeadlineOrder() {
+        final long now = System.currentTimeMillis();
+        timingWheel.schedule(800, () -> runs.add("second"));
+        timingWheel.schedule(300, () -> runs.add("first"));
+        timingWheel.schedule(0, () -> runs.add("now"));
+
+        timingWheel.advance(now + 1000);
+
+        assertEquals(List.of("now", "first", "second"), runs);
+    }
+
+    @Test
+    public void shouldNotRunCancelledTask() {
+        final long now = System.currentTimeMillis();
+        final TimingWheel.Timeout timeout = timingWheel.schedule(300, () -> runs.add("task"));
+
+        timingWheel.advance(now + 100);
+        timeout.cancel();
+        timingWheel.advance(now + 1000);
+
+        assertTrue(runs.isEmpty());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    public void shouldScheduleTask_fromRunningTask() {
+        final long now = System.currentTimeMillis();
+        timingWheel.schedule(
+            100,
+            () -> {
+                runs.add("first");
+                timingWheel.schedule(100, () -> runs.add("second"));
+            }
+        );
+
+        timingWheel.advance(now + 300);
+        assertEquals(List.of("first"), runs);
+
+        timingWheel.advance(now + 600);
+        assertEquals(List.of("first", "second"), runs);
+    }
+}
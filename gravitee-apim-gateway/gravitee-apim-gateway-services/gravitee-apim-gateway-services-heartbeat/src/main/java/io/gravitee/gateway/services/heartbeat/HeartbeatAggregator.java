@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.heartbeat;
+
+import static io.gravitee.gateway.services.heartbeat.HeartbeatService.EVENT_STATE_PROPERTY;
+
+import io.gravitee.node.api.message.Topic;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the heartbeat events received by the master node before writing them to the {@link EventRepository}.
+ *
+ * The creation of an event, a change of its type (ie. a gateway being stopped) and the first heartbeat of a gateway
+ * received by this node are written immediately. Other heartbeats only replace the pending heartbeat of the gateway,
+ * which is written by {@link #flush()} once the heartbeat stored in the repository is older than
+ * <code>storeInterval</code>. The repository is then written at most once per <code>storeInterval</code> and per
+ * gateway, whatever the heartbeat delay of the gateways is.
+ *
+ * @author GraviteeSource Team
+ */
+public class HeartbeatAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeartbeatAggregator.class);
+
+    static final String RECREATE_STATE = "recreate";
+
+    /**
+     * Gateways whose heartbeat has not been received for this number of store intervals are not tracked anymore.
+     */
+    private static final int EXPIRE_AFTER_INTERVALS = 10;
+
+    private final EventRepository eventRepository;
+    private final Topic<Event> topic;
+    private final long storeInterval;
+
+    private final Map<String, Event> pending = new LinkedHashMap<>();
+    private final Map<String, StoredHeartbeat> stored = new HashMap<>();
+
+    public HeartbeatAggregator(EventRepository eventRepository, Topic<Event> topic, long storeInterval) {
+        this.eventRepository = eventRepository;
+        this.topic = topic;
+        this.storeInterval = storeInterval;
+    }
+
+    public synchronized void offer(Event event) {
+        final StoredHeartbeat storedHeartbeat = stored.get(event.getId());
+        final String state = event.getProperties().get(EVENT_STATE_PROPERTY);
+
+        if (storedHeartbeat == null || RECREATE_STATE.equals(state) || storedHeartbeat.type != event.getType() || storeInterval <= 0) {
+            pending.remove(event.getId());
+            write(event, state != null && (storedHeartbeat == null || RECREATE_STATE.equals(state)));
+        } else {
+            pending.put(event.getId(), event);
+        }
+    }
+
+    /**
+     * Writes the pending heartbeats whose stored heartbeat is older than the store interval.
+     */
+    public synchronized void flush() {
+        final long now = System.currentTimeMillis();
+        int written = 0;
+
+        final Iterator<Event> ite = pending.values().iterator();
+        while (ite.hasNext()) {
+            final Event event = ite.next();
+            final StoredHeartbeat storedHeartbeat = stored.get(event.getId());
+
+            if (storedHeartbeat == null || now - storedHeartbeat.storedAt >= storeInterval) {
+                ite.remove();
+                write(event, false);
+                written++;
+            }
+        }
+
+        stored.entrySet().removeIf(entry -> now - entry.getValue().storedAt >= EXPIRE_AFTER_INTERVALS * storeInterval);
+
+        if (written > 0) {
+            LOGGER.debug("{} heartbeats have been written, {} are pending", written, pending.size());
+        }
+    }
+
+    /**
+     * Forgets everything about the heartbeats, ie. when this node is not the master node anymore.
+     */
+    public synchronized void clear() {
+        pending.clear();
+        stored.clear();
+    }
+
+    private void write(Event event, boolean create) {
+        try {
+            if (create) {
+                eventRepository.create(event);
+                // Remove the state to not include it in the underlying repository as it's just used for internal purpose
+                event.getProperties().remove(EVENT_STATE_PROPERTY);
+            } else {
+                eventRepository.update(event);
+            }
+
+            if (event.getType() == EventType.GATEWAY_STOPPED) {
+                stored.remove(event.getId());
+            } else {
+                stored.put(event.getId(), new StoredHeartbeat(event.getType(), System.currentTimeMillis()));
+            }
+        } catch (IllegalStateException isex) {
+            // We make the assumption that an IllegalStateException is thrown when trying to update the event while it is not existing in the database anymore.
+            // This can be caused, for instance, by a db event cleanup without taking care of the heartbeat event.
+            stored.remove(event.getId());
+            event.getProperties().put(EVENT_STATE_PROPERTY, RECREATE_STATE);
+            topic.publish(event);
+        } catch (Exception ex) {
+            // We assume to loose the event if something goes wrong and not republish it to avoid infinite loop and cpu starving. It will be overridden by the next heartbeat event.
+            LOGGER.warn(
+                "An error occurred while pushing heartbeat event id[{}] type[{}]. Message is: {}",
+                event.getId(),
+                event.getType(),
+                ex.getMessage()
+            );
+        }
+    }
+
+    private static class StoredHeartbeat {
+
+        private final EventType type;
+        private final long storedAt;
+
+        private StoredHeartbeat(EventType type, long storedAt) {
+            this.type = type;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -83,6 +83,12 @@ public class HeartbeatService extends AbstractService<HeartbeatService> implemen
     @Value("${services.heartbeat.storeSystemProperties:true}")
     private boolean storeSystemProperties;
 
+    /**
+     * Minimum interval between two writes of the heartbeat of a same gateway, see {@link HeartbeatAggregator}.
+     */
+    @Value("${services.heartbeat.storeInterval:30000}")
+    private long storeInterval;
+
     @Value("${http.port:8082}")
     private String port;
 
@@ -119,6 +125,8 @@ public class HeartbeatService extends AbstractService<HeartbeatService> implemen
 
     private java.util.UUID subscriptionId;
 
+    private HeartbeatAggregator aggregator;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         topic = messageProducer.getTopic("heartbeats");
@@ -141,6 +149,7 @@ public class HeartbeatService extends AbstractService<HeartbeatService> implemen
             LOGGER.info("Monitoring scheduled with fixed delay {} {} ", delay, unit.name());
 
             ((ScheduledExecutorService) executorService).scheduleWithFixedDelay(monitorThread, 0, delay, unit);
+            ((ScheduledExecutorService) executorService).scheduleWithFixedDelay(this::flushHeartbeats, delay, delay, unit);
 
             LOGGER.info("Start gateway heartbeat : DONE");
         }
@@ -150,31 +159,27 @@ public class HeartbeatService extends AbstractService<HeartbeatService> implemen
     public void onMessage(Message<Event> message) {
         // Writing event to the repository is the responsibility of the master node
         if (clusterManager.isMasterNode()) {
-            Event event = message.getMessageObject();
-            try {
-                String state = event.getProperties().get(EVENT_STATE_PROPERTY);
-                if (state != null) {
-                    eventRepository.create(event);
-                    // Remove the state to not include it in the underlying repository as it's just used for internal purpose
-                    heartbeatEvent.getProperties().remove(EVENT_STATE_PROPERTY);
-                } else {
-                    eventRepository.update(event);
-                }
-            } catch (IllegalStateException isex) {
-                // We make the assumption that an IllegalStateException is thrown when trying to update the event while it is not existing in the database anymore.
-                // This can be caused, for instance, by a db event cleanup without taking care of the heartbeat event.
-                event.getProperties().put(EVENT_STATE_PROPERTY, "recreate");
-                topic.publish(event);
-            } catch (Exception ex) {
-                // We assume to loose the event if something goes wrong and not republish it to avoid infinite loop and cpu starving. It will be overridden by the next heartbeat event.
-                LOGGER.warn(
-                    "An error occurred while pushing heartbeat event id[{}] type[{}]. Message is: {}",
-                    event.getId(),
-                    event.getType(),
-                    ex.getMessage()
-                );
+            getAggregator().offer(message.getMessageObject());
+        }
+    }
+
+    void flushHeartbeats() {
+        try {
+            if (clusterManager.isMasterNode()) {
+                getAggregator().flush();
+            } else {
+                getAggregator().clear();
             }
+        } catch (Exception ex) {
+            LOGGER.error("An unexpected error occurs while writing heartbeats", ex);
+        }
+    }
+
+    private synchronized HeartbeatAggregator getAggregator() {
+        if (aggregator == null) {
+            aggregator = new HeartbeatAggregator(eventRepository, topic, storeInterval);
         }
+        return aggregator;
     }
 
     @Override
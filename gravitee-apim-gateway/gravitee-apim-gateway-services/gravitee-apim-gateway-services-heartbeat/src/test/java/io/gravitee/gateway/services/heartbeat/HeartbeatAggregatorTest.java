@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.heartbeat;
+
+import static io.gravitee.gateway.services.heartbeat.HeartbeatService.EVENT_STATE_PROPERTY;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.common.utils.UUID;
+import io.gravitee.node.api.message.Topic;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import java.util.HashMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HeartbeatAggregatorTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private Topic<Event> topic;
+
+    private HeartbeatAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        aggregator = new HeartbeatAggregator(eventRepository, topic, 60_000);
+    }
+
+    @Test
+    public void shouldCreateEvent_onlyOnce() throws TechnicalException {
+        final Event event = event(EventType.GATEWAY_STARTED);
+        event.getProperties().put(EVENT_STATE_PROPERTY, "create");
+
+        aggregator.offer(event);
+
+        // Gateways keep sending their initial state
+        final Event heartbeat = event(event.getId(), EventType.GATEWAY_STARTED);
+        heartbeat.getProperties().put(EVENT_STATE_PROPERTY, "create");
+        aggregator.offer(heartbeat);
+
+        verify(eventRepository).create(event);
+        verifyNoMoreInteractions(eventRepository);
+    }
+
+    @Test
+    public void shouldCoalesceHeartbeats_untilStoreInterval() throws TechnicalException {
+        final Event event = event(EventType.GATEWAY_STARTED);
+        aggregator.offer(event);
+        verify(eventRepository).update(event);
+
+        final Event second = event(event.getId(), EventType.GATEWAY_STARTED);
+        final Event third = event(event.getId(), EventType.GATEWAY_STARTED);
+        aggregator.offer(second);
+        aggregator.offer(third);
+        aggregator.flush();
+
+        verifyNoMoreInteractions(eventRepository);
+    }
+
+    @Test
+    public void shouldWriteLatestHeartbeat_onceStoreIntervalIsElapsed() throws TechnicalException {
+        aggregator = new HeartbeatAggregator(eventRepository, topic, 1);
+
+        final Event event = event(EventType.GATEWAY_STARTED);
+        aggregator.offer(event);
+
+        final Event second = event(event.getId(), EventType.GATEWAY_STARTED);
+        final Event third = event(event.getId(), EventType.GATEWAY_STARTED);
+        aggregator.offer(second);
+        aggregator.offer(third);
+        sleep(5);
+        aggregator.flush();
+
+        verify(eventRepository).update(event);
+        verify(eventRepository, never()).update(second);
+        verify(eventRepository).update(third);
+    }
+
+    @Test
+    public void shouldWriteStoppedEvent_immediately() throws TechnicalException {
+        final Event event = event(EventType.GATEWAY_STARTED);
+        aggregator.offer(event);
+
+        final Event stopped = event(event.getId(), EventType.GATEWAY_STOPPED);
+        aggregator.offer(stopped);
+
+        verify(eventRepository).update(stopped);
+    }
+
+    @Test
+    public void shouldRecreateEvent_whenItHasBeenRemoved() throws TechnicalException {
+        final Event event = event(EventType.GATEWAY_STARTED);
+        when(eventRepository.update(event)).thenThrow(new IllegalStateException("No event found"));
+        doAnswer(
+                invocation -> {
+                    aggregator.offer(invocation.getArgument(0));
+                    return null;
+                }
+            )
+            .when(topic)
+            .publish(event);
+
+        aggregator.offer(event);
+
+        verify(eventRepository).create(event);
+    }
+
+    private Event event(EventType type) {
+        return event(UUID.toString(UUID.random()), type);
+    }
+
+    private Event event(String id, EventType type) {
+        final Event event = new Event();
+        event.setId(id);
+        event.setType(type);
+        event.setProperties(new HashMap<>());
+        return event;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
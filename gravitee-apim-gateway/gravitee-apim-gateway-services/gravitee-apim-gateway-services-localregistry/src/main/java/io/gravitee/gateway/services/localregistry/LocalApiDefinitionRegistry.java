@@ -23,16 +23,24 @@ import io.gravitee.gateway.handlers.api.manager.ApiManager;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 /**
+ * Deploys the API definitions found in a local directory, and keeps them in sync with the content of the directory.
+ *
+ * Definitions are parsed in parallel at startup. Then, the events of the directory are coalesced until it has been
+ * quiet for <code>services.local.debounce_delay</code> milliseconds, or at most for
+ * <code>services.local.debounce_max_delay</code> milliseconds, and only the files whose content has changed are
+ * redeployed.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -42,18 +50,35 @@ public class LocalApiDefinitionRegistry extends AbstractService {
 
     private static final String JSON_EXTENSION = ".json";
 
+    private static final GraviteeMapper MAPPER = new GraviteeMapper();
+
     @Value("${services.local.enabled:false}")
     private boolean enabled;
 
     @Value("${services.local.path:${gravitee.home}/apis}")
     private String registryPath;
 
+    /**
+     * Number of threads used to parse the definitions at startup, defaults to the number of available processors.
+     */
+    @Value("${services.local.parallelism:0}")
+    private int parallelism;
+
+    @Value("${services.local.debounce_delay:500}")
+    private long debounceDelay = 500;
+
+    /**
+     * Maximum time to coalesce events for, so that a directory which is never quiet is still synchronized.
+     */
+    @Value("${services.local.debounce_max_delay:5000}")
+    private long debounceMaxDelay = 5000;
+
     @Autowired
     private ApiManager apiManager;
 
     private ExecutorService executor;
 
-    private Map<Path, Api> definitions = new HashMap<>();
+    private final Map<Path, LocalDefinition> definitions = new HashMap<>();
 
     /**
      * Empty constructor is used to use a workspace directory defined from @Value annotation
@@ -65,7 +90,7 @@ public class LocalApiDefinitionRegistry extends AbstractService {
         this.registryPath = registryPath;
     }
 
-    private void init() {
+    private void init() throws InterruptedException {
         if (enabled) {
             if (registryPath == null || registryPath.isEmpty()) {
                 LOGGER.error("Local API definitions registry path is not specified.");
@@ -86,20 +111,47 @@ public class LocalApiDefinitionRegistry extends AbstractService {
         }
     }
 
-    private void initRegistry(File registryDir) {
+    private void initRegistry(File registryDir) throws InterruptedException {
         LOGGER.info("Loading API definitions from {}", registryDir.getAbsoluteFile());
         File[] definitionFiles = searchForDefinitions(registryDir);
 
         LOGGER.info("\t{} API definitions have been found.", definitionFiles.length);
 
-        for (File definitionFile : definitionFiles) {
-            try {
-                Api api = loadDefinition(definitionFile);
-                apiManager.register(api);
-                definitions.put(Paths.get(definitionFile.toURI()), api);
-            } catch (IOException e) {
-                LOGGER.error("Unable to load API definition from {}", definitionFile, e);
+        if (definitionFiles.length == 0) {
+            return;
+        }
+
+        // Definitions are parsed in parallel, but registered in order from the current thread
+        final int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        final ExecutorService loader = Executors.newFixedThreadPool(
+            Math.min(threads, definitionFiles.length),
+            new ThreadFactory() {
+                private final AtomicInteger counter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    return new Thread(r, "registry-loader-" + counter.incrementAndGet());
+                }
+            }
+        );
+
+        try {
+            final List<Future<LocalDefinition>> loadedDefinitions = new ArrayList<>(definitionFiles.length);
+            for (File definitionFile : definitionFiles) {
+                loadedDefinitions.add(loader.submit(() -> loadDefinition(definitionFile.toPath())));
+            }
+
+            for (int i = 0; i < definitionFiles.length; i++) {
+                try {
+                    LocalDefinition definition = loadedDefinitions.get(i).get();
+                    apiManager.register(definition.api);
+                    definitions.put(definitionFiles[i].toPath(), definition);
+                } catch (ExecutionException e) {
+                    LOGGER.error("Unable to load API definition from {}", definitionFiles[i], e.getCause());
+                }
             }
+        } finally {
+            loader.shutdownNow();
         }
     }
 
@@ -107,11 +159,63 @@ public class LocalApiDefinitionRegistry extends AbstractService {
         return registryDir.listFiles((dir, name) -> name.endsWith(JSON_EXTENSION));
     }
 
-    private Api loadDefinition(File apiDefinitionFile) throws IOException {
-        Api api = new GraviteeMapper().readValue(apiDefinitionFile, Api.class);
+    private LocalDefinition loadDefinition(Path apiDefinitionFile) throws IOException {
+        return loadDefinition(Files.readAllBytes(apiDefinitionFile));
+    }
+
+    private LocalDefinition loadDefinition(byte[] content) throws IOException {
+        Api api = MAPPER.readValue(content, Api.class);
         api.setId(IdGenerator.generate(api.getName()));
 
-        return api;
+        return new LocalDefinition(api, hash(content));
+    }
+
+    private static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException nsae) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    /**
+     * Aligns the deployed API with the current content of the given definition file: the API is undeployed if the file
+     * has been deleted, and (re)deployed if the content of the file has changed since it has been loaded.
+     */
+    void reconcile(Path definitionFile) {
+        final LocalDefinition existingDefinition = definitions.get(definitionFile);
+
+        try {
+            if (!Files.exists(definitionFile)) {
+                if (existingDefinition != null) {
+                    LOGGER.info("API definition {} has been removed", definitionFile);
+                    definitions.remove(definitionFile);
+                    apiManager.unregister(existingDefinition.api.getId());
+                }
+                return;
+            }
+
+            final byte[] content = Files.readAllBytes(definitionFile);
+
+            if (existingDefinition != null && Arrays.equals(existingDefinition.hash, hash(content))) {
+                LOGGER.debug("API definition {} has not changed", definitionFile);
+                return;
+            }
+
+            final LocalDefinition loadedDefinition = loadDefinition(content);
+            LOGGER.info("API definition {} has been {}", definitionFile, existingDefinition == null ? "added" : "updated");
+
+            // The name, hence the id, of the API may have changed
+            if (existingDefinition != null && !existingDefinition.api.getId().equals(loadedDefinition.api.getId())) {
+                apiManager.unregister(existingDefinition.api.getId());
+            }
+
+            apiManager.register(loadedDefinition.api);
+            definitions.put(definitionFile, loadedDefinition);
+        } catch (IOException e) {
+            LOGGER.error("Unable to load API definition from {}", definitionFile, e);
+        }
     }
 
     @Override
@@ -127,8 +231,7 @@ public class LocalApiDefinitionRegistry extends AbstractService {
                     Path registry = Paths.get(registryPath);
                     LOGGER.info("Start local registry monitor for directory {}", registry);
 
-                    try {
-                        WatchService watcher = registry.getFileSystem().newWatchService();
+                    try (WatchService watcher = registry.getFileSystem().newWatchService()) {
                         registry.register(
                             watcher,
                             StandardWatchEventKinds.ENTRY_CREATE,
@@ -137,54 +240,55 @@ public class LocalApiDefinitionRegistry extends AbstractService {
                         );
 
                         while (true) {
-                            WatchKey key;
-                            try {
-                                key = watcher.take();
-                            } catch (InterruptedException ex) {
-                                return;
-                            }
-
-                            for (WatchEvent<?> event : key.pollEvents()) {
-                                WatchEvent.Kind<?> kind = event.kind();
-
-                                @SuppressWarnings("unchecked")
-                                WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                                Path fileName = registry.resolve(ev.context().getFileName());
-
-                                LOGGER.info("An event occurs for file {}: {}", fileName, kind.name());
-
-                                if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-                                    Api loadedDefinition = loadDefinition(fileName.toFile());
-                                    Api existingDefinition = definitions.get(fileName);
-                                    if (existingDefinition != null) {
-                                        if (apiManager.get(existingDefinition.getId()) != null) {
-                                            apiManager.register(loadedDefinition);
-                                        } else {
-                                            apiManager.unregister(existingDefinition.getId());
-                                            definitions.remove(fileName);
-                                            definitions.put(fileName, loadedDefinition);
-                                        }
-                                    }
-                                } else if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                    Api loadedDefinition = loadDefinition(fileName.toFile());
-                                    boolean registered = apiManager.register(loadedDefinition);
-                                    if (registered) {
-                                        definitions.put(fileName, loadedDefinition);
-                                    }
-                                } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
-                                    Api existingDefinition = definitions.get(fileName);
-                                    if (existingDefinition != null && apiManager.get(existingDefinition.getId()) != null) {
-                                        apiManager.unregister(existingDefinition.getId());
-                                        definitions.remove(fileName);
+                            WatchKey key = watcher.take();
+                            final Set<Path> changes = new LinkedHashSet<>();
+                            final long deadline = System.currentTimeMillis() + debounceMaxDelay;
+                            boolean overflow = false;
+
+                            // Coalesce the events until the directory is quiet, a file being written usually triggers
+                            // several events
+                            while (key != null) {
+                                for (WatchEvent<?> event : key.pollEvents()) {
+                                    WatchEvent.Kind<?> kind = event.kind();
+
+                                    if (kind == StandardWatchEventKinds.OVERFLOW) {
+                                        overflow = true;
+                                        continue;
                                     }
+
+                                    @SuppressWarnings("unchecked")
+                                    WatchEvent<Path> ev = (WatchEvent<Path>) event;
+                                    Path fileName = registry.resolve(ev.context().getFileName());
+
+                                    LOGGER.debug("An event occurs for file {}: {}", fileName, kind.name());
+                                    changes.add(fileName);
+                                }
+
+                                if (!key.reset()) {
+                                    LOGGER.warn("Local registry directory {} is no longer accessible", registry);
+                                    return;
                                 }
 
-                                boolean valid = key.reset();
-                                if (!valid) {
-                                    break;
+                                // Events left once the deadline is reached are handled with the next batch
+                                final long remaining = deadline - System.currentTimeMillis();
+                                key = remaining > 0 ? watcher.poll(Math.min(debounceDelay, remaining), TimeUnit.MILLISECONDS) : null;
+                            }
+
+                            if (overflow) {
+                                // Some events have been lost, check all the definitions
+                                changes.addAll(definitions.keySet());
+                                for (File definitionFile : searchForDefinitions(registry.toFile())) {
+                                    changes.add(definitionFile.toPath());
                                 }
                             }
+
+                            changes
+                                .stream()
+                                .filter(fileName -> fileName.getFileName().toString().endsWith(JSON_EXTENSION))
+                                .forEach(this::reconcile);
                         }
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
                     } catch (IOException ioe) {
                         LOGGER.error("Unexpected error while looking for ÀPI definitions from filesystem", ioe);
                     }
@@ -214,4 +318,27 @@ public class LocalApiDefinitionRegistry extends AbstractService {
     public void setRegistryPath(String registryPath) {
         this.registryPath = registryPath;
     }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setDebounceDelay(long debounceDelay) {
+        this.debounceDelay = debounceDelay;
+    }
+
+    public void setDebounceMaxDelay(long debounceMaxDelay) {
+        this.debounceMaxDelay = debounceMaxDelay;
+    }
+
+    private static class LocalDefinition {
+
+        private final Api api;
+        private final byte[] hash;
+
+        private LocalDefinition(Api api, byte[] hash) {
+            this.api = api;
+            this.hash = hash;
+        }
+    }
 }
@@ -15,11 +15,23 @@
  */
 package io.gravitee.gateway.services.localregistry;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.handlers.api.manager.ApiManager;
+import java.io.File;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -31,6 +43,9 @@ public class LocalApiDefinitionRegistryTest {
     @Mock
     private ApiManager apiManager;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private LocalApiDefinitionRegistry registry;
 
     @Before
@@ -40,6 +55,14 @@ public class LocalApiDefinitionRegistryTest {
         registry = new LocalApiDefinitionRegistry();
         registry.setApiManager(apiManager);
         registry.setEnabled(true);
+        // Watch events are handled by calling reconcile from the tests
+        registry.setDebounceDelay(60_000);
+        registry.setDebounceMaxDelay(60_000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        registry.stop();
     }
 
     @Test
@@ -49,4 +72,66 @@ public class LocalApiDefinitionRegistryTest {
         registry.setRegistryPath(URLDecoder.decode(resource.getPath(), "UTF-8"));
         registry.start();
     }
+
+    @Test
+    public void shouldRegisterAllDefinitions_atStartup() throws Exception {
+        registry.setParallelism(2);
+        registry.setRegistryPath(copyRegistry().toString());
+        registry.start();
+
+        verify(apiManager).register(argThat(api -> "my-api-test".equals(api.getName())));
+        verify(apiManager).register(argThat(api -> "my-api-test2".equals(api.getName())));
+    }
+
+    @Test
+    public void shouldNotRedeployUnchangedDefinition() throws Exception {
+        final Path registryDir = copyRegistry();
+        registry.setRegistryPath(registryDir.toString());
+        registry.start();
+
+        final Path definition = registryDir.resolve("api-test.json");
+        Files.setLastModifiedTime(definition, Files.getLastModifiedTime(definition));
+        registry.reconcile(definition);
+
+        verify(apiManager, times(2)).register(any(Api.class));
+    }
+
+    @Test
+    public void shouldRedeployChangedDefinition() throws Exception {
+        final Path registryDir = copyRegistry();
+        registry.setRegistryPath(registryDir.toString());
+        registry.start();
+
+        final Path definition = registryDir.resolve("api-test.json");
+        Files.writeString(definition, Files.readString(definition).replace("/my-api", "/my-new-api"));
+        registry.reconcile(definition);
+
+        verify(apiManager, times(3)).register(any(Api.class));
+        verify(apiManager, never()).unregister(any());
+    }
+
+    @Test
+    public void shouldUndeployRemovedDefinition() throws Exception {
+        final Path registryDir = copyRegistry();
+        registry.setRegistryPath(registryDir.toString());
+        registry.start();
+
+        final Path definition = registryDir.resolve("api-test.json");
+        Files.delete(definition);
+        registry.reconcile(definition);
+        registry.reconcile(definition);
+
+        verify(apiManager, times(1)).unregister(any());
+    }
+
+    private Path copyRegistry() throws Exception {
+        final File source = new File(URLDecoder.decode(LocalApiDefinitionRegistryTest.class.getResource("/registry").getPath(), "UTF-8"));
+        final Path target = folder.newFolder("registry").toPath();
+
+        for (File file : source.listFiles()) {
+            Files.copy(file.toPath(), target.resolve(file.getName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return target;
+    }
 }
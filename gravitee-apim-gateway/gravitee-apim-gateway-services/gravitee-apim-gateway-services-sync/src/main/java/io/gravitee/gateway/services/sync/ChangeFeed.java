@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync;
+
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.builder.PageableBuilder;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Feed of the events relevant to the synchronization process, delivered in order from a resumable cursor.
+ *
+ * <p>
+ * A poll only reads the events updated since the cursor (a single indexed range read, which is empty when nothing has
+ * changed) and returns them from the oldest to the most recent. The cursor is only moved after the events once they
+ * have been acknowledged, so that the events of a failing synchronization are delivered again by the next poll.
+ * </p>
+ *
+ * <p>
+ * Like the synchronizers, the feed reads back a time frame before the cursor to cope with out of sync clocks. The
+ * events already acknowledged in this time frame are remembered by the cursor so that they are delivered only once.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class ChangeFeed {
+
+    private final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+
+    static final EventType[] EVENT_TYPES = {
+        EventType.PUBLISH_API,
+        EventType.START_API,
+        EventType.UNPUBLISH_API,
+        EventType.STOP_API,
+        EventType.PUBLISH_DICTIONARY,
+        EventType.START_DICTIONARY,
+        EventType.UNPUBLISH_DICTIONARY,
+        EventType.STOP_DICTIONARY,
+        EventType.PUBLISH_ORGANIZATION,
+        EventType.DEBUG_API,
+    };
+
+    static final int PAGE_SIZE = 100;
+
+    private static final Comparator<Event> ORDER = Comparator.comparingLong(ChangeFeed::updatedAt).thenComparing(Event::getId);
+
+    private final EventRepository eventRepository;
+
+    private Cursor cursor;
+
+    public ChangeFeed(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Open the feed at the given date: only the events updated after it are delivered by the next polls.
+     *
+     * @param from the date the gateway state has been synchronized from.
+     * @param environments the list of environments to filter events.
+     */
+    public void open(long from, List<String> environments) {
+        Cursor opened = new Cursor(from, Collections.emptyMap());
+        // The events of the time frame before the date have been synchronized along with the whole gateway state.
+        this.cursor = opened.after(read(opened, environments));
+    }
+
+    /**
+     * Read the events updated since the cursor, from the oldest to the most recent.
+     *
+     * @param environments the list of environments to filter events.
+     * @return the events which have not been acknowledged yet, empty if nothing has changed.
+     */
+    public List<Event> poll(List<String> environments) {
+        if (cursor == null) {
+            throw new IllegalStateException("The change feed must be opened before being polled");
+        }
+
+        final List<Event> events = read(cursor, environments);
+        events.removeIf(event -> Long.valueOf(updatedAt(event)).equals(cursor.seen.get(event.getId())));
+
+        if (!events.isEmpty()) {
+            logger.debug("{} change(s) detected in the event feed since {}", events.size(), cursor);
+        }
+        return events;
+    }
+
+    /**
+     * Move the cursor after the given events once the changes they hold have been synchronized.
+     *
+     * @param events the events returned by the last poll.
+     */
+    public void acknowledge(List<Event> events) {
+        this.cursor = cursor.after(events);
+    }
+
+    /**
+     * Close the feed, it has to be opened again before being polled.
+     */
+    public void reset() {
+        this.cursor = null;
+    }
+
+    public boolean isOpened() {
+        return cursor != null;
+    }
+
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    private List<Event> read(Cursor from, List<String> environments) {
+        final EventCriteria criteria = new EventCriteria.Builder()
+            .types(EVENT_TYPES)
+            .environments(environments)
+            .from(from.updatedAt - SyncManager.TIMEFRAME_BEFORE_DELAY)
+            .to(System.currentTimeMillis() + SyncManager.TIMEFRAME_AFTER_DELAY)
+            .build();
+
+        final List<Event> events = new ArrayList<>();
+        for (int page = 0;; page++) {
+            final List<Event> content = eventRepository
+                .search(criteria, new PageableBuilder().pageNumber(page).pageSize(PAGE_SIZE).build())
+                .getContent();
+
+            if (content != null) {
+                events.addAll(content);
+            }
+            if (content == null || content.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+
+        events.sort(ORDER);
+        return events;
+    }
+
+    private static long updatedAt(Event event) {
+        return event.getUpdatedAt() == null ? 0 : event.getUpdatedAt().getTime();
+    }
+
+    public static final class Cursor {
+
+        private final long updatedAt;
+        private final Map<String, Long> seen;
+
+        private Cursor(long updatedAt, Map<String, Long> seen) {
+            this.updatedAt = updatedAt;
+            this.seen = seen;
+        }
+
+        private Cursor after(List<Event> events) {
+            if (events.isEmpty()) {
+                return this;
+            }
+
+            long next = updatedAt;
+            for (Event event : events) {
+                next = Math.max(next, updatedAt(event));
+            }
+
+            // Only remember the events which can still be read back by the next polls.
+            final long horizon = next - SyncManager.TIMEFRAME_BEFORE_DELAY;
+            final Map<String, Long> nextSeen = new HashMap<>();
+            seen.forEach(
+                (id, at) -> {
+                    if (at >= horizon) {
+                        nextSeen.put(id, at);
+                    }
+                }
+            );
+            for (Event event : events) {
+                if (updatedAt(event) >= horizon) {
+                    nextSeen.put(event.getId(), updatedAt(event));
+                }
+            }
+
+            return new Cursor(next, nextSeen);
+        }
+
+        public long getUpdatedAt() {
+            return updatedAt;
+        }
+
+        @Override
+        public String toString() {
+            return updatedAt + " (" + seen.size() + " acknowledged)";
+        }
+    }
+}
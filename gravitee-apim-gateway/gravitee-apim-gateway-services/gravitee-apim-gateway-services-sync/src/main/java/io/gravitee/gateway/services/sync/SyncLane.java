@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync;
+
+import io.gravitee.gateway.services.sync.synchronizer.AbstractSynchronizer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execution lane of a synchronizer.
+ *
+ * <p>
+ * Each synchronizer keeps its own synchronization window, so that a slow or failing synchronizer does not delay the
+ * other ones. A lane never runs twice at the same time: a synchronization requested while the previous one is still
+ * running is skipped.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class SyncLane {
+
+    private final Logger logger = LoggerFactory.getLogger(SyncLane.class);
+
+    public enum Result {
+        DONE,
+        FAILED,
+        SKIPPED,
+    }
+
+    private final String name;
+    private final AbstractSynchronizer synchronizer;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong counter = new AtomicLong(0);
+    private final AtomicLong skipped = new AtomicLong(0);
+    private volatile long lastRefreshAt = -1;
+    private volatile long lastDuration = -1;
+    private volatile int errors = 0;
+    private volatile int totalErrors = 0;
+    private volatile String lastErrorMessage;
+
+    SyncLane(String name, AbstractSynchronizer synchronizer) {
+        this.name = name;
+        this.synchronizer = synchronizer;
+    }
+
+    /**
+     * Synchronize the elements handled by this lane since its last successful synchronization.
+     *
+     * @param active <code>false</code> to only move the synchronization window forward without synchronizing anything
+     *               (ie. the node is not in charge of the synchronization).
+     * @param environments the list of environments to filter events.
+     * @return the result of the synchronization.
+     */
+    Result synchronize(boolean active, List<String> environments) {
+        if (!running.compareAndSet(false, true)) {
+            skipped.incrementAndGet();
+            logger.debug("Synchronization of {} is still running, skipping this one", name);
+            return Result.SKIPPED;
+        }
+
+        try {
+            final long nextLastRefreshAt = System.currentTimeMillis();
+
+            if (active) {
+                counter.incrementAndGet();
+
+                try {
+                    synchronizer.synchronize(lastRefreshAt, nextLastRefreshAt, environments);
+                    errors = 0;
+                } catch (Exception ex) {
+                    errors++;
+                    totalErrors++;
+                    lastErrorMessage = ex.getMessage();
+                    logger.error("An error occurs while synchronizing {}", name, ex);
+                    return Result.FAILED;
+                } finally {
+                    lastDuration = System.currentTimeMillis() - nextLastRefreshAt;
+                }
+            }
+
+            // We refresh the date even if process did not run (not a master node) to ensure that we sync the same way as
+            // soon as the node is becoming the master later.
+            lastRefreshAt = nextLastRefreshAt;
+            return Result.DONE;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public boolean isSynced() {
+        return lastRefreshAt != -1;
+    }
+
+    public long getCounter() {
+        return counter.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getLastRefreshAt() {
+        return lastRefreshAt;
+    }
+
+    /**
+     * @return the time elapsed since the last successful synchronization, or <code>-1</code> if this lane has never
+     * been synchronized.
+     */
+    public long getLag() {
+        final long refreshAt = lastRefreshAt;
+        return refreshAt == -1 ? -1 : System.currentTimeMillis() - refreshAt;
+    }
+
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getTotalErrors() {
+        return totalErrors;
+    }
+
+    public String getLastErrorMessage() {
+        return lastErrorMessage;
+    }
+}
@@ -21,9 +21,14 @@ import io.gravitee.gateway.services.sync.synchronizer.DebugApiSynchronizer;
 import io.gravitee.gateway.services.sync.synchronizer.DictionarySynchronizer;
 import io.gravitee.gateway.services.sync.synchronizer.OrganizationSynchronizer;
 import io.gravitee.node.api.cluster.ClusterManager;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.model.Event;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -69,25 +74,52 @@ public class SyncManager extends AbstractService<SyncManager> {
     @Qualifier("syncExecutor")
     private ThreadPoolExecutor executor;
 
+    @Autowired
+    private EventRepository eventRepository;
+
     @Value("${services.sync.distributed:false}")
     private boolean distributed;
 
+    @Value("${services.sync.organizations.delay:-1}")
+    private long organizationsDelay;
+
+    @Value("${services.sync.apis.delay:-1}")
+    private long apisDelay;
+
+    @Value("${services.sync.dictionaries.delay:-1}")
+    private long dictionariesDelay;
+
+    @Value("${services.sync.debug.delay:-1}")
+    private long debugDelay;
+
+    @Value("${services.sync.changefeed.enabled:false}")
+    private boolean changeFeedEnabled;
+
+    @Value("${services.sync.changefeed.delay:2000}")
+    private long changeFeedDelay;
+
+    @Value("${services.sync.changefeed.fallback_delay:60000}")
+    private long changeFeedFallbackDelay;
+
     private final AtomicLong counter = new AtomicLong(0);
-    private long lastRefreshAt = -1;
-    private int totalErrors = 0;
-    private int errors = 0;
-    private String lastErrorMessage;
+    private volatile String lastErrorMessage;
     private final ThreadPoolTaskScheduler scheduler;
-    private ScheduledFuture<?> scheduledFuture;
-    private boolean synced;
-    private boolean allApisSync = false;
+    private final List<ScheduledFuture<?>> scheduledFutures = new ArrayList<>();
+    private ChangeFeed changeFeed;
+    private volatile boolean synced;
     private List<String> environments;
 
+    private SyncLane organizationLane;
+    private SyncLane apiLane;
+    private SyncLane dictionaryLane;
+    private SyncLane debugApiLane;
+    private List<SyncLane> lanes;
+
     public SyncManager() {
         scheduler = new ThreadPoolTaskScheduler();
         scheduler.setThreadNamePrefix("gio.sync-master");
-        // Ensure every execution is done before running next execution
-        scheduler.setPoolSize(1);
+        // One thread per synchronizer, plus one for the change feed. Each synchronizer is guarded against overlapping executions.
+        scheduler.setPoolSize(5);
         scheduler.initialize();
     }
 
@@ -107,9 +139,7 @@ public class SyncManager extends AbstractService<SyncManager> {
         organizationSynchronizer.stop();
         debugApiSynchronizer.stop();
 
-        if (scheduledFuture != null) {
-            scheduledFuture.cancel(false);
-        }
+        scheduledFutures.forEach(scheduledFuture -> scheduledFuture.cancel(false));
 
         if (scheduler != null) {
             scheduler.shutdown();
@@ -119,74 +149,170 @@ public class SyncManager extends AbstractService<SyncManager> {
     }
 
     public void startScheduler(int delay, TimeUnit unit) {
-        scheduledFuture = scheduler.scheduleAtFixedRate(this::refresh, Duration.ofMillis(unit.toMillis(delay)));
+        getLanes();
+
+        if (changeFeedEnabled) {
+            // Changes are delivered by the change feed, the synchronization of each synchronizer is only kept as a
+            // fallback, on its own delay when there is one.
+            logger.info("Change feed is enabled, polling the events every {}ms", changeFeedDelay);
+            schedule(organizationLane, period(organizationsDelay, unit, changeFeedFallbackDelay));
+            schedule(apiLane, period(apisDelay, unit, changeFeedFallbackDelay));
+            schedule(dictionaryLane, period(dictionariesDelay, unit, changeFeedFallbackDelay));
+            schedule(debugApiLane, period(debugDelay, unit, changeFeedFallbackDelay));
+            scheduledFutures.add(scheduler.scheduleWithFixedDelay(this::pollChangeFeed, Duration.ofMillis(changeFeedDelay)));
+        } else {
+            // Each synchronizer runs on its own schedule, so that a slow one does not delay the other ones.
+            final long period = unit.toMillis(delay);
+            schedule(organizationLane, period(organizationsDelay, unit, period));
+            schedule(apiLane, period(apisDelay, unit, period));
+            schedule(dictionaryLane, period(dictionariesDelay, unit, period));
+            schedule(debugApiLane, period(debugDelay, unit, period));
+        }
     }
 
-    public void refresh() {
-        final long nextLastRefreshAt = System.currentTimeMillis();
-        boolean error = false;
+    private static long period(long laneDelay, TimeUnit unit, long defaultPeriod) {
+        return laneDelay > 0 ? unit.toMillis(laneDelay) : defaultPeriod;
+    }
 
-        if (clusterManager.isMasterNode() || (!clusterManager.isMasterNode() && !distributed)) {
-            logger.debug("Synchronization #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
-            logger.debug("Refreshing gateway state...");
+    private void schedule(SyncLane lane, long period) {
+        logger.debug("Synchronization of {} is scheduled every {}ms", lane.getName(), period);
+        scheduledFutures.add(
+            scheduler.scheduleAtFixedRate(() -> refresh(lane), Instant.now().plusMillis(period), Duration.ofMillis(period))
+        );
+    }
 
-            try {
-                organizationSynchronizer.synchronize(lastRefreshAt, nextLastRefreshAt, environments);
-            } catch (Exception ex) {
-                error = true;
-                lastErrorMessage = ex.getMessage();
-                logger.error("An error occurs while synchronizing organizations", ex);
-            }
+    /**
+     * Read the events published since the cursor of the feed and only synchronize the synchronizers they affect. The
+     * feed is opened once the whole gateway state has been synchronized, and its cursor is only moved after the events
+     * once their synchronizers have been synchronized without error, so that a failing synchronization is retried on
+     * the next poll.
+     */
+    void pollChangeFeed() {
+        if (!isSyncNode()) {
+            return;
+        }
 
-            try {
-                apiSynchronizer.synchronize(lastRefreshAt, nextLastRefreshAt, environments);
-            } catch (Exception ex) {
-                error = true;
-                lastErrorMessage = ex.getMessage();
-                logger.error("An error occurs while synchronizing APIs", ex);
+        if (changeFeed == null) {
+            changeFeed = new ChangeFeed(eventRepository);
+        }
+
+        try {
+            if (!changeFeed.isOpened()) {
+                final long from = System.currentTimeMillis();
+                if (refreshAll()) {
+                    changeFeed.open(from, environments);
+                }
+                return;
             }
 
-            try {
-                dictionarySynchronizer.synchronize(lastRefreshAt, nextLastRefreshAt, environments);
-            } catch (Exception ex) {
-                error = true;
-                lastErrorMessage = ex.getMessage();
-                logger.error("An error occurs while synchronizing dictionaries", ex);
+            final List<Event> events = changeFeed.poll(environments);
+            if (events.isEmpty()) {
+                return;
             }
 
-            try {
-                debugApiSynchronizer.synchronize(lastRefreshAt, nextLastRefreshAt, environments);
-            } catch (Exception ex) {
-                error = true;
-                lastErrorMessage = ex.getMessage();
-                logger.error("An error occurs while synchronizing debug APIs", ex);
+            final Set<SyncLane> affected = new HashSet<>();
+            events.forEach(event -> affected.add(laneOf(event)));
+
+            boolean done = true;
+            for (SyncLane lane : getLanes()) {
+                if (affected.contains(lane)) {
+                    done &= refresh(lane) == SyncLane.Result.DONE;
+                }
             }
 
-            if (error) {
-                errors++;
-                totalErrors++;
-            } else {
-                errors = 0;
+            if (done) {
+                changeFeed.acknowledge(events);
             }
+        } catch (Exception ex) {
+            logger.warn("An error occurs while polling the change feed, changes will be synchronized by the next synchronization", ex);
+        }
+    }
+
+    private SyncLane laneOf(Event event) {
+        getLanes();
+
+        switch (event.getType()) {
+            case PUBLISH_ORGANIZATION:
+                return organizationLane;
+            case PUBLISH_DICTIONARY:
+            case START_DICTIONARY:
+            case UNPUBLISH_DICTIONARY:
+            case STOP_DICTIONARY:
+                return dictionaryLane;
+            case DEBUG_API:
+                return debugApiLane;
+            default:
+                return apiLane;
+        }
+    }
+
+    private boolean isSyncNode() {
+        return clusterManager.isMasterNode() || (!clusterManager.isMasterNode() && !distributed);
+    }
+
+    /**
+     * Synchronize all the synchronizers, one after the other.
+     */
+    public void refresh() {
+        refreshAll();
+    }
+
+    /**
+     * @return <code>true</code> if all the synchronizers have been synchronized.
+     */
+    private boolean refreshAll() {
+        final boolean active = isSyncNode();
+
+        if (active) {
+            logger.debug("Synchronization #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
+            logger.debug("Refreshing gateway state...");
+        }
+
+        boolean done = true;
+        for (SyncLane lane : getLanes()) {
+            done &= synchronize(lane, active) == SyncLane.Result.DONE;
         }
 
         logger.debug("Synchronization #{} ended at {}", counter.get(), Instant.now().toString());
+        return done;
+    }
 
-        // If there was no error during the sync process, let's continue it with the next period of time
-        if (!error) {
-            allApisSync = true;
+    SyncLane.Result refresh(SyncLane lane) {
+        final boolean active = isSyncNode();
 
-            if (lastRefreshAt == -1) {
-                // When first sync is entirely done, we can reduce number of threads to the minimum for next sync
-                executor.setCorePoolSize(1);
+        if (active) {
+            logger.debug("Synchronization #{} of {} started at {}", counter.incrementAndGet(), lane.getName(), Instant.now().toString());
+        }
 
-                // A first full sync has been done
-                synced = true;
-            }
-            // We refresh the date even if process did not run (not a master node) to ensure that we sync the same way as
-            // soon as the node is becoming the master later.
-            lastRefreshAt = nextLastRefreshAt;
+        return synchronize(lane, active);
+    }
+
+    private SyncLane.Result synchronize(SyncLane lane, boolean active) {
+        final SyncLane.Result result = lane.synchronize(active, environments);
+
+        if (result == SyncLane.Result.FAILED) {
+            lastErrorMessage = lane.getLastErrorMessage();
+        } else if (result == SyncLane.Result.DONE && !synced && getLanes().stream().allMatch(SyncLane::isSynced)) {
+            // When first sync is entirely done, we can reduce number of threads to the minimum for next sync
+            executor.setCorePoolSize(1);
+
+            // A first full sync has been done
+            synced = true;
+        }
+
+        return result;
+    }
+
+    public synchronized List<SyncLane> getLanes() {
+        if (lanes == null) {
+            organizationLane = new SyncLane("organizations", organizationSynchronizer);
+            apiLane = new SyncLane("APIs", apiSynchronizer);
+            dictionaryLane = new SyncLane("dictionaries", dictionarySynchronizer);
+            debugApiLane = new SyncLane("debug APIs", debugApiSynchronizer);
+            lanes = List.of(organizationLane, apiLane, dictionaryLane, debugApiLane);
         }
+
+        return lanes;
     }
 
     public boolean isDistributed() {
@@ -197,7 +323,17 @@ public class SyncManager extends AbstractService<SyncManager> {
         this.distributed = distributed;
     }
 
+    /**
+     * @return the date until which all the synchronizers have been synchronized, or <code>-1</code> if at least one of them
+     * has never been synchronized.
+     */
     public long getLastRefreshAt() {
+        long lastRefreshAt = Long.MAX_VALUE;
+
+        for (SyncLane lane : getLanes()) {
+            lastRefreshAt = Math.min(lastRefreshAt, lane.getLastRefreshAt());
+        }
+
         return lastRefreshAt;
     }
 
@@ -214,11 +350,11 @@ public class SyncManager extends AbstractService<SyncManager> {
     }
 
     public int getTotalErrors() {
-        return totalErrors;
+        return getLanes().stream().mapToInt(SyncLane::getTotalErrors).sum();
     }
 
     public int getErrors() {
-        return errors;
+        return getLanes().stream().mapToInt(SyncLane::getErrors).sum();
     }
 
     public String getLastErrorMessage() {
@@ -226,7 +362,16 @@ public class SyncManager extends AbstractService<SyncManager> {
     }
 
     public boolean isAllApisSync() {
-        return allApisSync;
+        getLanes();
+        return apiLane.isSynced();
+    }
+
+    public boolean isChangeFeedEnabled() {
+        return changeFeedEnabled;
+    }
+
+    public void setChangeFeedEnabled(boolean changeFeedEnabled) {
+        this.changeFeedEnabled = changeFeedEnabled;
     }
 
     public List<String> getEnvironments() {
@@ -139,8 +139,11 @@ public class SyncService extends AbstractService {
         super.doStop();
     }
 
+    /**
+     * The gateway is ready once the APIs have been synchronized and the api-keys and subscriptions of these APIs loaded.
+     */
     public boolean isAllApisSync() {
-        return syncManager.isAllApisSync();
+        return syncManager.isAllApisSync() && apiKeysCacheService.isSynced() && subscriptionsCacheService.isSynced();
     }
 
     @Override
@@ -17,12 +17,11 @@ package io.gravitee.gateway.services.sync.cache;
 
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.repository.management.model.ApiKey;
-import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * API keys are cached using a combination of apiKey and apiId as cache key.
+ * API keys are cached using a combination of apiId and apiKey as cache key.
  *
  * @author GraviteeSource Team
  */
@@ -30,9 +29,9 @@ public class ApiKeysCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeysCache.class);
 
-    protected Cache<String, ApiKey> cache;
+    protected Cache<CompositeKey, ApiKey> cache;
 
-    public ApiKeysCache(Cache<String, ApiKey> cache) {
+    public ApiKeysCache(Cache<CompositeKey, ApiKey> cache) {
         this.cache = cache;
     }
 
@@ -55,11 +54,11 @@ public class ApiKeysCache {
         return cache.get(buildCacheKey(api, key));
     }
 
-    private String buildCacheKey(ApiKey apiKey) {
+    private CompositeKey buildCacheKey(ApiKey apiKey) {
         return buildCacheKey(apiKey.getApi(), apiKey.getKey());
     }
 
-    private String buildCacheKey(String api, String key) {
-        return String.format("%s.%s", api, key);
+    private CompositeKey buildCacheKey(String api, String key) {
+        return CompositeKey.of(api, key);
     }
 }
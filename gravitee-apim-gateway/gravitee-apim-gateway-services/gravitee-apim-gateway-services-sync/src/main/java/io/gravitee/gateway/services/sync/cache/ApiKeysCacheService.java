@@ -25,9 +25,12 @@ import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.gateway.services.sync.cache.handler.ApiKeysServiceHandler;
+import io.gravitee.gateway.services.sync.cache.offheap.OffHeapCacheManager;
+import io.gravitee.gateway.services.sync.cache.offheap.SegmentAllocator;
 import io.gravitee.gateway.services.sync.cache.repository.ApiKeyRepositoryWrapper;
 import io.gravitee.gateway.services.sync.cache.task.FullApiKeyRefresher;
 import io.gravitee.gateway.services.sync.cache.task.IncrementalApiKeyRefresher;
+import io.gravitee.gateway.services.sync.cache.task.RefreshWindow;
 import io.gravitee.gateway.services.sync.cache.task.Result;
 import io.gravitee.node.api.cache.CacheManager;
 import io.gravitee.node.api.cluster.ClusterManager;
@@ -63,6 +66,15 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
     @Value("${services.sync.distributed:false}")
     private boolean distributed;
 
+    @Value("${services.sync.clock_skew:600000}")
+    private long clockSkew;
+
+    @Value("${services.sync.cache.storage:heap}")
+    private String cacheStorage;
+
+    @Value("${services.sync.cache.directory:${java.io.tmpdir}}")
+    private String cacheDirectory;
+
     private static final String PATH = "/apikeys";
 
     @Autowired
@@ -89,6 +101,10 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
 
     private final Map<String, Set<String>> plansPerApi = new ConcurrentHashMap<>();
 
+    private final AtomicInteger pendingFullRefreshes = new AtomicInteger();
+
+    private volatile boolean synced;
+
     public ApiKeysCacheService() {
         scheduler = new ThreadPoolTaskScheduler();
         scheduler.setThreadNamePrefix("gio.sync-apikeys-");
@@ -101,6 +117,15 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
     protected void doStart() throws Exception {
         super.doStart();
 
+        if (!"heap".equalsIgnoreCase(cacheStorage)) {
+            if (distributed) {
+                LOGGER.warn("Cache storage {} is ignored for API keys when synchronization is distributed", cacheStorage);
+            } else {
+                LOGGER.info("Store API keys using {} cache storage", cacheStorage);
+                cacheManager = new OffHeapCacheManager(SegmentAllocator.of(cacheStorage, cacheDirectory));
+            }
+        }
+
         LOGGER.info("Overriding API key repository implementation with cached API Key repository");
         DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) (
             (ConfigurableApplicationContext) applicationContext.getParent()
@@ -117,7 +142,12 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
         LOGGER.debug("Register API key repository implementation {}", ApiKeyRepositoryWrapper.class.getName());
         beanFactory.registerSingleton(
             ApiKeyRepository.class.getName(),
-            new ApiKeyRepositoryWrapper(this.apiKeyRepository, new ApiKeysCache(cacheManager.getOrCreateCache(API_KEY_CACHE_NAME)))
+            new ApiKeyRepositoryWrapper(
+                this.apiKeyRepository,
+                new ApiKeysCache(cacheManager.getOrCreateCache(API_KEY_CACHE_NAME)),
+                // Each node keeps its own cache up to date unless the synchronization is distributed
+                !distributed
+            )
         );
 
         LOGGER.info("Associate a new HTTP handler on {}", PATH);
@@ -135,21 +165,20 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
 
     class ApiKeysTask extends TimerTask {
 
-        private long lastRefreshAt = -1;
+        private final RefreshWindow window = new RefreshWindow(clockSkew, bulkItems);
 
         @Override
         public void run() {
             if (clusterManager.isMasterNode() || (!clusterManager.isMasterNode() && !distributed)) {
-                long nextLastRefreshAt = System.currentTimeMillis();
-
                 // Merge all plans and split them into buckets
                 final Set<String> plans = plansPerApi.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
 
                 final AtomicInteger counter = new AtomicInteger();
+                final int chunkSize = window.getChunkSize();
 
                 final Collection<List<String>> chunks = plans
                     .stream()
-                    .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / bulkItems))
+                    .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / chunkSize))
                     .values();
 
                 // Run refreshers
@@ -159,11 +188,7 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
                         .stream()
                         .map(
                             chunk -> {
-                                IncrementalApiKeyRefresher refresher = new IncrementalApiKeyRefresher(
-                                    lastRefreshAt,
-                                    nextLastRefreshAt,
-                                    chunk
-                                );
+                                IncrementalApiKeyRefresher refresher = new IncrementalApiKeyRefresher(window, chunk);
                                 refresher.setApiKeyRepository(apiKeyRepository);
                                 refresher.setCache(new ApiKeysCache(cacheManager.getOrCreateCache(API_KEY_CACHE_NAME)));
 
@@ -191,14 +216,11 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
                             );
 
                         // If there is no failure, move to the next period of time
-                        if (!failure) {
-                            lastRefreshAt = nextLastRefreshAt;
-                        }
+                        window.complete(callables.size(), !failure);
                     } catch (InterruptedException e) {
                         LOGGER.error("Unexpected error while running the api-keys refresher");
+                        window.complete(callables.size(), false);
                     }
-                } else {
-                    lastRefreshAt = nextLastRefreshAt;
                 }
             }
         }
@@ -215,6 +237,10 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
         if (scheduler != null) {
             scheduler.shutdown();
         }
+
+        if (cacheManager instanceof OffHeapCacheManager) {
+            ((OffHeapCacheManager) cacheManager).close();
+        }
     }
 
     @Override
@@ -282,6 +308,8 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
                 refresher.setApiKeyRepository(apiKeyRepository);
                 refresher.setCache(new ApiKeysCache(cacheManager.getOrCreateCache(API_KEY_CACHE_NAME)));
 
+                pendingFullRefreshes.incrementAndGet();
+
                 CompletableFuture
                     .supplyAsync(refresher::call, executorService)
                     .whenComplete(
@@ -305,7 +333,9 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
                                 }
                             }
                         }
-                    );
+                    )
+                    // Retries are registered before this one is marked as done
+                    .whenComplete((result, throwable) -> pendingFullRefreshes.decrementAndGet());
             } else {
                 // Keep track of all the plans to ensure that, once the node is becoming a master node, we are able
                 // to run incremental refresh for all the plans
@@ -314,6 +344,19 @@ public class ApiKeysCacheService extends AbstractService implements EventListene
         }
     }
 
+    /**
+     * Returns <code>true</code> once the full api-keys refreshes of all the APIs registered so far are done. This is meant
+     * to be checked once the initial synchronization of the APIs is over: it then remains <code>true</code>, so that the
+     * refreshes of APIs deployed later on do not affect the readiness of the gateway.
+     */
+    public boolean isSynced() {
+        if (!synced && pendingFullRefreshes.get() == 0) {
+            synced = true;
+        }
+
+        return synced;
+    }
+
     private void unregister(Api api) {
         plansPerApi.remove(api.getId());
     }
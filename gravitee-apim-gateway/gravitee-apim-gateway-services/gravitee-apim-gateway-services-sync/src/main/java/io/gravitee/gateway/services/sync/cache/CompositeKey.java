@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Cache key made of two parts, eg. <code>(api, key)</code> for api-keys or <code>(api, clientId)</code> for
+ * subscriptions.
+ *
+ * <p>
+ * Building the key does not build any string: it only references the given parts, which are usually the same instances
+ * as the ones held by the cached value, and its hash is computed once. A key weighs 24 bytes (with compressed oops),
+ * which is about 24MB for a million keys, where a <code>api.key</code> string key made of two UUIDs weighs about
+ * 120 bytes (120MB for a million keys).
+ * </p>
+ *
+ * <p>
+ * The key is serializable so that it can be used with a distributed cache.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public final class CompositeKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String first;
+    private final String second;
+    private final int hash;
+
+    private CompositeKey(String first, String second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * Objects.hashCode(first) + Objects.hashCode(second);
+    }
+
+    public static CompositeKey of(String first, String second) {
+        return new CompositeKey(first, second);
+    }
+
+    public String getFirst() {
+        return first;
+    }
+
+    public String getSecond() {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompositeKey that = (CompositeKey) o;
+        return hash == that.hash && Objects.equals(first, that.first) && Objects.equals(second, that.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return first + '.' + second;
+    }
+}
@@ -25,9 +25,12 @@ import io.gravitee.gateway.handlers.api.definition.Api;
 import io.gravitee.gateway.reactor.Reactable;
 import io.gravitee.gateway.reactor.ReactorEvent;
 import io.gravitee.gateway.services.sync.cache.handler.SubscriptionsServiceHandler;
+import io.gravitee.gateway.services.sync.cache.offheap.OffHeapCacheManager;
+import io.gravitee.gateway.services.sync.cache.offheap.SegmentAllocator;
 import io.gravitee.gateway.services.sync.cache.repository.SubscriptionRepositoryWrapper;
 import io.gravitee.gateway.services.sync.cache.task.FullSubscriptionRefresher;
 import io.gravitee.gateway.services.sync.cache.task.IncrementalSubscriptionRefresher;
+import io.gravitee.gateway.services.sync.cache.task.RefreshWindow;
 import io.gravitee.gateway.services.sync.cache.task.Result;
 import io.gravitee.node.api.cache.CacheManager;
 import io.gravitee.node.api.cluster.ClusterManager;
@@ -64,6 +67,15 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
     @Value("${services.sync.distributed:false}")
     private boolean distributed;
 
+    @Value("${services.sync.clock_skew:600000}")
+    private long clockSkew;
+
+    @Value("${services.sync.cache.storage:heap}")
+    private String cacheStorage;
+
+    @Value("${services.sync.cache.directory:${java.io.tmpdir}}")
+    private String cacheDirectory;
+
     private static final String PATH = "/subscriptions";
 
     @Autowired
@@ -90,6 +102,10 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
 
     private final Map<String, Set<String>> plansPerApi = new ConcurrentHashMap<>();
 
+    private final AtomicInteger pendingFullRefreshes = new AtomicInteger();
+
+    private volatile boolean synced;
+
     public SubscriptionsCacheService() {
         scheduler = new ThreadPoolTaskScheduler();
         scheduler.setThreadNamePrefix("gio.sync-subscriptions-");
@@ -102,6 +118,15 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
     protected void doStart() throws Exception {
         super.doStart();
 
+        if (!"heap".equalsIgnoreCase(cacheStorage)) {
+            if (distributed) {
+                LOGGER.warn("Cache storage {} is ignored for subscriptions when synchronization is distributed", cacheStorage);
+            } else {
+                LOGGER.info("Store subscriptions using {} cache storage", cacheStorage);
+                cacheManager = new OffHeapCacheManager(SegmentAllocator.of(cacheStorage, cacheDirectory));
+            }
+        }
+
         LOGGER.info("Overriding subscription repository implementation with a cached subscription repository");
         DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) (
             (ConfigurableApplicationContext) applicationContext.getParent()
@@ -137,21 +162,20 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
 
     class SubscriptionsTask extends TimerTask {
 
-        private long lastRefreshAt = -1;
+        private final RefreshWindow window = new RefreshWindow(clockSkew, bulkItems);
 
         @Override
         public void run() {
             if (clusterManager.isMasterNode() || (!clusterManager.isMasterNode() && !distributed)) {
-                long nextLastRefreshAt = System.currentTimeMillis();
-
                 // Merge all plans and split them into buckets
                 final Set<String> plans = plansPerApi.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
 
                 final AtomicInteger counter = new AtomicInteger();
+                final int chunkSize = window.getChunkSize();
 
                 final Collection<List<String>> chunks = plans
                     .stream()
-                    .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / bulkItems))
+                    .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / chunkSize))
                     .values();
 
                 // Run refreshers
@@ -163,11 +187,7 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
                             new Function<List<String>, IncrementalSubscriptionRefresher>() {
                                 @Override
                                 public IncrementalSubscriptionRefresher apply(List<String> chunks) {
-                                    IncrementalSubscriptionRefresher refresher = new IncrementalSubscriptionRefresher(
-                                        lastRefreshAt,
-                                        nextLastRefreshAt,
-                                        chunks
-                                    );
+                                    IncrementalSubscriptionRefresher refresher = new IncrementalSubscriptionRefresher(window, chunks);
                                     refresher.setSubscriptionRepository(subscriptionRepository);
                                     refresher.setCache(cacheManager.getOrCreateCache(CACHE_NAME));
 
@@ -196,14 +216,11 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
                             );
 
                         // If there is no failure, move to the next period of time
-                        if (!failure) {
-                            lastRefreshAt = nextLastRefreshAt;
-                        }
+                        window.complete(callables.size(), !failure);
                     } catch (InterruptedException e) {
                         LOGGER.error("Unexpected error while running the subscriptions refresher");
+                        window.complete(callables.size(), false);
                     }
-                } else {
-                    lastRefreshAt = nextLastRefreshAt;
                 }
             }
         }
@@ -220,6 +237,10 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
         if (scheduler != null) {
             scheduler.shutdown();
         }
+
+        if (cacheManager instanceof OffHeapCacheManager) {
+            ((OffHeapCacheManager) cacheManager).close();
+        }
     }
 
     @Override
@@ -290,6 +311,8 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
                 refresher.setSubscriptionRepository(subscriptionRepository);
                 refresher.setCache(cacheManager.getOrCreateCache(CACHE_NAME));
 
+                pendingFullRefreshes.incrementAndGet();
+
                 CompletableFuture
                     .supplyAsync(refresher::call, executorService)
                     .whenComplete(
@@ -313,7 +336,9 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
                                 }
                             }
                         }
-                    );
+                    )
+                    // Retries are registered before this one is marked as done
+                    .whenComplete((result, throwable) -> pendingFullRefreshes.decrementAndGet());
             } else {
                 // Keep track of all the plans to ensure that, once the node is becoming a master node, we are able
                 // to run incremental refresh for all the plans
@@ -322,6 +347,19 @@ public class SubscriptionsCacheService extends AbstractService implements EventL
         }
     }
 
+    /**
+     * Returns <code>true</code> once the full subscriptions refreshes of all the APIs registered so far are done. This is meant
+     * to be checked once the initial synchronization of the APIs is over: it then remains <code>true</code>, so that the
+     * refreshes of APIs deployed later on do not affect the readiness of the gateway.
+     */
+    public boolean isSynced() {
+        if (!synced && pendingFullRefreshes.get() == 0) {
+            synced = true;
+        }
+
+        return synced;
+    }
+
     private void unregister(Api api) {
         plansPerApi.remove(api.getId());
     }
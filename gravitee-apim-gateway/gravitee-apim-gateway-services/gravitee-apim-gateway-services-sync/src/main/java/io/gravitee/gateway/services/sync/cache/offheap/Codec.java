@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+/**
+ * Encodes the keys or the values of an {@link OffHeapCache} in a compact binary form: fields are written one after the
+ * other, without any class or field descriptor.
+ *
+ * @author GraviteeSource Team
+ */
+interface Codec<T> {
+    void encode(T value, CodecOutput out);
+
+    T decode(CodecInput in);
+}
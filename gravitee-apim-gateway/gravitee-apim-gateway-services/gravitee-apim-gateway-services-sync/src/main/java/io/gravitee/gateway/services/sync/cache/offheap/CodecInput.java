@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Reads the fields written by a {@link CodecOutput} directly from a segment of an {@link OffHeapCache}.
+ *
+ * @author GraviteeSource Team
+ */
+final class CodecInput {
+
+    private final ByteBuffer buffer;
+
+    CodecInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    String readString() {
+        final int length = (int) readVarLong() - 1;
+        if (length < 0) {
+            return null;
+        }
+
+        final byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    Date readDate() {
+        final Long value = readNullableLong();
+        return value == null ? null : new Date(value);
+    }
+
+    Integer readInteger() {
+        final Long value = readNullableLong();
+        return value == null ? null : value.intValue();
+    }
+
+    Boolean readBoolean() {
+        final int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    private Long readNullableLong() {
+        final long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+
+        final long zigzag = value - 1;
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
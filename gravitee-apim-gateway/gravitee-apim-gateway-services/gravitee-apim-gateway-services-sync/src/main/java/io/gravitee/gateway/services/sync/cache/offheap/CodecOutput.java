@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * A growable buffer the {@link Codec}s write to. Numbers are written as variable-length integers, and nullable fields
+ * use the value <code>0</code> for <code>null</code>, so that small and absent values take a single byte.
+ *
+ * @author GraviteeSource Team
+ */
+final class CodecOutput {
+
+    private byte[] bytes;
+    private int size;
+
+    CodecOutput() {
+        this(64);
+    }
+
+    CodecOutput(int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    CodecOutput reset() {
+        size = 0;
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte byteAt(int index) {
+        return bytes[index];
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes, 0, size);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * @return a 64 bits hash of the written bytes.
+     */
+    long hash() {
+        // FNV-1a, followed by a final mix to spread the bits of short inputs
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < size; i++) {
+            h ^= bytes[i];
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(utf8.length + 1L);
+        ensureCapacity(utf8.length);
+        System.arraycopy(utf8, 0, bytes, size, utf8.length);
+        size += utf8.length;
+    }
+
+    void writeDate(Date value) {
+        writeNullableLong(value == null ? null : value.getTime());
+    }
+
+    void writeInteger(Integer value) {
+        writeNullableLong(value == null ? null : value.longValue());
+    }
+
+    void writeBoolean(Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    private void writeNullableLong(Long value) {
+        if (value == null) {
+            writeVarLong(0);
+        } else {
+            // Zig-zag encoding, so that small negative values are short as well
+            writeVarLong(((value << 1) ^ (value >> 63)) + 1);
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import io.gravitee.gateway.services.sync.cache.CompositeKey;
+import io.gravitee.repository.management.model.ApiKey;
+import io.gravitee.repository.management.model.Subscription;
+
+/**
+ * The {@link Codec}s of the types stored in the API keys and subscriptions caches.
+ *
+ * @author GraviteeSource Team
+ */
+final class Codecs {
+
+    private static final Subscription.Status[] SUBSCRIPTION_STATUSES = Subscription.Status.values();
+
+    static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public void encode(String value, CodecOutput out) {
+            out.writeString(value);
+        }
+
+        @Override
+        public String decode(CodecInput in) {
+            return in.readString();
+        }
+    };
+
+    static final Codec<CompositeKey> COMPOSITE_KEY = new Codec<>() {
+        @Override
+        public void encode(CompositeKey value, CodecOutput out) {
+            out.writeString(value.getFirst());
+            out.writeString(value.getSecond());
+        }
+
+        @Override
+        public CompositeKey decode(CodecInput in) {
+            return CompositeKey.of(in.readString(), in.readString());
+        }
+    };
+
+    static final Codec<ApiKey> API_KEY = new Codec<>() {
+        @Override
+        public void encode(ApiKey value, CodecOutput out) {
+            out.writeString(value.getId());
+            out.writeString(value.getKey());
+            out.writeString(value.getSubscription());
+            out.writeString(value.getApplication());
+            out.writeString(value.getPlan());
+            out.writeString(value.getApi());
+            out.writeDate(value.getExpireAt());
+            out.writeDate(value.getCreatedAt());
+            out.writeDate(value.getUpdatedAt());
+            out.writeBoolean(value.isRevoked());
+            out.writeBoolean(value.isPaused());
+            out.writeDate(value.getRevokedAt());
+            out.writeInteger(value.getDaysToExpirationOnLastNotification());
+        }
+
+        @Override
+        public ApiKey decode(CodecInput in) {
+            final ApiKey apiKey = new ApiKey();
+            apiKey.setId(in.readString());
+            apiKey.setKey(in.readString());
+            apiKey.setSubscription(in.readString());
+            apiKey.setApplication(in.readString());
+            apiKey.setPlan(in.readString());
+            apiKey.setApi(in.readString());
+            apiKey.setExpireAt(in.readDate());
+            apiKey.setCreatedAt(in.readDate());
+            apiKey.setUpdatedAt(in.readDate());
+            apiKey.setRevoked(in.readBoolean());
+            apiKey.setPaused(in.readBoolean());
+            apiKey.setRevokedAt(in.readDate());
+            apiKey.setDaysToExpirationOnLastNotification(in.readInteger());
+            return apiKey;
+        }
+    };
+
+    static final Codec<Subscription> SUBSCRIPTION = new Codec<>() {
+        @Override
+        public void encode(Subscription value, CodecOutput out) {
+            out.writeString(value.getId());
+            out.writeString(value.getApi());
+            out.writeString(value.getPlan());
+            out.writeString(value.getApplication());
+            out.writeString(value.getClientId());
+            out.writeByte(value.getStatus() == null ? 0 : value.getStatus().ordinal() + 1);
+            out.writeDate(value.getProcessedAt());
+            out.writeString(value.getProcessedBy());
+            out.writeString(value.getSubscribedBy());
+            out.writeString(value.getRequest());
+            out.writeString(value.getReason());
+            out.writeDate(value.getStartingAt());
+            out.writeDate(value.getEndingAt());
+            out.writeDate(value.getCreatedAt());
+            out.writeDate(value.getUpdatedAt());
+            out.writeDate(value.getClosedAt());
+            out.writeDate(value.getPausedAt());
+            out.writeInteger(value.getGeneralConditionsContentRevision());
+            out.writeString(value.getGeneralConditionsContentPageId());
+            out.writeBoolean(value.getGeneralConditionsAccepted());
+            out.writeInteger(value.getDaysToExpirationOnLastNotification());
+        }
+
+        @Override
+        public Subscription decode(CodecInput in) {
+            final Subscription subscription = new Subscription();
+            subscription.setId(in.readString());
+            subscription.setApi(in.readString());
+            subscription.setPlan(in.readString());
+            subscription.setApplication(in.readString());
+            subscription.setClientId(in.readString());
+            final int status = in.readByte();
+            subscription.setStatus(status == 0 ? null : SUBSCRIPTION_STATUSES[status - 1]);
+            subscription.setProcessedAt(in.readDate());
+            subscription.setProcessedBy(in.readString());
+            subscription.setSubscribedBy(in.readString());
+            subscription.setRequest(in.readString());
+            subscription.setReason(in.readString());
+            subscription.setStartingAt(in.readDate());
+            subscription.setEndingAt(in.readDate());
+            subscription.setCreatedAt(in.readDate());
+            subscription.setUpdatedAt(in.readDate());
+            subscription.setClosedAt(in.readDate());
+            subscription.setPausedAt(in.readDate());
+            subscription.setGeneralConditionsContentRevision(in.readInteger());
+            subscription.setGeneralConditionsContentPageId(in.readString());
+            subscription.setGeneralConditionsAccepted(in.readBoolean());
+            subscription.setDaysToExpirationOnLastNotification(in.readInteger());
+            return subscription;
+        }
+    };
+
+    /**
+     * Encodes any of the types above, prefixed by a one byte tag. The caches may hold several types, eg. the
+     * subscriptions cache maps subscription ids to keys and keys to subscriptions.
+     */
+    static final Codec<Object> ANY = new Codec<>() {
+        private static final int TAG_STRING = 1;
+        private static final int TAG_COMPOSITE_KEY = 2;
+        private static final int TAG_API_KEY = 3;
+        private static final int TAG_SUBSCRIPTION = 4;
+
+        @Override
+        public void encode(Object value, CodecOutput out) {
+            if (value instanceof String) {
+                out.writeByte(TAG_STRING);
+                STRING.encode((String) value, out);
+            } else if (value instanceof CompositeKey) {
+                out.writeByte(TAG_COMPOSITE_KEY);
+                COMPOSITE_KEY.encode((CompositeKey) value, out);
+            } else if (value instanceof ApiKey) {
+                out.writeByte(TAG_API_KEY);
+                API_KEY.encode((ApiKey) value, out);
+            } else if (value instanceof Subscription) {
+                out.writeByte(TAG_SUBSCRIPTION);
+                SUBSCRIPTION.encode((Subscription) value, out);
+            } else {
+                throw new IllegalArgumentException(
+                    "Unsupported type for an off-heap cache: " + (value == null ? null : value.getClass().getName())
+                );
+            }
+        }
+
+        @Override
+        public Object decode(CodecInput in) {
+            final int tag = in.readByte();
+            switch (tag) {
+                case TAG_STRING:
+                    return STRING.decode(in);
+                case TAG_COMPOSITE_KEY:
+                    return COMPOSITE_KEY.decode(in);
+                case TAG_API_KEY:
+                    return API_KEY.decode(in);
+                case TAG_SUBSCRIPTION:
+                    return SUBSCRIPTION.decode(in);
+                default:
+                    throw new IllegalStateException("Unknown tag in an off-heap cache: " + tag);
+            }
+        }
+    };
+
+    private Codecs() {}
+}
@@ -0,0 +1,612 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheListener;
+import io.gravitee.node.api.cache.EntryEvent;
+import io.gravitee.node.api.cache.EntryEventType;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Cache} keeping its entries encoded in memory segments allocated outside of the Java heap. Keys and values
+ * are encoded by a compact {@link Codec}, and the on-heap index only maps the 64 bits hash of an encoded key to the
+ * location of the entry, so a large cache (millions of API keys or subscriptions) does not weigh on the garbage
+ * collector. Entries whose keys have the same hash are chained, and told apart by comparing their encoded keys.
+ *
+ * Segments are append-only: an entry is never overwritten in place, which lets readers access the segments without
+ * locking. Writes are serialized and the segments are compacted once they hold more stale bytes than live ones.
+ * Compaction is run by the writer which triggered it, out of the write lock, one hash at a time, so that other writes
+ * are not blocked while it is running. A compacted segment is released once no reader can still access it, see
+ * {@link ReadEpochs}.
+ *
+ * The most recently read values are kept decoded in a small on-heap table in front of the segments, so that hot keys
+ * are not decoded on each lookup.
+ *
+ * The <code>maxSize</code> of the cache configuration is not supported.
+ *
+ * @author GraviteeSource Team
+ */
+public class OffHeapCache<K, V> implements Cache<K, V> {
+
+    static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    static final int DEFAULT_HOT_ENTRIES = 4096;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private final String name;
+    private final SegmentAllocator allocator;
+    private final int segmentSize;
+    private final long timeToLive;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+
+    private final ConcurrentMap<Long, Slot> index = new ConcurrentHashMap<>();
+    private final Set<CacheListener<K, V>> cacheListeners = new CopyOnWriteArraySet<>();
+
+    // Decoded values of the most recently read slots, indexed by the hash of their key
+    private final Hot<V>[] hot;
+
+    private final ReadEpochs epochs = new ReadEpochs();
+    private final ThreadLocal<CodecOutput> keyOutput = ThreadLocal.withInitial(CodecOutput::new);
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private volatile int size;
+
+    // Guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private final Deque<Retired> retired = new ArrayDeque<>();
+    private Segment segment;
+    private long writtenBytes;
+    private long liveBytes;
+
+    @SuppressWarnings("unchecked")
+    public OffHeapCache(String name, SegmentAllocator allocator, long timeToLive, TimeUnit unit) {
+        this(name, allocator, DEFAULT_SEGMENT_SIZE, unit.toMillis(timeToLive), (Codec<K>) Codecs.ANY, (Codec<V>) Codecs.ANY);
+    }
+
+    @SuppressWarnings("unchecked")
+    OffHeapCache(String name, SegmentAllocator allocator, int segmentSize, long timeToLive) {
+        this(name, allocator, segmentSize, timeToLive, (Codec<K>) Codecs.ANY, (Codec<V>) Codecs.ANY);
+    }
+
+    @SuppressWarnings("unchecked")
+    OffHeapCache(String name, SegmentAllocator allocator, int segmentSize, long timeToLive, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.name = name;
+        this.allocator = allocator;
+        this.segmentSize = segmentSize;
+        this.timeToLive = timeToLive;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.hot = new Hot[DEFAULT_HOT_ENTRIES];
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Collection<V> values() {
+        final long now = System.currentTimeMillis();
+        final List<V> values = new ArrayList<>(size);
+
+        final ReadEpochs.Reader reader = epochs.enter();
+        try {
+            for (Slot head : index.values()) {
+                for (Slot slot = head; slot != null; slot = slot.next) {
+                    if (!slot.isExpired(now)) {
+                        values.add(slot.decode(valueCodec));
+                    }
+                }
+            }
+        } finally {
+            reader.exit();
+        }
+
+        return values;
+    }
+
+    @Override
+    public V get(K key) {
+        final CodecOutput encodedKey = encodeKey(key);
+        final long hash = hash(encodedKey);
+
+        final ReadEpochs.Reader reader = epochs.enter();
+        try {
+            final Slot slot = find(index.get(hash), encodedKey);
+            if (slot == null) {
+                return null;
+            }
+
+            if (slot.isExpired(System.currentTimeMillis())) {
+                expire(hash, slot);
+                return null;
+            }
+
+            final int h = hotIndex(hash);
+            final Hot<V> hotValue = hot[h];
+            if (hotValue != null && hotValue.slot == slot) {
+                return hotValue.value;
+            }
+
+            final V value = slot.decode(valueCodec);
+            hot[h] = new Hot<>(slot, value);
+            return value;
+        } finally {
+            reader.exit();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, timeToLive, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public V put(K key, V value, long ttl, TimeUnit ttlUnit) {
+        final long expireAt = ttl > 0 ? System.currentTimeMillis() + ttlUnit.toMillis(ttl) : 0;
+
+        final CodecOutput encodedKey = new CodecOutput();
+        keyCodec.encode(key, encodedKey);
+        final CodecOutput encodedValue = new CodecOutput(256);
+        valueCodec.encode(value, encodedValue);
+        final long hash = hash(encodedKey);
+
+        final V oldValue;
+        final boolean compact;
+        final ReadEpochs.Reader reader = epochs.enter();
+        try {
+            final Slot previous;
+            synchronized (this) {
+                final Slot head = index.get(hash);
+                previous = find(head, encodedKey);
+
+                final Slot slot = write(encodedKey, encodedValue, expireAt);
+                index.put(hash, replace(head, previous, slot));
+
+                liveBytes += slot.length();
+                if (previous == null) {
+                    size++;
+                } else {
+                    liveBytes -= previous.length();
+                }
+                compact = needsCompaction();
+                reclaim();
+            }
+
+            oldValue = previous == null || previous.isExpired(System.currentTimeMillis()) ? null : previous.decode(valueCodec);
+        } finally {
+            reader.exit();
+        }
+
+        if (compact) {
+            compact();
+        }
+
+        if (!cacheListeners.isEmpty()) {
+            fire(oldValue == null ? EntryEventType.ADDED : EntryEventType.UPDATED, key, oldValue, value);
+        }
+
+        return oldValue;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public V evict(K key) {
+        final CodecOutput encodedKey = encodeKey(key);
+        final long hash = hash(encodedKey);
+
+        final V oldValue;
+        final ReadEpochs.Reader reader = epochs.enter();
+        try {
+            final Slot previous;
+            synchronized (this) {
+                final Slot head = index.get(hash);
+                previous = find(head, encodedKey);
+                if (previous == null) {
+                    return null;
+                }
+
+                remove(hash, head, previous);
+            }
+
+            oldValue = previous.isExpired(System.currentTimeMillis()) ? null : previous.decode(valueCodec);
+        } finally {
+            reader.exit();
+        }
+
+        if (!cacheListeners.isEmpty()) {
+            fire(EntryEventType.EVICTED, key, oldValue, null);
+        }
+
+        return oldValue;
+    }
+
+    /**
+     * Remove all the entries and release all the segments once they are not read anymore.
+     */
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        Arrays.fill(hot, null);
+        size = 0;
+
+        final long retiredAt = epochs.advance();
+        segments.forEach(old -> retired.add(new Retired(old, retiredAt)));
+        segments.clear();
+        segment = null;
+        writtenBytes = 0;
+        liveBytes = 0;
+
+        reclaim();
+    }
+
+    /**
+     * Remove all the entries and wait for all the segments to be released.
+     */
+    public void close() {
+        clear();
+
+        final long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        while (true) {
+            synchronized (this) {
+                reclaim();
+                if (retired.isEmpty() || System.currentTimeMillis() >= deadline) {
+                    // Segments still read by a stalled thread are left to the garbage collector
+                    retired.clear();
+                    return;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void addCacheListener(CacheListener<K, V> listener) {
+        cacheListeners.add(listener);
+    }
+
+    @Override
+    public boolean removeCacheListener(CacheListener<K, V> listener) {
+        return cacheListeners.remove(listener);
+    }
+
+    synchronized long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private CodecOutput encodeKey(K key) {
+        final CodecOutput encodedKey = keyOutput.get().reset();
+        keyCodec.encode(key, encodedKey);
+        return encodedKey;
+    }
+
+    long hash(CodecOutput encodedKey) {
+        return encodedKey.hash();
+    }
+
+    private synchronized void expire(long hash, Slot slot) {
+        final Slot head = index.get(hash);
+        if (contains(head, slot)) {
+            remove(hash, head, slot);
+        }
+    }
+
+    // Guarded by this
+    private void remove(long hash, Slot head, Slot slot) {
+        final Slot chain = replace(head, slot, null);
+        if (chain == null) {
+            index.remove(hash);
+        } else {
+            index.put(hash, chain);
+        }
+        liveBytes -= slot.length();
+        size--;
+    }
+
+    // Guarded by this
+    private Slot write(CodecOutput encodedKey, CodecOutput encodedValue, long expireAt) {
+        final int length = encodedKey.size() + encodedValue.size();
+        final Segment target = segmentFor(length);
+
+        final Slot slot = new Slot(target, target.position, encodedKey.size(), encodedValue.size(), expireAt, null);
+        final ByteBuffer view = target.view(target.position);
+        encodedKey.writeTo(view);
+        encodedValue.writeTo(view);
+        target.position += length;
+        writtenBytes += length;
+
+        return slot;
+    }
+
+    // Guarded by this
+    private Slot move(Slot slot, Slot next) {
+        final Segment target = segmentFor(slot.length());
+
+        final ByteBuffer source = slot.segment.view(slot.offset);
+        source.limit(slot.offset + slot.length());
+        target.view(target.position).put(source);
+
+        final Slot moved = new Slot(target, target.position, slot.keyLength, slot.valueLength, slot.expireAt, next);
+        target.position += slot.length();
+        writtenBytes += slot.length();
+
+        return moved;
+    }
+
+    // Guarded by this
+    private Segment segmentFor(int length) {
+        if (segment == null || segment.remaining() < length) {
+            segment = new Segment(allocator.allocate(Math.max(segmentSize, length)));
+            segments.add(segment);
+        }
+        return segment;
+    }
+
+    // Guarded by this
+    private boolean needsCompaction() {
+        return !compacting.get() && writtenBytes > segmentSize && writtenBytes - liveBytes > liveBytes;
+    }
+
+    /**
+     * Move the live entries of all the current segments into fresh ones, then retire the current segments.
+     * The write lock is only held while moving the entries of a single hash.
+     */
+    private void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            final Set<Segment> compacted = Collections.newSetFromMap(new IdentityHashMap<>());
+            synchronized (this) {
+                compacted.addAll(segments);
+                // Next writes (including the moved entries) go to a fresh segment
+                segment = null;
+            }
+
+            final long now = System.currentTimeMillis();
+            for (Long hash : index.keySet()) {
+                synchronized (this) {
+                    final Slot head = index.get(hash);
+                    if (head != null) {
+                        final Slot chain = compact(head, compacted, now);
+                        if (chain == null) {
+                            index.remove(hash);
+                        } else if (chain != head) {
+                            index.put(hash, chain);
+                        }
+                    }
+                }
+            }
+
+            synchronized (this) {
+                final long retiredAt = epochs.advance();
+                for (Segment old : compacted) {
+                    if (segments.remove(old)) {
+                        writtenBytes -= old.position;
+                        retired.add(new Retired(old, retiredAt));
+                    }
+                }
+                reclaim();
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    // Guarded by this
+    private Slot compact(Slot slot, Set<Segment> compacted, long now) {
+        if (slot == null) {
+            return null;
+        }
+
+        final Slot next = compact(slot.next, compacted, now);
+        if (slot.isExpired(now)) {
+            liveBytes -= slot.length();
+            size--;
+            return next;
+        }
+        if (compacted.contains(slot.segment)) {
+            return move(slot, next);
+        }
+        return next == slot.next ? slot : slot.withNext(next);
+    }
+
+    /**
+     * Release the retired segments which cannot be read anymore.
+     */
+    // Guarded by this
+    private void reclaim() {
+        while (!retired.isEmpty() && epochs.isQuiescent(retired.peekFirst().retiredAt)) {
+            allocator.release(retired.pollFirst().segment.buffer);
+        }
+    }
+
+    private int hotIndex(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & (hot.length - 1);
+    }
+
+    private void fire(EntryEventType type, K key, V oldValue, V value) {
+        EntryEvent<K, V> event = new EntryEvent<>(name, type, key, oldValue, value);
+        cacheListeners.forEach(listener -> listener.onEvent(event));
+    }
+
+    private static Slot find(Slot head, CodecOutput encodedKey) {
+        for (Slot slot = head; slot != null; slot = slot.next) {
+            if (slot.matches(encodedKey)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains(Slot head, Slot slot) {
+        for (Slot current = head; current != null; current = current.next) {
+            if (current == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a copy of the chain where <code>removed</code> (if any) is removed and <code>added</code> (if any) is
+     * prepended. Slots are immutable, so that readers can walk a chain without locking.
+     */
+    private static Slot replace(Slot head, Slot removed, Slot added) {
+        Slot chain = null;
+        for (Slot slot = head; slot != null; slot = slot.next) {
+            if (slot != removed) {
+                chain = slot.withNext(chain);
+            }
+        }
+        return added == null ? chain : added.withNext(chain);
+    }
+
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+
+        // Guarded by the cache
+        private int position;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        private ByteBuffer view(int offset) {
+            final ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            return view;
+        }
+    }
+
+    private static final class Retired {
+
+        private final Segment segment;
+        private final long retiredAt;
+
+        private Retired(Segment segment, long retiredAt) {
+            this.segment = segment;
+            this.retiredAt = retiredAt;
+        }
+    }
+
+    private static final class Slot {
+
+        private final Segment segment;
+        private final int offset;
+        private final int keyLength;
+        private final int valueLength;
+        private final long expireAt;
+        private final Slot next;
+
+        private Slot(Segment segment, int offset, int keyLength, int valueLength, long expireAt, Slot next) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+            this.expireAt = expireAt;
+            this.next = next;
+        }
+
+        private int length() {
+            return keyLength + valueLength;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt > 0 && expireAt <= now;
+        }
+
+        private Slot withNext(Slot next) {
+            return next == this.next ? this : new Slot(segment, offset, keyLength, valueLength, expireAt, next);
+        }
+
+        private boolean matches(CodecOutput encodedKey) {
+            if (encodedKey.size() != keyLength) {
+                return false;
+            }
+
+            final ByteBuffer buffer = segment.buffer;
+            for (int i = 0; i < keyLength; i++) {
+                if (buffer.get(offset + i) != encodedKey.byteAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private <T> T decode(Codec<T> codec) {
+            final ByteBuffer view = segment.view(offset + keyLength);
+            view.limit(offset + keyLength + valueLength);
+            return codec.decode(new CodecInput(view));
+        }
+    }
+
+    private static final class Hot<V> {
+
+        private final Slot slot;
+        private final V value;
+
+        private Hot(Slot slot, V value) {
+            this.slot = slot;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.api.cache.CacheManager;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local {@link CacheManager} creating {@link OffHeapCache}s whose segments are provided by the given
+ * {@link SegmentAllocator}.
+ *
+ * @author GraviteeSource Team
+ */
+public class OffHeapCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, OffHeapCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    private final SegmentAllocator allocator;
+
+    public OffHeapCacheManager(SegmentAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public <K, V> Cache<K, V> getOrCreateCache(String name) {
+        return getOrCreateCache(name, new CacheConfiguration());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getOrCreateCache(String name, CacheConfiguration configuration) {
+        return (Cache<K, V>) caches.computeIfAbsent(
+            name,
+            cacheName -> new OffHeapCache<K, V>(cacheName, allocator, configuration.getTimeToLiveSeconds(), TimeUnit.SECONDS)
+        );
+    }
+
+    @Override
+    public void destroy(String name) {
+        OffHeapCache<?, ?> cache = caches.remove(name);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * Destroys all the caches, releasing their segments.
+     */
+    public void close() {
+        caches.keySet().forEach(this::destroy);
+    }
+}
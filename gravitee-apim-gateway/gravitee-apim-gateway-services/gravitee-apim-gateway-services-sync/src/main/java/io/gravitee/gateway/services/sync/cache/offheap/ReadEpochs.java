@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the readers of the segments of an {@link OffHeapCache}, so that a segment is only released once no reader
+ * can still access it (epoch-based reclamation).
+ *
+ * Each thread publishes the epoch it has entered in its own {@link Reader}: entering and exiting is a plain volatile
+ * write, readers never contend with each other. A segment retired at a given epoch can be released once every reader
+ * is either inactive or has entered a later epoch.
+ *
+ * @author GraviteeSource Team
+ */
+final class ReadEpochs {
+
+    private static final long INACTIVE = Long.MAX_VALUE;
+
+    private final AtomicLong epoch = new AtomicLong(1);
+    private final List<Reader> readers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Reader> currentReader = ThreadLocal.withInitial(this::register);
+
+    /**
+     * Enters a read section, the segments reachable from the index at this point are not released until it is exited.
+     */
+    Reader enter() {
+        final Reader reader = currentReader.get();
+        if (reader.depth++ == 0) {
+            reader.active = epoch.get();
+        }
+        return reader;
+    }
+
+    /**
+     * Starts a new epoch, the segments unreachable from the index from now on can be released once
+     * {@link #isQuiescent(long)} is true for the returned epoch.
+     */
+    long advance() {
+        return epoch.incrementAndGet();
+    }
+
+    boolean isQuiescent(long retiredAt) {
+        for (Reader reader : readers) {
+            if (reader.active < retiredAt) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Reader register() {
+        final Reader reader = new Reader();
+        readers.add(reader);
+        return reader;
+    }
+
+    static final class Reader {
+
+        private volatile long active = INACTIVE;
+
+        // Only accessed by the owner thread
+        private int depth;
+
+        void exit() {
+            if (--depth == 0) {
+                active = INACTIVE;
+            }
+        }
+    }
+}
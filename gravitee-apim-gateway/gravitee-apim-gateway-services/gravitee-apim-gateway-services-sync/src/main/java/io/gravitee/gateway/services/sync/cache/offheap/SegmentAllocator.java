@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Allocates the memory segments used by an {@link OffHeapCache} to store its serialized entries.
+ *
+ * @author GraviteeSource Team
+ */
+public interface SegmentAllocator {
+    ByteBuffer allocate(int capacity);
+
+    /**
+     * Releases a segment previously allocated by this allocator. The segment must not be accessed anymore.
+     * Does nothing by default, leaving the segment to the garbage collector.
+     */
+    default void release(ByteBuffer segment) {}
+
+    /**
+     * Returns the allocator for the given storage name: <code>offheap</code> or <code>mapped</code>.
+     */
+    static SegmentAllocator of(String storage, String directory) {
+        switch (storage.toLowerCase()) {
+            case "offheap":
+                return direct();
+            case "mapped":
+                return mapped(Paths.get(directory));
+            default:
+                throw new IllegalArgumentException("Unknown cache storage: " + storage);
+        }
+    }
+
+    /**
+     * Segments are allocated as direct buffers, outside of the Java heap.
+     */
+    static SegmentAllocator direct() {
+        return new SegmentAllocator() {
+            @Override
+            public ByteBuffer allocate(int capacity) {
+                return ByteBuffer.allocateDirect(capacity);
+            }
+
+            @Override
+            public void release(ByteBuffer segment) {
+                BufferCleaner.clean(segment);
+            }
+        };
+    }
+
+    /**
+     * Segments are memory-mapped from temporary files created in the given directory, so that the OS can page them
+     * out under memory pressure. Files are unlinked as soon as they are mapped.
+     */
+    static SegmentAllocator mapped(Path directory) {
+        return new SegmentAllocator() {
+            @Override
+            public ByteBuffer allocate(int capacity) {
+                try {
+                    Path file = Files.createTempFile(directory, "gio-cache-", ".seg");
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                        return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                    } finally {
+                        if (!file.toFile().delete()) {
+                            file.toFile().deleteOnExit();
+                        }
+                    }
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException("Unable to map a cache segment in " + directory, ioe);
+                }
+            }
+
+            @Override
+            public void release(ByteBuffer segment) {
+                BufferCleaner.clean(segment);
+            }
+        };
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.gateway.services.sync.cache.repository;
 
+import io.gravitee.gateway.security.apikey.CachedApiKeyRepository;
 import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiKeyRepository;
@@ -28,14 +29,25 @@ import java.util.Set;
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ApiKeyRepositoryWrapper implements ApiKeyRepository {
+public class ApiKeyRepositoryWrapper implements CachedApiKeyRepository {
 
     private final ApiKeyRepository wrapped;
     private final ApiKeysCache cache;
+    private final boolean local;
 
     public ApiKeyRepositoryWrapper(ApiKeyRepository wrapped, ApiKeysCache cache) {
+        this(wrapped, cache, false);
+    }
+
+    public ApiKeyRepositoryWrapper(ApiKeyRepository wrapped, ApiKeysCache cache, boolean local) {
         this.wrapped = wrapped;
         this.cache = cache;
+        this.local = local;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return local;
     }
 
     @Override
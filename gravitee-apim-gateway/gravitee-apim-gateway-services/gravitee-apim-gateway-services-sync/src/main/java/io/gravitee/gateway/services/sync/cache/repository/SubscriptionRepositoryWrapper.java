@@ -16,6 +16,7 @@
 package io.gravitee.gateway.services.sync.cache.repository;
 
 import io.gravitee.common.data.domain.Page;
+import io.gravitee.gateway.services.sync.cache.CompositeKey;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.SubscriptionRepository;
@@ -35,9 +36,9 @@ import java.util.Set;
 public class SubscriptionRepositoryWrapper implements SubscriptionRepository {
 
     private final SubscriptionRepository wrapped;
-    private final Cache<String, Subscription> cache;
+    private final Cache<CompositeKey, Subscription> cache;
 
-    public SubscriptionRepositoryWrapper(final SubscriptionRepository wrapped, final Cache<String, Subscription> cache) {
+    public SubscriptionRepositoryWrapper(final SubscriptionRepository wrapped, final Cache<CompositeKey, Subscription> cache) {
         this.wrapped = wrapped;
         this.cache = cache;
     }
@@ -74,8 +75,7 @@ public class SubscriptionRepositoryWrapper implements SubscriptionRepository {
         if (criteria.getClientId() == null) {
             return this.wrapped.search(criteria);
         } else {
-            String key = criteria.getApis().iterator().next() + '-' + criteria.getClientId();
-            Subscription subscription = this.cache.get(key);
+            Subscription subscription = this.cache.get(CompositeKey.of(criteria.getApis().iterator().next(), criteria.getClientId()));
             return (subscription != null) ? Collections.singletonList(subscription) : null;
         }
     }
@@ -16,6 +16,7 @@
 package io.gravitee.gateway.services.sync.cache.task;
 
 import io.gravitee.repository.management.api.search.ApiKeyCriteria;
+import io.gravitee.repository.management.model.ApiKey;
 import java.util.Collection;
 import java.util.List;
 
@@ -25,114 +26,25 @@ import java.util.List;
  */
 public class IncrementalApiKeyRefresher extends ApiKeyRefresher {
 
-    private static final int TIMEFRAME_BEFORE_DELAY = 10 * 60 * 1000;
-    private static final int TIMEFRAME_AFTER_DELAY = 1 * 60 * 1000;
-
     private final Collection<String> plans;
 
-    private final long lastRefreshAt, nextLastRefreshAt;
-
-    /*
-    private long minTime;
-
-    private long maxTime;
-
-    private long avgTime;
-
-    private long totalTime;
-
-    private long count;
-
-    private long errorsCount;
-
-    private Throwable lastException;
-     */
+    private final RefreshWindow window;
 
-    public IncrementalApiKeyRefresher(final long lastRefreshAt, final long nextLastRefreshAt, final List<String> plans) {
-        this.lastRefreshAt = lastRefreshAt;
-        this.nextLastRefreshAt = nextLastRefreshAt;
+    public IncrementalApiKeyRefresher(final RefreshWindow window, final List<String> plans) {
+        this.window = window;
         this.plans = plans;
     }
 
     @Override
     public Result<Boolean> call() {
-        //long start = System.currentTimeMillis();
-        //long nextLastRefreshAt = System.currentTimeMillis();
-
-        return doRefresh(
-            new ApiKeyCriteria.Builder()
-                .plans(plans)
-                .includeRevoked(true)
-                .from(lastRefreshAt - TIMEFRAME_BEFORE_DELAY)
-                .to(nextLastRefreshAt + TIMEFRAME_AFTER_DELAY)
-                .build()
-        );
-        /*
-            try {
-                apiKeyRepository
-                        .findByCriteria(criteriaBuilder.build())
-                        .forEach(this::saveOrUpdate);
-
-                lastRefreshAt = nextLastRefreshAt;
-            } catch (Exception ex) {
-                errorsCount++;
-                logger.error("Unexpected error while refreshing api-keys", ex);
-                lastException = ex;
-            }
-
-            count++;
-
-            long end = System.currentTimeMillis();
-
-            long diff = end - start;
-            totalTime += diff;
-
-            if (count == 1) {
-                minTime = diff;
-            } else {
-                if (diff > maxTime) {
-                    maxTime = diff;
-                }
-
-                if (diff < minTime) {
-                    minTime = diff;
-                }
-            }
-
-            avgTime = totalTime / count;
-*/
-    }
-    /*
-    public long getLastRefreshAt() {
-        return lastRefreshAt;
-    }
-
-    public long getCount() {
-        return count;
-    }
-
-    public long getMinTime() {
-        return minTime;
-    }
-
-    public long getMaxTime() {
-        return maxTime;
+        return doRefresh(new ApiKeyCriteria.Builder().plans(plans).includeRevoked(true).from(window.from()).to(window.to()).build());
     }
 
-    public long getAvgTime() {
-        return avgTime;
-    }
-
-    public long getTotalTime() {
-        return totalTime;
-    }
-
-    public long getErrorsCount() {
-        return errorsCount;
-    }
-
-    public Throwable getLastException() {
-        return lastException;
+    @Override
+    protected void saveOrUpdate(ApiKey apiKey) {
+        if (window.isNew(apiKey.getId(), apiKey.getUpdatedAt())) {
+            super.saveOrUpdate(apiKey);
+            window.applied(apiKey.getId(), apiKey.getUpdatedAt());
+        }
     }
-     */
 }
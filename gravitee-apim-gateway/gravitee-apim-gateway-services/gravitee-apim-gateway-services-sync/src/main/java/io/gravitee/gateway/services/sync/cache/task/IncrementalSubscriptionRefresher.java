@@ -30,30 +30,29 @@ import java.util.List;
  */
 public class IncrementalSubscriptionRefresher extends SubscriptionRefresher {
 
-    private static final int TIMEFRAME_BEFORE_DELAY = 10 * 60 * 1000;
-    private static final int TIMEFRAME_AFTER_DELAY = 1 * 60 * 1000;
-
     private final Collection<String> plans;
 
-    private final long lastRefreshAt, nextLastRefreshAt;
+    private final RefreshWindow window;
 
     private static final List<Subscription.Status> REFRESH_STATUS = Arrays.asList(Subscription.Status.ACCEPTED, CLOSED, PAUSED);
 
-    public IncrementalSubscriptionRefresher(final long lastRefreshAt, final long nextLastRefreshAt, final List<String> plans) {
-        this.lastRefreshAt = lastRefreshAt;
-        this.nextLastRefreshAt = nextLastRefreshAt;
+    public IncrementalSubscriptionRefresher(final RefreshWindow window, final List<String> plans) {
+        this.window = window;
         this.plans = plans;
     }
 
     @Override
     public Result<Boolean> call() {
         return doRefresh(
-            new SubscriptionCriteria.Builder()
-                .plans(plans)
-                .statuses(REFRESH_STATUS)
-                .from(lastRefreshAt - TIMEFRAME_BEFORE_DELAY)
-                .to(nextLastRefreshAt + TIMEFRAME_AFTER_DELAY)
-                .build()
+            new SubscriptionCriteria.Builder().plans(plans).statuses(REFRESH_STATUS).from(window.from()).to(window.to()).build()
         );
     }
+
+    @Override
+    protected void saveOrUpdate(Subscription subscription) {
+        if (window.isNew(subscription.getId(), subscription.getUpdatedAt())) {
+            super.saveOrUpdate(subscription);
+            window.applied(subscription.getId(), subscription.getUpdatedAt());
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Tracks the window of an incremental refresh from the <code>updatedAt</code> of the items read from the repository,
+ * instead of the gateway clock.
+ *
+ * The next refresh starts from the highest <code>updatedAt</code> seen, minus a clock skew margin covering items
+ * committed late or written by nodes whose clock drifts. Items of that margin are read again at each refresh, so the
+ * versions already applied are remembered to skip them. The window is not bounded by the gateway clock: it is left
+ * open up to {@link #to()}.
+ *
+ * Items without <code>updatedAt</code> cannot be versioned: they are applied once and then skipped, and do not move
+ * the window.
+ *
+ * The number of plans per query is adapted to the number of items read: it grows while queries return only a few items,
+ * to reduce the number of queries, and shrinks back when they return many.
+ *
+ * A window may be shared by refreshers running concurrently.
+ *
+ * @author GraviteeSource Team
+ */
+public class RefreshWindow {
+
+    // Keep IN clauses within the limits of common databases
+    static final int MAX_CHUNK_SIZE = 1000;
+
+    // 9999-12-31T23:59:59Z, the highest date supported by common databases
+    static final long UNBOUNDED = 253402300799000L;
+
+    private final long clockSkew;
+    private final int bulkItems;
+
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final Set<String> unversioned = ConcurrentHashMap.newKeySet();
+    private final LongAccumulator nextHighWaterMark = new LongAccumulator(Long::max, -1);
+    private final AtomicLong items = new AtomicLong();
+
+    private volatile long highWaterMark = -1;
+    private volatile int chunkSize;
+
+    public RefreshWindow(long clockSkew, int bulkItems) {
+        this.clockSkew = clockSkew;
+        this.bulkItems = bulkItems;
+        this.chunkSize = bulkItems;
+    }
+
+    /**
+     * Returns the lower bound of the next refresh, or <code>-1</code> if nothing has been read yet.
+     */
+    public long from() {
+        final long mark = highWaterMark;
+        return mark < 0 ? -1 : Math.max(1, mark - clockSkew);
+    }
+
+    /**
+     * Returns the upper bound of the next refresh. Some repositories only filter on <code>updatedAt</code> when both
+     * bounds are given, so the window is closed far in the future rather than left unset.
+     */
+    public long to() {
+        return UNBOUNDED;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Returns <code>true</code> if this version of the item has not been applied yet.
+     */
+    public boolean isNew(String id, Date updatedAt) {
+        items.incrementAndGet();
+
+        if (updatedAt == null) {
+            return !unversioned.contains(id);
+        }
+
+        final Long version = versions.get(id);
+        return version == null || version < updatedAt.getTime();
+    }
+
+    /**
+     * Records that this version of the item has been applied.
+     */
+    public void applied(String id, Date updatedAt) {
+        if (updatedAt == null) {
+            unversioned.add(id);
+        } else {
+            unversioned.remove(id);
+            versions.merge(id, updatedAt.getTime(), Math::max);
+            nextHighWaterMark.accumulate(updatedAt.getTime());
+        }
+    }
+
+    /**
+     * Completes a refresh made of the given number of queries. The window only moves forward if all of them succeeded,
+     * so that a failed query is replayed from the same point.
+     */
+    public void complete(int queries, boolean succeeded) {
+        final long read = items.getAndSet(0);
+
+        if (succeeded) {
+            highWaterMark = Math.max(highWaterMark, nextHighWaterMark.get());
+
+            final long from = from();
+            versions.values().removeIf(version -> version < from);
+        }
+
+        if (queries > 0) {
+            final long itemsPerQuery = read / queries;
+            final int maxChunkSize = Math.max(bulkItems, MAX_CHUNK_SIZE);
+
+            if (itemsPerQuery < bulkItems / 2) {
+                chunkSize = Math.min(chunkSize * 2, maxChunkSize);
+            } else if (itemsPerQuery > bulkItems * 2L) {
+                chunkSize = Math.max(chunkSize / 2, bulkItems);
+            }
+        }
+    }
+}
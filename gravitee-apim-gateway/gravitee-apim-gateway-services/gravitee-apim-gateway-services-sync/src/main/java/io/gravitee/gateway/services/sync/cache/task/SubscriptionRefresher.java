@@ -17,6 +17,7 @@ package io.gravitee.gateway.services.sync.cache.task;
 
 import static io.gravitee.repository.management.model.Subscription.Status.*;
 
+import io.gravitee.gateway.services.sync.cache.CompositeKey;
 import io.gravitee.node.api.cache.Cache;
 import io.gravitee.repository.management.api.SubscriptionRepository;
 import io.gravitee.repository.management.api.search.SubscriptionCriteria;
@@ -36,7 +37,7 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
 
     private SubscriptionRepository subscriptionRepository;
 
-    private Cache<String, Object> cache;
+    private Cache<Object, Object> cache;
 
     protected Result<Boolean> doRefresh(SubscriptionCriteria criteria) {
         logger.debug("Refresh api-keys");
@@ -50,14 +51,15 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
         }
     }
 
-    private void saveOrUpdate(Subscription subscription) {
-        String key = subscription.getApi() + '-' + subscription.getClientId();
+    protected void saveOrUpdate(Subscription subscription) {
+        CompositeKey key = CompositeKey.of(subscription.getApi(), subscription.getClientId());
 
-        Object element = cache.get(subscription.getId());
+        // Entries cached by a previous version may still reference a string key, ignore them
+        Object cached = cache.get(subscription.getId());
+        CompositeKey oldKey = cached instanceof CompositeKey ? (CompositeKey) cached : null;
 
-        if ((CLOSED.equals(subscription.getStatus()) || PAUSED.equals(subscription.getStatus())) && element != null) {
+        if ((CLOSED.equals(subscription.getStatus()) || PAUSED.equals(subscription.getStatus())) && oldKey != null) {
             cache.evict(subscription.getId());
-            String oldKey = (String) element;
             Subscription eltSubscription = (Subscription) cache.get(oldKey);
             if (eltSubscription != null && eltSubscription.getId().equals(subscription.getId())) {
                 cache.evict(oldKey);
@@ -80,11 +82,8 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
 
             cache.put(key, subscription);
 
-            if (element != null) {
-                final String oldKey = (String) element;
-                if (!oldKey.equals(key)) {
-                    cache.evict(oldKey);
-                }
+            if (oldKey != null && !oldKey.equals(key)) {
+                cache.evict(oldKey);
             }
         }
     }
@@ -93,7 +92,7 @@ public abstract class SubscriptionRefresher implements Callable<Result<Boolean>>
         this.subscriptionRepository = subscriptionRepository;
     }
 
-    public void setCache(Cache<String, Object> cache) {
+    public void setCache(Cache<Object, Object> cache) {
         this.cache = cache;
     }
 }
@@ -18,6 +18,7 @@ package io.gravitee.gateway.services.sync.handler;
 import io.gravitee.common.http.HttpHeaders;
 import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.http.MediaType;
+import io.gravitee.gateway.services.sync.SyncLane;
 import io.gravitee.gateway.services.sync.SyncManager;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpServerResponse;
@@ -45,6 +46,24 @@ public class SyncHandler implements Handler<RoutingContext> {
             .put("totalErrors", syncManager.getTotalErrors())
             .put("lastErrorMessage", syncManager.getLastErrorMessage());
 
+        final JsonObject synchronizers = new JsonObject();
+        for (SyncLane lane : syncManager.getLanes()) {
+            synchronizers.put(
+                lane.getName(),
+                new JsonObject()
+                    .put("running", lane.isRunning())
+                    .put("counter", lane.getCounter())
+                    .put("skipped", lane.getSkipped())
+                    .put("lastRefreshAt", lane.getLastRefreshAt())
+                    .put("lag", lane.getLag())
+                    .put("lastDuration", lane.getLastDuration())
+                    .put("errors", lane.getErrors())
+                    .put("totalErrors", lane.getTotalErrors())
+                    .put("lastErrorMessage", lane.getLastErrorMessage())
+            );
+        }
+        object.put("synchronizers", synchronizers);
+
         response.setStatusCode(syncManager.isSynced() ? HttpStatusCode.OK_200 : HttpStatusCode.SERVICE_UNAVAILABLE_503);
         response.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
         response.setChunked(true);
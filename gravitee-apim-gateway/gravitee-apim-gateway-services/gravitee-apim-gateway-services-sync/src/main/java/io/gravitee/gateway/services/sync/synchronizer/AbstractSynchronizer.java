@@ -26,6 +26,7 @@ import io.gravitee.repository.management.model.Event;
 import io.gravitee.repository.management.model.EventType;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,12 +79,51 @@ public abstract class AbstractSynchronizer extends AbstractService<AbstractSynch
         Event.EventProperties group,
         List<String> environments,
         EventType... eventTypes
+    ) {
+        return searchLatestEvents(from, to, group, environments, 0, 1, eventTypes);
+    }
+
+    /**
+     * Same as {@link #searchLatestEvents(Long, Long, Event.EventProperties, List, EventType...)} but the pages are
+     * fetched concurrently by the given number of partitions. Partition <code>i</code> reads the pages <code>i</code>,
+     * <code>i + partitions</code>, <code>i + 2 * partitions</code>... until it gets an incomplete page.
+     * Events are emitted as soon as their page is read, in no particular order.
+     */
+    protected Flowable<Event> searchLatestEventsInParallel(
+        Long from,
+        Long to,
+        Event.EventProperties group,
+        List<String> environments,
+        int partitions,
+        EventType... eventTypes
+    ) {
+        if (partitions <= 1) {
+            return searchLatestEvents(from, to, group, environments, eventTypes);
+        }
+
+        return Flowable
+            .range(0, partitions)
+            .flatMap(
+                partition ->
+                    searchLatestEvents(from, to, group, environments, partition, partitions, eventTypes).subscribeOn(Schedulers.io()),
+                partitions
+            );
+    }
+
+    private Flowable<Event> searchLatestEvents(
+        Long from,
+        Long to,
+        Event.EventProperties group,
+        List<String> environments,
+        long firstPage,
+        int pageStep,
+        EventType... eventTypes
     ) {
         return Flowable.create(
             emitter -> {
                 try {
                     int size = getBulkSize();
-                    long page = 0;
+                    long page = firstPage;
                     EventCriteria.Builder criteriaBuilder = new EventCriteria.Builder()
                         .types(eventTypes)
                         .from(from == null ? 0 : from - TIMEFRAME_BEFORE_DELAY)
@@ -95,7 +135,7 @@ public abstract class AbstractSynchronizer extends AbstractService<AbstractSynch
                     do {
                         events = eventRepository.searchLatest(criteriaBuilder.build(), group, page, (long) size);
                         events.forEach(emitter::onNext);
-                        page++;
+                        page += pageStep;
                     } while (!events.isEmpty() && events.size() == size);
 
                     emitter.onComplete();
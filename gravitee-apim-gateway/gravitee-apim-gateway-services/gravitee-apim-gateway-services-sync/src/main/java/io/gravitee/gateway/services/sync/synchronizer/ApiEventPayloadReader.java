@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.synchronizer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.gateway.handlers.api.definition.Api;
+import io.gravitee.repository.management.model.LifecycleState;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Read the API definition embedded in the payload of an API event.
+ *
+ * <p>
+ * The payload is streamed once: only the fields required to deploy the API are deserialized, the other ones (picture,
+ * background, description, ...) are skipped without being materialized, and the definition is parsed straight from the
+ * characters of the payload instead of being extracted as a string first.
+ * </p>
+ *
+ * @author GraviteeSource Team
+ */
+public class ApiEventPayloadReader {
+
+    private static final String FIELD_DEFINITION = "definition";
+    private static final String FIELD_LIFECYCLE_STATE = "lifecycleState";
+    private static final String FIELD_DEPLOYED_AT = "deployedAt";
+    private static final String FIELD_ENVIRONMENT_ID = "environmentId";
+
+    private final ObjectMapper objectMapper;
+
+    public ApiEventPayloadReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the API definition from the given event payload.
+     *
+     * @param payload the event payload, a serialized management {@link io.gravitee.repository.management.model.Api}.
+     * @return the API to deploy with the environment it belongs to.
+     * @throws IOException if the payload or the definition it contains can not be read.
+     */
+    public ApiEventPayload read(String payload) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw JsonMappingException.from(parser, "API event payload must be an object");
+            }
+
+            io.gravitee.definition.model.Api definition = null;
+            LifecycleState lifecycleState = LifecycleState.STOPPED;
+            Date deployedAt = null;
+            String environmentId = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+
+                if (FIELD_DEFINITION.equals(field)) {
+                    definition = readDefinition(parser, token);
+                } else if (FIELD_LIFECYCLE_STATE.equals(field)) {
+                    lifecycleState = objectMapper.readValue(parser, LifecycleState.class);
+                } else if (FIELD_DEPLOYED_AT.equals(field)) {
+                    deployedAt = objectMapper.readValue(parser, Date.class);
+                } else if (FIELD_ENVIRONMENT_ID.equals(field)) {
+                    environmentId = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                } else if (token == JsonToken.VALUE_STRING) {
+                    // Let the parser decode the ignored strings in its buffer (much faster than skipping them) without
+                    // materializing them, they can be large (pictures, descriptions, ...).
+                    parser.getTextCharacters();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (definition == null) {
+                throw JsonMappingException.from(parser, "API event payload does not contain any definition");
+            }
+
+            final Api api = new Api(definition);
+            api.setEnabled(lifecycleState == LifecycleState.STARTED);
+            api.setDeployedAt(deployedAt);
+
+            return new ApiEventPayload(api, environmentId);
+        }
+    }
+
+    private io.gravitee.definition.model.Api readDefinition(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (token != JsonToken.VALUE_STRING) {
+            throw JsonMappingException.from(parser, "API definition must be a string");
+        }
+
+        // Parse the definition directly from the parser buffer, it is only valid until the next token is read.
+        try (
+            JsonParser definitionParser = objectMapper
+                .getFactory()
+                .createParser(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+        ) {
+            return objectMapper.readValue(definitionParser, io.gravitee.definition.model.Api.class);
+        }
+    }
+
+    public static class ApiEventPayload {
+
+        private final Api api;
+        private final String environmentId;
+
+        ApiEventPayload(Api api, String environmentId) {
+            this.api = api;
+            this.environmentId = environmentId;
+        }
+
+        public Api getApi() {
+            return api;
+        }
+
+        public String getEnvironmentId() {
+            return environmentId;
+        }
+    }
+}
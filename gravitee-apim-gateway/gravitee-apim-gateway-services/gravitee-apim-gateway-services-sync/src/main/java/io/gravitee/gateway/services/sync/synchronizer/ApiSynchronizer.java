@@ -70,6 +70,11 @@ public class ApiSynchronizer extends AbstractSynchronizer {
     @Autowired
     private OrganizationRepository organizationRepository;
 
+    @Value("${services.sync.initial_partitions:4}")
+    private int initialPartitions;
+
+    private ApiEventPayloadReader payloadReader;
+
     private final Map<String, Environment> environmentMap = new ConcurrentHashMap<>();
     private final Map<String, io.gravitee.repository.management.model.Organization> organizationMap = new ConcurrentHashMap<>();
 
@@ -105,10 +110,19 @@ public class ApiSynchronizer extends AbstractSynchronizer {
 
     /**
      * Run the initial synchronization which focus on api PUBLISH and START events only.
+     * Events are read by several partitions in parallel and each api is deployed as soon as its event has been read.
      */
     private long initialSynchronizeApis(long nextLastRefreshAt, List<String> environments) {
         final Long count =
-            this.searchLatestEvents(null, nextLastRefreshAt, API_ID, environments, EventType.PUBLISH_API, EventType.START_API)
+            this.searchLatestEventsInParallel(
+                    null,
+                    nextLastRefreshAt,
+                    API_ID,
+                    environments,
+                    initialPartitions,
+                    EventType.PUBLISH_API,
+                    EventType.START_API
+                )
                 .compose(this::processApiRegisterEvents)
                 .count()
                 .blockingGet();
@@ -203,23 +217,9 @@ public class ApiSynchronizer extends AbstractSynchronizer {
 
     private Maybe<io.gravitee.gateway.handlers.api.definition.Api> toApiDefinition(Event apiEvent) {
         try {
-            // Read API definition from event
-            io.gravitee.repository.management.model.Api eventPayload = objectMapper.readValue(
-                apiEvent.getPayload(),
-                io.gravitee.repository.management.model.Api.class
-            );
-
-            io.gravitee.definition.model.Api eventApiDefinition = objectMapper.readValue(
-                eventPayload.getDefinition(),
-                io.gravitee.definition.model.Api.class
-            );
-
-            // Update definition with required information for deployment phase
-            final io.gravitee.gateway.handlers.api.definition.Api apiDefinition = new io.gravitee.gateway.handlers.api.definition.Api(
-                eventApiDefinition
-            );
-            apiDefinition.setEnabled(eventPayload.getLifecycleState() == LifecycleState.STARTED);
-            apiDefinition.setDeployedAt(eventPayload.getDeployedAt());
+            // Read API definition from event, the definition is updated with required information for deployment phase
+            final ApiEventPayloadReader.ApiEventPayload eventPayload = getPayloadReader().read(apiEvent.getPayload());
+            final io.gravitee.gateway.handlers.api.definition.Api apiDefinition = eventPayload.getApi();
 
             enhanceWithOrgAndEnv(eventPayload.getEnvironmentId(), apiDefinition);
 
@@ -231,6 +231,14 @@ public class ApiSynchronizer extends AbstractSynchronizer {
         }
     }
 
+    private ApiEventPayloadReader getPayloadReader() {
+        if (payloadReader == null) {
+            payloadReader = new ApiEventPayloadReader(objectMapper);
+        }
+
+        return payloadReader;
+    }
+
     private void enhanceWithOrgAndEnv(String environmentId, io.gravitee.gateway.handlers.api.definition.Api definition) {
         Environment apiEnv = null;
 
@@ -414,4 +422,8 @@ public class ApiSynchronizer extends AbstractSynchronizer {
 
         return plan;
     }
+
+    public void setInitialPartitions(int initialPartitions) {
+        this.initialPartitions = initialPartitions;
+    }
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.Pageable;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ChangeFeedTest {
+
+    private static final List<String> ENVIRONMENTS = Collections.singletonList("DEFAULT");
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private ChangeFeed changeFeed;
+
+    private long now;
+
+    @Before
+    public void setUp() {
+        changeFeed = new ChangeFeed(eventRepository);
+        now = System.currentTimeMillis();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotPoll_whenNotOpened() {
+        changeFeed.poll(ENVIRONMENTS);
+    }
+
+    @Test
+    public void shouldSkipEvents_synchronizedWhenOpened() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page(event("evt-1", now - 1000)));
+
+        changeFeed.open(now, ENVIRONMENTS);
+
+        assertTrue(changeFeed.poll(ENVIRONMENTS).isEmpty());
+    }
+
+    @Test
+    public void shouldDeliverEvents_inOrder() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        changeFeed.open(now, ENVIRONMENTS);
+
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class)))
+            .thenReturn(page(event("evt-3", now + 200), event("evt-2", now + 100), event("evt-1", now + 100)));
+
+        assertEquals(Arrays.asList("evt-1", "evt-2", "evt-3"), ids(changeFeed.poll(ENVIRONMENTS)));
+    }
+
+    @Test
+    public void shouldReadFromCursor() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        changeFeed.open(now, ENVIRONMENTS);
+
+        changeFeed.acknowledge(Collections.singletonList(event("evt-1", now + 5000)));
+        changeFeed.poll(ENVIRONMENTS);
+
+        final ArgumentCaptor<EventCriteria> criteria = ArgumentCaptor.forClass(EventCriteria.class);
+        verify(eventRepository, times(2)).search(criteria.capture(), any(Pageable.class));
+        assertEquals(now + 5000 - SyncManager.TIMEFRAME_BEFORE_DELAY, criteria.getValue().getFrom());
+        assertTrue(criteria.getValue().getTo() > now);
+    }
+
+    @Test
+    public void shouldDeliverEventsOnce_onceAcknowledged() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        changeFeed.open(now, ENVIRONMENTS);
+
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page(event("evt-1", now + 100)));
+        assertEquals(Collections.singletonList("evt-1"), ids(changeFeed.poll(ENVIRONMENTS)));
+        // Not acknowledged, delivered again
+        final List<Event> events = changeFeed.poll(ENVIRONMENTS);
+        assertEquals(Collections.singletonList("evt-1"), ids(events));
+
+        changeFeed.acknowledge(events);
+
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class)))
+            .thenReturn(page(event("evt-2", now + 50), event("evt-1", now + 100)));
+        assertEquals(Collections.singletonList("evt-2"), ids(changeFeed.poll(ENVIRONMENTS)));
+    }
+
+    @Test
+    public void shouldReadAllPages() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        changeFeed.open(now, ENVIRONMENTS);
+
+        final List<Event> firstPage = new ArrayList<>();
+        for (int i = 0; i < ChangeFeed.PAGE_SIZE; i++) {
+            firstPage.add(event("evt-" + i, now + 1000 + i));
+        }
+        when(eventRepository.search(any(EventCriteria.class), argThat(pageable -> pageable != null && pageable.pageNumber() == 0)))
+            .thenReturn(page(firstPage.toArray(new Event[0])));
+        when(eventRepository.search(any(EventCriteria.class), argThat(pageable -> pageable != null && pageable.pageNumber() == 1)))
+            .thenReturn(page(event("evt-last", now + 500)));
+
+        final List<Event> events = changeFeed.poll(ENVIRONMENTS);
+
+        assertEquals(ChangeFeed.PAGE_SIZE + 1, events.size());
+        assertEquals("evt-last", events.get(0).getId());
+    }
+
+    private static List<String> ids(List<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
+    private static Page<Event> page(Event... events) {
+        return new Page<>(new ArrayList<>(Arrays.asList(events)), 0, events.length, events.length);
+    }
+
+    private static Event event(String id, long updatedAt) {
+        final Event event = new Event();
+        event.setId(id);
+        event.setType(EventType.PUBLISH_API);
+        event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.services.sync.synchronizer.ApiSynchronizer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SyncLaneTest {
+
+    private static final List<String> ENVIRONMENTS = Collections.singletonList("DEFAULT");
+
+    @Mock
+    private ApiSynchronizer synchronizer;
+
+    private SyncLane lane;
+
+    @Before
+    public void setUp() {
+        lane = new SyncLane("APIs", synchronizer);
+    }
+
+    @Test
+    public void shouldMoveWindowForward() {
+        assertEquals(SyncLane.Result.DONE, lane.synchronize(true, ENVIRONMENTS));
+        verify(synchronizer).synchronize(eq(-1L), anyLong(), eq(ENVIRONMENTS));
+
+        final long lastRefreshAt = lane.getLastRefreshAt();
+        assertTrue(lane.isSynced());
+        assertTrue(lane.getLag() >= 0);
+        assertTrue(lane.getLastDuration() >= 0);
+
+        assertEquals(SyncLane.Result.DONE, lane.synchronize(true, ENVIRONMENTS));
+        verify(synchronizer).synchronize(eq(lastRefreshAt), anyLong(), eq(ENVIRONMENTS));
+        assertEquals(2, lane.getCounter());
+    }
+
+    @Test
+    public void shouldKeepWindow_onError() {
+        doThrow(new IllegalStateException("error")).when(synchronizer).synchronize(anyLong(), anyLong(), anyList());
+
+        assertEquals(SyncLane.Result.FAILED, lane.synchronize(true, ENVIRONMENTS));
+        assertEquals(SyncLane.Result.FAILED, lane.synchronize(true, ENVIRONMENTS));
+
+        verify(synchronizer, times(2)).synchronize(eq(-1L), anyLong(), eq(ENVIRONMENTS));
+        assertFalse(lane.isSynced());
+        assertEquals(-1, lane.getLag());
+        assertEquals(2, lane.getErrors());
+        assertEquals(2, lane.getTotalErrors());
+        assertEquals("error", lane.getLastErrorMessage());
+        assertFalse(lane.isRunning());
+    }
+
+    @Test
+    public void shouldResetErrors_afterSuccess() {
+        doThrow(new IllegalStateException("error")).doNothing().when(synchronizer).synchronize(anyLong(), anyLong(), anyList());
+
+        lane.synchronize(true, ENVIRONMENTS);
+        lane.synchronize(true, ENVIRONMENTS);
+
+        assertEquals(0, lane.getErrors());
+        assertEquals(1, lane.getTotalErrors());
+        assertTrue(lane.isSynced());
+    }
+
+    @Test
+    public void shouldSkip_whenAlreadyRunning() {
+        final AtomicReference<SyncLane.Result> nested = new AtomicReference<>();
+        doAnswer(
+                invocation -> {
+                    nested.set(lane.synchronize(true, ENVIRONMENTS));
+                    return null;
+                }
+            )
+            .when(synchronizer)
+            .synchronize(anyLong(), anyLong(), anyList());
+
+        assertEquals(SyncLane.Result.DONE, lane.synchronize(true, ENVIRONMENTS));
+
+        assertEquals(SyncLane.Result.SKIPPED, nested.get());
+        assertEquals(1, lane.getSkipped());
+        verify(synchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+    }
+
+    @Test
+    public void shouldOnlyMoveWindowForward_whenInactive() {
+        assertEquals(SyncLane.Result.DONE, lane.synchronize(false, ENVIRONMENTS));
+
+        verifyNoInteractions(synchronizer);
+        assertTrue(lane.isSynced());
+        assertEquals(0, lane.getCounter());
+    }
+}
@@ -15,17 +15,24 @@
  */
 package io.gravitee.gateway.services.sync;
 
-import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import io.gravitee.common.data.domain.Page;
 import io.gravitee.gateway.services.sync.synchronizer.ApiSynchronizer;
+import io.gravitee.gateway.services.sync.synchronizer.DebugApiSynchronizer;
 import io.gravitee.gateway.services.sync.synchronizer.DictionarySynchronizer;
 import io.gravitee.gateway.services.sync.synchronizer.OrganizationSynchronizer;
 import io.gravitee.node.api.cluster.ClusterManager;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.EventRepository;
 import io.gravitee.repository.management.api.OrganizationRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.Pageable;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 import org.junit.Before;
@@ -58,6 +65,12 @@ public class SyncManagerTest {
     @Mock
     private OrganizationSynchronizer organizationSynchronizer;
 
+    @Mock
+    private DebugApiSynchronizer debugApiSynchronizer;
+
+    @Mock
+    private EventRepository eventRepository;
+
     private List<String> environments;
 
     @Mock
@@ -93,4 +106,123 @@ public class SyncManagerTest {
         verify(dictionarySynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
         verify(organizationSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
     }
+
+    @Test
+    public void shouldOpenChangeFeed_afterFullSync() throws TechnicalException {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        syncManager.setEnvironments(this.environments);
+
+        syncManager.pollChangeFeed();
+        syncManager.pollChangeFeed();
+
+        verify(organizationSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+        verify(apiSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+        verify(dictionarySynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+        verify(debugApiSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+    }
+
+    @Test
+    public void shouldSyncOnlyAffectedSynchronizers_whenChangeFeedMoves() throws TechnicalException {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        syncManager.setEnvironments(this.environments);
+        syncManager.pollChangeFeed();
+
+        final long now = System.currentTimeMillis();
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class)))
+            .thenReturn(page(event("evt-1", EventType.PUBLISH_API, now), event("evt-2", EventType.START_DICTIONARY, now)));
+        syncManager.pollChangeFeed();
+        syncManager.pollChangeFeed();
+
+        verify(organizationSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+        verify(apiSynchronizer, times(2)).synchronize(anyLong(), anyLong(), anyList());
+        verify(dictionarySynchronizer, times(2)).synchronize(anyLong(), anyLong(), anyList());
+        verify(debugApiSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+    }
+
+    @Test
+    public void shouldRetrySyncFromChangeFeed_afterError() throws TechnicalException {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenReturn(page());
+        syncManager.setEnvironments(this.environments);
+        syncManager.pollChangeFeed();
+
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class)))
+            .thenReturn(page(event("evt-1", EventType.PUBLISH_API, System.currentTimeMillis())));
+        doThrow(new RuntimeException("error")).doNothing().when(apiSynchronizer).synchronize(anyLong(), anyLong(), anyList());
+
+        syncManager.pollChangeFeed();
+        syncManager.pollChangeFeed();
+        syncManager.pollChangeFeed();
+
+        // Once to open the feed, then the failing synchronization and its retry
+        verify(apiSynchronizer, times(3)).synchronize(anyLong(), anyLong(), anyList());
+    }
+
+    @Test
+    public void shouldNotPollChangeFeed_notMasterNode() throws TechnicalException {
+        when(clusterManager.isMasterNode()).thenReturn(false);
+        syncManager.setDistributed(true);
+
+        syncManager.pollChangeFeed();
+
+        verify(eventRepository, never()).search(any(EventCriteria.class), any(Pageable.class));
+        verify(apiSynchronizer, never()).synchronize(anyLong(), anyLong(), anyList());
+    }
+
+    @Test
+    public void shouldSyncOtherSynchronizers_whenOneFails() throws TechnicalException {
+        doThrow(new RuntimeException("dictionaries")).when(dictionarySynchronizer).synchronize(anyLong(), anyLong(), anyList());
+        syncManager.setEnvironments(this.environments);
+
+        syncManager.refresh();
+        syncManager.refresh();
+
+        // APIs are synchronized incrementally while dictionaries are retried from the beginning
+        verify(apiSynchronizer, times(1)).synchronize(eq(-1L), anyLong(), anyList());
+        verify(apiSynchronizer, times(1)).synchronize(longThat(lastRefreshAt -> lastRefreshAt > 0), anyLong(), anyList());
+        verify(dictionarySynchronizer, times(2)).synchronize(eq(-1L), anyLong(), anyList());
+
+        assertTrue(syncManager.isAllApisSync());
+        assertFalse(syncManager.isSynced());
+        assertEquals(-1, syncManager.getLastRefreshAt());
+        assertEquals(2, syncManager.getErrors());
+        assertEquals("dictionaries", syncManager.getLastErrorMessage());
+    }
+
+    @Test
+    public void shouldBeSynced_whenAllSynchronizersAreSynced() {
+        syncManager.setEnvironments(this.environments);
+
+        syncManager.refresh();
+
+        assertTrue(syncManager.isSynced());
+        assertTrue(syncManager.getLastRefreshAt() > 0);
+        assertEquals(0, syncManager.getErrors());
+        verify(executor).setCorePoolSize(1);
+    }
+
+    @Test
+    public void shouldRefreshSingleSynchronizer() {
+        syncManager.setEnvironments(this.environments);
+
+        final SyncLane apiLane = syncManager.getLanes().get(1);
+        syncManager.refresh(apiLane);
+
+        verify(apiSynchronizer, times(1)).synchronize(anyLong(), anyLong(), anyList());
+        verify(dictionarySynchronizer, never()).synchronize(anyLong(), anyLong(), anyList());
+        verify(organizationSynchronizer, never()).synchronize(anyLong(), anyLong(), anyList());
+        assertTrue(syncManager.isAllApisSync());
+        assertFalse(syncManager.isSynced());
+    }
+
+    private static Page<Event> page(Event... events) {
+        return new Page<>(Arrays.asList(events), 0, events.length, events.length);
+    }
+
+    private static Event event(String id, EventType type, long updatedAt) {
+        final Event event = new Event();
+        event.setId(id);
+        event.setType(type);
+        event.setUpdatedAt(new Date(updatedAt));
+        return event;
+    }
 }
@@ -43,9 +43,9 @@ public class ApiKeysCacheTest {
 
     @Before
     public void initInternalCache() {
-        apiKeysCache.cache.put("another-apiId.another-key", cachedApiKey1);
-        apiKeysCache.cache.put("api-id.key-id", cachedApiKey2);
-        apiKeysCache.cache.put("another-apiId2.another-key", cachedApiKey3);
+        apiKeysCache.cache.put(CompositeKey.of("another-apiId", "another-key"), cachedApiKey1);
+        apiKeysCache.cache.put(CompositeKey.of("api-id", "key-id"), cachedApiKey2);
+        apiKeysCache.cache.put(CompositeKey.of("another-apiId2", "another-key"), cachedApiKey3);
     }
 
     @Test
@@ -70,7 +70,7 @@ public class ApiKeysCacheTest {
 
         apiKeysCache.put(apiKey);
 
-        assertSame(apiKey, apiKeysCache.cache.get("api-id6.key-id"));
+        assertSame(apiKey, apiKeysCache.cache.get(CompositeKey.of("api-id6", "key-id")));
     }
 
     @Test
@@ -82,6 +82,6 @@ public class ApiKeysCacheTest {
         apiKeysCache.remove(apiKey);
 
         assertEquals(2, apiKeysCache.cache.size());
-        assertNull(apiKeysCache.cache.get("api-id.key-id"));
+        assertNull(apiKeysCache.cache.get(CompositeKey.of("api-id", "key-id")));
     }
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CompositeKeyTest {
+
+    @Test
+    public void shouldBeEqual_sameParts() {
+        final CompositeKey key = CompositeKey.of("api-id", new String("key-id"));
+        final CompositeKey other = CompositeKey.of(new String("api-id"), "key-id");
+
+        assertEquals(key, other);
+        assertEquals(key.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void shouldNotBeEqual_differentParts() {
+        assertNotEquals(CompositeKey.of("api-id", "key-id"), CompositeKey.of("key-id", "api-id"));
+        assertNotEquals(CompositeKey.of("api.id", "key"), CompositeKey.of("api", "id.key"));
+        assertNotEquals(CompositeKey.of("api-id", null), CompositeKey.of("api-id", "null"));
+    }
+
+    @Test
+    public void shouldSerialize() throws Exception {
+        final CompositeKey key = CompositeKey.of("api-id", "key-id");
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(key);
+        }
+
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            final CompositeKey read = (CompositeKey) ois.readObject();
+            assertEquals(key, read);
+            assertEquals(key.hashCode(), read.hashCode());
+        }
+    }
+}
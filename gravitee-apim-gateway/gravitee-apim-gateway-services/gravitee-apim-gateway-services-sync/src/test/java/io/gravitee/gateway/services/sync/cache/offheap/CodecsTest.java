@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.services.sync.cache.CompositeKey;
+import io.gravitee.repository.management.model.ApiKey;
+import io.gravitee.repository.management.model.Subscription;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CodecsTest {
+
+    @Test
+    public void shouldEncodeApiKey() throws Exception {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setId("7b7a0ba4-2d0d-4cbb-ba0b-a42d0d9cbb5a");
+        apiKey.setKey("c3a4e6a8-33c1-4c9c-a4e6-a833c1fc9c11");
+        apiKey.setApi("d1b9ff5b-4a2c-4ab5-b9ff-5b4a2c2ab5e4");
+        apiKey.setPlan("0e9b5b83-b4fa-45ba-9b5b-83b4fa75ba3a");
+        apiKey.setApplication("2fa1c0a0-3b6d-4cbb-a1c0-a03b6d6cbb9a");
+        apiKey.setSubscription("5d4e5a7b-9c7c-4f0b-8e5a-7b9c7c1f0b52");
+        apiKey.setExpireAt(new Date(1_700_000_000_000L));
+        apiKey.setUpdatedAt(new Date(1_600_000_000_000L));
+        apiKey.setRevoked(true);
+        apiKey.setDaysToExpirationOnLastNotification(-3);
+
+        final ApiKey decoded = roundTrip(Codecs.API_KEY, apiKey);
+
+        assertEquals(apiKey.getId(), decoded.getId());
+        assertEquals(apiKey.getKey(), decoded.getKey());
+        assertEquals(apiKey.getApi(), decoded.getApi());
+        assertEquals(apiKey.getPlan(), decoded.getPlan());
+        assertEquals(apiKey.getApplication(), decoded.getApplication());
+        assertEquals(apiKey.getSubscription(), decoded.getSubscription());
+        assertEquals(apiKey.getExpireAt(), decoded.getExpireAt());
+        assertEquals(apiKey.getUpdatedAt(), decoded.getUpdatedAt());
+        assertNull(decoded.getCreatedAt());
+        assertNull(decoded.getRevokedAt());
+        assertTrue(decoded.isRevoked());
+        assertFalse(decoded.isPaused());
+        assertEquals(Integer.valueOf(-3), decoded.getDaysToExpirationOnLastNotification());
+
+        // No class descriptor: the entry is mostly made of the UUIDs
+        assertTrue(encode(Codecs.API_KEY, apiKey).size() < 6 * 37 + 30);
+        assertTrue(encode(Codecs.API_KEY, apiKey).size() * 2 < javaSerializedSize(apiKey));
+    }
+
+    @Test
+    public void shouldEncodeSubscription() {
+        final Subscription subscription = new Subscription();
+        subscription.setId("subscription");
+        subscription.setApi("api");
+        subscription.setPlan("plan");
+        subscription.setApplication("application");
+        subscription.setClientId("client-id");
+        subscription.setStatus(Subscription.Status.ACCEPTED);
+        subscription.setStartingAt(new Date(1_600_000_000_000L));
+        subscription.setGeneralConditionsAccepted(false);
+
+        final Subscription decoded = roundTrip(Codecs.SUBSCRIPTION, subscription);
+
+        assertEquals("subscription", decoded.getId());
+        assertEquals("api", decoded.getApi());
+        assertEquals("plan", decoded.getPlan());
+        assertEquals("application", decoded.getApplication());
+        assertEquals("client-id", decoded.getClientId());
+        assertEquals(Subscription.Status.ACCEPTED, decoded.getStatus());
+        assertEquals(subscription.getStartingAt(), decoded.getStartingAt());
+        assertEquals(Boolean.FALSE, decoded.getGeneralConditionsAccepted());
+        assertNull(decoded.getEndingAt());
+        assertNull(decoded.getGeneralConditionsContentRevision());
+    }
+
+    @Test
+    public void shouldEncodeTaggedValues() {
+        assertEquals(CompositeKey.of("api", null), roundTrip(Codecs.ANY, CompositeKey.of("api", null)));
+        assertEquals("été", roundTrip(Codecs.ANY, "été"));
+        assertEquals("", roundTrip(Codecs.ANY, ""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnsupportedType() {
+        encode(Codecs.ANY, 42);
+    }
+
+    private static <T> CodecOutput encode(Codec<T> codec, T value) {
+        final CodecOutput out = new CodecOutput(1);
+        codec.encode(value, out);
+        return out;
+    }
+
+    private static <T> T roundTrip(Codec<T> codec, T value) {
+        final CodecOutput out = encode(codec, value);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(out.size());
+        out.writeTo(buffer);
+        buffer.flip();
+
+        final T decoded = codec.decode(new CodecInput(buffer));
+        assertFalse(buffer.hasRemaining());
+        return decoded;
+    }
+
+    private static int javaSerializedSize(Object value) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(value);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import static org.junit.Assert.*;
+
+import io.gravitee.gateway.services.sync.cache.CompositeKey;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.EntryEvent;
+import io.gravitee.node.api.cache.EntryEventType;
+import io.gravitee.repository.management.model.ApiKey;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class OffHeapCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final OffHeapCache<CompositeKey, ApiKey> cache = new OffHeapCache<>("apikeys", SegmentAllocator.direct(), 1024, 0);
+
+    @Test
+    public void shouldPutAndGet() {
+        final ApiKey apiKey = apiKey("key-1", "api-1");
+
+        assertNull(cache.put(CompositeKey.of("api-1", "key-1"), apiKey));
+
+        final ApiKey cached = cache.get(CompositeKey.of("api-1", "key-1"));
+        assertNotSame(apiKey, cached);
+        assertEquals("key-1", cached.getKey());
+        assertEquals("api-1", cached.getApi());
+        assertEquals(apiKey.getExpireAt(), cached.getExpireAt());
+        assertNull(cache.get(CompositeKey.of("api-2", "key-1")));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldReturnPreviousValue_onPutAndEvict() {
+        final CompositeKey key = CompositeKey.of("api-1", "key-1");
+        cache.put(key, apiKey("key-1", "api-1"));
+
+        final ApiKey updated = apiKey("key-1", "api-1");
+        updated.setRevoked(true);
+
+        assertFalse(cache.put(key, updated).isRevoked());
+        assertTrue(cache.evict(key).isRevoked());
+        assertNull(cache.evict(key));
+        assertNull(cache.get(key));
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.getLiveBytes());
+    }
+
+    @Test
+    public void shouldCompactStaleEntries() {
+        for (int i = 0; i < 1000; i++) {
+            cache.put(CompositeKey.of("api-" + (i % 5), "key"), apiKey("key-" + i, "api-" + (i % 5)));
+        }
+
+        assertEquals(5, cache.size());
+        assertTrue(cache.getWrittenBytes() <= 2 * Math.max(1024, cache.getLiveBytes()));
+        for (int i = 995; i < 1000; i++) {
+            assertEquals("key-" + i, cache.get(CompositeKey.of("api-" + (i % 5), "key")).getKey());
+        }
+        assertEquals(5, cache.values().size());
+    }
+
+    @Test
+    public void shouldServeHotValues_untilUpdated() {
+        final CompositeKey key = CompositeKey.of("api-1", "key-1");
+        cache.put(key, apiKey("key-1", "api-1"));
+
+        final ApiKey cached = cache.get(key);
+        assertSame(cached, cache.get(key));
+
+        cache.put(key, apiKey("key-2", "api-1"));
+        assertEquals("key-2", cache.get(key).getKey());
+    }
+
+    @Test
+    public void shouldReleaseSegments_onCompactionAndClear() {
+        final List<ByteBuffer> allocated = new ArrayList<>();
+        final List<ByteBuffer> released = new ArrayList<>();
+        final OffHeapCache<CompositeKey, ApiKey> tracked = new OffHeapCache<>(
+            "apikeys",
+            new SegmentAllocator() {
+                @Override
+                public ByteBuffer allocate(int capacity) {
+                    final ByteBuffer segment = ByteBuffer.allocate(capacity);
+                    allocated.add(segment);
+                    return segment;
+                }
+
+                @Override
+                public void release(ByteBuffer segment) {
+                    released.add(segment);
+                }
+            },
+            1024,
+            0
+        );
+
+        for (int i = 0; i < 1000; i++) {
+            tracked.put(CompositeKey.of("api-" + (i % 5), "key"), apiKey("key-" + i, "api-" + (i % 5)));
+        }
+
+        assertFalse(released.isEmpty());
+        assertEquals(allocated.size() - released.size(), tracked.getSegmentCount());
+
+        tracked.clear();
+
+        assertEquals(allocated.size(), released.size());
+        assertEquals(0, tracked.getSegmentCount());
+        assertEquals(0, tracked.getWrittenBytes());
+        assertNull(tracked.get(CompositeKey.of("api-1", "key")));
+    }
+
+    @Test
+    public void shouldTellApartKeys_withSameHash() {
+        final OffHeapCache<CompositeKey, ApiKey> colliding = new OffHeapCache<>("apikeys", SegmentAllocator.direct(), 1024, 0) {
+            @Override
+            long hash(CodecOutput encodedKey) {
+                return 42;
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            colliding.put(CompositeKey.of("api-1", "key-" + i), apiKey("key-" + i, "api-1"));
+        }
+        colliding.put(CompositeKey.of("api-1", "key-1"), apiKey("key-1", "api-2"));
+
+        assertEquals(3, colliding.size());
+        assertEquals("api-1", colliding.get(CompositeKey.of("api-1", "key-0")).getApi());
+        assertEquals("api-2", colliding.get(CompositeKey.of("api-1", "key-1")).getApi());
+        assertEquals("key-2", colliding.evict(CompositeKey.of("api-1", "key-2")).getKey());
+        assertNull(colliding.get(CompositeKey.of("api-1", "key-2")));
+        assertEquals(2, colliding.values().size());
+    }
+
+    @Test
+    public void shouldStoreStringKeys_andCompositeKeyValues() {
+        final OffHeapCache<Object, Object> subscriptions = new OffHeapCache<>("subscriptions", SegmentAllocator.direct(), 1024, 0);
+
+        subscriptions.put("subscription-1", CompositeKey.of("api-1", "client-1"));
+
+        assertEquals(CompositeKey.of("api-1", "client-1"), subscriptions.get("subscription-1"));
+        assertNull(subscriptions.get(CompositeKey.of("api-1", "client-1")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnsupportedValues() {
+        final OffHeapCache<Object, Object> subscriptions = new OffHeapCache<>("subscriptions", SegmentAllocator.direct(), 1024, 0);
+
+        subscriptions.put("key", new Date());
+    }
+
+    @Test
+    public void shouldExpireEntries() throws InterruptedException {
+        cache.put(CompositeKey.of("api-1", "key-1"), apiKey("key-1", "api-1"), 10, TimeUnit.MILLISECONDS);
+        cache.put(CompositeKey.of("api-1", "key-2"), apiKey("key-2", "api-1"));
+
+        Thread.sleep(20);
+
+        assertNull(cache.get(CompositeKey.of("api-1", "key-1")));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.values().size());
+    }
+
+    @Test
+    public void shouldNotifyListeners() {
+        final List<EntryEvent<CompositeKey, ApiKey>> events = new ArrayList<>();
+        cache.addCacheListener(events::add);
+
+        final CompositeKey key = CompositeKey.of("api-1", "key-1");
+        cache.put(key, apiKey("key-1", "api-1"));
+        cache.put(key, apiKey("key-1", "api-1"));
+        cache.evict(key);
+
+        assertEquals(3, events.size());
+        assertEquals(EntryEventType.ADDED, events.get(0).getEventType());
+        assertEquals(EntryEventType.UPDATED, events.get(1).getEventType());
+        assertEquals(EntryEventType.EVICTED, events.get(2).getEventType());
+        assertEquals("key-1", events.get(2).getOldValue().getKey());
+    }
+
+    @Test
+    public void shouldStoreInMappedSegments() throws Exception {
+        final OffHeapCacheManager cacheManager = new OffHeapCacheManager(
+            SegmentAllocator.of("mapped", temporaryFolder.getRoot().getAbsolutePath())
+        );
+        final Cache<String, ApiKey> mapped = cacheManager.getOrCreateCache("apikeys");
+
+        mapped.put("key-1", apiKey("key-1", "api-1"));
+
+        assertSame(mapped, cacheManager.getOrCreateCache("apikeys"));
+        assertEquals("api-1", mapped.get("key-1").getApi());
+        // Segment files are unlinked once mapped
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+
+        cacheManager.destroy("apikeys");
+        assertTrue(mapped.isEmpty());
+        assertNotSame(mapped, cacheManager.getOrCreateCache("apikeys"));
+
+        cacheManager.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownStorage() {
+        SegmentAllocator.of("unknown", null);
+    }
+
+    private static ApiKey apiKey(String key, String api) {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setId(key);
+        apiKey.setKey(key);
+        apiKey.setApi(api);
+        apiKey.setPlan("plan");
+        apiKey.setSubscription("subscription");
+        apiKey.setExpireAt(new Date(1_700_000_000_000L));
+        return apiKey;
+    }
+}
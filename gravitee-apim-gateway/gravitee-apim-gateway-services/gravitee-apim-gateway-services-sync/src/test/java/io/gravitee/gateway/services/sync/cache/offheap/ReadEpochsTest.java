@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.offheap;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ReadEpochsTest {
+
+    private final ReadEpochs epochs = new ReadEpochs();
+
+    @Test
+    public void shouldWaitForReaders_ofPreviousEpochs() {
+        final ReadEpochs.Reader reader = epochs.enter();
+        final long retiredAt = epochs.advance();
+
+        assertFalse(epochs.isQuiescent(retiredAt));
+
+        reader.exit();
+        assertTrue(epochs.isQuiescent(retiredAt));
+    }
+
+    @Test
+    public void shouldNotWaitForReaders_ofLaterEpochs() throws Exception {
+        final long retiredAt = epochs.advance();
+
+        final ReadEpochs.Reader reader = CompletableFuture.supplyAsync(epochs::enter).get();
+
+        assertTrue(epochs.isQuiescent(retiredAt));
+        assertFalse(epochs.isQuiescent(epochs.advance()));
+    }
+
+    @Test
+    public void shouldSupportNestedSections() {
+        final ReadEpochs.Reader outer = epochs.enter();
+        epochs.enter().exit();
+        final long retiredAt = epochs.advance();
+
+        assertFalse(epochs.isQuiescent(retiredAt));
+
+        outer.exit();
+        assertTrue(epochs.isQuiescent(retiredAt));
+    }
+}
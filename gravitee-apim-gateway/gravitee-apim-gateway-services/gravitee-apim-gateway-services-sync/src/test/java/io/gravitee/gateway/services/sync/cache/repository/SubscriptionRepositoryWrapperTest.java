@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.repository;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.services.sync.cache.task.FullSubscriptionRefresher;
+import io.gravitee.node.api.cache.Cache;
+import io.gravitee.node.api.cache.CacheConfiguration;
+import io.gravitee.node.cache.standalone.StandaloneCache;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.SubscriptionRepository;
+import io.gravitee.repository.management.api.search.SubscriptionCriteria;
+import io.gravitee.repository.management.model.Subscription;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SubscriptionRepositoryWrapperTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private Cache<Object, Object> cache;
+
+    private SubscriptionRepositoryWrapper wrapper;
+
+    @Before
+    public void setUp() {
+        cache = new StandaloneCache<>("SubscriptionRepositoryWrapperTest", new CacheConfiguration());
+        wrapper = new SubscriptionRepositoryWrapper(subscriptionRepository, (Cache) cache);
+    }
+
+    @Test
+    public void shouldFindSubscription_fromCache() throws TechnicalException {
+        refresh(subscription("sub-1", "client-1", Subscription.Status.ACCEPTED));
+
+        final List<Subscription> subscriptions = wrapper.search(criteria("api-1", "client-1"));
+
+        assertEquals(1, subscriptions.size());
+        assertEquals("sub-1", subscriptions.get(0).getId());
+        assertNull(wrapper.search(criteria("api-1", "client-2")));
+    }
+
+    @Test
+    public void shouldMoveSubscription_whenClientIdChanges() throws TechnicalException {
+        refresh(subscription("sub-1", "client-1", Subscription.Status.ACCEPTED));
+        refresh(subscription("sub-1", "client-2", Subscription.Status.ACCEPTED));
+
+        assertNull(wrapper.search(criteria("api-1", "client-1")));
+        assertEquals("sub-1", wrapper.search(criteria("api-1", "client-2")).get(0).getId());
+    }
+
+    @Test
+    public void shouldEvictSubscription_whenClosed() throws TechnicalException {
+        refresh(subscription("sub-1", "client-1", Subscription.Status.ACCEPTED));
+        refresh(subscription("sub-1", "client-1", Subscription.Status.CLOSED));
+
+        assertNull(wrapper.search(criteria("api-1", "client-1")));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void shouldIgnoreStringKeys_fromPreviousVersion() throws TechnicalException {
+        cache.put("sub-1", "api-1-client-1");
+
+        refresh(subscription("sub-1", "client-1", Subscription.Status.ACCEPTED));
+
+        assertEquals("sub-1", wrapper.search(criteria("api-1", "client-1")).get(0).getId());
+    }
+
+    private void refresh(Subscription subscription) throws TechnicalException {
+        final FullSubscriptionRefresher refresher = new FullSubscriptionRefresher(Collections.singleton("api-1"));
+        refresher.setSubscriptionRepository(subscriptionRepository);
+        refresher.setCache(cache);
+
+        when(subscriptionRepository.search(any(SubscriptionCriteria.class))).thenReturn(Collections.singletonList(subscription));
+        assertTrue(refresher.call().succeeded());
+    }
+
+    private static SubscriptionCriteria criteria(String api, String clientId) {
+        return new SubscriptionCriteria.Builder().apis(Collections.singleton(api)).clientId(clientId).build();
+    }
+
+    private static Subscription subscription(String id, String clientId, Subscription.Status status) {
+        final Subscription subscription = new Subscription();
+        subscription.setId(id);
+        subscription.setApi("api-1");
+        subscription.setClientId(clientId);
+        subscription.setStatus(status);
+        return subscription;
+    }
+}
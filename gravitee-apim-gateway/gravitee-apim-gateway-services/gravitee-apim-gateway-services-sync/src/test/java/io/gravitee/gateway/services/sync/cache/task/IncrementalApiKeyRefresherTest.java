@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import io.gravitee.gateway.services.sync.cache.ApiKeysCache;
+import io.gravitee.repository.management.api.ApiKeyRepository;
+import io.gravitee.repository.management.api.search.ApiKeyCriteria;
+import io.gravitee.repository.management.model.ApiKey;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalApiKeyRefresherTest {
+
+    private static final List<String> PLANS = Collections.singletonList("plan-1");
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @Mock
+    private ApiKeysCache cache;
+
+    private final RefreshWindow window = new RefreshWindow(1000, 100);
+
+    @Before
+    public void setUp() throws Exception {
+        final List<ApiKey> apiKeys = List.of(apiKey("key-1", 5000), apiKey("key-2", 8000));
+        when(apiKeyRepository.findByCriteria(any()))
+            .thenAnswer(
+                invocation -> {
+                    ApiKeyCriteria criteria = invocation.getArgument(0);
+                    return apiKeys
+                        .stream()
+                        .filter(apiKey -> apiKey.getUpdatedAt().getTime() >= criteria.getFrom())
+                        .collect(Collectors.toList());
+                }
+            );
+    }
+
+    @Test
+    public void shouldRefreshFromHighWaterMark() throws Exception {
+        assertTrue(refresh().succeeded());
+        window.complete(1, true);
+        assertTrue(refresh().succeeded());
+
+        verify(apiKeyRepository).findByCriteria(argThat(criteria -> criteria.getFrom() == -1));
+        verify(apiKeyRepository)
+            .findByCriteria(argThat(criteria -> criteria.getFrom() == 7000 && criteria.getTo() == RefreshWindow.UNBOUNDED));
+    }
+
+    @Test
+    public void shouldNotCacheAgain_alreadyAppliedVersions() {
+        refresh();
+        window.complete(1, true);
+        refresh();
+
+        verify(cache, times(2)).put(any());
+    }
+
+    private Result<Boolean> refresh() {
+        IncrementalApiKeyRefresher refresher = new IncrementalApiKeyRefresher(window, PLANS);
+        refresher.setApiKeyRepository(apiKeyRepository);
+        refresher.setCache(cache);
+        return refresher.call();
+    }
+
+    private static ApiKey apiKey(String id, long updatedAt) {
+        final ApiKey apiKey = new ApiKey();
+        apiKey.setId(id);
+        apiKey.setKey(id);
+        apiKey.setApi("api-1");
+        apiKey.setPlan("plan-1");
+        apiKey.setUpdatedAt(new Date(updatedAt));
+        return apiKey;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.cache.task;
+
+import static org.junit.Assert.*;
+
+import java.util.Date;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RefreshWindowTest {
+
+    private final RefreshWindow window = new RefreshWindow(1000, 100);
+
+    @Test
+    public void shouldStartFromScratch() {
+        assertEquals(-1, window.from());
+        assertEquals(100, window.getChunkSize());
+    }
+
+    @Test
+    public void shouldMoveToHighWaterMark_minusClockSkew() {
+        apply("key-1", 5000);
+        apply("key-2", 8000);
+
+        window.complete(1, true);
+
+        assertEquals(8000, window.getHighWaterMark());
+        assertEquals(7000, window.from());
+    }
+
+    @Test
+    public void shouldNotMove_onFailure() {
+        apply("key-1", 5000);
+        window.complete(1, true);
+
+        apply("key-2", 8000);
+        window.complete(2, false);
+
+        assertEquals(4000, window.from());
+    }
+
+    @Test
+    public void shouldSkipAppliedVersions() {
+        apply("key-1", 5000);
+        window.complete(1, true);
+
+        assertFalse(window.isNew("key-1", new Date(5000)));
+        assertTrue(window.isNew("key-1", new Date(5001)));
+        assertTrue(window.isNew("key-2", new Date(5000)));
+    }
+
+    @Test
+    public void shouldApplyOnce_itemsWithoutUpdatedAt() {
+        apply("key-1", 5000);
+        assertTrue(window.isNew("key-2", null));
+        window.applied("key-2", null);
+        window.complete(1, true);
+
+        assertFalse(window.isNew("key-2", null));
+        assertTrue(window.isNew("key-3", null));
+        assertEquals(5000, window.getHighWaterMark());
+
+        // Versioned once it has an updatedAt
+        assertTrue(window.isNew("key-2", new Date(6000)));
+        window.applied("key-2", new Date(6000));
+        assertTrue(window.isNew("key-2", null));
+    }
+
+    @Test
+    public void shouldForgetVersions_outOfWindow() {
+        apply("key-1", 5000);
+        apply("key-2", 9000);
+        window.complete(1, true);
+
+        // key-1 is before the window and will not be read again
+        assertTrue(window.isNew("key-1", new Date(5000)));
+        assertFalse(window.isNew("key-2", new Date(9000)));
+    }
+
+    @Test
+    public void shouldAdaptChunkSize() {
+        window.complete(1, true);
+        assertEquals(200, window.getChunkSize());
+
+        for (int i = 0; i < 10; i++) {
+            window.complete(1, true);
+        }
+        assertEquals(RefreshWindow.MAX_CHUNK_SIZE, window.getChunkSize());
+
+        for (int i = 0; i < 500; i++) {
+            window.isNew("key-" + i, null);
+        }
+        window.complete(1, true);
+        assertEquals(RefreshWindow.MAX_CHUNK_SIZE / 2, window.getChunkSize());
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 500; j++) {
+                window.isNew("key-" + j, null);
+            }
+            window.complete(1, true);
+        }
+        assertEquals(100, window.getChunkSize());
+    }
+
+    private void apply(String id, long updatedAt) {
+        if (window.isNew(id, new Date(updatedAt))) {
+            window.applied(id, new Date(updatedAt));
+        }
+    }
+}
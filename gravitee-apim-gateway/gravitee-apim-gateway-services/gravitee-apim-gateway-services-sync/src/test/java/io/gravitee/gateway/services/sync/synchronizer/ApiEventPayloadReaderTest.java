@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.gateway.services.sync.synchronizer;
+
+import static org.junit.Assert.*;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.gateway.handlers.api.definition.Api;
+import io.gravitee.repository.management.model.LifecycleState;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApiEventPayloadReaderTest {
+
+    private static final String DEFINITION =
+        "{\"id\":\"api-test\",\"name\":\"my-api\",\"version\":\"1\",\"gravitee\":\"2.0.0\",\"tags\":[\"internal\"]," +
+        "\"proxy\":{\"virtual_hosts\":[{\"path\":\"/my-api\"}],\"groups\":[{\"name\":\"default-group\",\"endpoints\":" +
+        "[{\"name\":\"default-endpoint\",\"target\":\"http://localhost:1234\"}]}]},\"flows\":[],\"plans\":[]}";
+
+    private ObjectMapper objectMapper;
+
+    private ApiEventPayloadReader reader;
+
+    @Before
+    public void setUp() {
+        objectMapper = new GraviteeMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = new ApiEventPayloadReader(objectMapper);
+    }
+
+    @Test
+    public void shouldReadPayload() throws IOException {
+        final io.gravitee.repository.management.model.Api repositoryApi = repositoryApi(LifecycleState.STARTED);
+
+        final ApiEventPayloadReader.ApiEventPayload payload = reader.read(objectMapper.writeValueAsString(repositoryApi));
+
+        final Api api = payload.getApi();
+        assertEquals("env#1", payload.getEnvironmentId());
+        assertEquals("api-test", api.getId());
+        assertEquals("my-api", api.getName());
+        assertEquals(Collections.singleton("internal"), api.getTags());
+        assertEquals("/my-api", api.getProxy().getVirtualHosts().get(0).getPath());
+        assertTrue(api.isEnabled());
+        assertEquals(repositoryApi.getDeployedAt(), api.getDeployedAt());
+    }
+
+    @Test
+    public void shouldReadSameDefinitionAsTwoPassDeserialization() throws IOException {
+        final String eventPayload = objectMapper.writeValueAsString(repositoryApi(LifecycleState.STOPPED));
+
+        final io.gravitee.definition.model.Api expected = objectMapper.readValue(
+            objectMapper.readValue(eventPayload, io.gravitee.repository.management.model.Api.class).getDefinition(),
+            io.gravitee.definition.model.Api.class
+        );
+        final Api api = reader.read(eventPayload).getApi();
+
+        assertEquals(expected.getId(), api.getId());
+        assertEquals(expected.getDefinitionVersion(), api.getDefinitionVersion());
+        assertEquals(expected.getProxy().getGroups().size(), api.getProxy().getGroups().size());
+        assertFalse(api.isEnabled());
+    }
+
+    @Test
+    public void shouldDisableApi_noLifecycleState() throws IOException {
+        final Api api = reader.read("{\"definition\":" + objectMapper.writeValueAsString(DEFINITION) + "}").getApi();
+
+        assertFalse(api.isEnabled());
+        assertNull(api.getDeployedAt());
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFail_noDefinition() throws IOException {
+        reader.read("{\"id\":\"api-test\",\"lifecycleState\":\"STARTED\"}");
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFail_invalidDefinition() throws IOException {
+        reader.read("{\"definition\":\"{\\\"id\\\":\"}");
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFail_invalidPayload() throws IOException {
+        reader.read("[]");
+    }
+
+    private io.gravitee.repository.management.model.Api repositoryApi(LifecycleState lifecycleState) {
+        final io.gravitee.repository.management.model.Api api = new io.gravitee.repository.management.model.Api();
+        api.setId("api-test");
+        api.setEnvironmentId("env#1");
+        api.setName("my-api");
+        api.setDescription("A description which is not needed to deploy the api");
+        api.setPicture(
+            "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg=="
+        );
+        api.setLifecycleState(lifecycleState);
+        api.setDeployedAt(new Date(1_600_000_000_000L));
+        api.setDefinition(DEFINITION);
+        return api;
+    }
+}
@@ -83,6 +83,9 @@ public class ApiSynchronizerTest extends TestCase {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ApiEventPayloadReader payloadReader;
+
     static final List<String> ENVIRONMENTS = Arrays.asList("DEFAULT", "OTHER_ENV");
 
     @Before
@@ -138,6 +141,36 @@ public class ApiSynchronizerTest extends TestCase {
         verify(subscriptionsCacheService).register(singletonList(new Api(mockApi)));
     }
 
+    @Test
+    public void initialSynchronizeInParallel() throws Exception {
+        final List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            io.gravitee.repository.management.model.Api api = new RepositoryApiBuilder()
+                .id(API_ID + i)
+                .updatedAt(new Date())
+                .definition("test")
+                .build();
+            mockApi(api);
+            events.add(mockEvent(api, EventType.PUBLISH_API));
+        }
+
+        when(eventRepository.searchLatest(any(), eq(Event.EventProperties.API_ID), anyLong(), eq(100L)))
+            .thenAnswer(
+                invocation -> {
+                    int from = (int) Math.min(events.size(), invocation.<Long>getArgument(2) * 100);
+                    return events.subList(from, Math.min(events.size(), from + 100));
+                }
+            );
+
+        apiSynchronizer.setInitialPartitions(4);
+        apiSynchronizer.synchronize(-1L, System.currentTimeMillis(), ENVIRONMENTS);
+
+        verify(apiManager, times(250)).register(any(Api.class));
+        // Each partition stops at its first incomplete page: pages 0 to 5 are read once
+        verify(eventRepository, times(6)).searchLatest(any(), eq(Event.EventProperties.API_ID), anyLong(), eq(100L));
+        verify(eventRepository).searchLatest(any(), eq(Event.EventProperties.API_ID), eq(2L), eq(100L));
+    }
+
     @Test
     public void initialSynchronizeWithNoEnvironment() throws Exception {
         io.gravitee.repository.management.model.Api api = new RepositoryApiBuilder()
@@ -645,7 +678,16 @@ public class ApiSynchronizerTest extends TestCase {
         mockApi.setId(api.getId());
         mockApi.setTags(new HashSet<>(asList(tags)));
         mockApi.setDefinitionVersion(DefinitionVersion.V2);
-        when(objectMapper.readValue(api.getDefinition(), io.gravitee.definition.model.Api.class)).thenReturn(mockApi);
+        lenient()
+            .when(payloadReader.read(api.getId()))
+            .thenAnswer(
+                invocation -> {
+                    final Api apiDefinition = new Api(mockApi);
+                    apiDefinition.setEnabled(api.getLifecycleState() == LifecycleState.STARTED);
+                    apiDefinition.setDeployedAt(api.getDeployedAt());
+                    return new ApiEventPayloadReader.ApiEventPayload(apiDefinition, api.getEnvironmentId());
+                }
+            );
         return mockApi;
     }
 
@@ -660,8 +702,6 @@ public class ApiSynchronizerTest extends TestCase {
         event.setPayload(api.getId());
         event.setEnvironments(singleton(ENVIRONMENT_ID));
 
-        when(objectMapper.readValue(event.getPayload(), io.gravitee.repository.management.model.Api.class)).thenReturn(api);
-
         return event;
     }
 
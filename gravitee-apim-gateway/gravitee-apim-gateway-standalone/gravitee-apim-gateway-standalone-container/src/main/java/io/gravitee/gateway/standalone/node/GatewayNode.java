@@ -18,10 +18,12 @@ package io.gravitee.gateway.standalone.node;
 import io.gravitee.common.component.LifecycleComponent;
 import io.gravitee.gateway.reactor.Reactor;
 import io.gravitee.gateway.report.impl.NodeMonitoringReporterService;
+import io.gravitee.gateway.report.impl.ReporterServiceImpl;
 import io.gravitee.gateway.standalone.vertx.VertxEmbeddedContainer;
 import io.gravitee.node.api.NodeMetadataResolver;
 import io.gravitee.node.cluster.ClusterService;
 import io.gravitee.node.container.AbstractNode;
+import io.gravitee.node.reporter.ReporterManager;
 import io.gravitee.plugin.alert.AlertEventProducerManager;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,6 +71,10 @@ public class GatewayNode extends AbstractNode {
 
         components.addAll(super.components());
 
+        // Components are stopped in the reverse order: the report queue drains to the node reporters when it is
+        // stopped, it must come after the reporter manager so that the reporters are still started meanwhile.
+        components.add(components.indexOf(ReporterManager.class) + 1, ReporterServiceImpl.class);
+
         components.add(AlertEventProducerManager.class);
         return components;
     }
@@ -18,6 +18,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 import io.gravitee.gateway.api.handler.Handler;
 import io.gravitee.gateway.api.ws.WebSocket;
 import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.ServerWebSocket;
@@ -75,9 +76,12 @@ class VertxWebSocket implements WebSocket {
     public WebSocket write(io.gravitee.gateway.api.ws.WebSocketFrame frame) {
         if (upgraded) {
             if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.BINARY) {
-                websocket.writeFrame(
-                    io.vertx.core.http.WebSocketFrame.binaryFrame(Buffer.buffer(frame.data().getBytes()), frame.isFinal())
-                );
+                final Object nativeBuffer = frame.data().getNativeBuffer();
+                // Only a netty buffer can be shared, any other buffer implementation is copied
+                final Buffer data = (nativeBuffer instanceof ByteBuf)
+                    ? Buffer.buffer((ByteBuf) nativeBuffer)
+                    : Buffer.buffer(frame.data().getBytes());
+                websocket.writeFrame(io.vertx.core.http.WebSocketFrame.binaryFrame(data, frame.isFinal()));
             } else if (frame.type() == io.gravitee.gateway.api.ws.WebSocketFrame.Type.TEXT) {
                 websocket.writeFrame(io.vertx.core.http.WebSocketFrame.textFrame(frame.data().toString(), frame.isFinal()));
             } else if (frame.type() == WebSocketFrame.Type.CONTINUATION) {
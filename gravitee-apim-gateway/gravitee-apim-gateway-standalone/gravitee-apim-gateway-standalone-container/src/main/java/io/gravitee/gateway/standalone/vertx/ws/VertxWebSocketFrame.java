@@ -17,6 +17,7 @@ package io.gravitee.gateway.standalone.vertx.ws;
 
 import io.gravitee.gateway.api.buffer.Buffer;
 import io.gravitee.gateway.api.ws.WebSocketFrame;
+import io.gravitee.gateway.buffer.netty.BufferFactoryImpl;
 import io.vertx.core.http.WebSocketFrameType;
 
 /**
@@ -46,7 +47,7 @@ class VertxWebSocketFrame implements WebSocketFrame {
 
     @Override
     public Buffer data() {
-        return Buffer.buffer(frame.binaryData().getBytes());
+        return BufferFactoryImpl.wrap(frame.binaryData().getByteBuf());
     }
 
     @Override
@@ -17,6 +17,7 @@ package io.gravitee.gateway.standalone.container;
 
 import io.gravitee.common.component.LifecycleComponent;
 import io.gravitee.gateway.report.impl.NodeMonitoringReporterService;
+import io.gravitee.gateway.report.impl.ReporterServiceImpl;
 import io.gravitee.gateway.standalone.node.GatewayNode;
 import io.gravitee.node.management.http.ManagementService;
 import io.gravitee.node.monitoring.healthcheck.NodeHealthCheckService;
@@ -43,6 +44,7 @@ public class GatewayTestNode extends GatewayNode {
         components.remove(ServiceManager.class);
         components.remove(ManagementService.class);
         components.remove(ReporterManager.class);
+        components.remove(ReporterServiceImpl.class);
         components.remove(NodeMonitoringReporterService.class);
         components.remove(NodeHealthCheckService.class);
         components.remove(NodeInfosService.class);